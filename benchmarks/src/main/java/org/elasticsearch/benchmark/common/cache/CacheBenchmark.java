@@ -0,0 +1,120 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.benchmark.common.cache;
+
+import org.elasticsearch.common.cache.Cache;
+import org.elasticsearch.common.cache.CacheBuilder;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput and the hit ratio of the LRU {@link Cache} with and without frequency-based admission, on a
+ * workload where a skewed set of frequently read keys is mixed with scans of keys that are only read once.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 7)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(8)
+public class CacheBenchmark {
+
+    private static final int MAXIMUM_WEIGHT = 10_000;
+
+    @Param({ "lru", "frequency_based_admission" })
+    private String admission;
+
+    /**
+     * The share of lookups that are for keys that are only read once.
+     */
+    @Param({ "0.0", "0.5" })
+    private double scanRatio;
+
+    private Cache<Integer, Integer> cache;
+
+    @Setup
+    public void setup() {
+        CacheBuilder<Integer, Integer> builder = CacheBuilder.<Integer, Integer>builder().setMaximumWeight(MAXIMUM_WEIGHT);
+        if (admission.equals("frequency_based_admission")) {
+            builder.setFrequencyBasedAdmission(MAXIMUM_WEIGHT);
+        }
+        cache = builder.build();
+    }
+
+    @State(Scope.Thread)
+    public static class Keys {
+        private static final int NUM_KEYS = 1 << 16;
+
+        private final int[] keys = new int[NUM_KEYS];
+        private int index;
+        private int nextScanKey;
+
+        @Setup
+        public void setup(CacheBenchmark benchmark) {
+            Random random = new Random();
+            // the scan keys are negative and unique per thread so that they are never read twice
+            nextScanKey = -1 - random.nextInt(Integer.MAX_VALUE / 2);
+            for (int i = 0; i < NUM_KEYS; i++) {
+                if (random.nextDouble() < benchmark.scanRatio) {
+                    keys[i] = Integer.MIN_VALUE;
+                } else {
+                    // approximately zipfian keys over a key space of twice the size of the cache
+                    keys[i] = (int) Math.floor(Math.pow(2 * MAXIMUM_WEIGHT, random.nextDouble())) - 1;
+                }
+            }
+        }
+
+        int next() {
+            int key = keys[index++ & (NUM_KEYS - 1)];
+            return key == Integer.MIN_VALUE ? nextScanKey-- : key;
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class HitCounters {
+        public long hits;
+        public long misses;
+
+        @Setup(Level.Iteration)
+        public void clean() {
+            hits = 0;
+            misses = 0;
+        }
+    }
+
+    @Benchmark
+    public Integer getOrPut(Keys keys, HitCounters counters) {
+        int key = keys.next();
+        Integer value = cache.get(key);
+        if (value == null) {
+            counters.misses++;
+            cache.put(key, key);
+            return key;
+        }
+        counters.hits++;
+        return value;
+    }
+}
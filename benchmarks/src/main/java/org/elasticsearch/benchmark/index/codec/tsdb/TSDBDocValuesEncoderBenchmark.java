@@ -0,0 +1,85 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.benchmark.index.codec.tsdb;
+
+import org.apache.lucene.store.ByteArrayDataInput;
+import org.apache.lucene.store.ByteArrayDataOutput;
+import org.apache.lucene.util.NumericUtils;
+import org.elasticsearch.index.codec.tsdb.ES87TSDBDocValuesEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how fast blocks of typical time series values are decoded by {@link ES87TSDBDocValuesEncoder}.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 7)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+public class TSDBDocValuesEncoderBenchmark {
+
+    private static final int NUM_BLOCKS = 1024;
+
+    @Param({ "timestamp", "counter", "gauge", "double_gauge" })
+    private String values;
+
+    private final ES87TSDBDocValuesEncoder encoder = new ES87TSDBDocValuesEncoder();
+    private final long[] block = new long[encoder.getBlockSize()];
+    private byte[] encoded;
+    private int encodedBytes;
+
+    @Setup
+    public void setup() throws IOException {
+        Random random = new Random(0);
+        encoded = new byte[NUM_BLOCKS * (block.length * Long.BYTES + 64)];
+        ByteArrayDataOutput out = new ByteArrayDataOutput(encoded);
+        long previous = 1_680_000_000_000L;
+        double gauge = 100;
+        for (int b = 0; b < NUM_BLOCKS; b++) {
+            for (int i = 0; i < block.length; i++) {
+                block[i] = switch (values) {
+                    // a scrape interval of 10s with some jitter, in descending order like in time series indices
+                    case "timestamp" -> previous = previous - 10_000 + random.nextInt(10);
+                    case "counter" -> previous = previous + random.nextInt(1000);
+                    case "gauge" -> previous = previous + random.nextInt(201) - 100;
+                    case "double_gauge" -> NumericUtils.doubleToSortableLong(gauge += random.nextGaussian());
+                    default -> throw new IllegalArgumentException("unknown values [" + values + "]");
+                };
+            }
+            encoder.encode(block, out);
+        }
+        encodedBytes = out.getPosition();
+    }
+
+    @Benchmark
+    public long decode() throws IOException {
+        ByteArrayDataInput in = new ByteArrayDataInput(encoded, 0, encodedBytes);
+        long sum = 0;
+        for (int b = 0; b < NUM_BLOCKS; b++) {
+            encoder.decode(in, block);
+            sum += block[block.length - 1];
+        }
+        return sum;
+    }
+}
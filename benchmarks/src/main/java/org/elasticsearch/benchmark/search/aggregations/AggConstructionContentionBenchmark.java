@@ -352,6 +352,11 @@ public class AggConstructionContentionBenchmark {
             return false;
         }
 
+        @Override
+        public boolean isSingleShard() {
+            return false;
+        }
+
         @Override
         public Set<String> sourcePath(String fullName) {
             return Set.of(fullName);
@@ -0,0 +1,115 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.benchmark.search.aggregations.metrics;
+
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.common.util.PageCacheRecycler;
+import org.elasticsearch.search.aggregations.metrics.HyperLogLogPlusPlus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures collecting hashes into, and merging, the per-bucket counters of {@link HyperLogLogPlusPlus}, like a
+ * {@code cardinality} aggregation under a {@code date_histogram} does on the shards and on the coordinating node.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 7)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(1)
+public class HyperLogLogPlusPlusBenchmark {
+
+    private static final int NUM_HASHES = 1_000_000;
+
+    private final BigArrays bigArrays = new BigArrays(new PageCacheRecycler(Settings.EMPTY), null, "REQUEST");
+
+    @Param({ "14" })
+    private int precision;
+
+    @Param({ "10", "1000" })
+    private int buckets;
+
+    /**
+     * The number of distinct values per bucket. Buckets with few values use linear counting, the others use HyperLogLog.
+     */
+    @Param({ "100", "100000" })
+    private int cardinality;
+
+    private long[] hashes;
+    private HyperLogLogPlusPlus collected;
+    private HyperLogLogPlusPlus merged;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        hashes = new long[NUM_HASHES];
+        long[] values = new long[cardinality];
+        for (int i = 0; i < cardinality; i++) {
+            values[i] = random.nextLong();
+        }
+        for (int i = 0; i < NUM_HASHES; i++) {
+            hashes[i] = values[random.nextInt(cardinality)];
+        }
+        collected = collect();
+    }
+
+    @Setup(Level.Invocation)
+    public void newMerged() {
+        merged = new HyperLogLogPlusPlus(precision, bigArrays, buckets);
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeMerged() {
+        merged.close();
+    }
+
+    @TearDown
+    public void closeCollected() {
+        collected.close();
+    }
+
+    @Benchmark
+    public long collectHashes() {
+        try (HyperLogLogPlusPlus counts = collect()) {
+            return counts.cardinality(0);
+        }
+    }
+
+    @Benchmark
+    public long mergeBuckets() {
+        for (long bucket = 0; bucket < buckets; bucket++) {
+            merged.merge(bucket, collected, bucket);
+        }
+        return merged.cardinality(0);
+    }
+
+    private HyperLogLogPlusPlus collect() {
+        HyperLogLogPlusPlus counts = new HyperLogLogPlusPlus(precision, bigArrays, buckets);
+        for (int i = 0; i < NUM_HASHES; i++) {
+            counts.collect(i % buckets, hashes[i]);
+        }
+        return counts;
+    }
+}
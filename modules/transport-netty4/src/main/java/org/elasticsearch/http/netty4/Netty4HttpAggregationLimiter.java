@@ -0,0 +1,223 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.http.netty4;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.LastHttpContent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Limits the size of the request bodies that the HTTP channels of a node aggregate at the same time. Request bodies are aggregated in
+ * full before a request is dispatched, so many clients sending large bodies, such as {@code _bulk} requests, at the same time could
+ * otherwise fill up the heap with partial bodies before any of the requests is dispatched and accounted for by the in-flight requests
+ * circuit breaker.
+ * <p>
+ * A request reserves its {@code Content-Length} when it starts, and the body bytes that it receives beyond its reservation are accounted
+ * for as they arrive. A request that doesn't fit into the limit pauses its channel, which stops reading from its socket and so pushes back
+ * on the client through TCP flow control. Paused channels are resumed in order once enough of the bodies that are being aggregated are
+ * complete for their requests to fit, or once no other bodies are being aggregated, so that a request whose body exceeds the limit can
+ * still complete.
+ */
+final class Netty4HttpAggregationLimiter {
+
+    private final long maxAggregatingBytes;
+    // the fields below and the accounting fields of the handlers are guarded by the limiter, since handlers run on many event loops
+    private final Deque<Handler> pausedHandlers = new ArrayDeque<>();
+    private long aggregatingBytes;
+
+    Netty4HttpAggregationLimiter(long maxAggregatingBytes) {
+        this.maxAggregatingBytes = maxAggregatingBytes;
+    }
+
+    /**
+     * Returns a handler that accounts for the request bodies that the given channel aggregates. It must be added to the pipeline of
+     * the channel before the {@link io.netty.handler.codec.http.HttpObjectAggregator}.
+     */
+    Handler newHandler() {
+        return new Handler();
+    }
+
+    /**
+     * Returns the size of the request bodies that are being aggregated, including the reserved size of the bodies that are still
+     * being received.
+     */
+    synchronized long getAggregatingBytes() {
+        return aggregatingBytes;
+    }
+
+    /**
+     * Returns the number of channels that wait for other request bodies to complete.
+     */
+    synchronized int getPausedChannels() {
+        return pausedHandlers.size();
+    }
+
+    private boolean fits(Handler handler) {
+        final long otherBytes = aggregatingBytes - handler.accountedBytes;
+        if (otherBytes == 0) {
+            return true;
+        }
+        final long requestBytes = Math.max(handler.expectedBytes, handler.receivedBytes);
+        return otherBytes < maxAggregatingBytes && otherBytes + requestBytes <= maxAggregatingBytes;
+    }
+
+    /**
+     * Starts to account for a request of the given handler, and pauses its channel if the request doesn't fit in the limit. The channel
+     * is paused while holding the limiter's lock so that it can't be resumed before it is paused.
+     */
+    private synchronized void startRequest(Handler handler, long contentLength) {
+        assert handler.paused == false && handler.accountedBytes == 0;
+        handler.expectedBytes = Math.min(contentLength, maxAggregatingBytes);
+        handler.receivedBytes = 0;
+        if (pausedHandlers.isEmpty() && fits(handler)) {
+            handler.reservedBytes = handler.expectedBytes;
+            updateAccounting(handler);
+            return;
+        }
+        // reads that are already in progress may still deliver some of the body, which is accounted for as it arrives
+        handler.channel.config().setAutoRead(false);
+        handler.paused = true;
+        pausedHandlers.add(handler);
+    }
+
+    private synchronized void receiveContent(Handler handler, int length) {
+        handler.receivedBytes += length;
+        updateAccounting(handler);
+    }
+
+    /**
+     * Stops accounting for the request of the given handler, which completed or whose channel closed, and returns the paused channels
+     * that may resume. These include the channel of the handler itself if it was paused, since its request may complete while it waits,
+     * eg. because the request has no body, and it must then read the next request.
+     */
+    private synchronized List<Channel> finishRequest(Handler handler) {
+        final boolean wasPaused = handler.paused;
+        if (wasPaused) {
+            handler.paused = false;
+            pausedHandlers.remove(handler);
+        }
+        handler.reservedBytes = 0;
+        handler.receivedBytes = 0;
+        handler.expectedBytes = 0;
+        updateAccounting(handler);
+        final List<Channel> resumed = resumePausedHandlers();
+        if (wasPaused == false) {
+            return resumed;
+        }
+        final List<Channel> channels = new ArrayList<>(resumed.size() + 1);
+        channels.add(handler.channel);
+        channels.addAll(resumed);
+        return channels;
+    }
+
+    /**
+     * Resumes the paused channels whose requests fit in the limit, in the order in which they were paused, and reserves the size of
+     * their bodies. Must be called with the limiter's lock held, the returned channels must be resumed without holding it.
+     */
+    private List<Channel> resumePausedHandlers() {
+        assert Thread.holdsLock(this);
+        List<Channel> resumed = null;
+        Handler handler;
+        while ((handler = pausedHandlers.peek()) != null && fits(handler)) {
+            pausedHandlers.poll();
+            handler.paused = false;
+            handler.reservedBytes = handler.expectedBytes;
+            updateAccounting(handler);
+            if (resumed == null) {
+                resumed = new ArrayList<>();
+            }
+            resumed.add(handler.channel);
+        }
+        return resumed == null ? List.of() : resumed;
+    }
+
+    private void updateAccounting(Handler handler) {
+        assert Thread.holdsLock(this);
+        final long accountedBytes = Math.max(handler.reservedBytes, handler.receivedBytes);
+        aggregatingBytes += accountedBytes - handler.accountedBytes;
+        handler.accountedBytes = accountedBytes;
+        assert aggregatingBytes >= 0 : aggregatingBytes;
+    }
+
+    private static void resume(List<Channel> channels) {
+        for (Channel channel : channels) {
+            channel.config().setAutoRead(true);
+        }
+    }
+
+    class Handler extends ChannelInboundHandlerAdapter {
+
+        private Channel channel;
+        // whether the request that the channel receives is in progress, only accessed on the event loop of the channel
+        private boolean inProgress;
+        // the accounting of the request that the channel receives, guarded by the limiter
+        private boolean paused;
+        private long expectedBytes;
+        private long receivedBytes;
+        private long reservedBytes;
+        private long accountedBytes;
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+            if (msg instanceof HttpRequest request) {
+                if (inProgress) {
+                    resume(finishRequest(this));
+                }
+                inProgress = true;
+                channel = ctx.channel();
+                startRequest(this, contentLength(request));
+            }
+            if (msg instanceof HttpContent content && inProgress) {
+                receiveContent(this, content.content().readableBytes());
+                if (msg instanceof LastHttpContent) {
+                    inProgress = false;
+                    resume(finishRequest(this));
+                }
+            }
+            ctx.fireChannelRead(msg);
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+            releaseRequest();
+            super.channelInactive(ctx);
+        }
+
+        @Override
+        public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+            releaseRequest();
+            super.handlerRemoved(ctx);
+        }
+
+        private void releaseRequest() {
+            if (inProgress) {
+                inProgress = false;
+                resume(finishRequest(this));
+            }
+        }
+    }
+
+    private static long contentLength(HttpRequest request) {
+        try {
+            return Math.max(0L, HttpUtil.getContentLength(request, 0L));
+        } catch (NumberFormatException e) {
+            // the decoder rejects the request, its body is accounted for as it arrives
+            return 0L;
+        }
+    }
+}
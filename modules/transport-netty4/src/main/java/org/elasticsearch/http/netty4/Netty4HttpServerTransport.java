@@ -137,6 +137,16 @@ public class Netty4HttpServerTransport extends AbstractHttpServerTransport {
         Property.NodeScope
     );
 
+    /**
+     * The maximum size of the request bodies that the HTTP channels of the node aggregate at the same time, see
+     * {@link Netty4HttpAggregationLimiter}.
+     */
+    public static final Setting<ByteSizeValue> SETTING_HTTP_NETTY_MAX_AGGREGATING_CONTENT_SIZE = Setting.memorySizeSetting(
+        "http.netty.max_aggregating_content_size",
+        "10%",
+        Property.NodeScope
+    );
+
     private final int pipeliningMaxEvents;
 
     private final SharedGroupFactory sharedGroupFactory;
@@ -146,6 +156,7 @@ public class Netty4HttpServerTransport extends AbstractHttpServerTransport {
     private final int readTimeoutMillis;
 
     private final int maxCompositeBufferComponents;
+    private final Netty4HttpAggregationLimiter aggregationLimiter;
 
     private volatile ServerBootstrap serverBootstrap;
     private volatile SharedGroupFactory.SharedGroup sharedGroup;
@@ -185,19 +196,24 @@ public class Netty4HttpServerTransport extends AbstractHttpServerTransport {
 
         this.readTimeoutMillis = Math.toIntExact(SETTING_HTTP_READ_TIMEOUT.get(settings).getMillis());
 
+        ByteSizeValue maxAggregatingContentSize = SETTING_HTTP_NETTY_MAX_AGGREGATING_CONTENT_SIZE.get(settings);
+        this.aggregationLimiter = new Netty4HttpAggregationLimiter(maxAggregatingContentSize.getBytes());
+
         ByteSizeValue receivePredictor = SETTING_HTTP_NETTY_RECEIVE_PREDICTOR_SIZE.get(settings);
         recvByteBufAllocator = new FixedRecvByteBufAllocator(receivePredictor.bytesAsInt());
 
         logger.debug(
             "using max_chunk_size[{}], max_header_size[{}], max_initial_line_length[{}], max_content_length[{}], "
-                + "receive_predictor[{}], max_composite_buffer_components[{}], pipelining_max_events[{}]",
+                + "receive_predictor[{}], max_composite_buffer_components[{}], pipelining_max_events[{}], "
+                + "max_aggregating_content_size[{}]",
             SETTING_HTTP_MAX_CHUNK_SIZE.get(settings),
             SETTING_HTTP_MAX_HEADER_SIZE.get(settings),
             SETTING_HTTP_MAX_INITIAL_LINE_LENGTH.get(settings),
             maxContentLength,
             receivePredictor,
             maxCompositeBufferComponents,
-            pipeliningMaxEvents
+            pipeliningMaxEvents,
+            maxAggregatingContentSize
         );
     }
 
@@ -391,6 +407,7 @@ public class Netty4HttpServerTransport extends AbstractHttpServerTransport {
                         return super.isContentAlwaysEmpty(msg);
                     }
                 })
+                .addLast("aggregation_limiter", transport.aggregationLimiter.newHandler())
                 .addLast("aggregator", aggregator);
             if (handlingSettings.compression()) {
                 ch.pipeline().addLast("encoder_compress", new HttpContentCompressor(handlingSettings.compressionLevel()));
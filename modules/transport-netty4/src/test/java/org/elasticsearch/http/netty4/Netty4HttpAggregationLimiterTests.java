@@ -0,0 +1,252 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.http.netty4;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.ReferenceCountUtil;
+
+import org.elasticsearch.test.ESTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+
+public class Netty4HttpAggregationLimiterTests extends ESTestCase {
+
+    public void testPausesNewRequestsOverLimit() {
+        final int limit = between(1, 1000);
+        final Netty4HttpAggregationLimiter limiter = new Netty4HttpAggregationLimiter(limit);
+        final EmbeddedChannel first = new EmbeddedChannel(limiter.newHandler());
+        final EmbeddedChannel second = new EmbeddedChannel(limiter.newHandler());
+
+        first.writeInbound(request());
+        final int underLimit = between(0, limit - 1);
+        first.writeInbound(content(underLimit));
+        assertTrue(first.config().isAutoRead());
+        // the body that is being aggregated is always read in full
+        final int overLimit = between(limit, 2 * limit);
+        first.writeInbound(content(overLimit));
+        assertTrue(first.config().isAutoRead());
+        assertThat(limiter.getAggregatingBytes(), equalTo((long) underLimit + overLimit));
+
+        // new requests wait until the aggregated bodies are below the limit
+        second.writeInbound(request());
+        assertFalse(second.config().isAutoRead());
+
+        first.writeInbound(lastContent(between(0, 10)));
+        assertThat(limiter.getAggregatingBytes(), equalTo(0L));
+        assertTrue(second.config().isAutoRead());
+
+        releaseInbound(first);
+        releaseInbound(second);
+    }
+
+    public void testClosingChannelReleasesBody() {
+        final int limit = between(1, 1000);
+        final Netty4HttpAggregationLimiter limiter = new Netty4HttpAggregationLimiter(limit);
+        final EmbeddedChannel first = new EmbeddedChannel(limiter.newHandler());
+        final EmbeddedChannel second = new EmbeddedChannel(limiter.newHandler());
+
+        first.writeInbound(request());
+        first.writeInbound(content(between(limit, 2 * limit)));
+        second.writeInbound(request());
+        assertFalse(second.config().isAutoRead());
+
+        releaseInbound(first);
+        first.close();
+        assertThat(limiter.getAggregatingBytes(), equalTo(0L));
+        assertTrue(second.config().isAutoRead());
+        releaseInbound(second);
+    }
+
+    public void testAccountsForBodiesOfAllChannels() {
+        final Netty4HttpAggregationLimiter limiter = new Netty4HttpAggregationLimiter(Long.MAX_VALUE);
+        final EmbeddedChannel first = new EmbeddedChannel(limiter.newHandler());
+        final EmbeddedChannel second = new EmbeddedChannel(limiter.newHandler());
+        final int firstSize = between(0, 100);
+        final int secondSize = between(0, 100);
+
+        first.writeInbound(request());
+        first.writeInbound(content(firstSize));
+        second.writeInbound(request());
+        second.writeInbound(content(secondSize));
+        assertThat(limiter.getAggregatingBytes(), equalTo((long) firstSize + secondSize));
+
+        first.writeInbound(lastContent(0));
+        assertThat(limiter.getAggregatingBytes(), equalTo((long) secondSize));
+        second.writeInbound(lastContent(0));
+        assertThat(limiter.getAggregatingBytes(), equalTo(0L));
+        assertTrue(first.config().isAutoRead());
+        assertTrue(second.config().isAutoRead());
+
+        releaseInbound(first);
+        releaseInbound(second);
+    }
+
+    public void testReservesContentLength() {
+        final Netty4HttpAggregationLimiter limiter = new Netty4HttpAggregationLimiter(1000);
+        final EmbeddedChannel channel = new EmbeddedChannel(limiter.newHandler());
+        final int contentLength = between(1, 100);
+
+        channel.writeInbound(request(contentLength));
+        assertThat(limiter.getAggregatingBytes(), equalTo((long) contentLength));
+        final int firstChunk = between(0, contentLength);
+        channel.writeInbound(content(firstChunk));
+        assertThat(limiter.getAggregatingBytes(), equalTo((long) contentLength));
+        // a body that is larger than announced is accounted for as it arrives
+        final int secondChunk = between(contentLength - firstChunk + 1, 200);
+        channel.writeInbound(content(secondChunk));
+        assertThat(limiter.getAggregatingBytes(), equalTo((long) firstChunk + secondChunk));
+        channel.writeInbound(lastContent(0));
+        assertThat(limiter.getAggregatingBytes(), equalTo(0L));
+
+        // the reservation of a request is capped at the limit
+        channel.writeInbound(request(between(1001, Integer.MAX_VALUE)));
+        assertThat(limiter.getAggregatingBytes(), equalTo(1000L));
+        channel.writeInbound(lastContent(0));
+        assertThat(limiter.getAggregatingBytes(), equalTo(0L));
+
+        releaseInbound(channel);
+    }
+
+    public void testResumesPausedChannelsWithinLimit() {
+        final Netty4HttpAggregationLimiter limiter = new Netty4HttpAggregationLimiter(100);
+        final EmbeddedChannel first = new EmbeddedChannel(limiter.newHandler());
+        first.writeInbound(request(100));
+
+        final int pausedCount = between(4, 10);
+        final List<EmbeddedChannel> paused = new ArrayList<>();
+        for (int i = 0; i < pausedCount; i++) {
+            final EmbeddedChannel channel = new EmbeddedChannel(limiter.newHandler());
+            channel.writeInbound(request(40));
+            assertFalse(channel.config().isAutoRead());
+            paused.add(channel);
+        }
+        assertThat(limiter.getPausedChannels(), equalTo(pausedCount));
+
+        // only as many channels resume as fit in the limit, and they reserve the size of their bodies
+        first.writeInbound(lastContent(100));
+        assertTrue(paused.get(0).config().isAutoRead());
+        assertTrue(paused.get(1).config().isAutoRead());
+        assertFalse(paused.get(2).config().isAutoRead());
+        assertThat(limiter.getPausedChannels(), equalTo(pausedCount - 2));
+        assertThat(limiter.getAggregatingBytes(), equalTo(80L));
+
+        // the next request doesn't fit until both resumed bodies are complete
+        paused.get(0).writeInbound(lastContent(40));
+        assertTrue(paused.get(2).config().isAutoRead());
+        assertFalse(paused.get(3).config().isAutoRead());
+        assertThat(limiter.getAggregatingBytes(), equalTo(80L));
+
+        for (EmbeddedChannel channel : paused) {
+            channel.config().setAutoRead(true);
+            channel.writeInbound(lastContent(40));
+        }
+        assertThat(limiter.getPausedChannels(), equalTo(0));
+        assertThat(limiter.getAggregatingBytes(), equalTo(0L));
+
+        releaseInbound(first);
+        paused.forEach(Netty4HttpAggregationLimiterTests::releaseInbound);
+    }
+
+    public void testClosingPausedChannelRemovesItFromQueue() {
+        final Netty4HttpAggregationLimiter limiter = new Netty4HttpAggregationLimiter(100);
+        final EmbeddedChannel first = new EmbeddedChannel(limiter.newHandler());
+        final EmbeddedChannel closing = new EmbeddedChannel(limiter.newHandler());
+        final EmbeddedChannel waiting = new EmbeddedChannel(limiter.newHandler());
+
+        first.writeInbound(request(100));
+        closing.writeInbound(request(100));
+        // a paused channel may still receive part of its body from a read that was in progress
+        closing.writeInbound(content(between(0, 50)));
+        waiting.writeInbound(request(100));
+        assertThat(limiter.getPausedChannels(), equalTo(2));
+
+        releaseInbound(closing);
+        closing.close();
+        assertThat(limiter.getPausedChannels(), equalTo(1));
+        assertThat(limiter.getAggregatingBytes(), equalTo(100L));
+
+        first.writeInbound(lastContent(100));
+        assertTrue(waiting.config().isAutoRead());
+        assertThat(limiter.getPausedChannels(), equalTo(0));
+        assertThat(limiter.getAggregatingBytes(), equalTo(100L));
+
+        waiting.writeInbound(lastContent(100));
+        assertThat(limiter.getAggregatingBytes(), equalTo(0L));
+        releaseInbound(first);
+        releaseInbound(waiting);
+    }
+
+    public void testPausedChannelResumesOnceItsRequestCompletes() {
+        final Netty4HttpAggregationLimiter limiter = new Netty4HttpAggregationLimiter(100);
+        final EmbeddedChannel first = new EmbeddedChannel(limiter.newHandler());
+        final EmbeddedChannel paused = new EmbeddedChannel(limiter.newHandler());
+        final EmbeddedChannel waiting = new EmbeddedChannel(limiter.newHandler());
+
+        first.writeInbound(request(100));
+        paused.writeInbound(request(between(0, 100)));
+        waiting.writeInbound(request(100));
+        assertFalse(paused.config().isAutoRead());
+        assertThat(limiter.getPausedChannels(), equalTo(2));
+
+        // the rest of the body was already in flight, or the request has no body
+        paused.writeInbound(lastContent(between(0, 50)));
+        assertTrue(paused.config().isAutoRead());
+        assertFalse(waiting.config().isAutoRead());
+        assertThat(limiter.getPausedChannels(), equalTo(1));
+        assertThat(limiter.getAggregatingBytes(), equalTo(100L));
+
+        first.writeInbound(lastContent(100));
+        assertTrue(waiting.config().isAutoRead());
+        waiting.writeInbound(lastContent(100));
+        assertThat(limiter.getPausedChannels(), equalTo(0));
+        assertThat(limiter.getAggregatingBytes(), equalTo(0L));
+
+        releaseInbound(first);
+        releaseInbound(paused);
+        releaseInbound(waiting);
+    }
+
+    private static HttpRequest request() {
+        return new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/_bulk");
+    }
+
+    private static HttpRequest request(int contentLength) {
+        final HttpRequest request = request();
+        HttpUtil.setContentLength(request, contentLength);
+        return request;
+    }
+
+    private static HttpContent content(int length) {
+        return new DefaultHttpContent(Unpooled.wrappedBuffer(randomByteArrayOfLength(length)));
+    }
+
+    private static LastHttpContent lastContent(int length) {
+        return new DefaultLastHttpContent(Unpooled.wrappedBuffer(randomByteArrayOfLength(length)));
+    }
+
+    private static void releaseInbound(EmbeddedChannel channel) {
+        Object msg;
+        while ((msg = channel.readInbound()) != null) {
+            ReferenceCountUtil.release(msg);
+        }
+    }
+}
@@ -19,6 +19,7 @@ import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.core.RestApiVersion;
+import org.elasticsearch.index.codec.bloomfilter.BloomFilterStats;
 import org.elasticsearch.index.engine.Segment;
 import org.elasticsearch.xcontent.ToXContent;
 import org.elasticsearch.xcontent.XContentBuilder;
@@ -128,6 +129,14 @@ public class IndicesSegmentResponse extends ChunkedBroadcastResponse {
                             if (segment.attributes != null && segment.attributes.isEmpty() == false) {
                                 builder.field("attributes", segment.attributes);
                             }
+                            if (segment.getIdBloomFilterStats() != null) {
+                                BloomFilterStats stats = segment.getIdBloomFilterStats();
+                                builder.startObject(Fields.ID_BLOOM_FILTER);
+                                builder.field(Fields.LOOKUPS, stats.lookups());
+                                builder.field(Fields.REJECTED, stats.rejected());
+                                builder.field(Fields.FALSE_POSITIVES, stats.falsePositives());
+                                builder.endObject();
+                            }
                             builder.endObject();
                         }
                         builder.endObject();
@@ -191,5 +200,9 @@ public class IndicesSegmentResponse extends ChunkedBroadcastResponse {
         static final String RAM_TREE = "ram_tree";
         static final String DESCRIPTION = "description";
         static final String CHILDREN = "children";
+        static final String ID_BLOOM_FILTER = "id_bloom_filter";
+        static final String LOOKUPS = "lookups";
+        static final String REJECTED = "rejected";
+        static final String FALSE_POSITIVES = "false_positives";
     }
 }
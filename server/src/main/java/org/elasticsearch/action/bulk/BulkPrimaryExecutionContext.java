@@ -15,6 +15,8 @@ import org.elasticsearch.action.index.IndexResponse;
 import org.elasticsearch.action.support.replication.ReplicationResponse;
 import org.elasticsearch.action.support.replication.TransportWriteAction;
 import org.elasticsearch.index.engine.Engine;
+import org.elasticsearch.index.mapper.DocumentMapper;
+import org.elasticsearch.index.mapper.ParsedDocument;
 import org.elasticsearch.index.shard.IndexShard;
 import org.elasticsearch.index.translog.Translog;
 
@@ -60,9 +62,15 @@ class BulkPrimaryExecutionContext {
     private BulkItemResponse executionResult;
     private int retryCounter;
 
+    // documents parsed ahead of the execution of their items, and the mapping they were parsed with
+    private final ParsedDocument[] parsedDocuments;
+    private final DocumentMapper[] parsedWith;
+
     BulkPrimaryExecutionContext(BulkShardRequest request, IndexShard primary) {
         this.request = request;
         this.primary = primary;
+        this.parsedDocuments = new ParsedDocument[request.items().length];
+        this.parsedWith = new DocumentMapper[request.items().length];
         advance();
     }
 
@@ -147,6 +155,27 @@ class BulkPrimaryExecutionContext {
         return request.items()[currentIndex];
     }
 
+    /** records a document that was parsed from the source of the item at the given index ahead of its execution */
+    void setParsedDocument(int itemIndex, DocumentMapper documentMapper, ParsedDocument parsedDocument) {
+        parsedWith[itemIndex] = documentMapper;
+        parsedDocuments[itemIndex] = parsedDocument;
+    }
+
+    /**
+     * returns the document that was parsed ahead of execution for the current item, or {@code null} if there is none or it was
+     * parsed with another mapping than the current one. The document can only be taken once.
+     */
+    ParsedDocument takeParsedDocument() {
+        final ParsedDocument parsedDocument = parsedDocuments[currentIndex];
+        if (parsedDocument == null) {
+            return null;
+        }
+        final DocumentMapper documentMapper = parsedWith[currentIndex];
+        parsedDocuments[currentIndex] = null;
+        parsedWith[currentIndex] = null;
+        return documentMapper == primary.mapperService().documentMapper() ? parsedDocument : null;
+    }
+
     /** returns the primary shard */
     public IndexShard getPrimary() {
         return primary;
@@ -15,9 +15,11 @@ import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.support.replication.ReplicatedWriteRequest;
 import org.elasticsearch.action.support.replication.ReplicationRequest;
 import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.common.io.stream.RetainingStreamInput;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.util.set.Sets;
+import org.elasticsearch.core.RefCounted;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.transport.RawIndexingDataTransportRequest;
 
@@ -30,17 +32,61 @@ public class BulkShardRequest extends ReplicatedWriteRequest<BulkShardRequest> i
 
     private final BulkItemRequest[] items;
 
+    /**
+     * Releases the bytes that the items were read from, if they were read from a pooled buffer. {@code null} if the items
+     * don't reference such bytes.
+     */
+    private final RefCounted refCounted;
+
     public BulkShardRequest(StreamInput in) throws IOException {
         super(in);
-        items = in.readArray(i -> i.readOptionalWriteable(inpt -> new BulkItemRequest(shardId, inpt)), BulkItemRequest[]::new);
+        // Rather than copying the sources of the items out of the buffer the request was received in, we keep slices of
+        // it until the request is released. This avoids holding each source twice while the request is deserialized.
+        final RetainingStreamInput itemsInput = new RetainingStreamInput(in);
+        boolean success = false;
+        try {
+            items = itemsInput.readArray(
+                i -> i.readOptionalWriteable(inpt -> new BulkItemRequest(shardId, inpt)),
+                BulkItemRequest[]::new
+            );
+            success = true;
+        } finally {
+            if (success == false) {
+                itemsInput.releaseRetainedBytes();
+            }
+        }
+        refCounted = itemsInput.takeRetainedBytes();
     }
 
     public BulkShardRequest(ShardId shardId, RefreshPolicy refreshPolicy, BulkItemRequest[] items) {
         super(shardId);
         this.items = items;
+        this.refCounted = null;
         setRefreshPolicy(refreshPolicy);
     }
 
+    @Override
+    public void incRef() {
+        if (refCounted != null) {
+            refCounted.incRef();
+        }
+    }
+
+    @Override
+    public boolean tryIncRef() {
+        return refCounted == null || refCounted.tryIncRef();
+    }
+
+    @Override
+    public boolean decRef() {
+        return refCounted != null && refCounted.decRef();
+    }
+
+    @Override
+    public boolean hasReferences() {
+        return refCounted == null || refCounted.hasReferences();
+    }
+
     public long totalSizeInBytes() {
         long totalSizeInBytes = 0;
         for (int i = 0; i < items.length; i++) {
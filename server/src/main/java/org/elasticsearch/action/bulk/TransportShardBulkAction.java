@@ -22,6 +22,7 @@ import org.elasticsearch.action.delete.DeleteResponse;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.index.IndexResponse;
 import org.elasticsearch.action.support.ActionFilters;
+import org.elasticsearch.action.support.RefCountingRunnable;
 import org.elasticsearch.action.support.replication.TransportReplicationAction;
 import org.elasticsearch.action.support.replication.TransportWriteAction;
 import org.elasticsearch.action.update.UpdateHelper;
@@ -36,9 +37,12 @@ import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.compress.CompressedXContent;
 import org.elasticsearch.common.inject.Inject;
 import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.concurrent.AbstractRunnable;
 import org.elasticsearch.common.xcontent.XContentHelper;
 import org.elasticsearch.core.Nullable;
+import org.elasticsearch.core.Releasable;
 import org.elasticsearch.core.Strings;
 import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.core.Tuple;
@@ -46,8 +50,10 @@ import org.elasticsearch.index.IndexingPressure;
 import org.elasticsearch.index.engine.Engine;
 import org.elasticsearch.index.engine.VersionConflictEngineException;
 import org.elasticsearch.index.get.GetResult;
+import org.elasticsearch.index.mapper.DocumentMapper;
 import org.elasticsearch.index.mapper.MapperException;
 import org.elasticsearch.index.mapper.MapperService;
+import org.elasticsearch.index.mapper.ParsedDocument;
 import org.elasticsearch.index.mapper.SourceToParse;
 import org.elasticsearch.index.seqno.SequenceNumbers;
 import org.elasticsearch.index.shard.IndexShard;
@@ -75,11 +81,23 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
     public static final String ACTION_NAME = BulkAction.NAME + "[s]";
     public static final ActionType<BulkShardResponse> TYPE = new ActionType<>(ACTION_NAME, BulkShardResponse::new);
 
+    /**
+     * The number of tasks that parse the documents of a shard bulk request in parallel on the write thread pool, before its items are
+     * executed one after the other. Defaults to {@code 1}, which parses each document when its item is executed.
+     */
+    public static final Setting<Integer> PARSE_CONCURRENCY = Setting.intSetting(
+        "indices.write_parse_concurrency",
+        1,
+        1,
+        Setting.Property.NodeScope
+    );
+
     private static final Logger logger = LogManager.getLogger(TransportShardBulkAction.class);
 
     private final UpdateHelper updateHelper;
     private final MappingUpdatedAction mappingUpdatedAction;
     private final Consumer<Runnable> postWriteAction;
+    private final int parseConcurrency;
 
     @Inject
     public TransportShardBulkAction(
@@ -114,6 +132,7 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
         this.updateHelper = updateHelper;
         this.mappingUpdatedAction = mappingUpdatedAction;
         this.postWriteAction = WriteAckDelay.create(settings, threadPool);
+        this.parseConcurrency = PARSE_CONCURRENCY.get(settings);
     }
 
     @Override
@@ -152,7 +171,7 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
             public void onTimeout(TimeValue timeout) {
                 mappingUpdateListener.onFailure(new MapperException("timed out while waiting for a dynamic mapping update"));
             }
-        }), listener, threadPool, executor(primary), postWriteAction);
+        }), listener, threadPool, executor(primary), postWriteAction, parseConcurrency);
     }
 
     @Override
@@ -186,7 +205,8 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
             listener,
             threadPool,
             executorName,
-            null
+            null,
+            1
         );
     }
 
@@ -200,7 +220,8 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
         ActionListener<PrimaryResult<BulkShardRequest, BulkShardResponse>> listener,
         ThreadPool threadPool,
         String executorName,
-        @Nullable Consumer<Runnable> postWriteAction
+        @Nullable Consumer<Runnable> postWriteAction,
+        int parseConcurrency
     ) {
         new ActionRunnable<>(listener) {
 
@@ -210,8 +231,16 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
 
             final long startBulkTime = System.nanoTime();
 
+            private boolean documentsParsed = parseConcurrency <= 1;
+
             @Override
             protected void doRun() throws Exception {
+                if (documentsParsed == false) {
+                    documentsParsed = true;
+                    // runs this action again on the thread that parses the last document
+                    parseDocuments(context, parseConcurrency, executor, this::run);
+                    return;
+                }
                 while (context.hasMoreOperationsToExecute()) {
                     if (executeBulkItemRequest(
                         context,
@@ -282,6 +311,73 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
         }.run();
     }
 
+    /**
+     * Parses the sources of the index requests of a shard bulk request with the current mapping in up to {@code concurrency} tasks, all
+     * but one of which are forked to the given executor, and then runs {@code onParsed}. The items are still executed one after the
+     * other, which uses the parsed documents as long as the mapping hasn't changed in the meantime. Documents that fail to parse or
+     * require a mapping update are discarded and parsed again when their item is executed, so that they fail or update the mapping
+     * exactly like they do without this step.
+     */
+    static void parseDocuments(BulkPrimaryExecutionContext context, int concurrency, Executor executor, Runnable onParsed) {
+        final DocumentMapper documentMapper = context.getPrimary().mapperService().documentMapper();
+        final BulkItemRequest[] items = context.getBulkShardRequest().items();
+        final int tasks = Math.min(concurrency, items.length);
+        if (documentMapper == null || tasks <= 1) {
+            onParsed.run();
+            return;
+        }
+        try (RefCountingRunnable refs = new RefCountingRunnable(onParsed)) {
+            for (int task = 1; task < tasks; task++) {
+                final int firstItem = task;
+                final Releasable ref = refs.acquire();
+                executor.execute(new AbstractRunnable() {
+                    @Override
+                    protected void doRun() {
+                        parseDocuments(context, documentMapper, firstItem, tasks);
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        // rejected, the documents are parsed when their items are executed
+                    }
+
+                    @Override
+                    public void onAfter() {
+                        ref.close();
+                    }
+                });
+            }
+            parseDocuments(context, documentMapper, 0, tasks);
+        }
+    }
+
+    private static void parseDocuments(BulkPrimaryExecutionContext context, DocumentMapper documentMapper, int firstItem, int step) {
+        final BulkItemRequest[] items = context.getBulkShardRequest().items();
+        for (int i = firstItem; i < items.length; i += step) {
+            if (items[i].request() instanceof IndexRequest indexRequest && items[i].getPrimaryResponse() == null) {
+                final ParsedDocument parsedDocument;
+                try {
+                    parsedDocument = documentMapper.parse(sourceToParse(indexRequest));
+                } catch (Exception e) {
+                    continue;
+                }
+                if (parsedDocument.dynamicMappingsUpdate() == null) {
+                    context.setParsedDocument(i, documentMapper, parsedDocument);
+                }
+            }
+        }
+    }
+
+    private static SourceToParse sourceToParse(IndexRequest request) {
+        return new SourceToParse(
+            request.id(),
+            request.source(),
+            request.getContentType(),
+            request.routing(),
+            request.getDynamicTemplates()
+        );
+    }
+
     /**
      * Executes bulk item requests and handles request execution exceptions.
      * @return {@code true} if request completed on this thread and the listener was invoked, {@code false} if the request triggered
@@ -340,21 +436,15 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
             );
         } else {
             final IndexRequest request = context.getRequestToExecute();
-            final SourceToParse sourceToParse = new SourceToParse(
-                request.id(),
-                request.source(),
-                request.getContentType(),
-                request.routing(),
-                request.getDynamicTemplates()
-            );
             result = primary.applyIndexOperationOnPrimary(
                 version,
                 request.versionType(),
-                sourceToParse,
+                sourceToParse(request),
                 request.ifSeqNo(),
                 request.ifPrimaryTerm(),
                 request.getAutoGeneratedTimestamp(),
-                request.isRetry()
+                request.isRetry(),
+                context.takeParsedDocument()
             );
         }
         if (result.getResultType() == Engine.Result.Type.MAPPING_UPDATE_REQUIRED) {
@@ -16,10 +16,12 @@ import org.elasticsearch.common.collect.Iterators;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.common.xcontent.ChunkedToXContentHelper;
 import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.xcontent.ConstructingObjectParser;
 import org.elasticsearch.xcontent.ParseField;
+import org.elasticsearch.xcontent.ToXContent;
 import org.elasticsearch.xcontent.ToXContentObject;
 import org.elasticsearch.xcontent.XContentBuilder;
 import org.elasticsearch.xcontent.XContentParser;
@@ -151,25 +153,45 @@ public class MultiSearchResponse extends ActionResponse implements Iterable<Mult
 
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
-        builder.startObject();
-        builder.field("took", tookInMillis);
-        builder.startArray(Fields.RESPONSES);
-        for (Item item : items) {
-            builder.startObject();
-            if (item.isFailure()) {
-                ElasticsearchException.generateFailureXContent(builder, params, item.getFailure(), true);
-                builder.field(Fields.STATUS, ExceptionsHelper.status(item.getFailure()).getStatus());
-            } else {
-                item.getResponse().innerToXContent(builder, params);
-                builder.field(Fields.STATUS, item.getResponse().status().getStatus());
-            }
-            builder.endObject();
+        final Iterator<? extends ToXContent> chunks = toXContentChunked(params);
+        while (chunks.hasNext()) {
+            chunks.next().toXContent(builder, params);
         }
-        builder.endArray();
-        builder.endObject();
         return builder;
     }
 
+    /**
+     * Chunked equivalent of {@link #toXContent}, which serializes the hits of the responses one at a time, see
+     * {@link SearchResponse#toXContentChunked}.
+     */
+    public Iterator<? extends ToXContent> toXContentChunked(ToXContent.Params params) {
+        return Iterators.concat(
+            ChunkedToXContentHelper.singleChunk((builder, p) -> builder.startObject().field("took", tookInMillis)),
+            ChunkedToXContentHelper.array(
+                Fields.RESPONSES,
+                Iterators.flatMap(Iterators.forArray(items), item -> itemToXContent(item, params))
+            ),
+            ChunkedToXContentHelper.endObject()
+        );
+    }
+
+    private static Iterator<? extends ToXContent> itemToXContent(Item item, ToXContent.Params params) {
+        if (item.isFailure()) {
+            return ChunkedToXContentHelper.singleChunk((builder, p) -> {
+                builder.startObject();
+                ElasticsearchException.generateFailureXContent(builder, p, item.getFailure(), true);
+                builder.field(Fields.STATUS, ExceptionsHelper.status(item.getFailure()).getStatus());
+                return builder.endObject();
+            });
+        }
+        return Iterators.concat(
+            ChunkedToXContentHelper.startObject(),
+            item.getResponse().innerToXContentChunked(params),
+            ChunkedToXContentHelper.singleChunk((builder, p) -> builder.field(Fields.STATUS, item.getResponse().status().getStatus())),
+            ChunkedToXContentHelper.endObject()
+        );
+    }
+
     public static MultiSearchResponse fromXContext(XContentParser parser) {
         return PARSER.apply(parser, null);
     }
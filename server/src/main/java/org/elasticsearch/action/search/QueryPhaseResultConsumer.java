@@ -49,10 +49,20 @@ import static org.elasticsearch.action.search.SearchPhaseController.setShardInde
  * in the {@link CircuitBreaker#REQUEST} circuit breaker. Before any partial or final reduce, the memory
  * needed to reduce the aggregations is estimated and a {@link CircuitBreakingException} is thrown if it
  * exceeds the maximum memory allowed in this breaker.
+ * Partial reduces are triggered when the number of buffered shard results reaches the batched reduce
+ * size of the request, or when the serialized size of the buffered aggregations reaches a share of the
+ * limit of the circuit breaker, whichever comes first. This keeps the memory used by requests on many
+ * shards with large aggregation results bounded, regardless of the batched reduce size.
  */
 public class QueryPhaseResultConsumer extends ArraySearchPhaseResults<SearchPhaseResult> implements Releasable {
     private static final Logger logger = LogManager.getLogger(QueryPhaseResultConsumer.class);
 
+    /**
+     * The share of the limit of the circuit breaker that the serialized aggregations of the buffered shard
+     * results can use before a partial reduce is triggered.
+     */
+    static final double MAX_BUFFERED_AGGS_RATIO = 0.1d;
+
     private final Executor executor;
     private final CircuitBreaker circuitBreaker;
     private final SearchProgressListener progressListener;
@@ -93,7 +103,9 @@ public class QueryPhaseResultConsumer extends ArraySearchPhaseResults<SearchPhas
         this.hasTopDocs = source == null || source.size() != 0;
         this.hasAggs = source != null && source.aggregations() != null;
         int batchReduceSize = (hasAggs || hasTopDocs) ? Math.min(request.getBatchedReduceSize(), expectedResultSize) : expectedResultSize;
-        this.pendingMerges = new PendingMerges(batchReduceSize, request.resolveTrackTotalHitsUpTo());
+        long breakerLimit = circuitBreaker.getLimit();
+        long maxBufferedAggsSize = breakerLimit > 0 ? (long) (breakerLimit * MAX_BUFFERED_AGGS_RATIO) : Long.MAX_VALUE;
+        this.pendingMerges = new PendingMerges(batchReduceSize, maxBufferedAggsSize, request.resolveTrackTotalHitsUpTo());
     }
 
     @Override
@@ -230,6 +242,7 @@ public class QueryPhaseResultConsumer extends ArraySearchPhaseResults<SearchPhas
 
     private class PendingMerges implements Releasable {
         private final int batchReduceSize;
+        private final long maxBufferedAggsSize;
         private final List<QuerySearchResult> buffer = new ArrayList<>();
         private final List<SearchShard> emptyResults = new ArrayList<>();
         // the memory that is accounted in the circuit breaker for this consumer
@@ -247,8 +260,9 @@ public class QueryPhaseResultConsumer extends ArraySearchPhaseResults<SearchPhas
         private volatile boolean hasPartialReduce;
         private volatile int numReducePhases;
 
-        PendingMerges(int batchReduceSize, int trackTotalHitsUpTo) {
+        PendingMerges(int batchReduceSize, long maxBufferedAggsSize, int trackTotalHitsUpTo) {
             this.batchReduceSize = batchReduceSize;
+            this.maxBufferedAggsSize = maxBufferedAggsSize;
             this.topDocsStats = new TopDocsStats(trackTotalHitsUpTo);
         }
 
@@ -351,7 +365,8 @@ public class QueryPhaseResultConsumer extends ArraySearchPhaseResults<SearchPhas
                     }
                     // add one if a partial merge is pending
                     int size = buffer.size() + (hasPartialReduce ? 1 : 0);
-                    if (size >= batchReduceSize) {
+                    // also reduce early if the buffered aggregations use too much memory
+                    if (size >= batchReduceSize || (buffer.isEmpty() == false && aggsCurrentBufferSize >= maxBufferedAggsSize)) {
                         hasPartialReduce = true;
                         executeNextImmediately = false;
                         QuerySearchResult[] clone = buffer.toArray(QuerySearchResult[]::new);
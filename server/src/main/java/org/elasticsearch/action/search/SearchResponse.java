@@ -12,9 +12,11 @@ import org.apache.lucene.search.TotalHits;
 import org.elasticsearch.TransportVersion;
 import org.elasticsearch.action.ActionResponse;
 import org.elasticsearch.common.Strings;
+import org.elasticsearch.common.collect.Iterators;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.common.xcontent.ChunkedToXContentHelper;
 import org.elasticsearch.common.xcontent.StatusToXContentObject;
 import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.TimeValue;
@@ -29,6 +31,7 @@ import org.elasticsearch.search.profile.SearchProfileResults;
 import org.elasticsearch.search.profile.SearchProfileShardResult;
 import org.elasticsearch.search.suggest.Suggest;
 import org.elasticsearch.xcontent.ParseField;
+import org.elasticsearch.xcontent.ToXContent;
 import org.elasticsearch.xcontent.ToXContentFragment;
 import org.elasticsearch.xcontent.XContentBuilder;
 import org.elasticsearch.xcontent.XContentParser;
@@ -36,6 +39,7 @@ import org.elasticsearch.xcontent.XContentParser.Token;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -272,6 +276,31 @@ public class SearchResponse extends ActionResponse implements StatusToXContentOb
     }
 
     public XContentBuilder innerToXContent(XContentBuilder builder, Params params) throws IOException {
+        headerToXContent(builder, params);
+        clusters.toXContent(builder, params);
+        internalResponse.toXContent(builder, params);
+        return builder;
+    }
+
+    /**
+     * Chunked equivalent of {@link #toXContent}, which serializes the hits one at a time so that a large page of hits isn't serialized
+     * all at once, see {@link org.elasticsearch.rest.action.search.RestSearchAction#chunkedResponseListener}.
+     */
+    public Iterator<ToXContent> toXContentChunked(ToXContent.Params params) {
+        return Iterators.concat(ChunkedToXContentHelper.startObject(), innerToXContentChunked(params), ChunkedToXContentHelper.endObject());
+    }
+
+    /**
+     * Chunked equivalent of {@link #innerToXContent}, which serializes the hits one at a time.
+     */
+    public Iterator<ToXContent> innerToXContentChunked(ToXContent.Params params) {
+        return Iterators.concat(
+            ChunkedToXContentHelper.singleChunk(this::headerToXContent, clusters),
+            internalResponse.toXContentChunked(params)
+        );
+    }
+
+    private XContentBuilder headerToXContent(XContentBuilder builder, Params params) throws IOException {
         if (scrollId != null) {
             builder.field(SCROLL_ID.getPreferredName(), scrollId);
         }
@@ -295,8 +324,6 @@ public class SearchResponse extends ActionResponse implements StatusToXContentOb
             getFailedShards(),
             getShardFailures()
         );
-        clusters.toXContent(builder, params);
-        internalResponse.toXContent(builder, params);
         return builder;
     }
 
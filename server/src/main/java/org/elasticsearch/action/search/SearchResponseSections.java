@@ -8,17 +8,21 @@
 
 package org.elasticsearch.action.search;
 
+import org.elasticsearch.common.collect.Iterators;
 import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.xcontent.ChunkedToXContentHelper;
 import org.elasticsearch.search.SearchHits;
 import org.elasticsearch.search.aggregations.Aggregations;
 import org.elasticsearch.search.profile.SearchProfileResults;
 import org.elasticsearch.search.profile.SearchProfileShardResult;
 import org.elasticsearch.search.suggest.Suggest;
+import org.elasticsearch.xcontent.ToXContent;
 import org.elasticsearch.xcontent.ToXContentFragment;
 import org.elasticsearch.xcontent.XContentBuilder;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.Map;
 
 /**
@@ -99,10 +103,28 @@ public class SearchResponseSections implements ToXContentFragment {
 
     @Override
     public final XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
-        hits.toXContent(builder, params);
-        if (aggregations != null) {
-            aggregations.toXContent(builder, params);
+        final Iterator<ToXContent> chunks = toXContentChunked(params);
+        while (chunks.hasNext()) {
+            chunks.next().toXContent(builder, params);
         }
+        return builder;
+    }
+
+    /**
+     * Chunked equivalent of {@link #toXContent}, which serializes the hits one at a time and the aggregations one top-level aggregation
+     * at a time.
+     */
+    public final Iterator<ToXContent> toXContentChunked(ToXContent.Params params) {
+        return Iterators.concat(
+            hits.toXContentChunked(params),
+            aggregations == null || aggregations.asList().isEmpty()
+                ? Collections.<ToXContent>emptyIterator()
+                : ChunkedToXContentHelper.wrapWithObject(Aggregations.AGGREGATIONS_FIELD, aggregations.iterator()),
+            Iterators.<ToXContent>single(this::suggestAndProfileToXContent)
+        );
+    }
+
+    private XContentBuilder suggestAndProfileToXContent(XContentBuilder builder, Params params) throws IOException {
         if (suggest != null) {
             suggest.toXContent(builder, params);
         }
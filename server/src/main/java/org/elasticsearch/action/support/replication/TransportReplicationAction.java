@@ -329,7 +329,11 @@ public abstract class TransportReplicationAction<
 
     private void handleOperationRequest(final Request request, final TransportChannel channel, Task task) {
         Releasable releasable = checkOperationLimits(request);
-        ActionListener<Response> listener = ActionListener.runBefore(new ChannelActionListener<>(channel), releasable::close);
+        request.incRef();
+        ActionListener<Response> listener = ActionListener.runAfter(
+            ActionListener.runBefore(new ChannelActionListener<>(channel), releasable::close),
+            request::decRef
+        );
         runReroutePhase(task, request, listener, false);
     }
 
@@ -343,7 +347,12 @@ public abstract class TransportReplicationAction<
             request.sentFromLocalReroute(),
             request.localRerouteInitiatedByNodeClient()
         );
-        ActionListener<Response> listener = ActionListener.runBefore(new ChannelActionListener<>(channel), releasable::close);
+        // the request might hold on to the buffers it was read from until the response is sent, see BulkShardRequest
+        request.incRef();
+        ActionListener<Response> listener = ActionListener.runAfter(
+            ActionListener.runBefore(new ChannelActionListener<>(channel), releasable::close),
+            request::decRef
+        );
 
         try {
             new AsyncPrimaryAction(request, listener, (ReplicationTask) task).run();
@@ -583,7 +592,11 @@ public abstract class TransportReplicationAction<
         final Task task
     ) {
         Releasable releasable = checkReplicaLimits(replicaRequest.getRequest());
-        ActionListener<ReplicaResponse> listener = ActionListener.runBefore(new ChannelActionListener<>(channel), releasable::close);
+        replicaRequest.incRef();
+        ActionListener<ReplicaResponse> listener = ActionListener.runAfter(
+            ActionListener.runBefore(new ChannelActionListener<>(channel), releasable::close),
+            replicaRequest::decRef
+        );
 
         try {
             new AsyncReplicaAction(replicaRequest, listener, (ReplicationTask) task).run();
@@ -1345,6 +1358,26 @@ public abstract class TransportReplicationAction<
             return "[" + request.getDescription() + "] for aID [" + targetAllocationID + "] and term [" + primaryTerm + "]";
         }
 
+        @Override
+        public void incRef() {
+            request.incRef();
+        }
+
+        @Override
+        public boolean tryIncRef() {
+            return request.tryIncRef();
+        }
+
+        @Override
+        public boolean decRef() {
+            return request.decRef();
+        }
+
+        @Override
+        public boolean hasReferences() {
+            return request.hasReferences();
+        }
+
         @Override
         public void writeTo(StreamOutput out) throws IOException {
             // If sentFromLocalReroute is marked true, then this request should just be looped back through
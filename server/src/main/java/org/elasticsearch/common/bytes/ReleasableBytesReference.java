@@ -149,12 +149,15 @@ public final class ReleasableBytesReference implements RefCounted, Releasable, B
         assert hasReferences();
         return new BytesReferenceStreamInput(this) {
             @Override
-            public ReleasableBytesReference readReleasableBytesReference() throws IOException {
-                final int len = readArraySize();
+            public ReleasableBytesReference readReleasableBytesReference(int length) throws IOException {
+                if (length < 0) {
+                    throw new IllegalArgumentException("length must be >= 0, got " + length);
+                }
+                ensureCanReadBytes(length);
                 // instead of reading the bytes from a stream we just create a slice of the underlying bytes
-                final ReleasableBytesReference result = retainedSlice(offset(), len);
+                final ReleasableBytesReference result = retainedSlice(offset(), length);
                 // move the stream manually since creating the slice didn't move it
-                skip(len);
+                skip(length);
                 return result;
             }
         };
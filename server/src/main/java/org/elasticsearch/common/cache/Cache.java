@@ -18,6 +18,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -52,6 +54,14 @@ import java.util.function.ToLongBiFunction;
  * <p>
  * Evictions only occur after a mutation to the cache (meaning an entry promotion, a cache insertion, or a manual
  * invalidation) or an explicit call to {@link #refresh()}.
+ * <p>
+ * Caches can optionally be built with a frequency-based admission policy (see
+ * {@link CacheBuilder#setFrequencyBasedAdmission(int)}). Accesses to keys are then recorded in a {@link FrequencySketch},
+ * and when the insertion of a new entry requires evicting entries because of weight, the new entry is only admitted if
+ * its key was accessed more often recently than the key of the least recently used entry, so that one-off accesses from
+ * scans don't flush frequently used entries out of the cache. With this policy, promotions of existing entries on reads
+ * are also recorded in a lossy read buffer and applied to the LRU list by whichever thread next acquires the LRU lock,
+ * rather than making every read contend on the LRU lock.
  *
  * @param <K> The type of the keys
  * @param <V> The type of the values
@@ -91,6 +101,14 @@ public class Cache<K, V> {
     // the removal callback
     private RemovalListener<K, V> removalListener = notification -> {};
 
+    // non-null if new entries are only admitted if they are accessed more frequently than the entries they would evict
+    private FrequencySketch frequencySketch;
+
+    // non-null if promotions of existing entries are buffered, see #promoteBuffered
+    private AtomicReferenceArray<Entry<K, V>> readBuffer;
+
+    private final AtomicLong readBufferWrites = new AtomicLong();
+
     // use CacheBuilder to construct
     Cache() {}
 
@@ -137,6 +155,16 @@ public class Cache<K, V> {
         this.removalListener = removalListener;
     }
 
+    void setFrequencyBasedAdmission(int expectedEntries) {
+        this.frequencySketch = new FrequencySketch(expectedEntries);
+        this.readBuffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+    }
+
+    // pkg-private for testing
+    boolean hasFrequencyBasedAdmission() {
+        return frequencySketch != null;
+    }
+
     /**
      * The relative time used to track time-based evictions.
      *
@@ -320,6 +348,9 @@ public class Cache<K, V> {
     }
 
     public static final int NUMBER_OF_SEGMENTS = 256;
+
+    // the number of promotions that can be buffered, must be a power of two
+    static final int READ_BUFFER_SIZE = 128;
     @SuppressWarnings("unchecked")
     private final CacheSegment[] segments = (CacheSegment[]) Array.newInstance(CacheSegment.class, NUMBER_OF_SEGMENTS);
 
@@ -346,12 +377,19 @@ public class Cache<K, V> {
     }
 
     private V get(K key, long now, boolean eagerEvict) {
+        if (frequencySketch != null) {
+            frequencySketch.increment(key.hashCode());
+        }
         CacheSegment segment = getCacheSegment(key);
         Entry<K, V> entry = segment.get(key, now, eagerEvict);
         if (entry == null) {
             return null;
         } else {
-            promote(entry, now);
+            if (readBuffer != null && entry.state == State.EXISTING) {
+                promoteBuffered(entry, now);
+            } else {
+                promote(entry, now);
+            }
             return entry.value;
         }
     }
@@ -454,6 +492,9 @@ public class Cache<K, V> {
      */
     public void put(K key, V value) {
         long now = now();
+        if (frequencySketch != null) {
+            frequencySketch.increment(key.hashCode());
+        }
         put(key, value, now);
     }
 
@@ -539,6 +580,11 @@ public class Cache<K, V> {
                 head = tail = null;
                 count = 0;
                 weight = 0;
+                if (readBuffer != null) {
+                    for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+                        readBuffer.set(i, null);
+                    }
+                }
             }
         } finally {
             for (int i = NUMBER_OF_SEGMENTS - 1; i >= 0; i--) {
@@ -736,23 +782,78 @@ public class Cache<K, V> {
 
     private void promote(Entry<K, V> entry, long now) {
         boolean promoted = true;
+        Entry<K, V> candidate = null;
         try (ReleasableLock ignored = lruLock.acquire()) {
+            drainReadBuffer();
             switch (entry.state) {
                 case DELETED -> promoted = false;
                 case EXISTING -> relinkAtHead(entry);
-                case NEW -> linkAtHead(entry);
+                case NEW -> {
+                    linkAtHead(entry);
+                    candidate = entry;
+                }
             }
             if (promoted) {
-                evict(now);
+                evict(now, candidate);
+            }
+        }
+    }
+
+    /**
+     * Records the promotion of an existing entry in the read buffer and only applies the buffered promotions if the LRU
+     * lock is not held by another thread. The read buffer is lossy: a promotion may be overwritten by a later one before
+     * it is applied, in which case the entry keeps its position in the LRU list.
+     */
+    private void promoteBuffered(Entry<K, V> entry, long now) {
+        final int index = (int) (readBufferWrites.getAndIncrement() & (READ_BUFFER_SIZE - 1));
+        readBuffer.lazySet(index, entry);
+        try (ReleasableLock locked = lruLock.tryAcquire()) {
+            if (locked != null) {
+                drainReadBuffer();
+                evict(now, null);
+            }
+        }
+    }
+
+    private void drainReadBuffer() {
+        assert lruLock.isHeldByCurrentThread();
+
+        if (readBuffer != null) {
+            for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+                final Entry<K, V> entry = readBuffer.getAndSet(i, null);
+                if (entry != null && entry.state == State.EXISTING) {
+                    relinkAtHead(entry);
+                }
             }
         }
     }
 
     private void evict(long now) {
+        evict(now, null);
+    }
+
+    /**
+     * Prunes entries from the tail of the LRU list.
+     *
+     * @param candidate the entry that was just inserted and caused this eviction, if any. If the cache uses frequency-based
+     *                  admission and the candidate was not accessed more frequently than the least recently used entry, the
+     *                  candidate is evicted instead of that entry.
+     */
+    private void evict(long now, Entry<K, V> candidate) {
         assert lruLock.isHeldByCurrentThread();
 
         while (tail != null && shouldPrune(tail, now)) {
-            evictEntry(tail);
+            if (frequencySketch != null
+                && candidate != null
+                && candidate != tail
+                && candidate.state == State.EXISTING
+                && isExpired(tail, now) == false
+                && frequencySketch.frequency(candidate.key.hashCode()) <= frequencySketch.frequency(tail.key.hashCode())) {
+                evictEntry(candidate);
+                candidate = null;
+            } else {
+                evictEntry(tail);
+            }
         }
     }
 
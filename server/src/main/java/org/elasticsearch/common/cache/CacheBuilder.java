@@ -19,6 +19,7 @@ public class CacheBuilder<K, V> {
     private long expireAfterWriteNanos = -1;
     private ToLongBiFunction<K, V> weigher;
     private RemovalListener<K, V> removalListener;
+    private int frequencyBasedAdmissionExpectedEntries = -1;
 
     public static <K, V> CacheBuilder<K, V> builder() {
         return new CacheBuilder<>();
@@ -78,6 +79,22 @@ public class CacheBuilder<K, V> {
         return this;
     }
 
+    /**
+     * Only admits new entries that require evicting other entries if they were accessed more frequently than the entries that they
+     * would evict. This protects frequently accessed entries from being flushed out of the cache by scans of entries that are only
+     * accessed once. Reads of existing entries also stop contending on the LRU lock.
+     *
+     * @param expectedEntries The number of entries that the cache is expected to hold when full, used to size the structure that
+     *                        tracks access frequencies. Must be greater than 0.
+     */
+    public CacheBuilder<K, V> setFrequencyBasedAdmission(int expectedEntries) {
+        if (expectedEntries <= 0) {
+            throw new IllegalArgumentException("expectedEntries <= 0");
+        }
+        this.frequencyBasedAdmissionExpectedEntries = expectedEntries;
+        return this;
+    }
+
     public Cache<K, V> build() {
         Cache<K, V> cache = new Cache<>();
         if (maximumWeight != -1) {
@@ -95,6 +112,9 @@ public class CacheBuilder<K, V> {
         if (removalListener != null) {
             cache.setRemovalListener(removalListener);
         }
+        if (frequencyBasedAdmissionExpectedEntries != -1) {
+            cache.setFrequencyBasedAdmission(frequencyBasedAdmissionExpectedEntries);
+        }
         return cache;
     }
 }
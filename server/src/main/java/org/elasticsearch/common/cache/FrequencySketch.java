@@ -0,0 +1,137 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A probabilistic estimate of how often keys have been accessed recently, used by {@link Cache} to decide whether a new
+ * entry is worth evicting an older one (TinyLFU admission).
+ * <p>
+ * This is a count-min sketch with four 4-bit counters per key: each counter saturates at 15 and the estimated frequency
+ * of a key is the minimum of its counters. Sixteen counters are packed in each long of the table. To favour recent
+ * accesses over old ones, all counters are halved once the number of increments reaches ten times the capacity of the
+ * sketch. Counters are updated with compare-and-set operations so that the sketch can be updated concurrently without
+ * locking; concurrent resets may lose a few increments, which is acceptable for an estimate.
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+
+    // clears the highest bit of each 4-bit counter after it has been shifted right by one
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private static final int MAX_COUNT = 15;
+
+    private final AtomicLongArray table;
+    private final int tableMask;
+    private final int sampleSize;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * @param expectedEntries the number of entries that the cache is expected to hold, used to size the sketch
+     */
+    FrequencySketch(int expectedEntries) {
+        if (expectedEntries <= 0) {
+            throw new IllegalArgumentException("expectedEntries <= 0");
+        }
+        final int capacity = Math.max(16, Integer.highestOneBit(Math.min(expectedEntries, 1 << 30) - 1) << 1);
+        this.table = new AtomicLongArray(capacity);
+        this.tableMask = capacity - 1;
+        this.sampleSize = capacity <= Integer.MAX_VALUE / 10 ? capacity * 10 : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns the estimated number of recent accesses to the key with the provided hash code, at most 15.
+     */
+    int frequency(int hashCode) {
+        final int hash = spread(hashCode);
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < SEEDS.length; i++) {
+            final long value = table.get(indexOf(hash, i));
+            frequency = Math.min(frequency, (int) ((value >>> offsetOf(hash, i)) & MAX_COUNT));
+        }
+        return frequency;
+    }
+
+    /**
+     * Records an access to the key with the provided hash code. Only the counters of the key that hold its current estimated
+     * frequency are incremented (conservative update), which limits the overestimation caused by colliding keys.
+     */
+    void increment(int hashCode) {
+        final int hash = spread(hashCode);
+        final int[] indices = new int[SEEDS.length];
+        final int[] offsets = new int[SEEDS.length];
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < SEEDS.length; i++) {
+            indices[i] = indexOf(hash, i);
+            offsets[i] = offsetOf(hash, i);
+            frequency = Math.min(frequency, (int) ((table.get(indices[i]) >>> offsets[i]) & MAX_COUNT));
+        }
+        if (frequency == MAX_COUNT) {
+            return;
+        }
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            added |= incrementAt(indices[i], offsets[i], frequency);
+        }
+        if (added && size.incrementAndGet() >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Increments the counter at the provided index and offset if it is not greater than <code>frequency</code>.
+     */
+    private boolean incrementAt(int index, int offset, int frequency) {
+        while (true) {
+            final long value = table.get(index);
+            if (((value >>> offset) & MAX_COUNT) > frequency) {
+                return false;
+            }
+            if (table.compareAndSet(index, value, value + (1L << offset))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Halves all counters so that the sketch ages out keys that are no longer accessed.
+     */
+    private void reset() {
+        final int current = size.get();
+        if (current < sampleSize || size.compareAndSet(current, current / 2) == false) {
+            // another thread is already resetting the sketch
+            return;
+        }
+        for (int i = 0; i < table.length(); i++) {
+            long value;
+            do {
+                value = table.get(i);
+            } while (table.compareAndSet(i, value, (value >>> 1) & RESET_MASK) == false);
+        }
+    }
+
+    private int indexOf(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return (int) h & tableMask;
+    }
+
+    private static int offsetOf(int hash, int i) {
+        // picks one of the 16 counters of the long, using different bits of the hash for each of the four counters
+        return ((hash >>> (i << 3)) & 0xF) << 2;
+    }
+
+    private static int spread(int hashCode) {
+        int h = hashCode * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
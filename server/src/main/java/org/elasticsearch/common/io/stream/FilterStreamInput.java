@@ -41,6 +41,11 @@ public abstract class FilterStreamInput extends StreamInput {
         return delegate.readReleasableBytesReference();
     }
 
+    @Override
+    public ReleasableBytesReference readReleasableBytesReference(int length) throws IOException {
+        return delegate.readReleasableBytesReference(length);
+    }
+
     @Override
     public short readShort() throws IOException {
         return delegate.readShort();
@@ -0,0 +1,74 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.io.stream;
+
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.bytes.ReleasableBytesReference;
+import org.elasticsearch.core.AbstractRefCounted;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.core.RefCounted;
+import org.elasticsearch.core.Releasables;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A stream that reads bytes references as slices of the buffer that the wrapped stream reads from, if it reads from a pooled buffer
+ * such as the buffer of an inbound transport message, rather than copying them to new arrays. This saves allocating and copying large
+ * bytes references such as document sources.
+ * <p>
+ * The slices keep the buffer from being released, so the object that is read from this stream must take over the slices with
+ * {@link #takeRetainedBytes()} and release them once it's done with the bytes references, usually when the object itself is released.
+ * If reading fails, the slices must be released with {@link #releaseRetainedBytes()}.
+ */
+public final class RetainingStreamInput extends FilterStreamInput {
+
+    private final List<ReleasableBytesReference> retained = new ArrayList<>();
+
+    public RetainingStreamInput(StreamInput delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public BytesReference readBytesReference(int length) throws IOException {
+        if (length == 0) {
+            return BytesArray.EMPTY;
+        }
+        final ReleasableBytesReference bytes = readReleasableBytesReference(length);
+        retained.add(bytes);
+        return bytes;
+    }
+
+    /**
+     * Returns a {@link RefCounted} that releases the slices that were read so far once it's released, or {@code null} if no slices were
+     * read. The caller is responsible for releasing it.
+     */
+    @Nullable
+    public RefCounted takeRetainedBytes() {
+        if (retained.isEmpty()) {
+            return null;
+        }
+        final ReleasableBytesReference[] bytes = retained.toArray(new ReleasableBytesReference[0]);
+        retained.clear();
+        return AbstractRefCounted.of(() -> Releasables.close(bytes));
+    }
+
+    /**
+     * Releases the slices that were read so far, if reading failed.
+     */
+    public void releaseRetainedBytes() {
+        try {
+            Releasables.close(retained);
+        } finally {
+            retained.clear();
+        }
+    }
+}
@@ -145,7 +145,15 @@ public abstract class StreamInput extends InputStream {
      * Prefer this method over {@link #readBytesReference()} when reading large bytes references to avoid allocations and copying.
      */
     public ReleasableBytesReference readReleasableBytesReference() throws IOException {
-        return ReleasableBytesReference.wrap(readBytesReference());
+        return readReleasableBytesReference(readArraySize());
+    }
+
+    /**
+     * Reads a releasable bytes reference of the given length from this stream, without reading its length first. Like
+     * {@link #readReleasableBytesReference()}, the returned bytes reference may reference bytes in a pooled buffer and must be released.
+     */
+    public ReleasableBytesReference readReleasableBytesReference(int length) throws IOException {
+        return ReleasableBytesReference.wrap(readBytesReference(length));
     }
 
     /**
@@ -77,6 +77,7 @@ import org.elasticsearch.http.HttpTransportSettings;
 import org.elasticsearch.index.IndexModule;
 import org.elasticsearch.index.IndexSettings;
 import org.elasticsearch.index.IndexingPressure;
+import org.elasticsearch.index.merge.NodeMergeLimiter;
 import org.elasticsearch.indices.IndexingMemoryController;
 import org.elasticsearch.indices.IndicesQueryCache;
 import org.elasticsearch.indices.IndicesRequestCache;
@@ -369,6 +370,7 @@ public final class ClusterSettings extends AbstractScopedSettings {
         TransportSettings.PUBLISH_PORT_PROFILE,
         TransportSettings.TRANSPORT_COMPRESS,
         TransportSettings.TRANSPORT_COMPRESSION_SCHEME,
+        TransportSettings.MESSAGE_CHUNK_SIZE,
         TransportSettings.PING_SCHEDULE,
         TransportSettings.CONNECT_TIMEOUT,
         TransportSettings.DEFAULT_FEATURES_SETTING,
@@ -425,6 +427,7 @@ public final class ClusterSettings extends AbstractScopedSettings {
         IndicesFieldDataCache.INDICES_FIELDDATA_CACHE_SIZE_KEY,
         IndicesRequestCache.INDICES_CACHE_QUERY_SIZE,
         IndicesRequestCache.INDICES_CACHE_QUERY_EXPIRE,
+        IndicesRequestCache.INDICES_CACHE_QUERY_FREQUENCY_BASED_ADMISSION,
         HunspellService.HUNSPELL_LAZY_LOAD,
         HunspellService.HUNSPELL_IGNORE_CASE,
         HunspellService.HUNSPELL_DICTIONARY_OPTIONS,
@@ -451,6 +454,9 @@ public final class ClusterSettings extends AbstractScopedSettings {
         SearchService.LOW_LEVEL_CANCELLATION_SETTING,
         SearchService.MAX_OPEN_SCROLL_CONTEXT,
         SearchService.ENABLE_REWRITE_AGGS_TO_FILTER_BY_FILTER,
+        SearchService.CONCURRENT_SEGMENT_SEARCH_ENABLED,
+        SearchService.CONCURRENT_SEGMENT_SEARCH_MIN_DOCS_PER_SLICE,
+        SearchService.CONCURRENT_SEGMENT_SEARCH_MAX_SLICES,
         SearchService.MAX_ASYNC_SEARCH_RESPONSE_SIZE_SETTING,
         Node.WRITE_PORTS_FILE_SETTING,
         Node.NODE_EXTERNAL_ID_SETTING,
@@ -483,6 +489,8 @@ public final class ClusterSettings extends AbstractScopedSettings {
         PageCacheRecycler.WEIGHT_LONG_SETTING,
         PageCacheRecycler.WEIGHT_OBJECTS_SETTING,
         PageCacheRecycler.TYPE_SETTING,
+        PageCacheRecycler.DIRECT_PAGES_SETTING,
+        PageCacheRecycler.DIRECT_PAGES_LIMIT_SETTING,
         PluginsService.MANDATORY_SETTING,
         BootstrapSettings.SECURITY_FILTER_BAD_DEFAULTS_SETTING,
         BootstrapSettings.MEMORY_LOCK_SETTING,
@@ -493,6 +501,7 @@ public final class ClusterSettings extends AbstractScopedSettings {
         IndexingMemoryController.MAX_INDEX_BUFFER_SIZE_SETTING,
         IndexingMemoryController.SHARD_INACTIVE_TIME_SETTING,
         IndexingMemoryController.SHARD_MEMORY_INTERVAL_TIME_SETTING,
+        NodeMergeLimiter.MAX_CONCURRENT_MERGES_SETTING,
         ResourceWatcherService.ENABLED,
         ResourceWatcherService.RELOAD_INTERVAL_HIGH,
         ResourceWatcherService.RELOAD_INTERVAL_MEDIUM,
@@ -551,6 +560,7 @@ public final class ClusterSettings extends AbstractScopedSettings {
         SimulatePipelineTransportAction.INGEST_NODE_TRANSPORT_ACTION_TIMEOUT,
         WriteAckDelay.WRITE_ACK_DELAY_INTERVAL,
         WriteAckDelay.WRITE_ACK_DELAY_RANDOMNESS_BOUND,
+        TransportShardBulkAction.PARSE_CONCURRENCY,
         TcpTransport.isUntrustedRemoteClusterEnabled() ? RemoteClusterService.REMOTE_CLUSTER_AUTHORIZATION : null,
         TcpTransport.isUntrustedRemoteClusterEnabled() ? RemoteClusterPortSettings.REMOTE_CLUSTER_PORT_ENABLED : null,
         TcpTransport.isUntrustedRemoteClusterEnabled() ? RemoteClusterPortSettings.HOST : null,
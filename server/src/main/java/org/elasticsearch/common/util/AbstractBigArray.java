@@ -14,6 +14,7 @@ import org.elasticsearch.common.recycler.Recycler;
 import org.elasticsearch.core.Releasables;
 
 import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 /** Common implementation for array lists that slice data into fixed-size blocks. */
@@ -110,6 +111,20 @@ abstract class AbstractBigArray extends AbstractArray {
         }
     }
 
+    /** Returns a new page that is allocated outside of the heap, or {@code null} if the budget for direct pages is exhausted. */
+    protected final ByteBuffer tryNewDirectBytePage(int page) {
+        assert recycler != null && recycler.hasDirectPages();
+        final Recycler.V<ByteBuffer> v = recycler.tryDirectBytePage(clearOnResize);
+        if (v == null) {
+            return null;
+        }
+        cache = grow(cache, page + 1);
+        assert cache[page] == null;
+        cache[page] = v;
+        assert v.v().capacity() == PageCacheRecycler.BYTE_PAGE_SIZE;
+        return v.v();
+    }
+
     protected final Object[] newObjectPage(int page) {
         if (recycler != null) {
             final Recycler.V<Object[]> v = recycler.objectPage();
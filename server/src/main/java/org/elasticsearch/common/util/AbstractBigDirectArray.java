@@ -0,0 +1,174 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.util;
+
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.RamUsageEstimator;
+import org.elasticsearch.common.io.stream.StreamOutput;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.elasticsearch.common.util.PageCacheRecycler.BYTE_PAGE_SIZE;
+
+/**
+ * Common implementation for big arrays of primitive values that store their values in pages that are allocated outside of the
+ * heap by the {@link PageCacheRecycler}. Values are stored in native byte order, like in the heap pages of the other big arrays,
+ * so both serialize to the same bytes.
+ */
+abstract class AbstractBigDirectArray extends AbstractBigArray {
+
+    private final int shift;
+    protected ByteBuffer[] pages;
+
+    /**
+     * Creates an empty array, which is then sized with {@link #tryResize} so that it is never created beyond the budget for direct
+     * pages.
+     */
+    protected AbstractBigDirectArray(int pageSize, BigArrays bigArrays, boolean clearOnResize) {
+        super(pageSize, bigArrays, clearOnResize);
+        this.shift = Integer.numberOfTrailingZeros(BYTE_PAGE_SIZE / pageSize);
+        pages = new ByteBuffer[0];
+    }
+
+    /** Returns the offset, in bytes, of the value at the given index in its page. */
+    final int offsetInPage(long index) {
+        return indexInPage(index) << shift;
+    }
+
+    @Override
+    protected final int numBytesPerElement() {
+        return 1 << shift;
+    }
+
+    /** Change the size of this array. Content between indexes <code>0</code> and <code>min(size(), newSize)</code> will be preserved. */
+    @Override
+    public final void resize(long newSize) {
+        if (tryResize(newSize) == false) {
+            throw new IllegalStateException("the budget for direct pages is exhausted");
+        }
+    }
+
+    /**
+     * Change the size of this array like {@link #resize}, unless that needs more pages than the budget for direct pages has left, in
+     * which case this array is left untouched and <code>false</code> is returned.
+     */
+    final boolean tryResize(long newSize) {
+        final int currentNumPages = numPages(size);
+        final int numPages = numPages(newSize);
+        if (numPages > pages.length) {
+            pages = Arrays.copyOf(pages, ArrayUtil.oversize(numPages, RamUsageEstimator.NUM_BYTES_OBJECT_REF));
+        }
+        for (int i = currentNumPages; i < numPages; ++i) {
+            final ByteBuffer page = tryNewDirectBytePage(i);
+            if (page == null) {
+                releasePages(currentNumPages, i);
+                return false;
+            }
+            pages[i] = page;
+        }
+        releasePages(numPages, currentNumPages);
+        this.size = newSize;
+        return true;
+    }
+
+    private void releasePages(int fromPage, int toPage) {
+        for (int i = fromPage; i < toPage; ++i) {
+            pages[i] = null;
+            releasePage(i);
+        }
+    }
+
+    /**
+     * Bulk copies the first <code>length</code> values of this array to <code>dest</code>, serialized in native byte order, one page
+     * at a time.
+     */
+    final void copyTo(long length, BulkSetter dest) {
+        final byte[] buffer = new byte[BYTE_PAGE_SIZE];
+        for (long index = 0; index < length; index += pageSize()) {
+            final int len = (int) Math.min(pageSize(), length - index);
+            pages[pageIndex(index)].get(0, buffer, 0, len << shift);
+            dest.set(index, buffer, 0, len);
+        }
+    }
+
+    /** Sets values serialized in native byte order, like {@link LongArray#set(long, byte[], int, int)}. */
+    @FunctionalInterface
+    interface BulkSetter {
+        void set(long index, byte[] buf, int offset, int len);
+    }
+
+    /**
+     * Bulk copies <code>len</code> values, serialized in native byte order in <code>buf</code>, to this array.
+     */
+    public final void set(long index, byte[] buf, int offset, int len) {
+        assert index + len <= size();
+        int pageIndex = pageIndex(index);
+        final int indexInPage = indexInPage(index);
+        if (indexInPage + len <= pageSize()) {
+            pages[pageIndex].put(indexInPage << shift, buf, offset << shift, len << shift);
+        } else {
+            int copyLen = pageSize() - indexInPage;
+            pages[pageIndex].put(indexInPage << shift, buf, offset << shift, copyLen << shift);
+            do {
+                ++pageIndex;
+                offset += copyLen;
+                len -= copyLen;
+                copyLen = Math.min(len, pageSize());
+                pages[pageIndex].put(0, buf, offset << shift, copyLen << shift);
+            } while (len > copyLen);
+        }
+    }
+
+    /**
+     * Fills the slots between <code>fromIndex</code> exclusive and <code>toIndex</code> exclusive with the value at
+     * <code>fromIndex</code>.
+     */
+    protected final void fillWithFirstValue(long fromIndex, long toIndex) {
+        final int fromPage = pageIndex(fromIndex);
+        final int toPage = pageIndex(toIndex - 1);
+        final ByteBuffer first = pages[fromPage];
+        final int from = offsetInPage(fromIndex);
+        if (fromPage == toPage) {
+            fillBySelfCopy(first, from, offsetInPage(toIndex - 1) + numBytesPerElement());
+        } else {
+            fillBySelfCopy(first, from, BYTE_PAGE_SIZE);
+            for (int i = fromPage + 1; i <= toPage; ++i) {
+                final ByteBuffer page = pages[i];
+                page.put(0, first, from, numBytesPerElement());
+                fillBySelfCopy(page, 0, i == toPage ? offsetInPage(toIndex - 1) + numBytesPerElement() : BYTE_PAGE_SIZE);
+            }
+        }
+    }
+
+    /**
+     * Fills a page with the value at <code>fromBytes</code> by copying it to itself, increasing copy ranges in each iteration.
+     */
+    private void fillBySelfCopy(ByteBuffer page, int fromBytes, int toBytes) {
+        for (int pos = fromBytes + numBytesPerElement(); pos < toBytes;) {
+            int copyBytesLength = Math.min(pos - fromBytes, toBytes - pos);
+            page.put(pos, page, fromBytes, copyBytesLength);
+            pos += copyBytesLength;
+        }
+    }
+
+    @Override
+    public final void writeTo(StreamOutput out) throws IOException {
+        int remaining = Math.toIntExact(size << shift);
+        out.writeVInt(remaining);
+        final byte[] buffer = new byte[Math.min(remaining, BYTE_PAGE_SIZE)];
+        for (int i = 0; remaining > 0; i++) {
+            final int length = Math.min(remaining, BYTE_PAGE_SIZE);
+            pages[i].get(0, buffer, 0, length);
+            out.write(buffer, 0, length);
+            remaining -= length;
+        }
+    }
+}
@@ -518,6 +518,35 @@ public class BigArrays {
         return array;
     }
 
+    /**
+     * Like {@link #resizeInPlace} but returns <code>null</code>, and leaves the array and the breaker untouched, if the budget for
+     * direct pages is exhausted.
+     */
+    private <T extends AbstractBigDirectArray> T tryResizeInPlace(T array, long newSize) {
+        final long estimatedIncreaseInBytes = array.ramBytesEstimated(newSize) - array.ramBytesUsed();
+        adjustBreaker(estimatedIncreaseInBytes, false);
+        if (array.tryResize(newSize)) {
+            return array;
+        }
+        adjustBreaker(-estimatedIncreaseInBytes, true);
+        return null;
+    }
+
+    /**
+     * Size a new array that stores its values outside of the heap, returning <code>null</code> if the budget for direct pages is
+     * exhausted. The breaker must have been adjusted already.
+     */
+    private static <T extends AbstractBigDirectArray> T tryInitialSize(T array, long size) {
+        return array.tryResize(size) ? array : null;
+    }
+
+    /**
+     * Whether big {@link IntArray}s, {@link LongArray}s and {@link DoubleArray}s should store their values outside of the heap.
+     */
+    private boolean useDirectPages() {
+        return recycler != null && recycler.hasDirectPages();
+    }
+
     private <T extends BigArray> T validate(T array) {
         boolean success = false;
         try {
@@ -625,6 +654,13 @@ public class BigArrays {
             // when allocating big arrays, we want to first ensure we have the capacity by
             // checking with the circuit breaker before attempting to allocate
             adjustBreaker(BigIntArray.estimateRamBytes(size), false);
+            if (useDirectPages()) {
+                final BigDirectIntArray array = tryInitialSize(new BigDirectIntArray(this, clearOnResize), size);
+                if (array != null) {
+                    return array;
+                }
+                // the budget for direct pages is exhausted, fall back to heap pages
+            }
             return new BigIntArray(size, this, clearOnResize);
         } else {
             return validate(new ByteArrayAsIntArrayWrapper(this, size, clearOnResize));
@@ -643,6 +679,17 @@ public class BigArrays {
     public IntArray resize(IntArray array, long size) {
         if (array instanceof BigIntArray) {
             return resizeInPlace((BigIntArray) array, size);
+        } else if (array instanceof BigDirectIntArray direct) {
+            final IntArray resized = tryResizeInPlace(direct, size);
+            if (resized != null) {
+                return resized;
+            }
+            // the budget for direct pages is exhausted, move the values to heap pages
+            adjustBreaker(BigIntArray.estimateRamBytes(size), false);
+            final BigIntArray newArray = new BigIntArray(size, this, direct.clearOnResize);
+            direct.copyTo(Math.min(size, direct.size()), newArray::set);
+            direct.close();
+            return newArray;
         } else {
             AbstractArray arr = (AbstractArray) array;
             final IntArray newArray = newIntArray(size, arr.clearOnResize);
@@ -672,6 +719,13 @@ public class BigArrays {
             // when allocating big arrays, we want to first ensure we have the capacity by
             // checking with the circuit breaker before attempting to allocate
             adjustBreaker(BigLongArray.estimateRamBytes(size), false);
+            if (useDirectPages()) {
+                final BigDirectLongArray array = tryInitialSize(new BigDirectLongArray(this, clearOnResize), size);
+                if (array != null) {
+                    return array;
+                }
+                // the budget for direct pages is exhausted, fall back to heap pages
+            }
             return new BigLongArray(size, this, clearOnResize);
         } else {
             return validate(new ByteArrayAsLongArrayWrapper(this, size, clearOnResize));
@@ -690,6 +744,17 @@ public class BigArrays {
     public LongArray resize(LongArray array, long size) {
         if (array instanceof BigLongArray) {
             return resizeInPlace((BigLongArray) array, size);
+        } else if (array instanceof BigDirectLongArray direct) {
+            final LongArray resized = tryResizeInPlace(direct, size);
+            if (resized != null) {
+                return resized;
+            }
+            // the budget for direct pages is exhausted, move the values to heap pages
+            adjustBreaker(BigLongArray.estimateRamBytes(size), false);
+            final BigLongArray newArray = new BigLongArray(size, this, direct.clearOnResize);
+            direct.copyTo(Math.min(size, direct.size()), newArray::set);
+            direct.close();
+            return newArray;
         } else {
             AbstractArray arr = (AbstractArray) array;
             final LongArray newArray = newLongArray(size, arr.clearOnResize);
@@ -719,6 +784,13 @@ public class BigArrays {
             // when allocating big arrays, we want to first ensure we have the capacity by
             // checking with the circuit breaker before attempting to allocate
             adjustBreaker(BigDoubleArray.estimateRamBytes(size), false);
+            if (useDirectPages()) {
+                final BigDirectDoubleArray array = tryInitialSize(new BigDirectDoubleArray(this, clearOnResize), size);
+                if (array != null) {
+                    return array;
+                }
+                // the budget for direct pages is exhausted, fall back to heap pages
+            }
             return new BigDoubleArray(size, this, clearOnResize);
         } else {
             return validate(new ByteArrayAsDoubleArrayWrapper(this, size, clearOnResize));
@@ -734,6 +806,17 @@ public class BigArrays {
     public DoubleArray resize(DoubleArray array, long size) {
         if (array instanceof BigDoubleArray) {
             return resizeInPlace((BigDoubleArray) array, size);
+        } else if (array instanceof BigDirectDoubleArray direct) {
+            final DoubleArray resized = tryResizeInPlace(direct, size);
+            if (resized != null) {
+                return resized;
+            }
+            // the budget for direct pages is exhausted, move the values to heap pages
+            adjustBreaker(BigDoubleArray.estimateRamBytes(size), false);
+            final BigDoubleArray newArray = new BigDoubleArray(size, this, direct.clearOnResize);
+            direct.copyTo(Math.min(size, direct.size()), newArray::set);
+            direct.close();
+            return newArray;
         } else {
             AbstractArray arr = (AbstractArray) array;
             final DoubleArray newArray = newDoubleArray(size, arr.clearOnResize);
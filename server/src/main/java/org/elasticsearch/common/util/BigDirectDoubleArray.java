@@ -0,0 +1,59 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.util;
+
+import java.nio.ByteBuffer;
+
+import static org.elasticsearch.common.util.PageCacheRecycler.DOUBLE_PAGE_SIZE;
+
+/**
+ * Double array abstraction able to support more than 2B values. This implementation slices data into fixed-sized blocks that
+ * are allocated outside of the heap.
+ */
+final class BigDirectDoubleArray extends AbstractBigDirectArray implements DoubleArray {
+
+    BigDirectDoubleArray(BigArrays bigArrays, boolean clearOnResize) {
+        super(DOUBLE_PAGE_SIZE, bigArrays, clearOnResize);
+    }
+
+    @Override
+    public double get(long index) {
+        return pages[pageIndex(index)].getDouble(offsetInPage(index));
+    }
+
+    @Override
+    public double set(long index, double value) {
+        final ByteBuffer page = pages[pageIndex(index)];
+        final int offset = offsetInPage(index);
+        final double ret = page.getDouble(offset);
+        page.putDouble(offset, value);
+        return ret;
+    }
+
+    @Override
+    public double increment(long index, double inc) {
+        final ByteBuffer page = pages[pageIndex(index)];
+        final int offset = offsetInPage(index);
+        final double newVal = page.getDouble(offset) + inc;
+        page.putDouble(offset, newVal);
+        return newVal;
+    }
+
+    @Override
+    public void fill(long fromIndex, long toIndex, double value) {
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException();
+        }
+        if (fromIndex == toIndex) {
+            return; // empty range
+        }
+        pages[pageIndex(fromIndex)].putDouble(offsetInPage(fromIndex), value);
+        fillWithFirstValue(fromIndex, toIndex);
+    }
+}
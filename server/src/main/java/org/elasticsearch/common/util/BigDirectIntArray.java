@@ -0,0 +1,59 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.util;
+
+import java.nio.ByteBuffer;
+
+import static org.elasticsearch.common.util.PageCacheRecycler.INT_PAGE_SIZE;
+
+/**
+ * Int array abstraction able to support more than 2B values. This implementation slices data into fixed-sized blocks that
+ * are allocated outside of the heap.
+ */
+final class BigDirectIntArray extends AbstractBigDirectArray implements IntArray {
+
+    BigDirectIntArray(BigArrays bigArrays, boolean clearOnResize) {
+        super(INT_PAGE_SIZE, bigArrays, clearOnResize);
+    }
+
+    @Override
+    public int get(long index) {
+        return pages[pageIndex(index)].getInt(offsetInPage(index));
+    }
+
+    @Override
+    public int set(long index, int value) {
+        final ByteBuffer page = pages[pageIndex(index)];
+        final int offset = offsetInPage(index);
+        final int ret = page.getInt(offset);
+        page.putInt(offset, value);
+        return ret;
+    }
+
+    @Override
+    public int increment(long index, int inc) {
+        final ByteBuffer page = pages[pageIndex(index)];
+        final int offset = offsetInPage(index);
+        final int newVal = page.getInt(offset) + inc;
+        page.putInt(offset, newVal);
+        return newVal;
+    }
+
+    @Override
+    public void fill(long fromIndex, long toIndex, int value) {
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException();
+        }
+        if (fromIndex == toIndex) {
+            return; // empty range
+        }
+        pages[pageIndex(fromIndex)].putInt(offsetInPage(fromIndex), value);
+        fillWithFirstValue(fromIndex, toIndex);
+    }
+}
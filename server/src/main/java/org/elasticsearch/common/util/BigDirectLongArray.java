@@ -0,0 +1,59 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.util;
+
+import java.nio.ByteBuffer;
+
+import static org.elasticsearch.common.util.PageCacheRecycler.LONG_PAGE_SIZE;
+
+/**
+ * Long array abstraction able to support more than 2B values. This implementation slices data into fixed-sized blocks that
+ * are allocated outside of the heap.
+ */
+final class BigDirectLongArray extends AbstractBigDirectArray implements LongArray {
+
+    BigDirectLongArray(BigArrays bigArrays, boolean clearOnResize) {
+        super(LONG_PAGE_SIZE, bigArrays, clearOnResize);
+    }
+
+    @Override
+    public long get(long index) {
+        return pages[pageIndex(index)].getLong(offsetInPage(index));
+    }
+
+    @Override
+    public long set(long index, long value) {
+        final ByteBuffer page = pages[pageIndex(index)];
+        final int offset = offsetInPage(index);
+        final long ret = page.getLong(offset);
+        page.putLong(offset, value);
+        return ret;
+    }
+
+    @Override
+    public long increment(long index, long inc) {
+        final ByteBuffer page = pages[pageIndex(index)];
+        final int offset = offsetInPage(index);
+        final long newVal = page.getLong(offset) + inc;
+        page.putLong(offset, newVal);
+        return newVal;
+    }
+
+    @Override
+    public void fill(long fromIndex, long toIndex, long value) {
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException();
+        }
+        if (fromIndex == toIndex) {
+            return; // empty range
+        }
+        pages[pageIndex(fromIndex)].putLong(offsetInPage(fromIndex), value);
+        fillWithFirstValue(fromIndex, toIndex);
+    }
+}
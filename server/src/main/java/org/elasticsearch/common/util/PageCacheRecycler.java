@@ -8,6 +8,8 @@
 
 package org.elasticsearch.common.util;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.apache.lucene.util.RamUsageEstimator;
 import org.elasticsearch.common.recycler.AbstractRecyclerC;
 import org.elasticsearch.common.recycler.Recycler;
@@ -17,8 +19,17 @@ import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.concurrent.EsExecutors;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.AccessController;
+import java.security.PrivilegedActionException;
+import java.security.PrivilegedExceptionAction;
 import java.util.Arrays;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.elasticsearch.common.recycler.Recyclers.concurrent;
 import static org.elasticsearch.common.recycler.Recyclers.concurrentDeque;
@@ -28,6 +39,8 @@ import static org.elasticsearch.common.recycler.Recyclers.none;
 /** A recycler of fixed-size pages. */
 public class PageCacheRecycler {
 
+    private static final Logger logger = LogManager.getLogger(PageCacheRecycler.class);
+
     public static final Setting<Type> TYPE_SETTING = new Setting<>(
         "cache.recycler.page.type",
         Type.CONCURRENT.name(),
@@ -67,6 +80,27 @@ public class PageCacheRecycler {
         Property.NodeScope
     );
 
+    /**
+     * Whether the pages of big {@link LongArray}s, {@link IntArray}s and {@link DoubleArray}s are allocated outside of the heap. Direct
+     * pages do not count against {@link #LIMIT_HEAP_SETTING} but against {@link #DIRECT_PAGES_LIMIT_SETTING}.
+     */
+    public static final Setting<Boolean> DIRECT_PAGES_SETTING = Setting.boolSetting(
+        "cache.recycler.page.direct",
+        false,
+        Property.NodeScope
+    );
+
+    /**
+     * How much memory direct pages may take, including the direct pages that are cached. The default of a quarter of the heap stays
+     * below the {@code MaxDirectMemorySize} that is configured by default, half of the heap, and leaves room for the other users of
+     * direct memory. Big arrays use heap pages once this budget is exhausted.
+     */
+    public static final Setting<ByteSizeValue> DIRECT_PAGES_LIMIT_SETTING = Setting.memorySizeSetting(
+        "cache.recycler.page.direct.limit",
+        "25%",
+        Property.NodeScope
+    );
+
     /** Page size in bytes: 16KB */
     public static final int PAGE_SIZE_IN_BYTES = 1 << 14;
     public static final int OBJECT_PAGE_SIZE = PAGE_SIZE_IN_BYTES / RamUsageEstimator.NUM_BYTES_OBJECT_REF;
@@ -78,6 +112,11 @@ public class PageCacheRecycler {
 
     private final Recycler<byte[]> bytePage;
     private final Recycler<Object[]> objectPage;
+    private final Recycler<ByteBuffer> directBytePage;
+    private final long maxDirectPageCount;
+    private final AtomicLong directPagesInUse = new AtomicLong();
+
+    private static final MethodHandle FREE_DIRECT_BUFFER = lookupFreeDirectBuffer();
 
     public static final PageCacheRecycler NON_RECYCLING_INSTANCE;
 
@@ -124,6 +163,38 @@ public class PageCacheRecycler {
             }
         });
 
+        if (DIRECT_PAGES_SETTING.get(settings)) {
+            final long directLimitPageCount = DIRECT_PAGES_LIMIT_SETTING.get(settings).getBytes() / PAGE_SIZE_IN_BYTES;
+            // cached pages take direct memory too, so they get a quarter of the budget and the pages in use get the rest
+            final int maxCachedDirectPageCount = (int) Math.min(maxBytePageCount, directLimitPageCount / 4);
+            maxDirectPageCount = directLimitPageCount - maxCachedDirectPageCount;
+            final Recycler.C<ByteBuffer> c = new AbstractRecyclerC<ByteBuffer>() {
+                @Override
+                public ByteBuffer newInstance() {
+                    return ByteBuffer.allocateDirect(BYTE_PAGE_SIZE).order(ByteOrder.nativeOrder());
+                }
+
+                @Override
+                public void recycle(ByteBuffer value) {
+                    // nothing to do
+                }
+
+                @Override
+                public void destroy(ByteBuffer value) {
+                    freeDirectBuffer(value);
+                }
+            };
+            if (type == Type.NONE || maxCachedDirectPageCount == 0) {
+                // unlike the none recycler, a deque recycler that caches nothing destroys the pages that are released
+                directBytePage = concurrentDeque(c, 0);
+            } else {
+                directBytePage = type.build(c, maxCachedDirectPageCount, allocatedProcessors);
+            }
+        } else {
+            directBytePage = null;
+            maxDirectPageCount = 0;
+        }
+
         assert PAGE_SIZE_IN_BYTES * (maxBytePageCount + maxObjectPageCount) <= limit;
     }
 
@@ -135,11 +206,102 @@ public class PageCacheRecycler {
         return v;
     }
 
+    /**
+     * Whether pages can be allocated outside of the heap with {@link #directBytePage(boolean)}.
+     */
+    public boolean hasDirectPages() {
+        return directBytePage != null;
+    }
+
+    /**
+     * Obtain a page of {@link #BYTE_PAGE_SIZE} bytes that is allocated outside of the heap, in native byte order, or {@code null} if
+     * the budget for direct pages is exhausted. Releasing the page either caches it or frees it right away.
+     */
+    public Recycler.V<ByteBuffer> tryDirectBytePage(boolean clear) {
+        assert hasDirectPages() : "direct pages are disabled";
+        long inUse;
+        do {
+            inUse = directPagesInUse.get();
+            if (inUse >= maxDirectPageCount) {
+                return null;
+            }
+        } while (directPagesInUse.compareAndSet(inUse, inUse + 1) == false);
+        boolean success = false;
+        final Recycler.V<ByteBuffer> v;
+        try {
+            v = directBytePage.obtain();
+            success = true;
+        } finally {
+            if (success == false) {
+                directPagesInUse.decrementAndGet();
+            }
+        }
+        if (v.isRecycled() && clear) {
+            final ByteBuffer page = v.v();
+            for (int i = 0; i < BYTE_PAGE_SIZE; i += Long.BYTES) {
+                page.putLong(i, 0L);
+            }
+        }
+        return new Recycler.V<>() {
+            @Override
+            public ByteBuffer v() {
+                return v.v();
+            }
+
+            @Override
+            public boolean isRecycled() {
+                return v.isRecycled();
+            }
+
+            @Override
+            public void close() {
+                v.close();
+                directPagesInUse.decrementAndGet();
+            }
+        };
+    }
+
+    /**
+     * The number of direct pages that have been obtained and not released yet.
+     */
+    long directPagesInUse() {
+        return directPagesInUse.get();
+    }
+
     public Recycler.V<Object[]> objectPage() {
         // object pages are cleared on release anyway
         return objectPage.obtain();
     }
 
+    private static void freeDirectBuffer(ByteBuffer buffer) {
+        if (FREE_DIRECT_BUFFER != null) {
+            try {
+                FREE_DIRECT_BUFFER.invokeExact(buffer);
+            } catch (Throwable t) {
+                throw new IllegalStateException("failed to free direct page", t);
+            }
+        }
+        // otherwise the page is freed once it gets garbage collected
+    }
+
+    /**
+     * Look up {@code Unsafe#invokeCleaner}, which frees the memory of a direct buffer without waiting for it to be garbage collected.
+     */
+    private static MethodHandle lookupFreeDirectBuffer() {
+        try {
+            return AccessController.doPrivileged((PrivilegedExceptionAction<MethodHandle>) () -> {
+                final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(unsafeClass, MethodHandles.lookup());
+                final Object theUnsafe = lookup.findStaticVarHandle(unsafeClass, "theUnsafe", unsafeClass).get();
+                return lookup.findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(theUnsafe);
+            });
+        } catch (PrivilegedActionException | RuntimeException e) {
+            logger.warn("unable to free direct pages deterministically, they will be freed once they get garbage collected", e);
+            return null;
+        }
+    }
+
     private static <T> Recycler<T> build(Type type, int limit, int availableProcessors, Recycler.C<T> c) {
         final Recycler<T> recycler;
         if (limit == 0) {
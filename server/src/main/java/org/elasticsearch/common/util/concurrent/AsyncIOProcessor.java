@@ -8,6 +8,7 @@
 package org.elasticsearch.common.util.concurrent;
 
 import org.apache.logging.log4j.Logger;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.Tuple;
 
 import java.io.IOException;
@@ -15,6 +16,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Semaphore;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -25,17 +27,29 @@ import java.util.function.Supplier;
  * by a single worker. A worker in this context can be any caller of the {@link #put(Object, Consumer)} method since it will
  * hijack a worker if nobody else is currently processing queued items. If the internal queue has reached it's capacity incoming threads
  * might be blocked until other items are processed
+ * <p>
+ * If the processor is created with an {@link Executor} then callers never process items themselves: the caller that finds
+ * nobody processing queued items forks the processing to the executor instead, so that callers can carry on while the items
+ * are processed and their listeners are notified on a thread of the executor. Callers still block while the queue is full. The
+ * executor should reject tasks once it is shut down, in which case the items are processed on the calling thread.
  */
 public abstract class AsyncIOProcessor<Item> {
     private final Logger logger;
     private final ArrayBlockingQueue<Tuple<Item, Consumer<Exception>>> queue;
     private final ThreadContext threadContext;
     private final Semaphore promiseSemaphore = new Semaphore(1);
+    @Nullable
+    private final Executor executor;
 
     protected AsyncIOProcessor(Logger logger, int queueSize, ThreadContext threadContext) {
+        this(logger, queueSize, threadContext, null);
+    }
+
+    protected AsyncIOProcessor(Logger logger, int queueSize, ThreadContext threadContext, @Nullable Executor executor) {
         this.logger = logger;
         this.queue = new ArrayBlockingQueue<>(queueSize);
         this.threadContext = threadContext;
+        this.executor = executor;
     }
 
     /**
@@ -44,6 +58,10 @@ public abstract class AsyncIOProcessor<Item> {
     public final void put(Item item, Consumer<Exception> listener) {
         Objects.requireNonNull(item, "item must not be null");
         Objects.requireNonNull(listener, "listener must not be null");
+        if (executor != null) {
+            putAndFork(item, listener);
+            return;
+        }
         // the algorithm here tires to reduce the load on each individual caller.
         // we try to have only one caller that processes pending items to disc while others just add to the queue but
         // at the same time never overload the node by pushing too many items into the queue.
@@ -78,6 +96,47 @@ public abstract class AsyncIOProcessor<Item> {
         }
     }
 
+    private void putAndFork(Item item, Consumer<Exception> listener) {
+        // blocking until there is space in the queue is intended: like in the synchronous mode, callers that produce items faster than
+        // they can be processed are held back rather than queueing up an unbounded number of items
+        try {
+            queue.put(new Tuple<>(item, preserveContext(listener)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            listener.accept(e);
+            return;
+        }
+        // if somebody else made the promise they will pick up our item since we added it to the queue before trying
+        if (promiseSemaphore.tryAcquire()) {
+            executor.execute(new AbstractRunnable() {
+                @Override
+                protected void doRun() {
+                    drainAndProcessAndRelease(new ArrayList<>());
+                }
+
+                @Override
+                public void onRejection(Exception e) {
+                    // the executor is shutting down, process the pending items on the calling thread rather than losing them
+                    drainAndProcessAndRelease(new ArrayList<>());
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    assert false : e;
+                    logger.warn("failed to process items", e);
+                }
+
+                @Override
+                public void onAfter() {
+                    // items might have been added after we drained the queue and before we released the promise
+                    if (queue.isEmpty() == false && promiseSemaphore.tryAcquire()) {
+                        executor.execute(this);
+                    }
+                }
+            });
+        }
+    }
+
     private void drainAndProcessAndRelease(List<Tuple<Item, Consumer<Exception>>> candidates) {
         Exception exception;
         try {
@@ -52,6 +52,7 @@ import org.elasticsearch.index.mapper.IdFieldMapper;
 import org.elasticsearch.index.mapper.MapperRegistry;
 import org.elasticsearch.index.mapper.MapperService;
 import org.elasticsearch.index.mapper.NodeMappingStats;
+import org.elasticsearch.index.merge.NodeMergeLimiter;
 import org.elasticsearch.index.query.SearchExecutionContext;
 import org.elasticsearch.index.query.SearchIndexNameMatcher;
 import org.elasticsearch.index.seqno.ReplicationTracker;
@@ -148,6 +149,7 @@ public class IndexService extends AbstractIndexComponent implements IndicesClust
     private final ValuesSourceRegistry valuesSourceRegistry;
 
     private final ReplicationTracker.Factory replicationTrackerFactory;
+    private final NodeMergeLimiter mergeLimiter;
 
     public IndexService(
         IndexSettings indexSettings,
@@ -181,7 +183,8 @@ public class IndexService extends AbstractIndexComponent implements IndicesClust
         IndexStorePlugin.IndexFoldersDeletionListener indexFoldersDeletionListener,
         IndexStorePlugin.SnapshotCommitSupplier snapshotCommitSupplier,
         Engine.IndexCommitListener indexCommitListener,
-        ReplicationTracker.Factory replicationTrackerFactory
+        ReplicationTracker.Factory replicationTrackerFactory,
+        NodeMergeLimiter mergeLimiter
     ) {
         super(indexSettings);
         this.allowExpensiveQueries = allowExpensiveQueries;
@@ -257,6 +260,7 @@ public class IndexService extends AbstractIndexComponent implements IndicesClust
             this.retentionLeaseSyncTask = new AsyncRetentionLeaseSyncTask(this);
         }
         this.replicationTrackerFactory = replicationTrackerFactory;
+        this.mergeLimiter = mergeLimiter;
         updateFsyncTaskIfNecessary();
     }
 
@@ -526,7 +530,8 @@ public class IndexService extends AbstractIndexComponent implements IndicesClust
                 snapshotCommitSupplier,
                 System::nanoTime,
                 indexCommitListener,
-                replicationTrackerFactory
+                replicationTrackerFactory,
+                mergeLimiter
             );
             eventListener.indexShardStateChanged(indexShard, null, indexShard.state(), "shard created");
             eventListener.afterIndexShardCreated(indexShard);
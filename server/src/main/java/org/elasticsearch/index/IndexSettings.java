@@ -93,6 +93,16 @@ public final class IndexSettings {
         Property.IndexScope,
         Property.Dynamic
     );
+    /**
+     * If enabled, a scheduled refresh of a shard that has not been searched since its last refresh is deferred until the next search,
+     * like it is when the shard is search idle, even if the refresh interval is set explicitly.
+     */
+    public static final Setting<Boolean> INDEX_REFRESH_ADAPTIVE_SETTING = Setting.boolSetting(
+        "index.refresh.adaptive",
+        false,
+        Property.IndexScope,
+        Property.Dynamic
+    );
     public static final Setting<Translog.Durability> INDEX_TRANSLOG_DURABILITY_SETTING = Setting.enumSetting(
         Translog.Durability.class,
         "index.translog.durability",
@@ -633,6 +643,7 @@ public final class IndexSettings {
     private volatile int maxNgramDiff;
     private volatile int maxShingleDiff;
     private volatile TimeValue searchIdleAfter;
+    private volatile boolean adaptiveRefresh;
     private volatile int maxAnalyzedOffset;
     private volatile int maxTermsCount;
     private volatile String defaultPipeline;
@@ -771,6 +782,7 @@ public final class IndexSettings {
         this.mergePolicyConfig = new MergePolicyConfig(logger, this);
         this.indexSortConfig = new IndexSortConfig(this);
         searchIdleAfter = scopedSettings.get(INDEX_SEARCH_IDLE_AFTER);
+        adaptiveRefresh = scopedSettings.get(INDEX_REFRESH_ADAPTIVE_SETTING);
         defaultPipeline = scopedSettings.get(DEFAULT_PIPELINE);
         mappingNestedFieldsLimit = scopedSettings.get(INDEX_MAPPING_NESTED_FIELDS_LIMIT_SETTING);
         mappingNestedDocsLimit = scopedSettings.get(INDEX_MAPPING_NESTED_DOCS_LIMIT_SETTING);
@@ -814,6 +826,10 @@ public final class IndexSettings {
             MergePolicyConfig.INDEX_MERGE_POLICY_MERGE_FACTOR_SETTING,
             mergePolicyConfig::setMergeFactor
         );
+        scopedSettings.addSettingsUpdateConsumer(
+            MergePolicyConfig.INDEX_MERGE_POLICY_MAX_MERGED_TIME_RANGE_SETTING,
+            mergePolicyConfig::setMaxMergedTimeRange
+        );
 
         scopedSettings.addSettingsUpdateConsumer(
             MergeSchedulerConfig.MAX_THREAD_COUNT_SETTING,
@@ -843,6 +859,7 @@ public final class IndexSettings {
         scopedSettings.addSettingsUpdateConsumer(MAX_SLICES_PER_SCROLL, this::setMaxSlicesPerScroll);
         scopedSettings.addSettingsUpdateConsumer(DEFAULT_FIELD_SETTING, this::setDefaultFields);
         scopedSettings.addSettingsUpdateConsumer(INDEX_SEARCH_IDLE_AFTER, this::setSearchIdleAfter);
+        scopedSettings.addSettingsUpdateConsumer(INDEX_REFRESH_ADAPTIVE_SETTING, this::setAdaptiveRefresh);
         scopedSettings.addSettingsUpdateConsumer(MAX_REGEX_LENGTH_SETTING, this::setMaxRegexLength);
         scopedSettings.addSettingsUpdateConsumer(DEFAULT_PIPELINE, this::setDefaultPipeline);
         scopedSettings.addSettingsUpdateConsumer(FINAL_PIPELINE, this::setRequiredPipeline);
@@ -861,6 +878,10 @@ public final class IndexSettings {
         this.searchIdleAfter = searchIdleAfter;
     }
 
+    private void setAdaptiveRefresh(boolean adaptiveRefresh) {
+        this.adaptiveRefresh = adaptiveRefresh;
+    }
+
     private void setTranslogFlushThresholdSize(ByteSizeValue byteSizeValue) {
         this.flushThresholdSize = byteSizeValue;
     }
@@ -1287,6 +1308,13 @@ public final class IndexSettings {
         return searchIdleAfter;
     }
 
+    /**
+     * Returns true iff scheduled refreshes are deferred until the next search if the shard hasn't been searched since its last refresh
+     */
+    public boolean isAdaptiveRefresh() {
+        return adaptiveRefresh;
+    }
+
     public String getDefaultPipeline() {
         return defaultPipeline;
     }
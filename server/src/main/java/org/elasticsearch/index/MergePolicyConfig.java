@@ -18,6 +18,11 @@ import org.elasticsearch.common.settings.Setting.Property;
 import org.elasticsearch.common.unit.ByteSizeUnit;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.core.SuppressForbidden;
+import org.elasticsearch.core.TimeValue;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 /**
  * A shard in elasticsearch is a Lucene index, and a Lucene index is broken
@@ -74,6 +79,13 @@ import org.elasticsearch.core.SuppressForbidden;
  *     the index. Lower values make the index more space efficient at the
  *     expense of increased CPU and I/O activity. Values must be between <code>5</code> and
  *     <code>50</code>. Default value is <code>20</code>.
+ *
+ * <li><code>index.merge.policy.max_merged_time_range</code>:
+ *
+ *     Maximum range of <code>@timestamp</code> values of a segment produced by normal
+ *     merging, which only merges adjacent segments. Only time series indices record the
+ *     time range of their segments, so this setting requires <code>index.mode: time_series</code>.
+ *     Default is <code>0</code>, which means no limit.
  * </ul>
  *
  * <p>
@@ -103,7 +115,7 @@ import org.elasticsearch.core.SuppressForbidden;
 
 public final class MergePolicyConfig {
     private final TieredMergePolicy tieredMergePolicy = new TieredMergePolicy();
-    private final LogByteSizeMergePolicy logByteSizeMergePolicy = new LogByteSizeMergePolicy();
+    private final TimeBasedMergePolicy logByteSizeMergePolicy = new TimeBasedMergePolicy();
     private final Logger logger;
     private final boolean mergesEnabled;
     private volatile Type mergePolicyType;
@@ -245,6 +257,40 @@ public final class MergePolicyConfig {
         Property.Dynamic,
         Property.IndexScope
     );
+    /**
+     * Only time series indices record the time range of their segments, see {@link TimeBasedMergePolicy}, so the setting is rejected
+     * on other indices rather than silently ignored.
+     */
+    public static final Setting<TimeValue> INDEX_MERGE_POLICY_MAX_MERGED_TIME_RANGE_SETTING = Setting.timeSetting(
+        "index.merge.policy.max_merged_time_range",
+        TimeValue.ZERO,
+        new Setting.Validator<>() {
+            @Override
+            public void validate(TimeValue value) {
+                if (value.millis() < 0) {
+                    throw new IllegalArgumentException(
+                        "failed to parse value [" + value + "] for setting [index.merge.policy.max_merged_time_range], must be >= [0ms]"
+                    );
+                }
+            }
+
+            @Override
+            public void validate(TimeValue value, Map<Setting<?>, Object> settings) {
+                final IndexMode indexMode = (IndexMode) settings.get(IndexSettings.MODE);
+                if (value.millis() > 0 && indexMode != IndexMode.TIME_SERIES) {
+                    throw new IllegalArgumentException("[index.merge.policy.max_merged_time_range] requires " + IndexMode.tsdbMode());
+                }
+            }
+
+            @Override
+            public Iterator<Setting<?>> settings() {
+                final List<Setting<?>> settings = List.of(IndexSettings.MODE);
+                return settings.iterator();
+            }
+        },
+        Property.Dynamic,
+        Property.IndexScope
+    );
     // don't convert to Setting<> and register... we only set this in tests and register via a plugin
     public static final String INDEX_MERGE_ENABLED = "index.merge.enabled";
 
@@ -260,6 +306,7 @@ public final class MergePolicyConfig {
         double segmentsPerTier = indexSettings.getValue(INDEX_MERGE_POLICY_SEGMENTS_PER_TIER_SETTING);
         int mergeFactor = indexSettings.getValue(INDEX_MERGE_POLICY_MERGE_FACTOR_SETTING);
         double deletesPctAllowed = indexSettings.getValue(INDEX_MERGE_POLICY_DELETES_PCT_ALLOWED_SETTING);
+        TimeValue maxMergedTimeRange = indexSettings.getValue(INDEX_MERGE_POLICY_MAX_MERGED_TIME_RANGE_SETTING);
         this.mergesEnabled = indexSettings.getSettings().getAsBoolean(INDEX_MERGE_ENABLED, true);
         if (mergesEnabled == false) {
             logger.warn(
@@ -277,6 +324,7 @@ public final class MergePolicyConfig {
         setSegmentsPerTier(segmentsPerTier);
         setMergeFactor(mergeFactor);
         setDeletesPctAllowed(deletesPctAllowed);
+        setMaxMergedTimeRange(maxMergedTimeRange);
         logger.trace(
             "using merge policy with expunge_deletes_allowed[{}], floor_segment[{}],"
                 + " max_merge_at_once[{}], max_merged_segment[{}], segments_per_tier[{}],"
@@ -315,6 +363,11 @@ public final class MergePolicyConfig {
         }
     }
 
+    void setMaxMergedTimeRange(TimeValue maxMergedTimeRange) {
+        // TieredMergePolicy merges non-adjacent segments, so limiting the time range of its merges wouldn't help much.
+        logByteSizeMergePolicy.setMaxMergedTimeRangeMillis(maxMergedTimeRange.millis());
+    }
+
     void setMaxMergesAtOnce(int maxMergeAtOnce) {
         tieredMergePolicy.setMaxMergeAtOnce(maxMergeAtOnce);
         // LogByteSizeMergePolicy ignores this parameter, it always merges merge_factor segments at once.
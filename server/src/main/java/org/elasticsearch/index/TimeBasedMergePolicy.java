@@ -0,0 +1,100 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index;
+
+import org.apache.lucene.index.LogByteSizeMergePolicy;
+import org.apache.lucene.index.MergeTrigger;
+import org.apache.lucene.index.SegmentCommitInfo;
+import org.apache.lucene.index.SegmentInfos;
+import org.elasticsearch.index.codec.tsdb.ES87TSDBDocValuesFormat;
+import org.elasticsearch.index.codec.tsdb.ES87TSDBDocValuesFormat.TimestampRange;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link LogByteSizeMergePolicy}, which only merges adjacent segments, that additionally refuses to produce segments whose
+ * {@code @timestamp} values span more than a maximum time range. Keeping the time range of segments bounded keeps the values of
+ * the time series of a segment close to each other, which compresses better, and allows range queries on the timestamp to skip
+ * or fully match more segments.
+ * <p>
+ * The time range of a segment is only known if it was written by {@link ES87TSDBDocValuesFormat}, ie. for time series indices,
+ * which is why {@link MergePolicyConfig#INDEX_MERGE_POLICY_MAX_MERGED_TIME_RANGE_SETTING} is only accepted on time series indices.
+ * Segments without any {@code @timestamp} value, like segments that only hold tombstones, have no time range: they neither extend
+ * the time range of a merge nor prevent it. Forced merges are not limited.
+ */
+final class TimeBasedMergePolicy extends LogByteSizeMergePolicy {
+
+    private volatile long maxMergedTimeRangeMillis = 0;
+
+    /**
+     * Sets the maximum time range of the segments that are produced by natural merges, {@code 0} means no limit.
+     */
+    void setMaxMergedTimeRangeMillis(long maxMergedTimeRangeMillis) {
+        this.maxMergedTimeRangeMillis = maxMergedTimeRangeMillis;
+    }
+
+    long getMaxMergedTimeRangeMillis() {
+        return maxMergedTimeRangeMillis;
+    }
+
+    @Override
+    public MergeSpecification findMerges(MergeTrigger mergeTrigger, SegmentInfos infos, MergeContext mergeContext) throws IOException {
+        final MergeSpecification spec = super.findMerges(mergeTrigger, infos, mergeContext);
+        final long maxTimeRange = maxMergedTimeRangeMillis;
+        if (spec == null || maxTimeRange <= 0) {
+            return spec;
+        }
+        final MergeSpecification limited = new MergeSpecification();
+        for (OneMerge merge : spec.merges) {
+            final List<List<SegmentCommitInfo>> runs = splitByTimeRange(merge.segments, maxTimeRange);
+            if (runs.size() == 1 && runs.get(0).size() == merge.segments.size()) {
+                limited.add(merge);
+            } else {
+                for (List<SegmentCommitInfo> run : runs) {
+                    if (run.size() > 1) {
+                        limited.add(new OneMerge(run));
+                    }
+                }
+            }
+        }
+        return limited.merges.isEmpty() ? null : limited;
+    }
+
+    /**
+     * Splits adjacent segments into runs of adjacent segments whose merged time range doesn't exceed the given maximum.
+     */
+    static List<List<SegmentCommitInfo>> splitByTimeRange(List<SegmentCommitInfo> segments, long maxTimeRange) {
+        final List<List<SegmentCommitInfo>> runs = new ArrayList<>();
+        List<SegmentCommitInfo> run = new ArrayList<>();
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (SegmentCommitInfo segment : segments) {
+            final TimestampRange range = ES87TSDBDocValuesFormat.getTimestampRange(segment.info);
+            if (range != null) {
+                final long newMin = Math.min(min, range.min());
+                final long newMax = Math.max(max, range.max());
+                // only split once the run has a time range, segments without one may join any run
+                if (min <= max && newMax - newMin > maxTimeRange) {
+                    runs.add(run);
+                    run = new ArrayList<>();
+                    min = range.min();
+                    max = range.max();
+                } else {
+                    min = newMin;
+                    max = newMax;
+                }
+            }
+            run.add(segment);
+        }
+        runs.add(run);
+        return runs;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.codec.bloomfilter;
+
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.io.stream.Writeable;
+
+import java.io.IOException;
+
+/**
+ * Statistics of the lookups of terms in the bloom filter of a field of a segment since the segment was opened: how many terms were looked
+ * up, how many of them the bloom filter rejected without seeking the terms dictionary, and how many it let through even though the
+ * segment doesn't contain them.
+ */
+public record BloomFilterStats(long lookups, long rejected, long falsePositives) implements Writeable {
+
+    public BloomFilterStats(StreamInput in) throws IOException {
+        this(in.readVLong(), in.readVLong(), in.readVLong());
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeVLong(lookups);
+        out.writeVLong(rejected);
+        out.writeVLong(falsePositives);
+    }
+
+    /**
+     * The ratio of the lookups of terms that the segment doesn't contain that the bloom filter failed to reject.
+     */
+    public double falsePositiveRate() {
+        final long negatives = rejected + falsePositives;
+        return negatives == 0 ? 0 : (double) falsePositives / negatives;
+    }
+}
@@ -30,6 +30,7 @@ import org.apache.lucene.index.Fields;
 import org.apache.lucene.index.FilterLeafReader;
 import org.apache.lucene.index.ImpactsEnum;
 import org.apache.lucene.index.IndexFileNames;
+import org.apache.lucene.index.LeafReader;
 import org.apache.lucene.index.PostingsEnum;
 import org.apache.lucene.index.SegmentInfo;
 import org.apache.lucene.index.SegmentReadState;
@@ -46,6 +47,7 @@ import org.apache.lucene.util.AttributeSource;
 import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.lucene.store.IndexOutputOutputStream;
+import org.elasticsearch.common.metrics.CounterMetric;
 import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.common.util.ByteArray;
 import org.elasticsearch.common.util.ByteUtils;
@@ -279,8 +281,33 @@ public class ES87BloomFilterPostingsFormat extends PostingsFormat {
         }
     }
 
+    /**
+     * Returns the statistics of the lookups in the bloom filter of the given field of a segment, or {@code null} if the field doesn't
+     * have a bloom filter in this segment.
+     */
+    public static BloomFilterStats getBloomFilterStats(LeafReader segmentReader, String field) throws IOException {
+        if (segmentReader.terms(field) instanceof BloomFilterTerms bloomFilterTerms) {
+            return bloomFilterTerms.counters.stats();
+        }
+        return null;
+    }
+
+    /**
+     * Counts the lookups in the bloom filter of a field of a segment, across all the readers of the segment.
+     */
+    private static final class LookupCounters {
+        private final CounterMetric lookups = new CounterMetric();
+        private final CounterMetric rejected = new CounterMetric();
+        private final CounterMetric falsePositives = new CounterMetric();
+
+        BloomFilterStats stats() {
+            return new BloomFilterStats(lookups.count(), rejected.count(), falsePositives.count());
+        }
+    }
+
     static final class FieldsReader extends FieldsProducer {
         private final Map<String, BloomFilter> bloomFilters;
+        private final Map<String, LookupCounters> lookupCounters = new HashMap<>();
         private final List<Closeable> toCloses = new ArrayList<>();
         private final Map<String, FieldsProducer> readerMap = new HashMap<>();
         private final IndexInput indexIn;
@@ -321,6 +348,7 @@ public class ES87BloomFilterPostingsFormat extends PostingsFormat {
                     for (int i = 0; i < numBloomFilters; i++) {
                         final BloomFilter bloomFilter = BloomFilter.readFrom(metaIn, state.fieldInfos);
                         bloomFilters.put(bloomFilter.field, bloomFilter);
+                        lookupCounters.put(bloomFilter.field, new LookupCounters());
                     }
 
                     indexFileLength = metaIn.readVLong();
@@ -384,7 +412,7 @@ public class ES87BloomFilterPostingsFormat extends PostingsFormat {
                     bloomFilter.startFilePointer(),
                     numBytesForBloomFilter(bloomFilter.bloomFilterSize)
                 );
-                return new BloomFilterTerms(terms, data, bloomFilter.bloomFilterSize);
+                return new BloomFilterTerms(terms, data, bloomFilter.bloomFilterSize, lookupCounters.get(field));
             } else {
                 return terms;
             }
@@ -412,12 +440,14 @@ public class ES87BloomFilterPostingsFormat extends PostingsFormat {
     private static class BloomFilterTerms extends FilterLeafReader.FilterTerms {
         private final RandomAccessInput data;
         private final int bloomFilterSize;
+        private final LookupCounters counters;
         private final int[] hashes = new int[NUM_HASH_FUNCTIONS];
 
-        BloomFilterTerms(Terms in, RandomAccessInput data, int bloomFilterSize) {
+        BloomFilterTerms(Terms in, RandomAccessInput data, int bloomFilterSize, LookupCounters counters) {
             super(in);
             this.data = data;
             this.bloomFilterSize = bloomFilterSize;
+            this.counters = counters;
         }
 
         private boolean mayContainTerm(BytesRef term) throws IOException {
@@ -449,9 +479,15 @@ public class ES87BloomFilterPostingsFormat extends PostingsFormat {
 
                 @Override
                 public boolean seekExact(BytesRef term) throws IOException {
+                    counters.lookups.inc();
                     if (mayContainTerm(term)) {
-                        return getDelegate().seekExact(term);
+                        final boolean found = getDelegate().seekExact(term);
+                        if (found == false) {
+                            counters.falsePositives.inc();
+                        }
+                        return found;
                     } else {
+                        counters.rejected.inc();
                         return false;
                     }
                 }
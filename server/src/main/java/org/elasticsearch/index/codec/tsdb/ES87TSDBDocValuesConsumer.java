@@ -16,6 +16,7 @@ import org.apache.lucene.index.DocValues;
 import org.apache.lucene.index.EmptyDocValuesProducer;
 import org.apache.lucene.index.FieldInfo;
 import org.apache.lucene.index.IndexFileNames;
+import org.apache.lucene.index.SegmentInfo;
 import org.apache.lucene.index.SegmentWriteState;
 import org.apache.lucene.index.SortedNumericDocValues;
 import org.apache.lucene.search.DocIdSetIterator;
@@ -32,6 +33,7 @@ final class ES87TSDBDocValuesConsumer extends DocValuesConsumer {
 
     IndexOutput data, meta;
     final int maxDoc;
+    private final SegmentInfo segmentInfo;
     private final int numericBlockShift;
     private final int numericBlockSize;
     private final int directMonotonicBlockShift;
@@ -50,6 +52,7 @@ final class ES87TSDBDocValuesConsumer extends DocValuesConsumer {
         this.numericBlockShift = numericBlockShift;
         this.numericBlockSize = numericBlockSize;
         this.directMonotonicBlockShift = directMonotonicBlockShift;
+        this.segmentInfo = state.segmentInfo;
         try {
             final String dataName = IndexFileNames.segmentFileName(state.segmentInfo.name, state.segmentSuffix, dataExtension);
             data = state.directory.createOutput(dataName, state.context);
@@ -136,12 +139,17 @@ final class ES87TSDBDocValuesConsumer extends DocValuesConsumer {
             int bufferSize = 0;
             final long valuesDataOffset = data.getFilePointer();
             final ES87TSDBDocValuesEncoder encoder = new ES87TSDBDocValuesEncoder(numericBlockSize);
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
 
             values = valuesProducer.getSortedNumeric(field);
             for (int doc = values.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = values.nextDoc()) {
                 final int count = values.docValueCount();
                 for (int i = 0; i < count; ++i) {
-                    buffer[bufferSize++] = values.nextValue();
+                    final long value = values.nextValue();
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                    buffer[bufferSize++] = value;
                     if (bufferSize == numericBlockSize) {
                         indexWriter.add(data.getFilePointer() - valuesDataOffset);
                         encoder.encode(buffer, data);
@@ -165,6 +173,13 @@ final class ES87TSDBDocValuesConsumer extends DocValuesConsumer {
 
             meta.writeLong(valuesDataOffset);
             meta.writeLong(valuesDataLength);
+
+            if (ES87TSDBDocValuesFormat.TIMESTAMP_FIELD.equals(field.name)) {
+                // the time range of the segment lets the merge policy avoid merging segments that are far apart in time,
+                // segments without any value don't get one since there is at least one value in this branch
+                segmentInfo.putAttribute(ES87TSDBDocValuesFormat.MIN_TIMESTAMP_ATTRIBUTE, Long.toString(min));
+                segmentInfo.putAttribute(ES87TSDBDocValuesFormat.MAX_TIMESTAMP_ATTRIBUTE, Long.toString(max));
+            }
         }
 
         return new long[] { numDocsWithValue, numValues };
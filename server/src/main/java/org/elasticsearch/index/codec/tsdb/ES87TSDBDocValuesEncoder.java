@@ -10,6 +10,7 @@ package org.elasticsearch.index.codec.tsdb;
 
 import org.apache.lucene.store.DataInput;
 import org.apache.lucene.store.DataOutput;
+import org.apache.lucene.util.BitUtil;
 import org.apache.lucene.util.MathUtil;
 import org.apache.lucene.util.packed.PackedInts;
 
@@ -19,13 +20,23 @@ import java.util.Arrays;
 public class ES87TSDBDocValuesEncoder {
     private final DocValuesForUtil forUtil;
     private final int blockSize;
+    private final int version;
 
     public ES87TSDBDocValuesEncoder() {
         this(ES87TSDBDocValuesFormat.DEFAULT_NUMERIC_BLOCK_SIZE);
     }
 
     public ES87TSDBDocValuesEncoder(int blockSize) {
+        this(blockSize, ES87TSDBDocValuesFormat.VERSION_CURRENT);
+    }
+
+    /**
+     * Creates an encoder for blocks of the given size, which decodes blocks that have been written with the given format version.
+     * Blocks are always encoded with the current version.
+     */
+    public ES87TSDBDocValuesEncoder(int blockSize, int version) {
         this.blockSize = blockSize;
+        this.version = version;
         this.forUtil = new DocValuesForUtil(blockSize);
     }
 
@@ -34,10 +45,30 @@ public class ES87TSDBDocValuesEncoder {
     }
 
     /**
-     * Delta-encode monotonic fields. This is typically helpful with near-primary sort fields or
-     * SORTED_NUMERIC/SORTED_SET doc values with many values per document.
+     * Zig-zag delta-encode fields that aren't monotonic but whose consecutive values are close to each other compared to the range
+     * of the values of the block, like gauges that go up and down. Delta-encoding is only used if it needs fewer bits per value than
+     * removing the offset and the common divisor of the values.
      */
-    private void deltaEncode(int token, int tokenBits, long[] in, DataOutput out) throws IOException {
+    private void zigZagDeltaEncode(int token, int tokenBits, long[] in, DataOutput out) throws IOException {
+        final boolean doZigZagDeltaCompression = isMonotonic(in) == false && zigZagDeltaBits(in) < offsetBits(in);
+        long first = 0;
+        if (doZigZagDeltaCompression) {
+            for (int i = blockSize - 1; i > 0; --i) {
+                in[i] = BitUtil.zigZagEncode(in[i] - in[i - 1]);
+            }
+            first = in[0];
+            in[0] = 0;
+            token = (token << 1) | 0x01;
+        } else {
+            token <<= 1;
+        }
+        deltaEncode(token, tokenBits + 1, in, out);
+        if (doZigZagDeltaCompression) {
+            out.writeZLong(first);
+        }
+    }
+
+    private boolean isMonotonic(long[] in) {
         int gts = 0;
         int lts = 0;
         for (int i = 1; i < blockSize; ++i) {
@@ -47,8 +78,55 @@ public class ES87TSDBDocValuesEncoder {
                 lts++;
             }
         }
+        return (gts == 0 && lts >= 2) || (lts == 0 && gts >= 2);
+    }
+
+    /**
+     * Returns the number of bits per value that are needed to store the zig-zag encoded deltas between consecutive values.
+     */
+    private int zigZagDeltaBits(long[] in) {
+        long or = 0;
+        for (int i = 1; i < blockSize; ++i) {
+            or |= BitUtil.zigZagEncode(in[i] - in[i - 1]);
+        }
+        return bitsRequired(or);
+    }
+
+    /**
+     * Returns the number of bits per value that are needed to store the values once their offset and common divisor are removed.
+     */
+    private int offsetBits(long[] in) {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (long l : in) {
+            min = Math.min(l, min);
+            max = Math.max(l, max);
+        }
+        final long range = max - min;
+        if (range < 0) {
+            // overflow
+            return Long.SIZE;
+        }
+        long gcd = 0;
+        for (long l : in) {
+            gcd = MathUtil.gcd(gcd, l - min);
+            if (gcd == 1) {
+                break;
+            }
+        }
+        return bitsRequired(gcd > 1 ? range / gcd : range);
+    }
 
-        final boolean doDeltaCompression = (gts == 0 && lts >= 2) || (lts == 0 && gts >= 2);
+    private static int bitsRequired(long or) {
+        return or == 0 ? 0 : PackedInts.unsignedBitsRequired(or);
+    }
+
+    /**
+     * Delta-encode monotonic fields. This is typically helpful with near-primary sort fields or
+     * SORTED_NUMERIC/SORTED_SET doc values with many values per document.
+     */
+    private void deltaEncode(int token, int tokenBits, long[] in, DataOutput out) throws IOException {
+        final boolean doDeltaCompression = isMonotonic(in);
         long first = 0;
         if (doDeltaCompression) {
             for (int i = blockSize - 1; i > 0; --i) {
@@ -146,18 +224,21 @@ public class ES87TSDBDocValuesEncoder {
     /**
      * Encode the given longs using a combination of delta-coding, GCD factorization and bit packing.
      */
-    void encode(long[] in, DataOutput out) throws IOException {
+    public void encode(long[] in, DataOutput out) throws IOException {
         assert in.length == blockSize;
+        assert version == ES87TSDBDocValuesFormat.VERSION_CURRENT : "cannot encode blocks with format version " + version;
 
-        deltaEncode(0, 0, in, out);
+        zigZagDeltaEncode(0, 0, in, out);
     }
 
     /** Decode longs that have been encoded with {@link #encode}. */
-    void decode(DataInput in, long[] out) throws IOException {
+    public void decode(DataInput in, long[] out) throws IOException {
         assert out.length == blockSize : out.length;
 
+        // blocks of the first version of the format don't have the zig-zag delta flag
+        final int tokenBits = version >= ES87TSDBDocValuesFormat.VERSION_ZIGZAG_DELTA ? 4 : 3;
         final int token = in.readVInt();
-        final int bitsPerValue = token >>> 3;
+        final int bitsPerValue = token >>> tokenBits;
 
         if (bitsPerValue != 0) {
             forUtil.decode(bitsPerValue, in, out);
@@ -167,7 +248,7 @@ public class ES87TSDBDocValuesEncoder {
 
         // simple blocks that only perform bit packing exit early here
         // this is typical for SORTED(_SET) ordinals
-        if ((token & 0x07) != 0) {
+        if ((token & ((1 << tokenBits) - 1)) != 0) {
 
             final boolean doGcdCompression = (token & 0x01) != 0;
             if (doGcdCompression) {
@@ -187,6 +268,13 @@ public class ES87TSDBDocValuesEncoder {
                 out[0] += first;
                 deltaDecode(out);
             }
+
+            final boolean doZigZagDeltaCompression = tokenBits > 3 && (token & 0x08) != 0;
+            if (doZigZagDeltaCompression) {
+                final long first = in.readZLong();
+                out[0] = first;
+                zigZagDeltaDecode(out);
+            }
         }
     }
 
@@ -209,4 +297,10 @@ public class ES87TSDBDocValuesEncoder {
             arr[i] += arr[i - 1];
         }
     }
+
+    private void zigZagDeltaDecode(long[] arr) {
+        for (int i = 1; i < blockSize; ++i) {
+            arr[i] = arr[i - 1] + BitUtil.zigZagDecode(arr[i]);
+        }
+    }
 }
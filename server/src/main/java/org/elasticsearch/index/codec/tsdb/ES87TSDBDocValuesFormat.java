@@ -10,8 +10,11 @@ package org.elasticsearch.index.codec.tsdb;
 
 import org.apache.lucene.codecs.DocValuesConsumer;
 import org.apache.lucene.codecs.DocValuesProducer;
+import org.apache.lucene.index.SegmentInfo;
 import org.apache.lucene.index.SegmentReadState;
 import org.apache.lucene.index.SegmentWriteState;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.index.mapper.DataStreamTimestampFieldMapper;
 
 import java.io.IOException;
 
@@ -26,12 +29,16 @@ public class ES87TSDBDocValuesFormat extends org.apache.lucene.codecs.DocValuesF
     static final String META_CODEC = "ES87TSDBDocValuesMetadata";
     static final String META_EXTENSION = "dvm";
     static final int VERSION_START = 0;
-    static final int VERSION_CURRENT = VERSION_START;
+    static final int VERSION_ZIGZAG_DELTA = 1;
+    static final int VERSION_CURRENT = VERSION_ZIGZAG_DELTA;
     static final byte NUMERIC = 0;
     static final byte BINARY = 1;
     static final byte SORTED = 2;
     static final byte SORTED_SET = 3;
     static final byte SORTED_NUMERIC = 4;
+    static final String TIMESTAMP_FIELD = DataStreamTimestampFieldMapper.DEFAULT_PATH;
+    static final String MIN_TIMESTAMP_ATTRIBUTE = "es.tsdb.min_timestamp";
+    static final String MAX_TIMESTAMP_ATTRIBUTE = "es.tsdb.max_timestamp";
 
     private final int numericBlockShift;
     private final int numericBlockSize;
@@ -93,4 +100,25 @@ public class ES87TSDBDocValuesFormat extends org.apache.lucene.codecs.DocValuesF
     public int getDirectMonotonicBlockShift() {
         return directMonotonicBlockShift;
     }
+
+    /**
+     * Returns the range of the {@code @timestamp} values of a segment, which this format records in the segment attributes when it
+     * writes at least one {@code @timestamp} value, or {@code null} if the segment has no such values, like segments that only hold
+     * tombstones, or wasn't written by this format.
+     */
+    @Nullable
+    public static TimestampRange getTimestampRange(SegmentInfo segmentInfo) {
+        final String min = segmentInfo.getAttribute(MIN_TIMESTAMP_ATTRIBUTE);
+        final String max = segmentInfo.getAttribute(MAX_TIMESTAMP_ATTRIBUTE);
+        if (min == null || max == null) {
+            return null;
+        }
+        final TimestampRange range = new TimestampRange(Long.parseLong(min), Long.parseLong(max));
+        return range.min() <= range.max() ? range : null;
+    }
+
+    /**
+     * The smallest and largest {@code @timestamp} values of a segment, both inclusive.
+     */
+    public record TimestampRange(long min, long max) {}
 }
@@ -41,6 +41,7 @@ public class ES87TSDBDocValuesProducer extends DocValuesProducer {
     private final int numericBlockShift;
     private final int numericBlockSize;
     private final int numericBlockMask;
+    private final int version;
 
     ES87TSDBDocValuesProducer(
         SegmentReadState state,
@@ -97,6 +98,7 @@ public class ES87TSDBDocValuesProducer extends DocValuesProducer {
             if (version != version2) {
                 throw new CorruptIndexException("Format versions mismatch: meta=" + version + ", data=" + version2, data);
             }
+            this.version = version;
 
             // NOTE: data file is too costly to verify checksum against all the bytes on open,
             // but for now we at least verify proper structure of the checksum footer: which looks
@@ -235,7 +237,7 @@ public class ES87TSDBDocValuesProducer extends DocValuesProducer {
 
                 private final int maxDoc = ES87TSDBDocValuesProducer.this.maxDoc;
                 private int doc = -1;
-                private final ES87TSDBDocValuesEncoder decoder = new ES87TSDBDocValuesEncoder(numericBlockSize);
+                private final ES87TSDBDocValuesEncoder decoder = new ES87TSDBDocValuesEncoder(numericBlockSize, version);
                 private long currentBlockIndex = -1;
                 private final long[] currentBlock = new long[numericBlockSize];
 
@@ -295,7 +297,7 @@ public class ES87TSDBDocValuesProducer extends DocValuesProducer {
             );
             return new NumericDocValues() {
 
-                private final ES87TSDBDocValuesEncoder decoder = new ES87TSDBDocValuesEncoder(numericBlockSize);
+                private final ES87TSDBDocValuesEncoder decoder = new ES87TSDBDocValuesEncoder(numericBlockSize, version);
                 private long currentBlockIndex = -1;
                 private final long[] currentBlock = new long[numericBlockSize];
 
@@ -351,7 +353,7 @@ public class ES87TSDBDocValuesProducer extends DocValuesProducer {
         final IndexInput valuesData = data.slice("values", entry.valuesOffset, entry.valuesLength);
         return new NumericValues() {
 
-            private final ES87TSDBDocValuesEncoder decoder = new ES87TSDBDocValuesEncoder();
+            private final ES87TSDBDocValuesEncoder decoder = new ES87TSDBDocValuesEncoder(numericBlockSize, version);
             private long currentBlockIndex = -1;
             private final long[] currentBlock = new long[numericBlockSize];
 
@@ -12,6 +12,7 @@ import org.apache.logging.log4j.Logger;
 import org.apache.lucene.index.ConcurrentMergeScheduler;
 import org.apache.lucene.index.MergePolicy;
 import org.apache.lucene.index.MergeScheduler;
+import org.apache.lucene.index.MergeTrigger;
 import org.elasticsearch.common.logging.Loggers;
 import org.elasticsearch.common.metrics.CounterMetric;
 import org.elasticsearch.common.metrics.MeanMetric;
@@ -23,6 +24,7 @@ import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.index.IndexSettings;
 import org.elasticsearch.index.MergeSchedulerConfig;
 import org.elasticsearch.index.merge.MergeStats;
+import org.elasticsearch.index.merge.NodeMergeLimiter;
 import org.elasticsearch.index.merge.OnGoingMerge;
 import org.elasticsearch.index.shard.ShardId;
 
@@ -30,6 +32,8 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * An extension to the {@link ConcurrentMergeScheduler} that provides tracking on merge times, total
@@ -49,13 +53,22 @@ class ElasticsearchConcurrentMergeScheduler extends ConcurrentMergeScheduler {
     private final CounterMetric currentMergesSizeInBytes = new CounterMetric();
     private final CounterMetric totalMergeStoppedTime = new CounterMetric();
     private final CounterMetric totalMergeThrottledTime = new CounterMetric();
+    private final CounterMetric totalMergeQueuedTime = new CounterMetric();
 
     private final Set<OnGoingMerge> onGoingMerges = ConcurrentCollections.newConcurrentSet();
     private final Set<OnGoingMerge> readOnlyOnGoingMerges = Collections.unmodifiableSet(onGoingMerges);
     private final MergeSchedulerConfig config;
+    private final NodeMergeLimiter mergeLimiter;
+    private final Runnable onMergePermitGranted = this::onMergePermitGranted;
+    // permits that were acquired from the node but didn't start a merge, released once the scheduler doesn't hold its lock
+    private final AtomicInteger unusedMergePermits = new AtomicInteger();
+    private final AtomicLong waitingForMergePermitSinceNS = new AtomicLong(-1);
+    private volatile MergeSource mergeSource;
+    private volatile boolean closed;
 
-    ElasticsearchConcurrentMergeScheduler(ShardId shardId, IndexSettings indexSettings) {
+    ElasticsearchConcurrentMergeScheduler(ShardId shardId, IndexSettings indexSettings, NodeMergeLimiter mergeLimiter) {
         this.config = indexSettings.getMergeSchedulerConfig();
+        this.mergeLimiter = mergeLimiter;
         this.shardId = shardId;
         this.indexSettings = indexSettings.getSettings();
         this.logger = Loggers.getLogger(getClass(), shardId);
@@ -91,8 +104,69 @@ class ElasticsearchConcurrentMergeScheduler extends ConcurrentMergeScheduler {
         return merge.getMergeInfo() != null ? merge.getMergeInfo().info.name : "_na_";
     }
 
+    /**
+     * Overridden to only start the threads of merges that the node allows to run, see {@link NodeMergeLimiter}. The other merges stay
+     * pending in the index writer until the node grants a permit to this scheduler.
+     */
+    @Override
+    public void merge(MergeSource mergeSource, MergeTrigger trigger) throws IOException {
+        final MergeSource limitedMergeSource = mergeSource instanceof LimitedMergeSource
+            ? mergeSource
+            : new LimitedMergeSource(mergeSource);
+        this.mergeSource = limitedMergeSource;
+        try {
+            super.merge(limitedMergeSource, trigger);
+        } finally {
+            releaseUnusedMergePermits();
+        }
+    }
+
+    private void onMergePermitGranted() {
+        final long waitingSinceNS = waitingForMergePermitSinceNS.getAndSet(-1);
+        if (waitingSinceNS != -1) {
+            totalMergeQueuedTime.inc(TimeValue.nsecToMSec(System.nanoTime() - waitingSinceNS));
+        }
+        unusedMergePermits.incrementAndGet();
+        final MergeSource source = mergeSource;
+        if (closed || source == null) {
+            releaseUnusedMergePermits();
+            return;
+        }
+        try {
+            merge(source, MergeTrigger.MERGE_FINISHED);
+        } catch (Exception e) {
+            logger.debug("failed to start merges after the node granted a merge permit", e);
+        }
+    }
+
+    private boolean takeUnusedMergePermit() {
+        int permits;
+        do {
+            permits = unusedMergePermits.get();
+            if (permits == 0) {
+                return false;
+            }
+        } while (unusedMergePermits.compareAndSet(permits, permits - 1) == false);
+        return true;
+    }
+
+    private void releaseUnusedMergePermits() {
+        for (int permits = unusedMergePermits.getAndSet(0); permits > 0; permits--) {
+            mergeLimiter.release();
+        }
+    }
+
     @Override
     protected void doMerge(MergeSource mergeSource, MergePolicy.OneMerge merge) throws IOException {
+        try {
+            doTrackedMerge(mergeSource, merge);
+        } finally {
+            // the merge was started with a permit of the node, releasing it may start a merge of another shard
+            mergeLimiter.release();
+        }
+    }
+
+    private void doTrackedMerge(MergeSource mergeSource, MergePolicy.OneMerge merge) throws IOException {
         int totalNumDocs = merge.totalNumDocs();
         long totalSizeInBytes = merge.totalBytesSize();
         long timeNS = System.nanoTime();
@@ -174,6 +248,17 @@ class ElasticsearchConcurrentMergeScheduler extends ConcurrentMergeScheduler {
         return this;
     }
 
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        mergeLimiter.removeWaiter(onMergePermitGranted);
+        try {
+            super.close();
+        } finally {
+            releaseUnusedMergePermits();
+        }
+    }
+
     @Override
     protected boolean maybeStall(MergeSource mergeSource) {
         // Don't stall here, because we do our own index throttling (in InternalEngine.IndexThrottle) when merges can't keep up
@@ -189,6 +274,54 @@ class ElasticsearchConcurrentMergeScheduler extends ConcurrentMergeScheduler {
         return thread;
     }
 
+    /**
+     * Hands out the pending merges of the index writer only if the node grants a permit to run them. Merges that can't run yet stay
+     * pending in the index writer, so that the merge thread of a merge is only started once it may run: a merge that waited on its
+     * thread would count as running for {@link ConcurrentMergeScheduler}, which could pause the merges that hold the permits of the
+     * node in its favour. Called with the lock of the scheduler held, so permits are never released here.
+     */
+    private class LimitedMergeSource implements MergeSource {
+
+        private final MergeSource delegate;
+
+        LimitedMergeSource(MergeSource delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public MergePolicy.OneMerge getNextMerge() {
+            if (delegate.hasPendingMerges() == false) {
+                return null;
+            }
+            if (takeUnusedMergePermit() == false && mergeLimiter.tryAcquire(onMergePermitGranted) == false) {
+                waitingForMergePermitSinceNS.compareAndSet(-1, System.nanoTime());
+                return null;
+            }
+            final MergePolicy.OneMerge merge = delegate.getNextMerge();
+            if (merge == null) {
+                unusedMergePermits.incrementAndGet();
+            }
+            return merge;
+        }
+
+        @Override
+        public void onMergeFinished(MergePolicy.OneMerge merge) {
+            // the thread of the merge failed to start
+            unusedMergePermits.incrementAndGet();
+            delegate.onMergeFinished(merge);
+        }
+
+        @Override
+        public boolean hasPendingMerges() {
+            return delegate.hasPendingMerges();
+        }
+
+        @Override
+        public void merge(MergePolicy.OneMerge merge) throws IOException {
+            delegate.merge(merge);
+        }
+    }
+
     MergeStats stats() {
         final MergeStats mergeStats = new MergeStats();
         mergeStats.add(
@@ -201,6 +334,7 @@ class ElasticsearchConcurrentMergeScheduler extends ConcurrentMergeScheduler {
             currentMergesSizeInBytes.count(),
             totalMergeStoppedTime.count(),
             totalMergeThrottledTime.count(),
+            totalMergeQueuedTime.count(),
             config.isAutoThrottle() ? getIORateLimitMBPerSec() : Double.POSITIVE_INFINITY
         );
         return mergeStats;
@@ -43,6 +43,7 @@ import org.elasticsearch.core.Releasable;
 import org.elasticsearch.core.Releasables;
 import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.index.VersionType;
+import org.elasticsearch.index.codec.bloomfilter.ES87BloomFilterPostingsFormat;
 import org.elasticsearch.index.mapper.DocumentParser;
 import org.elasticsearch.index.mapper.IdFieldMapper;
 import org.elasticsearch.index.mapper.LuceneDocument;
@@ -978,6 +979,11 @@ public abstract class Engine implements Closeable {
         }
         segment.segmentSort = info.info.getIndexSort();
         segment.attributes = info.info.getAttributes();
+        try {
+            segment.idBloomFilterStats = ES87BloomFilterPostingsFormat.getBloomFilterStats(segmentReader, IdFieldMapper.NAME);
+        } catch (IOException e) {
+            logger.trace(() -> "failed to get bloom filter stats for [" + info.info.name + "]", e);
+        }
         // TODO: add more fine grained mem stats values to per segment info here
         segments.put(info.info.name, segment);
     }
@@ -24,6 +24,7 @@ import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.index.IndexSettings;
 import org.elasticsearch.index.codec.CodecService;
+import org.elasticsearch.index.merge.NodeMergeLimiter;
 import org.elasticsearch.index.seqno.RetentionLeases;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.index.store.Store;
@@ -130,6 +131,8 @@ public final class EngineConfig {
 
     private final boolean promotableToPrimary;
 
+    private final NodeMergeLimiter mergeLimiter;
+
     /**
      * Creates a new {@link org.elasticsearch.index.engine.EngineConfig}
      */
@@ -159,7 +162,8 @@ public final class EngineConfig {
         Comparator<LeafReader> leafSorter,
         LongSupplier relativeTimeInNanosSupplier,
         Engine.IndexCommitListener indexCommitListener,
-        boolean promotableToPrimary
+        boolean promotableToPrimary,
+        NodeMergeLimiter mergeLimiter
     ) {
         this.shardId = shardId;
         this.indexSettings = indexSettings;
@@ -202,6 +206,7 @@ public final class EngineConfig {
         this.relativeTimeInNanosSupplier = relativeTimeInNanosSupplier;
         this.indexCommitListener = indexCommitListener;
         this.promotableToPrimary = promotableToPrimary;
+        this.mergeLimiter = mergeLimiter;
     }
 
     /**
@@ -423,4 +428,11 @@ public final class EngineConfig {
     public boolean isPromotableToPrimary() {
         return promotableToPrimary;
     }
+
+    /**
+     * @return the limiter that bounds the number of merges that run concurrently across all the shards of the node
+     */
+    public NodeMergeLimiter getMergeLimiter() {
+        return mergeLimiter;
+    }
 }
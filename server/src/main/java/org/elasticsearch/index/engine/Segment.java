@@ -21,6 +21,7 @@ import org.elasticsearch.common.io.stream.Writeable;
 import org.elasticsearch.common.lucene.Lucene;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.core.Nullable;
+import org.elasticsearch.index.codec.bloomfilter.BloomFilterStats;
 
 import java.io.IOException;
 import java.util.Map;
@@ -40,6 +41,7 @@ public class Segment implements Writeable {
     public String mergeId;
     public Sort segmentSort;
     public Map<String, String> attributes;
+    public BloomFilterStats idBloomFilterStats;
 
     public Segment(StreamInput in) throws IOException {
         name = in.readString();
@@ -64,6 +66,9 @@ public class Segment implements Writeable {
         } else {
             attributes = null;
         }
+        if (in.getTransportVersion().onOrAfter(TransportVersion.V_8_8_0)) {
+            idBloomFilterStats = in.readOptionalWriteable(BloomFilterStats::new);
+        }
     }
 
     public Segment(String name) {
@@ -132,6 +137,15 @@ public class Segment implements Writeable {
         return attributes;
     }
 
+    /**
+     * Return the statistics of the lookups in the bloom filter of the {@code _id} field of this segment, or null if the segment has no
+     * such bloom filter.
+     */
+    @Nullable
+    public BloomFilterStats getIdBloomFilterStats() {
+        return idBloomFilterStats;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -170,6 +184,9 @@ public class Segment implements Writeable {
         if (hasAttributes) {
             out.writeMap(attributes, StreamOutput::writeString, StreamOutput::writeString);
         }
+        if (out.getTransportVersion().onOrAfter(TransportVersion.V_8_8_0)) {
+            out.writeOptionalWriteable(idBloomFilterStats);
+        }
     }
 
     private static final byte SORT_STRING_SET = 0;
@@ -8,6 +8,7 @@
 
 package org.elasticsearch.index.fielddata;
 
+import org.elasticsearch.TransportVersion;
 import org.elasticsearch.common.FieldMemoryStats;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
@@ -18,6 +19,7 @@ import org.elasticsearch.xcontent.ToXContentFragment;
 import org.elasticsearch.xcontent.XContentBuilder;
 
 import java.io.IOException;
+import java.util.Map;
 import java.util.Objects;
 
 public class FieldDataStats implements Writeable, ToXContentFragment {
@@ -31,6 +33,8 @@ public class FieldDataStats implements Writeable, ToXContentFragment {
     private long evictions;
     @Nullable
     private FieldMemoryStats fields;
+    @Nullable
+    private GlobalOrdinalsStats globalOrdinalsStats;
 
     public FieldDataStats() {
 
@@ -40,12 +44,25 @@ public class FieldDataStats implements Writeable, ToXContentFragment {
         memorySize = in.readVLong();
         evictions = in.readVLong();
         fields = in.readOptionalWriteable(FieldMemoryStats::new);
+        if (in.getTransportVersion().onOrAfter(TransportVersion.V_8_8_0)) {
+            globalOrdinalsStats = in.readOptionalWriteable(GlobalOrdinalsStats::new);
+        }
     }
 
     public FieldDataStats(long memorySize, long evictions, @Nullable FieldMemoryStats fields) {
+        this(memorySize, evictions, fields, null);
+    }
+
+    public FieldDataStats(
+        long memorySize,
+        long evictions,
+        @Nullable FieldMemoryStats fields,
+        @Nullable GlobalOrdinalsStats globalOrdinalsStats
+    ) {
         this.memorySize = memorySize;
         this.evictions = evictions;
         this.fields = fields;
+        this.globalOrdinalsStats = globalOrdinalsStats;
     }
 
     public void add(FieldDataStats stats) {
@@ -61,6 +78,12 @@ public class FieldDataStats implements Writeable, ToXContentFragment {
                 fields.add(stats.fields);
             }
         }
+        if (stats.globalOrdinalsStats != null) {
+            if (globalOrdinalsStats == null) {
+                globalOrdinalsStats = new GlobalOrdinalsStats(0, Map.of());
+            }
+            globalOrdinalsStats.add(stats.globalOrdinalsStats);
+        }
     }
 
     public long getMemorySizeInBytes() {
@@ -80,11 +103,19 @@ public class FieldDataStats implements Writeable, ToXContentFragment {
         return fields;
     }
 
+    @Nullable
+    public GlobalOrdinalsStats getGlobalOrdinalsStats() {
+        return globalOrdinalsStats;
+    }
+
     @Override
     public void writeTo(StreamOutput out) throws IOException {
         out.writeVLong(memorySize);
         out.writeVLong(evictions);
         out.writeOptionalWriteable(fields);
+        if (out.getTransportVersion().onOrAfter(TransportVersion.V_8_8_0)) {
+            out.writeOptionalWriteable(globalOrdinalsStats);
+        }
     }
 
     @Override
@@ -95,6 +126,9 @@ public class FieldDataStats implements Writeable, ToXContentFragment {
         if (fields != null) {
             fields.toXContent(builder, FIELDS, MEMORY_SIZE_IN_BYTES, MEMORY_SIZE);
         }
+        if (globalOrdinalsStats != null) {
+            globalOrdinalsStats.toXContent(builder, params);
+        }
         builder.endObject();
         return builder;
     }
@@ -104,11 +138,14 @@ public class FieldDataStats implements Writeable, ToXContentFragment {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         FieldDataStats that = (FieldDataStats) o;
-        return memorySize == that.memorySize && evictions == that.evictions && Objects.equals(fields, that.fields);
+        return memorySize == that.memorySize
+            && evictions == that.evictions
+            && Objects.equals(fields, that.fields)
+            && Objects.equals(globalOrdinalsStats, that.globalOrdinalsStats);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(memorySize, evictions, fields);
+        return Objects.hash(memorySize, evictions, fields, globalOrdinalsStats);
     }
 }
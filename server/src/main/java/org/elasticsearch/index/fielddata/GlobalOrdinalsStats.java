@@ -0,0 +1,130 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.fielddata;
+
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.core.TimeValue;
+import org.elasticsearch.xcontent.ToXContentFragment;
+import org.elasticsearch.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Statistics about the building of global ordinals: how long it took to build them, and how many unique values they map.
+ */
+public class GlobalOrdinalsStats implements Writeable, ToXContentFragment {
+
+    private static final String GLOBAL_ORDINALS = "global_ordinals";
+    private static final String BUILD_TIME = "build_time";
+    private static final String BUILD_TIME_IN_MILLIS = "build_time_in_millis";
+    private static final String FIELDS = "fields";
+    private static final String SHARD_MAX_VALUE_COUNT = "shard_max_value_count";
+
+    private long buildTimeMillis;
+    private final Map<String, GlobalOrdinalFieldStats> fieldGlobalOrdinalsStats;
+
+    public GlobalOrdinalsStats(long buildTimeMillis, Map<String, GlobalOrdinalFieldStats> fieldGlobalOrdinalsStats) {
+        this.buildTimeMillis = buildTimeMillis;
+        this.fieldGlobalOrdinalsStats = new HashMap<>(fieldGlobalOrdinalsStats);
+    }
+
+    public GlobalOrdinalsStats(StreamInput in) throws IOException {
+        this.buildTimeMillis = in.readVLong();
+        this.fieldGlobalOrdinalsStats = in.readMap(StreamInput::readString, GlobalOrdinalFieldStats::new);
+    }
+
+    public void add(GlobalOrdinalsStats other) {
+        buildTimeMillis += other.buildTimeMillis;
+        for (var entry : other.fieldGlobalOrdinalsStats.entrySet()) {
+            fieldGlobalOrdinalsStats.merge(entry.getKey(), entry.getValue(), GlobalOrdinalFieldStats::merge);
+        }
+    }
+
+    /**
+     * Returns the total time spent building global ordinals, in milliseconds.
+     */
+    public long getBuildTimeMillis() {
+        return buildTimeMillis;
+    }
+
+    public Map<String, GlobalOrdinalFieldStats> getFieldGlobalOrdinalsStats() {
+        return fieldGlobalOrdinalsStats;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeVLong(buildTimeMillis);
+        out.writeMap(fieldGlobalOrdinalsStats, StreamOutput::writeString, (o, v) -> v.writeTo(o));
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject(GLOBAL_ORDINALS);
+        builder.humanReadableField(BUILD_TIME_IN_MILLIS, BUILD_TIME, TimeValue.timeValueMillis(buildTimeMillis));
+        if (fieldGlobalOrdinalsStats.isEmpty() == false) {
+            builder.startObject(FIELDS);
+            for (var entry : new TreeMap<>(fieldGlobalOrdinalsStats).entrySet()) {
+                builder.startObject(entry.getKey());
+                builder.humanReadableField(
+                    BUILD_TIME_IN_MILLIS,
+                    BUILD_TIME,
+                    TimeValue.timeValueMillis(entry.getValue().totalBuildTimeMillis())
+                );
+                builder.field(SHARD_MAX_VALUE_COUNT, entry.getValue().shardMaxValueCount());
+                builder.endObject();
+            }
+            builder.endObject();
+        }
+        builder.endObject();
+        return builder;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        GlobalOrdinalsStats that = (GlobalOrdinalsStats) o;
+        return buildTimeMillis == that.buildTimeMillis && Objects.equals(fieldGlobalOrdinalsStats, that.fieldGlobalOrdinalsStats);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(buildTimeMillis, fieldGlobalOrdinalsStats);
+    }
+
+    /**
+     * The global ordinals statistics of a single field: the total time spent building its global ordinals, and the
+     * highest number of unique values of the field on a single shard.
+     */
+    public record GlobalOrdinalFieldStats(long totalBuildTimeMillis, long shardMaxValueCount) implements Writeable {
+
+        public GlobalOrdinalFieldStats(StreamInput in) throws IOException {
+            this(in.readVLong(), in.readVLong());
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeVLong(totalBuildTimeMillis);
+            out.writeVLong(shardMaxValueCount);
+        }
+
+        static GlobalOrdinalFieldStats merge(GlobalOrdinalFieldStats a, GlobalOrdinalFieldStats b) {
+            return new GlobalOrdinalFieldStats(
+                a.totalBuildTimeMillis + b.totalBuildTimeMillis,
+                Math.max(a.shardMaxValueCount, b.shardMaxValueCount)
+            );
+        }
+    }
+}
@@ -14,6 +14,8 @@ import org.elasticsearch.common.metrics.CounterMetric;
 import org.elasticsearch.common.regex.Regex;
 import org.elasticsearch.common.util.CollectionUtils;
 import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
+import org.elasticsearch.index.fielddata.GlobalOrdinalsStats.GlobalOrdinalFieldStats;
+import org.elasticsearch.index.fielddata.ordinals.GlobalOrdinalsIndexFieldData;
 import org.elasticsearch.index.shard.ShardId;
 
 import java.util.HashMap;
@@ -26,6 +28,10 @@ public class ShardFieldData implements IndexFieldDataCache.Listener {
     private final CounterMetric totalMetric = new CounterMetric();
     private final ConcurrentMap<String, CounterMetric> perFieldTotals = ConcurrentCollections.newConcurrentMap();
 
+    private final CounterMetric globalOrdinalsBuildTimeMillis = new CounterMetric();
+    private final ConcurrentMap<String, GlobalOrdinalFieldStats> perFieldGlobalOrdinalsStats = ConcurrentCollections
+        .newConcurrentMap();
+
     public FieldDataStats stats(String... fields) {
         Map<String, Long> fieldTotals = null;
         if (CollectionUtils.isEmpty(fields) == false) {
@@ -39,7 +45,8 @@ public class ShardFieldData implements IndexFieldDataCache.Listener {
         return new FieldDataStats(
             totalMetric.count(),
             evictionsMetric.count(),
-            fieldTotals == null ? null : new FieldMemoryStats(fieldTotals)
+            fieldTotals == null ? null : new FieldMemoryStats(fieldTotals),
+            new GlobalOrdinalsStats(globalOrdinalsBuildTimeMillis.count(), perFieldGlobalOrdinalsStats)
         );
     }
 
@@ -57,6 +64,15 @@ public class ShardFieldData implements IndexFieldDataCache.Listener {
                 prev.inc(ramUsage.ramBytesUsed());
             }
         }
+        if (ramUsage instanceof GlobalOrdinalsIndexFieldData globalOrdinals) {
+            final long buildTimeMillis = globalOrdinals.getBuildTime().millis();
+            globalOrdinalsBuildTimeMillis.inc(buildTimeMillis);
+            perFieldGlobalOrdinalsStats.merge(
+                fieldName,
+                new GlobalOrdinalFieldStats(buildTimeMillis, globalOrdinals.getValueCount()),
+                GlobalOrdinalFieldStats::merge
+            );
+        }
     }
 
     @Override
@@ -16,6 +16,7 @@ import org.apache.lucene.search.SortField;
 import org.apache.lucene.util.Accountable;
 import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.core.Nullable;
+import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.index.fielddata.IndexFieldData.XFieldComparatorSource.Nested;
 import org.elasticsearch.index.fielddata.IndexOrdinalsFieldData;
 import org.elasticsearch.index.fielddata.LeafOrdinalsFieldData;
@@ -45,6 +46,7 @@ public final class GlobalOrdinalsIndexFieldData implements IndexOrdinalsFieldDat
     private final String fieldName;
     private final ValuesSourceType valuesSourceType;
     private final long memorySizeInBytes;
+    private final TimeValue buildTime;
 
     private final OrdinalMap ordinalMap;
     private final LeafOrdinalsFieldData[] segmentAfd;
@@ -56,11 +58,13 @@ public final class GlobalOrdinalsIndexFieldData implements IndexOrdinalsFieldDat
         LeafOrdinalsFieldData[] segmentAfd,
         OrdinalMap ordinalMap,
         long memorySizeInBytes,
+        TimeValue buildTime,
         ToScriptFieldFactory<SortedSetDocValues> toScriptFieldFactory
     ) {
         this.fieldName = fieldName;
         this.valuesSourceType = valuesSourceType;
         this.memorySizeInBytes = memorySizeInBytes;
+        this.buildTime = buildTime;
         this.ordinalMap = ordinalMap;
         this.segmentAfd = segmentAfd;
         this.toScriptFieldFactory = toScriptFieldFactory;
@@ -134,6 +138,20 @@ public final class GlobalOrdinalsIndexFieldData implements IndexOrdinalsFieldDat
         return true;
     }
 
+    /**
+     * Returns how long it took to build the global ordinals.
+     */
+    public TimeValue getBuildTime() {
+        return buildTime;
+    }
+
+    /**
+     * Returns the number of unique values of the field, which is the number of global ordinals.
+     */
+    public long getValueCount() {
+        return ordinalMap.getValueCount();
+    }
+
     /**
      * A non-thread safe {@link IndexOrdinalsFieldData} for global ordinals that creates the {@link TermsEnum} of each
      * segment once and use them to provide a single lookup per segment.
@@ -687,6 +687,11 @@ public final class DocumentParser {
     // fields
     private static Mapper getMapper(final DocumentParserContext context, ObjectMapper objectMapper, String fieldName) {
         if (context.path().atRoot()) {
+            final Mapping mapping = context.mappingLookup().getMapping();
+            if (objectMapper == mapping.getRoot()) {
+                // metadata mappers and the fields of the root object with a single lookup
+                return mapping.getRootLevelMapper(fieldName);
+            }
             // Check if mapper is a metadata mapper first
             Mapper mapper = context.getMetadataMapper(fieldName);
             if (mapper != null) {
@@ -41,6 +41,7 @@ public final class Mapping implements ToXContentFragment {
     private final MetadataFieldMapper[] metadataMappers;
     private final Map<Class<? extends MetadataFieldMapper>, MetadataFieldMapper> metadataMappersMap;
     private final Map<String, MetadataFieldMapper> metadataMappersByName;
+    private final Map<String, Mapper> rootLevelMappers;
 
     // IntelliJ doesn't think that we need a rawtypes suppression here, but gradle fails to compile this file without it
     @SuppressWarnings({ "unchecked", "rawtypes" })
@@ -58,9 +59,23 @@ public final class Mapping implements ToXContentFragment {
         Arrays.sort(metadataMappers, Comparator.comparing(Mapper::name));
         this.metadataMappersMap = Map.ofEntries(metadataMappersMap);
         this.metadataMappersByName = Map.ofEntries(metadataMappersByName);
+        this.rootLevelMappers = buildRootLevelMappers(rootObjectMapper, this.metadataMappersByName);
         this.meta = meta;
     }
 
+    private static Map<String, Mapper> buildRootLevelMappers(
+        RootObjectMapper root,
+        Map<String, MetadataFieldMapper> metadataMappersByName
+    ) {
+        Map<String, Mapper> rootLevelMappers = new HashMap<>();
+        for (Mapper mapper : root) {
+            rootLevelMappers.put(mapper.simpleName(), mapper);
+        }
+        // metadata mappers take precedence over the fields of the root object
+        rootLevelMappers.putAll(metadataMappersByName);
+        return Map.copyOf(rootLevelMappers);
+    }
+
     /**
      * Outputs this mapping instance and returns it in {@link CompressedXContent} format
      * @return the {@link CompressedXContent} representation of this mapping instance
@@ -105,6 +120,14 @@ public final class Mapping implements ToXContentFragment {
         return metadataMappersByName.get(mapperName);
     }
 
+    /**
+     * Get the mapper of a field of the root object, which is the metadata mapper if there is one with the given name, with a single
+     * lookup rather than one for the metadata mappers and one for the fields of the root object.
+     */
+    Mapper getRootLevelMapper(String name) {
+        return rootLevelMappers.get(name);
+    }
+
     void validate(MappingLookup mappers) {
         for (MetadataFieldMapper metadataFieldMapper : metadataMappers) {
             metadataFieldMapper.validate(mappers);
@@ -8,6 +8,7 @@
 
 package org.elasticsearch.index.merge;
 
+import org.elasticsearch.TransportVersion;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
@@ -37,6 +38,9 @@ public class MergeStats implements Writeable, ToXContentFragment {
 
     private long totalBytesPerSecAutoThrottle;
 
+    /** Total millis that merges waited for other merges of the node to finish, see {@link NodeMergeLimiter}. */
+    private long totalQueuedTimeInMillis;
+
     public MergeStats() {
 
     }
@@ -53,6 +57,9 @@ public class MergeStats implements Writeable, ToXContentFragment {
         totalStoppedTimeInMillis = in.readVLong();
         totalThrottledTimeInMillis = in.readVLong();
         totalBytesPerSecAutoThrottle = in.readVLong();
+        if (in.getTransportVersion().onOrAfter(TransportVersion.V_8_8_0)) {
+            totalQueuedTimeInMillis = in.readVLong();
+        }
     }
 
     @Override
@@ -69,7 +76,8 @@ public class MergeStats implements Writeable, ToXContentFragment {
             && currentSizeInBytes == that.currentSizeInBytes
             && totalStoppedTimeInMillis == that.totalStoppedTimeInMillis
             && totalThrottledTimeInMillis == that.totalThrottledTimeInMillis
-            && totalBytesPerSecAutoThrottle == that.totalBytesPerSecAutoThrottle;
+            && totalBytesPerSecAutoThrottle == that.totalBytesPerSecAutoThrottle
+            && totalQueuedTimeInMillis == that.totalQueuedTimeInMillis;
     }
 
     @Override
@@ -84,7 +92,8 @@ public class MergeStats implements Writeable, ToXContentFragment {
             currentSizeInBytes,
             totalStoppedTimeInMillis,
             totalThrottledTimeInMillis,
-            totalBytesPerSecAutoThrottle
+            totalBytesPerSecAutoThrottle,
+            totalQueuedTimeInMillis
         );
     }
 
@@ -98,6 +107,7 @@ public class MergeStats implements Writeable, ToXContentFragment {
         long currentSizeInBytes,
         long stoppedTimeMillis,
         long throttledTimeMillis,
+        long queuedTimeMillis,
         double mbPerSecAutoThrottle
     ) {
         this.total += totalMerges;
@@ -109,6 +119,7 @@ public class MergeStats implements Writeable, ToXContentFragment {
         this.currentSizeInBytes += currentSizeInBytes;
         this.totalStoppedTimeInMillis += stoppedTimeMillis;
         this.totalThrottledTimeInMillis += throttledTimeMillis;
+        this.totalQueuedTimeInMillis += queuedTimeMillis;
         long bytesPerSecAutoThrottle = (long) (mbPerSecAutoThrottle * 1024 * 1024);
         if (this.totalBytesPerSecAutoThrottle == Long.MAX_VALUE || bytesPerSecAutoThrottle == Long.MAX_VALUE) {
             this.totalBytesPerSecAutoThrottle = Long.MAX_VALUE;
@@ -138,6 +149,7 @@ public class MergeStats implements Writeable, ToXContentFragment {
         this.totalSizeInBytes += mergeStats.totalSizeInBytes;
         this.totalStoppedTimeInMillis += mergeStats.totalStoppedTimeInMillis;
         this.totalThrottledTimeInMillis += mergeStats.totalThrottledTimeInMillis;
+        this.totalQueuedTimeInMillis += mergeStats.totalQueuedTimeInMillis;
         if (this.totalBytesPerSecAutoThrottle == Long.MAX_VALUE || mergeStats.totalBytesPerSecAutoThrottle == Long.MAX_VALUE) {
             this.totalBytesPerSecAutoThrottle = Long.MAX_VALUE;
         } else {
@@ -187,6 +199,20 @@ public class MergeStats implements Writeable, ToXContentFragment {
         return new TimeValue(totalThrottledTimeInMillis);
     }
 
+    /**
+     * The total time merges waited for other merges of the node to finish before they could start.
+     */
+    public long getTotalQueuedTimeInMillis() {
+        return this.totalQueuedTimeInMillis;
+    }
+
+    /**
+     * The total time merges waited for other merges of the node to finish before they could start.
+     */
+    public TimeValue getTotalQueuedTime() {
+        return new TimeValue(totalQueuedTimeInMillis);
+    }
+
     /**
      * The total time merges have been executed.
      */
@@ -241,6 +267,7 @@ public class MergeStats implements Writeable, ToXContentFragment {
         builder.humanReadableField(Fields.TOTAL_SIZE_IN_BYTES, Fields.TOTAL_SIZE, getTotalSize());
         builder.humanReadableField(Fields.TOTAL_STOPPED_TIME_IN_MILLIS, Fields.TOTAL_STOPPED_TIME, getTotalStoppedTime());
         builder.humanReadableField(Fields.TOTAL_THROTTLED_TIME_IN_MILLIS, Fields.TOTAL_THROTTLED_TIME, getTotalThrottledTime());
+        builder.humanReadableField(Fields.TOTAL_QUEUED_TIME_IN_MILLIS, Fields.TOTAL_QUEUED_TIME, getTotalQueuedTime());
         if (builder.humanReadable() && totalBytesPerSecAutoThrottle != -1) {
             builder.field(Fields.TOTAL_THROTTLE_BYTES_PER_SEC).value(ByteSizeValue.ofBytes(totalBytesPerSecAutoThrottle).toString());
         }
@@ -262,6 +289,8 @@ public class MergeStats implements Writeable, ToXContentFragment {
         static final String TOTAL_STOPPED_TIME_IN_MILLIS = "total_stopped_time_in_millis";
         static final String TOTAL_THROTTLED_TIME = "total_throttled_time";
         static final String TOTAL_THROTTLED_TIME_IN_MILLIS = "total_throttled_time_in_millis";
+        static final String TOTAL_QUEUED_TIME = "total_queued_time";
+        static final String TOTAL_QUEUED_TIME_IN_MILLIS = "total_queued_time_in_millis";
         static final String TOTAL_DOCS = "total_docs";
         static final String TOTAL_SIZE = "total_size";
         static final String TOTAL_SIZE_IN_BYTES = "total_size_in_bytes";
@@ -282,5 +311,8 @@ public class MergeStats implements Writeable, ToXContentFragment {
         out.writeVLong(totalStoppedTimeInMillis);
         out.writeVLong(totalThrottledTimeInMillis);
         out.writeVLong(totalBytesPerSecAutoThrottle);
+        if (out.getTransportVersion().onOrAfter(TransportVersion.V_8_8_0)) {
+            out.writeVLong(totalQueuedTimeInMillis);
+        }
     }
 }
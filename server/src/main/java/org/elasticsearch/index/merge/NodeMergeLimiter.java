@@ -0,0 +1,136 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.merge;
+
+import org.elasticsearch.common.settings.ClusterSettings;
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Setting.Property;
+import org.elasticsearch.common.settings.Settings;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Limits the number of merges that run at the same time across all the shards of a node. Each shard has its own merge scheduler,
+ * which limits the merges of the shard with {@code index.merge.scheduler.max_thread_count}, but a node with many shards could
+ * still run many merges concurrently, which compete with searches and indexing for CPU and disk.
+ * <p>
+ * A merge scheduler acquires a permit before it starts the thread of a merge, and releases it once the merge is done. A scheduler
+ * that can't acquire a permit leaves its merges pending in its index writer and waits for a permit: waiting schedulers are handed
+ * the permits of merges that complete, in the order in which they started to wait. Merges therefore don't wait on a merge thread,
+ * where the merge scheduler of their shard would count them as running, and could pause the merges that hold permits in favour of
+ * merges that wait for one.
+ * <p>
+ * The merges of a shard that wait for a permit don't throttle the indexing of the shard, so a limit that is too low for the number
+ * of actively indexing shards on the node lets the number of segments of these shards grow until their merges catch up. The limit
+ * is therefore disabled by default.
+ */
+public final class NodeMergeLimiter {
+
+    /**
+     * The maximum number of merges that may run at the same time on the node, merges aren't limited if it is {@code -1} or {@code 0}.
+     */
+    public static final Setting<Integer> MAX_CONCURRENT_MERGES_SETTING = Setting.intSetting(
+        "indices.merge.max_concurrent_merges",
+        -1,
+        -1,
+        Property.Dynamic,
+        Property.NodeScope
+    );
+
+    private final Deque<Runnable> waiters = new ArrayDeque<>();
+    private int maxConcurrentMerges;
+    private int runningMerges;
+
+    public NodeMergeLimiter(Settings settings, ClusterSettings clusterSettings) {
+        this(MAX_CONCURRENT_MERGES_SETTING.get(settings));
+        clusterSettings.addSettingsUpdateConsumer(MAX_CONCURRENT_MERGES_SETTING, this::setMaxConcurrentMerges);
+    }
+
+    public NodeMergeLimiter(int maxConcurrentMerges) {
+        this.maxConcurrentMerges = maxConcurrentMerges;
+    }
+
+    void setMaxConcurrentMerges(int maxConcurrentMerges) {
+        final List<Runnable> granted = new ArrayList<>();
+        synchronized (this) {
+            this.maxConcurrentMerges = maxConcurrentMerges;
+            Runnable waiter;
+            while (hasCapacity() && (waiter = waiters.poll()) != null) {
+                runningMerges++;
+                granted.add(waiter);
+            }
+        }
+        granted.forEach(Runnable::run);
+    }
+
+    private boolean hasCapacity() {
+        assert Thread.holdsLock(this);
+        return maxConcurrentMerges <= 0 || runningMerges < maxConcurrentMerges;
+    }
+
+    /**
+     * Acquires a permit to run a merge if the node runs fewer merges than the limit. Otherwise the given waiter is queued, unless it
+     * is queued already, and it is run once a permit is granted to it. The waiter must then start a merge with the permit, or
+     * release it. Waiters are run without holding any lock of the limiter, but possibly on the thread that releases a permit.
+     *
+     * @return whether a permit was acquired
+     */
+    public synchronized boolean tryAcquire(Runnable waiter) {
+        if (hasCapacity()) {
+            runningMerges++;
+            return true;
+        }
+        if (waiters.contains(waiter) == false) {
+            waiters.add(waiter);
+        }
+        return false;
+    }
+
+    /**
+     * Releases a permit that was acquired with {@link #tryAcquire} or granted to a waiter, and hands it over to the next waiter.
+     */
+    public void release() {
+        final Runnable waiter;
+        synchronized (this) {
+            assert runningMerges > 0;
+            runningMerges--;
+            waiter = hasCapacity() ? waiters.poll() : null;
+            if (waiter != null) {
+                runningMerges++;
+            }
+        }
+        if (waiter != null) {
+            waiter.run();
+        }
+    }
+
+    /**
+     * Removes the given waiter, eg. because its merge scheduler is closing. It won't be granted a permit afterwards.
+     */
+    public synchronized void removeWaiter(Runnable waiter) {
+        waiters.remove(waiter);
+    }
+
+    /**
+     * Returns the number of merges that are currently running.
+     */
+    public synchronized int getRunningMerges() {
+        return runningMerges;
+    }
+
+    /**
+     * Returns the number of merge schedulers that wait for a permit to start a merge.
+     */
+    public synchronized int getWaitingSchedulers() {
+        return waiters.size();
+    }
+}
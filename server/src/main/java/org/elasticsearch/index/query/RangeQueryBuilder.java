@@ -433,6 +433,15 @@ public class RangeQueryBuilder extends AbstractQueryBuilder<RangeQueryBuilder> i
 
     // Overridable for testing only
     protected MappedFieldType.Relation getRelation(QueryRewriteContext queryRewriteContext) throws IOException {
+        return getRelation(queryRewriteContext, from, to);
+    }
+
+    /**
+     * Returns the relation of the values of the field with a range that has the provided bounds, which may differ from the
+     * bounds of this query.
+     */
+    // Overridable for testing only
+    MappedFieldType.Relation getRelation(QueryRewriteContext queryRewriteContext, Object from, Object to) throws IOException {
         CoordinatorRewriteContext coordinatorRewriteContext = queryRewriteContext.convertToCoordinatorRewriteContext();
         if (coordinatorRewriteContext != null) {
             final MappedFieldType fieldType = coordinatorRewriteContext.getFieldType(fieldName);
@@ -503,12 +512,44 @@ public class RangeQueryBuilder extends AbstractQueryBuilder<RangeQueryBuilder> i
                     return this;
                 }
             case INTERSECTS:
-                return this;
+                return dropBoundsWithinShardData(queryRewriteContext);
             default:
                 throw new AssertionError();
         }
     }
 
+    /**
+     * Drops the bound of this query that all values of the field on the shard satisfy. The rewritten query matches the same
+     * documents, but it no longer depends on that bound: a range that ends at {@code now} is for instance rewritten to a range
+     * that is only bounded by its lower bound on shards whose values are all in the past, which makes it cacheable in the shard
+     * request cache if the lower bound is absolute.
+     */
+    private QueryBuilder dropBoundsWithinShardData(QueryRewriteContext queryRewriteContext) throws IOException {
+        if (from == null || to == null || queryRewriteContext.convertToSearchExecutionContext() == null) {
+            return this;
+        }
+        final Object newFrom;
+        final Object newTo;
+        if (getRelation(queryRewriteContext, from, null) == MappedFieldType.Relation.WITHIN) {
+            newFrom = null;
+            newTo = to;
+        } else if (getRelation(queryRewriteContext, null, to) == MappedFieldType.Relation.WITHIN) {
+            newFrom = from;
+            newTo = null;
+        } else {
+            return this;
+        }
+        RangeQueryBuilder newRangeQuery = new RangeQueryBuilder(fieldName);
+        newRangeQuery.from = newFrom;
+        newRangeQuery.to = newTo;
+        newRangeQuery.includeLower = includeLower;
+        newRangeQuery.includeUpper = includeUpper;
+        newRangeQuery.format = format;
+        newRangeQuery.timeZone = timeZone;
+        newRangeQuery.relation = relation;
+        return newRangeQuery;
+    }
+
     @Override
     protected Query doToQuery(SearchExecutionContext context) throws IOException {
         if (from == null && to == null) {
@@ -29,6 +29,11 @@ public class RefreshStats implements Writeable, ToXContentFragment {
 
     private long externalTotalTimeInMillis;
 
+    /**
+     * Number of scheduled refreshes that were deferred until the next search.
+     */
+    private long deferred;
+
     /**
      * Number of waiting refresh listeners.
      */
@@ -43,6 +48,9 @@ public class RefreshStats implements Writeable, ToXContentFragment {
             externalTotal = in.readVLong();
             externalTotalTimeInMillis = in.readVLong();
         }
+        if (in.getTransportVersion().onOrAfter(TransportVersion.V_8_8_0)) {
+            deferred = in.readVLong();
+        }
         listeners = in.readVInt();
     }
 
@@ -54,14 +62,25 @@ public class RefreshStats implements Writeable, ToXContentFragment {
             out.writeVLong(externalTotal);
             out.writeVLong(externalTotalTimeInMillis);
         }
+        if (out.getTransportVersion().onOrAfter(TransportVersion.V_8_8_0)) {
+            out.writeVLong(deferred);
+        }
         out.writeVInt(listeners);
     }
 
-    public RefreshStats(long total, long totalTimeInMillis, long externalTotal, long externalTotalTimeInMillis, int listeners) {
+    public RefreshStats(
+        long total,
+        long totalTimeInMillis,
+        long externalTotal,
+        long externalTotalTimeInMillis,
+        long deferred,
+        int listeners
+    ) {
         this.total = total;
         this.totalTimeInMillis = totalTimeInMillis;
         this.externalTotal = externalTotal;
         this.externalTotalTimeInMillis = externalTotalTimeInMillis;
+        this.deferred = deferred;
         this.listeners = listeners;
     }
 
@@ -77,6 +96,7 @@ public class RefreshStats implements Writeable, ToXContentFragment {
         this.totalTimeInMillis += refreshStats.totalTimeInMillis;
         this.externalTotal += refreshStats.externalTotal;
         this.externalTotalTimeInMillis += refreshStats.externalTotalTimeInMillis;
+        this.deferred += refreshStats.deferred;
         this.listeners += refreshStats.listeners;
     }
 
@@ -122,6 +142,13 @@ public class RefreshStats implements Writeable, ToXContentFragment {
         return new TimeValue(externalTotalTimeInMillis);
     }
 
+    /**
+     * The number of scheduled refreshes that were deferred until the next search, because the shard wasn't searched.
+     */
+    public long getDeferred() {
+        return deferred;
+    }
+
     /**
      * The number of waiting refresh listeners.
      */
@@ -136,6 +163,7 @@ public class RefreshStats implements Writeable, ToXContentFragment {
         builder.humanReadableField("total_time_in_millis", "total_time", getTotalTime());
         builder.field("external_total", externalTotal);
         builder.humanReadableField("external_total_time_in_millis", "external_total_time", getExternalTotalTime());
+        builder.field("deferred", deferred);
         builder.field("listeners", listeners);
         builder.endObject();
         return builder;
@@ -151,11 +179,12 @@ public class RefreshStats implements Writeable, ToXContentFragment {
             && totalTimeInMillis == rhs.totalTimeInMillis
             && externalTotal == rhs.externalTotal
             && externalTotalTimeInMillis == rhs.externalTotalTimeInMillis
+            && deferred == rhs.deferred
             && listeners == rhs.listeners;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(total, totalTimeInMillis, externalTotal, externalTotalTimeInMillis, listeners);
+        return Objects.hash(total, totalTimeInMillis, externalTotal, externalTotalTimeInMillis, deferred, listeners);
     }
 }
@@ -108,6 +108,7 @@ import org.elasticsearch.index.mapper.ParsedDocument;
 import org.elasticsearch.index.mapper.SourceToParse;
 import org.elasticsearch.index.mapper.Uid;
 import org.elasticsearch.index.merge.MergeStats;
+import org.elasticsearch.index.merge.NodeMergeLimiter;
 import org.elasticsearch.index.recovery.RecoveryStats;
 import org.elasticsearch.index.refresh.RefreshStats;
 import org.elasticsearch.index.search.stats.FieldUsageStats;
@@ -247,6 +248,7 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
     private final RecoveryStats recoveryStats = new RecoveryStats();
     private final MeanMetric refreshMetric = new MeanMetric();
     private final MeanMetric externalRefreshMetric = new MeanMetric();
+    private final CounterMetric deferredRefreshMetric = new CounterMetric();
     private final MeanMetric flushMetric = new MeanMetric();
     private final CounterMetric periodicFlushMetric = new CounterMetric();
 
@@ -283,10 +285,12 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
 
     private final AtomicLong lastSearcherAccess = new AtomicLong();
     private final AtomicReference<Translog.Location> pendingRefreshLocation = new AtomicReference<>();
+    private volatile long lastRefreshTimeInMillis; // relative time of the last refresh that made changes visible to searches
     private final RefreshPendingLocationListener refreshPendingLocationListener;
     private volatile boolean useRetentionLeasesInPeerRecovery;
     private final boolean isDataStreamIndex; // if a shard is a part of data stream
     private final LongSupplier relativeTimeInNanosSupplier;
+    private final NodeMergeLimiter mergeLimiter;
     private volatile long startedRelativeTimeInNanos;
     private volatile long indexingTimeBeforeShardStartedInNanos;
 
@@ -316,7 +320,8 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
         final IndexStorePlugin.SnapshotCommitSupplier snapshotCommitSupplier,
         final LongSupplier relativeTimeInNanosSupplier,
         final Engine.IndexCommitListener indexCommitListener,
-        final ReplicationTracker.Factory replicationTrackerFactory
+        final ReplicationTracker.Factory replicationTrackerFactory,
+        final NodeMergeLimiter mergeLimiter
     ) throws IOException {
         super(shardRouting.shardId(), indexSettings);
         assert shardRouting.initializing();
@@ -332,7 +337,12 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
         this.indexSortSupplier = indexSortSupplier;
         this.indexEventListener = indexEventListener;
         this.threadPool = threadPool;
-        this.translogSyncProcessor = createTranslogSyncProcessor(logger, threadPool.getThreadContext(), this::getEngine);
+        this.translogSyncProcessor = createTranslogSyncProcessor(
+            logger,
+            threadPool.getThreadContext(),
+            threadPool.executor(ThreadPool.Names.TRANSLOG_SYNC),
+            this::getEngine
+        );
         this.mapperService = mapperService;
         this.indexCache = indexCache;
         this.internalIndexingStats = new InternalIndexingStats();
@@ -394,6 +404,7 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
         this.refreshPendingLocationListener = new RefreshPendingLocationListener();
         this.isDataStreamIndex = mapperService == null ? false : mapperService.mappingLookup().isDataStreamTimestampFieldEnabled();
         this.relativeTimeInNanosSupplier = relativeTimeInNanosSupplier;
+        this.mergeLimiter = mergeLimiter;
         this.indexCommitListener = indexCommitListener;
     }
 
@@ -908,8 +919,36 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
         long ifPrimaryTerm,
         long autoGeneratedTimestamp,
         boolean isRetry
+    ) throws IOException {
+        return applyIndexOperationOnPrimary(
+            version,
+            versionType,
+            sourceToParse,
+            ifSeqNo,
+            ifPrimaryTerm,
+            autoGeneratedTimestamp,
+            isRetry,
+            null
+        );
+    }
+
+    /**
+     * Like {@link #applyIndexOperationOnPrimary(long, VersionType, SourceToParse, long, long, long, boolean)}, but indexes the given
+     * document if it isn't {@code null} rather than parsing the source again. The document must have been parsed from the same source
+     * with the current mapping, and must not require a mapping update.
+     */
+    public Engine.IndexResult applyIndexOperationOnPrimary(
+        long version,
+        VersionType versionType,
+        SourceToParse sourceToParse,
+        long ifSeqNo,
+        long ifPrimaryTerm,
+        long autoGeneratedTimestamp,
+        boolean isRetry,
+        @Nullable ParsedDocument parsedDocument
     ) throws IOException {
         assert versionType.validateVersionForWrites(version);
+        assert parsedDocument == null || parsedDocument.dynamicMappingsUpdate() == null : "document requires a mapping update";
         return applyIndexOperation(
             getEngine(),
             UNASSIGNED_SEQ_NO,
@@ -921,7 +960,8 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
             autoGeneratedTimestamp,
             isRetry,
             Engine.Operation.Origin.PRIMARY,
-            sourceToParse
+            sourceToParse,
+            parsedDocument
         );
     }
 
@@ -944,7 +984,8 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
             autoGeneratedTimeStamp,
             isRetry,
             Engine.Operation.Origin.REPLICA,
-            sourceToParse
+            sourceToParse,
+            null
         );
     }
 
@@ -959,11 +1000,30 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
         long autoGeneratedTimeStamp,
         boolean isRetry,
         Engine.Operation.Origin origin,
-        SourceToParse sourceToParse
+        SourceToParse sourceToParse,
+        @Nullable ParsedDocument parsedDocument
     ) throws IOException {
         assert opPrimaryTerm <= getOperationPrimaryTerm()
             : "op term [ " + opPrimaryTerm + " ] > shard term [" + getOperationPrimaryTerm() + "]";
         ensureWriteAllowed(origin);
+        if (parsedDocument != null) {
+            return index(
+                engine,
+                newIndexOperation(
+                    parsedDocument,
+                    seqNo,
+                    opPrimaryTerm,
+                    version,
+                    versionType,
+                    origin,
+                    autoGeneratedTimeStamp,
+                    isRetry,
+                    ifSeqNo,
+                    ifPrimaryTerm,
+                    getRelativeTimeInNanos()
+                )
+            );
+        }
         Engine.Index operation;
         try {
             operation = prepareIndex(
@@ -1026,6 +1086,34 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
             // whether mappings were provided or not.
             doc.addDynamicMappingsUpdate(mapping);
         }
+        return newIndexOperation(
+            doc,
+            seqNo,
+            primaryTerm,
+            version,
+            versionType,
+            origin,
+            autoGeneratedIdTimestamp,
+            isRetry,
+            ifSeqNo,
+            ifPrimaryTerm,
+            startTimeInNanos
+        );
+    }
+
+    private static Engine.Index newIndexOperation(
+        ParsedDocument doc,
+        long seqNo,
+        long primaryTerm,
+        long version,
+        VersionType versionType,
+        Engine.Operation.Origin origin,
+        long autoGeneratedIdTimestamp,
+        boolean isRetry,
+        long ifSeqNo,
+        long ifPrimaryTerm,
+        long startTimeInNanos
+    ) {
         Term uid = new Term(IdFieldMapper.NAME, Uid.encodeId(doc.id()));
         return new Engine.Index(
             uid,
@@ -1254,6 +1342,7 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
             TimeUnit.NANOSECONDS.toMillis(refreshMetric.sum()),
             externalRefreshMetric.count(),
             TimeUnit.NANOSECONDS.toMillis(externalRefreshMetric.sum()),
+            deferredRefreshMetric.count(),
             listeners
         );
     }
@@ -1836,7 +1925,8 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
                     index.getAutoGeneratedIdTimestamp(),
                     true,
                     origin,
-                    new SourceToParse(index.id(), index.source(), XContentHelper.xContentType(index.source()), index.routing(), Map.of())
+                    new SourceToParse(index.id(), index.source(), XContentHelper.xContentType(index.source()), index.routing(), Map.of()),
+                    null
                 );
             }
             case DELETE -> {
@@ -3296,7 +3386,8 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
             isTimeBasedIndex ? TIMESERIES_LEAF_READERS_SORTER : null,
             relativeTimeInNanosSupplier,
             indexCommitListener,
-            routingEntry().isPromotableToPrimary()
+            routingEntry().isPromotableToPrimary(),
+            mergeLimiter
         );
     }
 
@@ -3638,9 +3729,10 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
     private static AsyncIOProcessor<Translog.Location> createTranslogSyncProcessor(
         Logger logger,
         ThreadContext threadContext,
+        Executor executor,
         Supplier<Engine> engineSupplier
     ) {
-        return new AsyncIOProcessor<>(logger, 1024, threadContext) {
+        return new AsyncIOProcessor<>(logger, 1024, threadContext, executor) {
             @Override
             protected void write(List<Tuple<Translog.Location, Consumer<Exception>>> candidates) throws IOException {
                 try {
@@ -3657,11 +3749,11 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
     }
 
     /**
-     * Syncs the given location with the underlying storage unless already synced. This method might return immediately without
-     * actually fsyncing the location until the sync listener is called. Yet, unless there is already another thread fsyncing
-     * the transaction log the caller thread will be hijacked to run the fsync for all pending fsync operations.
-     * This method allows indexing threads to continue indexing without blocking on fsync calls. We ensure that there is only
-     * one thread blocking on the sync an all others can continue indexing.
+     * Syncs the given location with the underlying storage unless already synced. This method returns immediately without
+     * actually fsyncing the location until the sync listener is called. All the locations that are pending while the transaction
+     * log is being fsynced are synced together by a single fsync on the {@link ThreadPool.Names#TRANSLOG_SYNC} thread pool,
+     * which also notifies the sync listeners. This method allows indexing threads to continue indexing without blocking on
+     * fsync calls.
      * NOTE: if the syncListener throws an exception when it's processed the exception will only be logged. Users should make sure that the
      * listener handles all exception cases internally.
      */
@@ -3809,8 +3901,7 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
         boolean listenerNeedsRefresh = refreshListeners.refreshNeeded();
         if (isReadAllowed() && (listenerNeedsRefresh || getEngine().refreshNeeded())) {
             if (listenerNeedsRefresh == false // if we have a listener that is waiting for a refresh we need to force it
-                && isSearchIdle()
-                && indexSettings.isExplicitRefresh() == false
+                && canDeferScheduledRefresh()
                 && active.get()) { // it must be active otherwise we might not free up segment memory once the shard became inactive
                 // lets skip this refresh since we are search idle and
                 // don't necessarily need to refresh. the next searcher access will register a refreshListener and that will
@@ -3818,6 +3909,7 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
                 final Engine engine = getEngine();
                 engine.maybePruneDeletes(); // try to prune the deletes in the engine if we accumulated some
                 setRefreshPending(engine);
+                deferredRefreshMetric.inc();
                 return false;
             } else {
                 if (logger.isTraceEnabled()) {
@@ -3831,6 +3923,17 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
         return false;
     }
 
+    /**
+     * Returns true if a scheduled refresh can wait until the next search: either the shard is search idle and the refresh interval isn't
+     * set explicitly, or refreshes are adaptive and the shard hasn't been searched since its last refresh.
+     */
+    private boolean canDeferScheduledRefresh() {
+        if (isSearchIdle() && indexSettings.isExplicitRefresh() == false) {
+            return true;
+        }
+        return indexSettings.isAdaptiveRefresh() && lastSearcherAccess.get() < lastRefreshTimeInMillis;
+    }
+
     /**
      * Returns true if this shards is search idle
      */
@@ -3878,6 +3981,9 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
 
         @Override
         public void afterRefresh(boolean didRefresh) {
+            if (didRefresh) {
+                lastRefreshTimeInMillis = threadPool.relativeTimeInMillis();
+            }
             if (didRefresh && lastWriteLocation != null) {
                 pendingRefreshLocation.updateAndGet(pendingLocation -> {
                     if (pendingLocation == null || pendingLocation.compareTo(lastWriteLocation) <= 0) {
@@ -9,7 +9,11 @@
 package org.elasticsearch.index.translog;
 
 import org.apache.lucene.store.BufferedChecksum;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.BytesRefIterator;
 import org.elasticsearch.common.Numbers;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.bytes.ReleasableBytesReference;
 import org.elasticsearch.common.io.stream.FilterStreamInput;
 import org.elasticsearch.common.io.stream.StreamInput;
 
@@ -60,6 +64,35 @@ public final class BufferedChecksumStreamInput extends FilterStreamInput {
         digest.update(b, offset, len);
     }
 
+    @Override
+    public BytesReference readBytesReference(int length) throws IOException {
+        // let the wrapped stream decide whether to copy the bytes, see RetainingStreamInput
+        final BytesReference bytes = delegate.readBytesReference(length);
+        updateDigest(bytes);
+        return bytes;
+    }
+
+    @Override
+    public ReleasableBytesReference readReleasableBytesReference() throws IOException {
+        // read the length through this stream, so that it's part of the checksum
+        return readReleasableBytesReference(readArraySize());
+    }
+
+    @Override
+    public ReleasableBytesReference readReleasableBytesReference(int length) throws IOException {
+        final ReleasableBytesReference bytes = delegate.readReleasableBytesReference(length);
+        updateDigest(bytes);
+        return bytes;
+    }
+
+    private void updateDigest(BytesReference bytes) throws IOException {
+        final BytesRefIterator iterator = bytes.iterator();
+        BytesRef ref;
+        while ((ref = iterator.next()) != null) {
+            digest.update(ref.bytes, ref.offset, ref.length);
+        }
+    }
+
     private static final ThreadLocal<byte[]> buffer = ThreadLocal.withInitial(() -> new byte[8]);
 
     @Override
@@ -71,6 +71,19 @@ public final class IndicesRequestCache implements RemovalListener<IndicesRequest
         Property.NodeScope
     );
 
+    /**
+     * Only admit new entries into a full cache if they are requested more frequently than the entries they would evict, so that
+     * one-off requests don't flush the entries of frequently repeated requests.
+     */
+    public static final Setting<Boolean> INDICES_CACHE_QUERY_FREQUENCY_BASED_ADMISSION = Setting.boolSetting(
+        "indices.requests.cache.frequency_based_admission",
+        false,
+        Property.NodeScope
+    );
+
+    // the average size of a cache entry that is assumed to size the structure that tracks request frequencies
+    private static final long EXPECTED_ENTRY_SIZE_IN_BYTES = 4096;
+
     private final ConcurrentMap<CleanupKey, Boolean> registeredClosedListeners = ConcurrentCollections.newConcurrentMap();
     private final Set<CleanupKey> keysToClean = ConcurrentCollections.newConcurrentSet();
     private final ByteSizeValue size;
@@ -88,6 +101,10 @@ public final class IndicesRequestCache implements RemovalListener<IndicesRequest
         if (expire != null) {
             cacheBuilder.setExpireAfterAccess(expire);
         }
+        if (INDICES_CACHE_QUERY_FREQUENCY_BASED_ADMISSION.get(settings)) {
+            long expectedEntries = Math.max(1, sizeInBytes / EXPECTED_ENTRY_SIZE_IN_BYTES);
+            cacheBuilder.setFrequencyBasedAdmission((int) Math.min(Integer.MAX_VALUE, expectedEntries));
+        }
         cache = cacheBuilder.build();
     }
 
@@ -473,7 +473,15 @@ public class PeerRecoveryTargetService implements IndexEventListener {
                     return;
                 }
 
-                performTranslogOps(request, listener, recoveryRef);
+                // the operations might hold on to the buffers the request was read from until they are indexed, which may happen after
+                // this method returns when waiting for a mapping update
+                request.incRef();
+                final ActionListener<Void> releasingListener = ActionListener.runAfter(listener, request::decRef);
+                try {
+                    performTranslogOps(request, releasingListener, recoveryRef);
+                } catch (RuntimeException e) {
+                    releasingListener.onFailure(e);
+                }
             }
         }
 
@@ -8,8 +8,10 @@
 
 package org.elasticsearch.indices.recovery;
 
+import org.elasticsearch.common.io.stream.RetainingStreamInput;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.core.RefCounted;
 import org.elasticsearch.index.seqno.RetentionLeases;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.index.translog.Translog;
@@ -28,6 +30,11 @@ public class RecoveryTranslogOperationsRequest extends RecoveryTransportRequest
     private final long maxSeqNoOfUpdatesOrDeletesOnPrimary;
     private final RetentionLeases retentionLeases;
     private final long mappingVersionOnPrimary;
+    /**
+     * Releases the bytes that the sources of the operations were read from, if they were read from a pooled buffer. {@code null} if
+     * the operations don't reference such bytes.
+     */
+    private final RefCounted refCounted;
 
     RecoveryTranslogOperationsRequest(
         final long recoveryId,
@@ -49,6 +56,7 @@ public class RecoveryTranslogOperationsRequest extends RecoveryTransportRequest
         this.maxSeqNoOfUpdatesOrDeletesOnPrimary = maxSeqNoOfUpdatesOrDeletesOnPrimary;
         this.retentionLeases = retentionLeases;
         this.mappingVersionOnPrimary = mappingVersionOnPrimary;
+        this.refCounted = null;
     }
 
     public long recoveryId() {
@@ -92,12 +100,24 @@ public class RecoveryTranslogOperationsRequest extends RecoveryTransportRequest
         super(in);
         recoveryId = in.readLong();
         shardId = new ShardId(in);
-        operations = Translog.readOperations(in, "recovery");
-        totalTranslogOps = in.readVInt();
-        maxSeenAutoIdTimestampOnPrimary = in.readZLong();
-        maxSeqNoOfUpdatesOrDeletesOnPrimary = in.readZLong();
-        retentionLeases = new RetentionLeases(in);
-        mappingVersionOnPrimary = in.readVLong();
+        // the sources of the operations are slices of the buffer the request was received in rather than copies, which are released
+        // together with the request, or right away if the rest of the request can't be read
+        final RetainingStreamInput operationsInput = new RetainingStreamInput(in);
+        boolean success = false;
+        try {
+            operations = Translog.readOperations(operationsInput, "recovery");
+            totalTranslogOps = in.readVInt();
+            maxSeenAutoIdTimestampOnPrimary = in.readZLong();
+            maxSeqNoOfUpdatesOrDeletesOnPrimary = in.readZLong();
+            retentionLeases = new RetentionLeases(in);
+            mappingVersionOnPrimary = in.readVLong();
+            success = true;
+        } finally {
+            if (success == false) {
+                operationsInput.releaseRetainedBytes();
+            }
+        }
+        refCounted = operationsInput.takeRetainedBytes();
     }
 
     @Override
@@ -112,4 +132,26 @@ public class RecoveryTranslogOperationsRequest extends RecoveryTransportRequest
         retentionLeases.writeTo(out);
         out.writeVLong(mappingVersionOnPrimary);
     }
+
+    @Override
+    public void incRef() {
+        if (refCounted != null) {
+            refCounted.incRef();
+        }
+    }
+
+    @Override
+    public boolean tryIncRef() {
+        return refCounted == null || refCounted.tryIncRef();
+    }
+
+    @Override
+    public boolean decRef() {
+        return refCounted != null && refCounted.decRef();
+    }
+
+    @Override
+    public boolean hasReferences() {
+        return refCounted == null || refCounted.hasReferences();
+    }
 }
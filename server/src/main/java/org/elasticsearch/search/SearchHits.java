@@ -18,6 +18,7 @@ import org.elasticsearch.common.io.stream.Writeable;
 import org.elasticsearch.common.lucene.Lucene;
 import org.elasticsearch.core.Nullable;
 import org.elasticsearch.rest.action.search.RestSearchAction;
+import org.elasticsearch.xcontent.ToXContent;
 import org.elasticsearch.xcontent.ToXContentFragment;
 import org.elasticsearch.xcontent.XContentBuilder;
 import org.elasticsearch.xcontent.XContentParser;
@@ -171,6 +172,26 @@ public final class SearchHits implements Writeable, ToXContentFragment, Iterable
 
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        final Iterator<ToXContent> chunks = toXContentChunked(params);
+        while (chunks.hasNext()) {
+            chunks.next().toXContent(builder, params);
+        }
+        return builder;
+    }
+
+    /**
+     * Chunked equivalent of {@link #toXContent}, with one chunk per hit, so that large pages of hits are serialized as they are sent
+     * rather than all at once, see {@link org.elasticsearch.rest.ChunkedRestResponseBody}.
+     */
+    public Iterator<ToXContent> toXContentChunked(ToXContent.Params params) {
+        return Iterators.concat(
+            Iterators.<ToXContent>single(this::headerToXContent),
+            Iterators.forArray(hits),
+            Iterators.<ToXContent>single((builder, p) -> builder.endArray().endObject())
+        );
+    }
+
+    private XContentBuilder headerToXContent(XContentBuilder builder, Params params) throws IOException {
         builder.startObject(Fields.HITS);
         boolean totalHitAsInt = params.paramAsBoolean(RestSearchAction.TOTAL_HITS_AS_INT_PARAM, false);
         if (totalHitAsInt) {
@@ -188,13 +209,7 @@ public final class SearchHits implements Writeable, ToXContentFragment, Iterable
             builder.field(Fields.MAX_SCORE, maxScore);
         }
         builder.field(Fields.HITS);
-        builder.startArray();
-        for (SearchHit hit : hits) {
-            hit.toXContent(builder, params);
-        }
-        builder.endArray();
-        builder.endObject();
-        return builder;
+        return builder.startArray();
     }
 
     public static SearchHits fromXContent(XContentParser parser) throws IOException {
@@ -40,6 +40,7 @@ import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.common.util.CollectionUtils;
 import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
+import org.elasticsearch.common.util.concurrent.EsExecutors;
 import org.elasticsearch.core.IOUtils;
 import org.elasticsearch.core.Releasable;
 import org.elasticsearch.core.Releasables;
@@ -188,6 +189,40 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
         Property.NodeScope
     );
 
+    /**
+     * Enables searching the slices of a shard concurrently on the {@link Names#SEARCH_WORKER} thread pool for the query
+     * phases that support it.
+     */
+    public static final Setting<Boolean> CONCURRENT_SEGMENT_SEARCH_ENABLED = Setting.boolSetting(
+        "search.concurrent_segment_search.enabled",
+        false,
+        Property.Dynamic,
+        Property.NodeScope
+    );
+
+    /**
+     * The minimum number of documents that a slice must contain when searching a shard concurrently.
+     */
+    public static final Setting<Integer> CONCURRENT_SEGMENT_SEARCH_MIN_DOCS_PER_SLICE = Setting.intSetting(
+        "search.concurrent_segment_search.minimum_docs_per_slice",
+        50_000,
+        1,
+        Property.Dynamic,
+        Property.NodeScope
+    );
+
+    /**
+     * The maximum number of slices that a shard is split into when searching it concurrently, defaults to the size of the
+     * {@link Names#SEARCH_WORKER} thread pool.
+     */
+    public static final Setting<Integer> CONCURRENT_SEGMENT_SEARCH_MAX_SLICES = new Setting<>(
+        "search.concurrent_segment_search.max_slices",
+        s -> Integer.toString(ThreadPool.searchOrGetThreadPoolSize(EsExecutors.allocatedProcessors(s))),
+        s -> Setting.parseInt(s, 1, "search.concurrent_segment_search.max_slices"),
+        Property.Dynamic,
+        Property.NodeScope
+    );
+
     public static final TimeValue NO_TIMEOUT = timeValueMillis(-1);
     public static final Setting<TimeValue> DEFAULT_SEARCH_TIMEOUT_SETTING = Setting.timeSetting(
         "search.default_search_timeout",
@@ -259,6 +294,12 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
 
     private volatile boolean enableRewriteAggsToFilterByFilter;
 
+    private volatile boolean concurrentSegmentSearchEnabled;
+
+    private volatile int concurrentSegmentSearchMinDocsPerSlice;
+
+    private volatile int concurrentSegmentSearchMaxSlices;
+
     private final Cancellable keepAliveReaper;
 
     private final AtomicLong idGenerator = new AtomicLong();
@@ -329,6 +370,16 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
         enableRewriteAggsToFilterByFilter = ENABLE_REWRITE_AGGS_TO_FILTER_BY_FILTER.get(settings);
         clusterService.getClusterSettings()
             .addSettingsUpdateConsumer(ENABLE_REWRITE_AGGS_TO_FILTER_BY_FILTER, this::setEnableRewriteAggsToFilterByFilter);
+
+        concurrentSegmentSearchEnabled = CONCURRENT_SEGMENT_SEARCH_ENABLED.get(settings);
+        clusterService.getClusterSettings()
+            .addSettingsUpdateConsumer(CONCURRENT_SEGMENT_SEARCH_ENABLED, this::setConcurrentSegmentSearchEnabled);
+        concurrentSegmentSearchMinDocsPerSlice = CONCURRENT_SEGMENT_SEARCH_MIN_DOCS_PER_SLICE.get(settings);
+        clusterService.getClusterSettings()
+            .addSettingsUpdateConsumer(CONCURRENT_SEGMENT_SEARCH_MIN_DOCS_PER_SLICE, this::setConcurrentSegmentSearchMinDocsPerSlice);
+        concurrentSegmentSearchMaxSlices = CONCURRENT_SEGMENT_SEARCH_MAX_SLICES.get(settings);
+        clusterService.getClusterSettings()
+            .addSettingsUpdateConsumer(CONCURRENT_SEGMENT_SEARCH_MAX_SLICES, this::setConcurrentSegmentSearchMaxSlices);
     }
 
     private static void validateKeepAlives(TimeValue defaultKeepAlive, TimeValue maxKeepAlive) {
@@ -379,6 +430,18 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
         this.enableRewriteAggsToFilterByFilter = enableRewriteAggsToFilterByFilter;
     }
 
+    private void setConcurrentSegmentSearchEnabled(boolean concurrentSegmentSearchEnabled) {
+        this.concurrentSegmentSearchEnabled = concurrentSegmentSearchEnabled;
+    }
+
+    private void setConcurrentSegmentSearchMinDocsPerSlice(int concurrentSegmentSearchMinDocsPerSlice) {
+        this.concurrentSegmentSearchMinDocsPerSlice = concurrentSegmentSearchMinDocsPerSlice;
+    }
+
+    private void setConcurrentSegmentSearchMaxSlices(int concurrentSegmentSearchMaxSlices) {
+        this.concurrentSegmentSearchMaxSlices = concurrentSegmentSearchMaxSlices;
+    }
+
     @Override
     public void afterIndexRemoved(Index index, IndexSettings indexSettings, IndexRemovalReason reason) {
         // once an index is removed due to deletion or closing, we can just clean up all the pending search context information
@@ -1033,7 +1096,10 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
                 threadPool::relativeTimeInMillis,
                 timeout,
                 fetchPhase,
-                lowLevelCancellation
+                lowLevelCancellation,
+                concurrentSegmentSearchEnabled ? threadPool.executor(Names.SEARCH_WORKER) : null,
+                concurrentSegmentSearchMaxSlices,
+                concurrentSegmentSearchMinDocsPerSlice
             );
             // we clone the query shard context here just for rewriting otherwise we
             // might end up with incorrect state since we are using now() or script services
@@ -1236,7 +1302,13 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
                 context::isCancelled,
                 context::buildFilteredQuery,
                 enableRewriteAggsToFilterByFilter,
-                source.aggregations().isInSortOrderExecutionRequired()
+                source.aggregations().isInSortOrderExecutionRequired(),
+                /*
+                 * Searches across clusters reduce the results of each cluster
+                 * again on the coordinating node so we can't tell whether this
+                 * shard's buckets are final.
+                 */
+                context.request().numberOfShards() == 1 && context.request().getClusterAlias() == null
             );
             context.addReleasable(aggContext);
             try {
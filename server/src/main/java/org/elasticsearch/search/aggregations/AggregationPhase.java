@@ -51,9 +51,15 @@ public class AggregationPhase {
             }
             context.queryCollectors().put(AggregationPhase.class, BucketCollector.NO_OP_COLLECTOR);
         } else {
-            Collector collector = context.getProfilers() == null
-                ? bucketCollector.asCollector()
-                : new InternalProfileCollector(bucketCollector.asCollector(), CollectorResult.REASON_AGGREGATION, List.of());
+            final Collector collector;
+            if (context.getProfilers() != null) {
+                collector = new InternalProfileCollector(bucketCollector.asCollector(), CollectorResult.REASON_AGGREGATION, List.of());
+            } else if (bucketCollector.scoreMode().needsScores()) {
+                collector = bucketCollector.asCollector();
+            } else {
+                // collected docs are flushed in execute
+                collector = new BlockBucketCollector(bucketCollector);
+            }
             context.queryCollectors().put(AggregationPhase.class, collector);
         }
     }
@@ -99,6 +105,14 @@ public class AggregationPhase {
             return;
         }
 
+        if (context.queryCollectors().get(AggregationPhase.class) instanceof BlockBucketCollector blockBucketCollector) {
+            try {
+                blockBucketCollector.flush();
+            } catch (IOException e) {
+                throw new AggregationExecutionException("Could not collect aggregations", e);
+            }
+        }
+
         Aggregator[] aggregators = context.aggregations().aggregators();
 
         List<InternalAggregation> aggregations = new ArrayList<>(aggregators.length);
@@ -0,0 +1,93 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.aggregations;
+
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.CollectionTerminatedException;
+import org.apache.lucene.search.Collector;
+import org.apache.lucene.search.LeafCollector;
+import org.apache.lucene.search.Scorable;
+import org.apache.lucene.search.ScoreMode;
+
+import java.io.IOException;
+
+/**
+ * A {@link Collector} that buffers the docs that match the query and collects them into a {@link BucketCollector} in blocks
+ * of up to {@link #BLOCK_SIZE} docs with {@link LeafBucketCollector#collect(int[], int, long)}, rather than one doc at a time.
+ * <p>
+ * Docs can only be buffered if the {@link BucketCollector} doesn't need scores, since the scorer has moved on to other docs by
+ * the time a block is collected. The docs of a segment are collected at the latest before the leaf collector of the next
+ * segment is created, but the docs of the last segment are only collected by {@link #flush()}, which must be called once the
+ * search is done and before {@link BucketCollector#postCollection()}.
+ */
+final class BlockBucketCollector implements Collector {
+
+    static final int BLOCK_SIZE = 512;
+
+    private final BucketCollector bucketCollector;
+    private final int[] docs = new int[BLOCK_SIZE];
+    private int count;
+    private LeafBucketCollector current;
+
+    BlockBucketCollector(BucketCollector bucketCollector) {
+        if (bucketCollector.scoreMode().needsScores()) {
+            throw new IllegalArgumentException("cannot collect docs in blocks if scores are needed");
+        }
+        this.bucketCollector = bucketCollector;
+    }
+
+    @Override
+    public LeafCollector getLeafCollector(LeafReaderContext context) throws IOException {
+        // some aggregators finish the previous segment when they create the leaf collector of the next one
+        flush();
+        current = bucketCollector.getLeafCollector(new AggregationExecutionContext(context, null, null, null));
+        if (current.isNoop()) {
+            return current;
+        }
+        final LeafBucketCollector leafCollector = current;
+        return new LeafCollector() {
+            @Override
+            public void setScorer(Scorable scorer) throws IOException {
+                leafCollector.setScorer(scorer);
+            }
+
+            @Override
+            public void collect(int doc) throws IOException {
+                docs[count++] = doc;
+                if (count == BLOCK_SIZE) {
+                    collectBlock();
+                }
+            }
+        };
+    }
+
+    /**
+     * Collects the docs that are still buffered.
+     */
+    void flush() throws IOException {
+        if (count > 0) {
+            try {
+                collectBlock();
+            } catch (CollectionTerminatedException e) {
+                // the bucket collector doesn't need more docs of this segment
+            }
+        }
+    }
+
+    private void collectBlock() throws IOException {
+        final int blockSize = count;
+        count = 0;
+        current.collect(docs, blockSize, 0);
+    }
+
+    @Override
+    public ScoreMode scoreMode() {
+        return bucketCollector.scoreMode();
+    }
+}
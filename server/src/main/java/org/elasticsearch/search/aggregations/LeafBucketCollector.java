@@ -73,6 +73,23 @@ public abstract class LeafBucketCollector implements LeafCollector {
      */
     public abstract void collect(int doc, long owningBucketOrd) throws IOException;
 
+    /**
+     * Collect the first {@code count} docs of {@code docs}, which are sorted
+     * in increasing order, in the bucket owned by {@code owningBucketOrd}.
+     * <p>
+     * This is equivalent to calling {@link #collect(int, long)} for each doc,
+     * which is what the default implementation does. Since all docs go to the
+     * same bucket, aggregators can override it to load the values of the whole
+     * block before processing them in a tight loop, and to only read and write
+     * the state of the bucket once per block. Implementations must not modify
+     * {@code docs}.
+     */
+    public void collect(int[] docs, int count, long owningBucketOrd) throws IOException {
+        for (int i = 0; i < count; i++) {
+            collect(docs[i], owningBucketOrd);
+        }
+    }
+
     /**
      * Does this collector collect anything? If this returns true we can safely
      * just never call {@link #collect}.
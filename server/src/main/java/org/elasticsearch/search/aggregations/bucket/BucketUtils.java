@@ -31,4 +31,26 @@ public final class BucketUtils {
         final long shardSampleSize = (long) (finalSize * 1.5 + 10);
         return (int) Math.min(Integer.MAX_VALUE, shardSampleSize);
     }
+
+    /**
+     * Like {@link #suggestShardSideQueueSize(int)} but aware of whether the
+     * results of the shard are the only ones that are reduced. In that case
+     * the top N terms of the shard are the top N terms of the whole search
+     * so there is no need to collect more of them.
+     *
+     * @param finalSize
+     *            The number of terms required in the final reduce phase.
+     * @param singleShard
+     *            Whether the search targets a single shard.
+     * @return A suggested default for the size of any shard-side PriorityQueues
+     */
+    public static int suggestShardSideQueueSize(int finalSize, boolean singleShard) {
+        if (singleShard) {
+            if (finalSize < 1) {
+                throw new IllegalArgumentException("size must be positive, got " + finalSize);
+            }
+            return finalSize;
+        }
+        return suggestShardSideQueueSize(finalSize);
+    }
 }
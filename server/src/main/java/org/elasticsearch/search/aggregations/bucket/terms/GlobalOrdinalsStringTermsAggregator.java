@@ -9,8 +9,13 @@
 package org.elasticsearch.search.aggregations.bucket.terms;
 
 import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.SortedDocValues;
 import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.Weight;
 import org.apache.lucene.util.ArrayUtil;
 import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.PriorityQueue;
@@ -18,7 +23,9 @@ import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.util.LongArray;
 import org.elasticsearch.common.util.LongHash;
 import org.elasticsearch.core.Releasable;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.Releasables;
+import org.elasticsearch.index.mapper.DocCountFieldMapper;
 import org.elasticsearch.search.DocValueFormat;
 import org.elasticsearch.search.aggregations.AggregationExecutionContext;
 import org.elasticsearch.search.aggregations.AggregationExecutionException;
@@ -61,6 +68,14 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
     protected final CollectionStrategy collectionStrategy;
     protected int segmentsWithSingleValuedOrds = 0;
     protected int segmentsWithMultiValuedOrds = 0;
+    /**
+     * The field whose indexed terms are the values of this aggregation, or {@code null} if
+     * the doc counts of the terms can't be read from the terms index.
+     */
+    @Nullable
+    private final String termsIndexField;
+    private Weight topLevelWeight;
+    private int segmentsCountedFromTermsIndex = 0;
 
     public interface GlobalOrdLookupFunction {
         BytesRef apply(long ord) throws IOException;
@@ -82,6 +97,7 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
         SubAggCollectionMode collectionMode,
         boolean showTermDocCountError,
         CardinalityUpperBound cardinality,
+        @Nullable String termsIndexField,
         Map<String, Object> metadata
     ) throws IOException {
         super(name, factories, context, parent, order, format, bucketCountThresholds, collectionMode, showTermDocCountError, metadata);
@@ -90,6 +106,7 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
         this.valueCount = values.getValueCount();
         this.lookupGlobalOrd = values::lookupOrd;
         this.acceptedGlobalOrdinals = acceptedOrds;
+        this.termsIndexField = termsIndexField;
         if (remapGlobalOrds) {
             this.collectionStrategy = new RemapGlobalOrds(cardinality);
         } else {
@@ -113,6 +130,14 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
         SortedDocValues singleValues = DocValues.unwrapSingleton(globalOrds);
         if (singleValues != null) {
             segmentsWithSingleValuedOrds++;
+        } else {
+            segmentsWithMultiValuedOrds++;
+        }
+        if (sub.isNoop() && countFromTermsIndex(aggCtx.getLeafReaderContext())) {
+            segmentsCountedFromTermsIndex++;
+            return LeafBucketCollector.NO_OP_COLLECTOR;
+        }
+        if (singleValues != null) {
             if (acceptedGlobalOrdinals == ALWAYS_TRUE) {
                 /*
                  * Optimize when there isn't a filter because that is very
@@ -143,7 +168,6 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
                 }
             });
         }
-        segmentsWithMultiValuedOrds++;
         if (acceptedGlobalOrdinals == ALWAYS_TRUE) {
             /*
              * Optimize when there isn't a filter because that is very
@@ -177,6 +201,54 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
         });
     }
 
+    /**
+     * Counts the docs of each term of the segment from the doc freqs of the terms index rather than by
+     * collecting every doc. This is only possible if the top level query matches all docs of the segment,
+     * which implies that it doesn't have deleted docs, and if none of these docs has a {@code _doc_count}.
+     *
+     * @return whether the terms were counted
+     */
+    private boolean countFromTermsIndex(LeafReaderContext ctx) throws IOException {
+        if (termsIndexField == null || collectionStrategy instanceof DenseGlobalOrds == false) {
+            return false;
+        }
+        if (topLevelWeight == null) {
+            topLevelWeight = searcher().createWeight(searcher().rewrite(topLevelQuery()), ScoreMode.COMPLETE_NO_SCORES, 1f);
+        }
+        if (topLevelWeight.count(ctx) != ctx.reader().maxDoc()) {
+            return false;
+        }
+        if (DocCountFieldMapper.leafLookup(ctx.reader()) != null) {
+            return false;
+        }
+        final Terms terms = ctx.reader().terms(termsIndexField);
+        if (terms == null) {
+            // no doc of the segment has a value
+            return true;
+        }
+        final TermsEnum indexTerms = terms.iterator();
+        final TermsEnum segmentOrdTerms = valuesSource.ordinalsValues(ctx).termsEnum();
+        final LongUnaryOperator globalOrdinalsMapping = valuesSource.globalOrdinalsMapping(ctx);
+        BytesRef indexTerm = indexTerms.next();
+        BytesRef ordTerm = segmentOrdTerms.next();
+        while (indexTerm != null && ordTerm != null) {
+            final int cmp = indexTerm.compareTo(ordTerm);
+            if (cmp < 0) {
+                indexTerm = indexTerms.next();
+            } else if (cmp > 0) {
+                ordTerm = segmentOrdTerms.next();
+            } else {
+                final long globalOrd = globalOrdinalsMapping.applyAsLong(segmentOrdTerms.ord());
+                if (acceptedGlobalOrdinals.test(globalOrd)) {
+                    incrementBucketDocCount(collectionStrategy.globalOrdToBucketOrd(0, globalOrd), indexTerms.docFreq());
+                }
+                indexTerm = indexTerms.next();
+                ordTerm = segmentOrdTerms.next();
+            }
+        }
+        return true;
+    }
+
     @Override
     public InternalAggregation[] buildAggregations(long[] owningBucketOrds) throws IOException {
         return resultStrategy.buildAggregations(owningBucketOrds);
@@ -196,6 +268,9 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
         add.accept("segments_with_single_valued_ords", segmentsWithSingleValuedOrds);
         add.accept("segments_with_multi_valued_ords", segmentsWithMultiValuedOrds);
         add.accept("has_filter", acceptedGlobalOrdinals != ALWAYS_TRUE);
+        if (termsIndexField != null) {
+            add.accept("segments_counted_from_terms_index", segmentsCountedFromTermsIndex);
+        }
     }
 
     /**
@@ -292,6 +367,7 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
                 collectionMode,
                 showTermDocCountError,
                 CardinalityUpperBound.ONE,
+                null,
                 metadata
             );
             assert factories == null || factories.countAggregators() == 0;
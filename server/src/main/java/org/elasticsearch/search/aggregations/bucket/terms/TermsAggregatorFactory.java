@@ -15,6 +15,7 @@ import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.SortedSetDocValues;
 import org.apache.lucene.search.IndexSearcher;
 import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.index.mapper.KeywordFieldMapper;
 import org.elasticsearch.rest.RestStatus;
 import org.elasticsearch.search.DocValueFormat;
 import org.elasticsearch.search.aggregations.AggregationExecutionException;
@@ -286,8 +287,10 @@ public class TermsAggregatorFactory extends ValuesSourceAggregatorFactory {
             && bucketCountThresholds.getShardSize() == TermsAggregationBuilder.DEFAULT_BUCKET_COUNT_THRESHOLDS.getShardSize()) {
             // The user has not made a shardSize selection. Use default
             // heuristic to avoid any wrong-ranking caused by distributed
-            // counting
-            bucketCountThresholds.setShardSize(BucketUtils.suggestShardSideQueueSize(bucketCountThresholds.getRequiredSize()));
+            // counting, unless there is no distributed counting at all
+            bucketCountThresholds.setShardSize(
+                BucketUtils.suggestShardSideQueueSize(bucketCountThresholds.getRequiredSize(), context.isSingleShard())
+            );
         }
         // If min_doc_count and shard_min_doc_count is provided, we do not support them being larger than 1
         // This is because we cannot be sure about their relative scale when sampled
@@ -540,9 +543,36 @@ public class TermsAggregatorFactory extends ValuesSourceAggregatorFactory {
                     subAggCollectMode,
                     showTermDocCountError,
                     cardinality,
+                    termsIndexField(valuesSourceConfig, ordinalsValuesSource, context, parent),
                     metadata
                 );
             }
+
+            /**
+             * The field whose indexed terms are exactly the values that the aggregation collects, so that their doc counts
+             * can be read from the terms index on segments where the top level query matches all docs. {@code null} if the
+             * aggregation isn't at the top level or if it doesn't collect the plain values of an indexed keyword field.
+             */
+            private static String termsIndexField(
+                ValuesSourceConfig valuesSourceConfig,
+                ValuesSource.Bytes.WithOrdinals ordinalsValuesSource,
+                AggregationContext context,
+                Aggregator parent
+            ) {
+                if (parent != null || context.enableRewriteToFilterByFilter() == false || context.isInSortOrderExecutionRequired()) {
+                    return null;
+                }
+                if (valuesSourceConfig.script() != null || valuesSourceConfig.missing() != null) {
+                    return null;
+                }
+                if (valuesSourceConfig.fieldType() instanceof KeywordFieldMapper.KeywordFieldType ft
+                    && ft.isIndexed()
+                    && ft.hasDocValues()
+                    && ordinalsValuesSource.supportsGlobalOrdinalsMapping()) {
+                    return ft.name();
+                }
+                return null;
+            }
         };
 
         public static ExecutionMode fromString(String value) {
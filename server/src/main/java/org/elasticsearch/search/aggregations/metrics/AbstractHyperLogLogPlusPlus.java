@@ -8,9 +8,11 @@
 
 package org.elasticsearch.search.aggregations.metrics;
 
+import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.common.util.PageCacheRecycler;
 import org.elasticsearch.core.Releasable;
 
 import java.io.IOException;
@@ -125,8 +127,11 @@ public abstract class AbstractHyperLogLogPlusPlus extends AbstractCardinalityAlg
         } else {
             HyperLogLogPlusPlus counts = new HyperLogLogPlusPlus(precision, bigArrays, 1);
             final int registers = 1 << precision;
-            for (int i = 0; i < registers; ++i) {
-                counts.addRunLen(0, i, in.readByte());
+            final BytesRef runLens = new BytesRef(Math.min(registers, PageCacheRecycler.BYTE_PAGE_SIZE));
+            runLens.length = runLens.bytes.length;
+            for (int i = 0; i < registers; i += runLens.length) {
+                in.readBytes(runLens.bytes, 0, runLens.length);
+                counts.addRunLens(0, i, runLens);
             }
             return counts;
         }
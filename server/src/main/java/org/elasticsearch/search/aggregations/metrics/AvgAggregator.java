@@ -12,6 +12,8 @@ import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.common.util.DoubleArray;
 import org.elasticsearch.common.util.LongArray;
 import org.elasticsearch.core.Releasables;
+import org.elasticsearch.index.fielddata.FieldData;
+import org.elasticsearch.index.fielddata.NumericDoubleValues;
 import org.elasticsearch.index.fielddata.SortedNumericDoubleValues;
 import org.elasticsearch.search.DocValueFormat;
 import org.elasticsearch.search.aggregations.AggregationExecutionContext;
@@ -65,6 +67,8 @@ class AvgAggregator extends NumericMetricsAggregator.SingleValue {
             return LeafBucketCollector.NO_OP_COLLECTOR;
         }
         final SortedNumericDoubleValues values = valuesSource.doubleValues(aggCtx.getLeafReaderContext());
+        final NumericDoubleValues singleton = FieldData.unwrapSingleton(values);
+        final BlockDoubleValues blockValues = singleton == null ? null : new BlockDoubleValues(singleton);
         final CompensatedSum kahanSummation = new CompensatedSum(0, 0);
 
         return new LeafBucketCollectorBase(sub, values) {
@@ -93,6 +97,29 @@ class AvgAggregator extends NumericMetricsAggregator.SingleValue {
                     compensations.set(bucket, kahanSummation.delta());
                 }
             }
+
+            @Override
+            public void collect(int[] docs, int count, long bucket) throws IOException {
+                if (blockValues == null) {
+                    super.collect(docs, count, bucket);
+                    return;
+                }
+                counts = bigArrays().grow(counts, bucket + 1);
+                sums = bigArrays().grow(sums, bucket + 1);
+                compensations = bigArrays().grow(compensations, bucket + 1);
+
+                final int valuesCount = blockValues.load(docs, count);
+                if (valuesCount > 0) {
+                    counts.increment(bucket, valuesCount);
+                    final double[] loaded = blockValues.values();
+                    kahanSummation.reset(sums.get(bucket), compensations.get(bucket));
+                    for (int i = 0; i < valuesCount; i++) {
+                        kahanSummation.add(loaded[i]);
+                    }
+                    sums.set(bucket, kahanSummation.value());
+                    compensations.set(bucket, kahanSummation.delta());
+                }
+            }
         };
     }
 
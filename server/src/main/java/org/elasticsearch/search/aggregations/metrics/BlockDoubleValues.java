@@ -0,0 +1,52 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.aggregations.metrics;
+
+import org.apache.lucene.util.ArrayUtil;
+import org.elasticsearch.index.fielddata.NumericDoubleValues;
+import org.elasticsearch.search.aggregations.LeafBucketCollector;
+
+import java.io.IOException;
+
+/**
+ * Loads the values of a single-valued numeric field for the blocks of docs that are collected with
+ * {@link LeafBucketCollector#collect(int[], int, long)} into a reusable array, so that aggregators can process them in a
+ * tight loop.
+ */
+final class BlockDoubleValues {
+
+    private final NumericDoubleValues values;
+    private double[] buffer = new double[0];
+
+    BlockDoubleValues(NumericDoubleValues values) {
+        this.values = values;
+    }
+
+    /**
+     * Loads the values of the first {@code count} docs of {@code docs} that have a value, and returns how many were loaded.
+     * The values are available from {@link #values()} until the next call to this method.
+     */
+    int load(int[] docs, int count) throws IOException {
+        if (buffer.length < count) {
+            buffer = new double[ArrayUtil.oversize(count, Double.BYTES)];
+        }
+        final double[] buffer = this.buffer;
+        int loaded = 0;
+        for (int i = 0; i < count; i++) {
+            if (values.advanceExact(docs[i])) {
+                buffer[loaded++] = values.doubleValue();
+            }
+        }
+        return loaded;
+    }
+
+    double[] values() {
+        return buffer;
+    }
+}
@@ -8,6 +8,7 @@
 
 package org.elasticsearch.search.aggregations.metrics;
 
+import org.apache.lucene.util.ArrayUtil;
 import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.packed.PackedInts;
 import org.elasticsearch.common.util.BigArrays;
@@ -15,6 +16,7 @@ import org.elasticsearch.common.util.BitArray;
 import org.elasticsearch.common.util.ByteArray;
 import org.elasticsearch.common.util.ByteUtils;
 import org.elasticsearch.common.util.IntArray;
+import org.elasticsearch.common.util.PageCacheRecycler;
 import org.elasticsearch.core.Releasable;
 import org.elasticsearch.core.Releasables;
 
@@ -46,6 +48,7 @@ public final class HyperLogLogPlusPlus extends AbstractHyperLogLogPlusPlus {
     private final BitArray algorithm;
     private final HyperLogLog hll;
     private final LinearCounting lc;
+    private final BytesRef mergeSpare = new BytesRef();
 
     /**
      * Compute the required precision so that <code>count</code> distinct entries would be counted with linear counting.
@@ -133,11 +136,15 @@ public final class HyperLogLogPlusPlus extends AbstractHyperLogLogPlusPlus {
         Releasables.close(algorithm, hll, lc);
     }
 
-    protected void addRunLen(long bucketOrd, int register, int runLen) {
+    /**
+     * Merges the given run lengths into the registers of the bucket, starting at the given register.
+     */
+    void addRunLens(long bucketOrd, int register, BytesRef runLens) {
+        hll.ensureCapacity(bucketOrd + 1);
         if (algorithm.get(bucketOrd) == LINEAR_COUNTING) {
             upgradeToHll(bucketOrd);
         }
-        hll.addRunLen(0, register, runLen);
+        hll.mergeRunLens(bucketOrd, register, runLens);
     }
 
     void upgradeToHll(long bucketOrd) {
@@ -171,6 +178,8 @@ public final class HyperLogLogPlusPlus extends AbstractHyperLogLogPlusPlus {
         hll.ensureCapacity(thisBucket + 1);
         if (other.getAlgorithm(otherBucket) == LINEAR_COUNTING) {
             merge(thisBucket, other.getLinearCounting(otherBucket));
+        } else if (other instanceof HyperLogLogPlusPlus otherHll) {
+            merge(thisBucket, otherHll.hll, otherBucket);
         } else {
             merge(thisBucket, other.getHyperLogLog(otherBucket));
         }
@@ -200,11 +209,29 @@ public final class HyperLogLogPlusPlus extends AbstractHyperLogLogPlusPlus {
         }
     }
 
+    /**
+     * Merges the registers of another HyperLogLog in blocks of up to a page, rather than one register at a time.
+     */
+    private void merge(long thisBucket, HyperLogLog other, long otherBucket) {
+        if (algorithm.get(thisBucket) != HYPERLOGLOG) {
+            upgradeToHll(thisBucket);
+        }
+        // both the number of registers and the page size are powers of two so blocks never span several pages
+        final int blockSize = Math.min(hll.m, PageCacheRecycler.BYTE_PAGE_SIZE);
+        final long otherStart = otherBucket << other.p;
+        for (int register = 0; register < hll.m; register += blockSize) {
+            other.runLens.get(otherStart + register, blockSize, mergeSpare);
+            hll.mergeRunLens(thisBucket, register, mergeSpare);
+        }
+    }
+
     private static class HyperLogLog extends AbstractHyperLogLog implements Releasable {
         private final BigArrays bigArrays;
         private final int precision;
         // array for holding the runlens.
         private ByteArray runLens;
+        private final BytesRef readSpare = new BytesRef();
+        private byte[] mergeBuffer = BytesRef.EMPTY_BYTES;
 
         HyperLogLog(BigArrays bigArrays, long initialBucketCount, int precision) {
             super(precision);
@@ -223,6 +250,25 @@ public final class HyperLogLogPlusPlus extends AbstractHyperLogLogPlusPlus {
             runLens.set(bucketIndex, (byte) Math.max(encoded, runLens.get(bucketIndex)));
         }
 
+        /**
+         * Sets each register that starts at the given register to the maximum of its value and the given run length.
+         */
+        void mergeRunLens(long bucketOrd, int register, BytesRef values) {
+            final long start = (bucketOrd << p) + register;
+            final int length = values.length;
+            runLens.get(start, length, readSpare);
+            mergeBuffer = ArrayUtil.grow(mergeBuffer, length);
+            final byte[] current = readSpare.bytes;
+            final int currentOffset = readSpare.offset;
+            final byte[] other = values.bytes;
+            final int otherOffset = values.offset;
+            // a simple loop over arrays that the JIT compiler can vectorize
+            for (int i = 0; i < length; i++) {
+                mergeBuffer[i] = (byte) Math.max(current[currentOffset + i], other[otherOffset + i]);
+            }
+            runLens.set(start, mergeBuffer, 0, length);
+        }
+
         @Override
         protected RunLenIterator getRunLens(long bucketOrd) {
             return new HyperLogLogIterator(this, bucketOrd);
@@ -86,6 +86,7 @@ class MaxAggregator extends NumericMetricsAggregator.SingleValue {
         }
         final SortedNumericDoubleValues allValues = valuesSource.doubleValues(aggCtx.getLeafReaderContext());
         final NumericDoubleValues values = MultiValueMode.MAX.select(allValues);
+        final BlockDoubleValues blockValues = new BlockDoubleValues(values);
         return new LeafBucketCollectorBase(sub, allValues) {
 
             @Override
@@ -103,6 +104,24 @@ class MaxAggregator extends NumericMetricsAggregator.SingleValue {
                 }
             }
 
+            @Override
+            public void collect(int[] docs, int count, long bucket) throws IOException {
+                if (bucket >= maxes.size()) {
+                    long from = maxes.size();
+                    maxes = bigArrays().grow(maxes, bucket + 1);
+                    maxes.fill(from, maxes.size(), Double.NEGATIVE_INFINITY);
+                }
+                final int valuesCount = blockValues.load(docs, count);
+                if (valuesCount > 0) {
+                    final double[] loaded = blockValues.values();
+                    double max = maxes.get(bucket);
+                    for (int i = 0; i < valuesCount; i++) {
+                        max = Math.max(max, loaded[i]);
+                    }
+                    maxes.set(bucket, max);
+                }
+            }
+
         };
     }
 
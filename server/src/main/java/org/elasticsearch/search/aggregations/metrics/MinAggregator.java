@@ -86,6 +86,7 @@ public class MinAggregator extends NumericMetricsAggregator.SingleValue {
         }
         final SortedNumericDoubleValues allValues = valuesSource.doubleValues(aggCtx.getLeafReaderContext());
         final NumericDoubleValues values = MultiValueMode.MIN.select(allValues);
+        final BlockDoubleValues blockValues = new BlockDoubleValues(values);
         return new LeafBucketCollectorBase(sub, allValues) {
             @Override
             public void collect(int doc, long bucket) throws IOException {
@@ -102,6 +103,24 @@ public class MinAggregator extends NumericMetricsAggregator.SingleValue {
                 }
             }
 
+            @Override
+            public void collect(int[] docs, int count, long bucket) throws IOException {
+                if (bucket >= mins.size()) {
+                    long from = mins.size();
+                    mins = bigArrays().grow(mins, bucket + 1);
+                    mins.fill(from, mins.size(), Double.POSITIVE_INFINITY);
+                }
+                final int valuesCount = blockValues.load(docs, count);
+                if (valuesCount > 0) {
+                    final double[] loaded = blockValues.values();
+                    double min = mins.get(bucket);
+                    for (int i = 0; i < valuesCount; i++) {
+                        min = Math.min(min, loaded[i]);
+                    }
+                    mins.set(bucket, min);
+                }
+            }
+
         };
     }
 
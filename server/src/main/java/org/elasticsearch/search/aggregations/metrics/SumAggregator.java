@@ -10,6 +10,8 @@ package org.elasticsearch.search.aggregations.metrics;
 import org.apache.lucene.search.ScoreMode;
 import org.elasticsearch.common.util.DoubleArray;
 import org.elasticsearch.core.Releasables;
+import org.elasticsearch.index.fielddata.FieldData;
+import org.elasticsearch.index.fielddata.NumericDoubleValues;
 import org.elasticsearch.index.fielddata.SortedNumericDoubleValues;
 import org.elasticsearch.search.DocValueFormat;
 import org.elasticsearch.search.aggregations.AggregationExecutionContext;
@@ -60,6 +62,8 @@ public class SumAggregator extends NumericMetricsAggregator.SingleValue {
             return LeafBucketCollector.NO_OP_COLLECTOR;
         }
         final SortedNumericDoubleValues values = valuesSource.doubleValues(aggCtx.getLeafReaderContext());
+        final NumericDoubleValues singleton = FieldData.unwrapSingleton(values);
+        final BlockDoubleValues blockValues = singleton == null ? null : new BlockDoubleValues(singleton);
         final CompensatedSum kahanSummation = new CompensatedSum(0, 0);
         return new LeafBucketCollectorBase(sub, values) {
             @Override
@@ -84,6 +88,27 @@ public class SumAggregator extends NumericMetricsAggregator.SingleValue {
                     sums.set(bucket, kahanSummation.value());
                 }
             }
+
+            @Override
+            public void collect(int[] docs, int count, long bucket) throws IOException {
+                if (blockValues == null) {
+                    super.collect(docs, count, bucket);
+                    return;
+                }
+                sums = bigArrays().grow(sums, bucket + 1);
+                compensations = bigArrays().grow(compensations, bucket + 1);
+
+                final int valuesCount = blockValues.load(docs, count);
+                if (valuesCount > 0) {
+                    final double[] loaded = blockValues.values();
+                    kahanSummation.reset(sums.get(bucket), compensations.get(bucket));
+                    for (int i = 0; i < valuesCount; i++) {
+                        kahanSummation.add(loaded[i]);
+                    }
+                    compensations.set(bucket, kahanSummation.delta());
+                    sums.set(bucket, kahanSummation.value());
+                }
+            }
         };
     }
 
@@ -296,6 +296,13 @@ public abstract class AggregationContext implements Releasable {
      */
     public abstract boolean isInSortOrderExecutionRequired();
 
+    /**
+     * Is this the only shard whose results are reduced for the search? If so the
+     * buckets that the aggregations build on this shard are final and shards don't
+     * need to return extra buckets to make up for the counting errors across shards.
+     */
+    public abstract boolean isSingleShard();
+
     public abstract Set<String> sourcePath(String fullName);
 
     /**
@@ -339,6 +346,7 @@ public abstract class AggregationContext implements Releasable {
         private final Function<Query, Query> filterQuery;
         private final boolean enableRewriteToFilterByFilter;
         private final boolean inSortOrderExecutionRequired;
+        private final boolean singleShard;
         private final AnalysisRegistry analysisRegistry;
 
         private final List<Aggregator> releaseMe = new ArrayList<>();
@@ -358,7 +366,8 @@ public abstract class AggregationContext implements Releasable {
             Supplier<Boolean> isCancelled,
             Function<Query, Query> filterQuery,
             boolean enableRewriteToFilterByFilter,
-            boolean inSortOrderExecutionRequired
+            boolean inSortOrderExecutionRequired,
+            boolean singleShard
         ) {
             this.analysisRegistry = analysisRegistry;
             this.context = context;
@@ -392,6 +401,7 @@ public abstract class AggregationContext implements Releasable {
             this.filterQuery = filterQuery;
             this.enableRewriteToFilterByFilter = enableRewriteToFilterByFilter;
             this.inSortOrderExecutionRequired = inSortOrderExecutionRequired;
+            this.singleShard = singleShard;
         }
 
         @Override
@@ -574,6 +584,11 @@ public abstract class AggregationContext implements Releasable {
             return inSortOrderExecutionRequired;
         }
 
+        @Override
+        public boolean isSingleShard() {
+            return singleShard;
+        }
+
         @Override
         public Set<String> sourcePath(String fullName) {
             return context.sourcePath(fullName);
@@ -16,6 +16,7 @@ import org.apache.lucene.search.BulkScorer;
 import org.apache.lucene.search.CollectionStatistics;
 import org.apache.lucene.search.CollectionTerminatedException;
 import org.apache.lucene.search.Collector;
+import org.apache.lucene.search.CollectorManager;
 import org.apache.lucene.search.ConjunctionUtils;
 import org.apache.lucene.search.DocIdSetIterator;
 import org.apache.lucene.search.Explanation;
@@ -33,6 +34,9 @@ import org.apache.lucene.util.BitSet;
 import org.apache.lucene.util.BitSetIterator;
 import org.apache.lucene.util.Bits;
 import org.apache.lucene.util.SparseFixedBitSet;
+import org.apache.lucene.util.ThreadInterruptedException;
+import org.elasticsearch.ExceptionsHelper;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.Releasable;
 import org.elasticsearch.lucene.util.CombinedBitSet;
 import org.elasticsearch.search.dfs.AggregatedDfs;
@@ -43,11 +47,19 @@ import org.elasticsearch.search.profile.query.QueryProfiler;
 import org.elasticsearch.search.profile.query.QueryTimingType;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Context-aware extension of {@link IndexSearcher}.
@@ -59,10 +71,20 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
      */
     private static int CHECK_CANCELLED_SCORER_INTERVAL = 1 << 11;
 
+    /**
+     * A slice never gets less than this share of the documents of the shard, whatever the configured maximum number of slices.
+     */
+    private static final double MINIMUM_DOCS_PERCENT_PER_SLICE = 0.1;
+
     private AggregatedDfs aggregatedDfs;
     private QueryProfiler profiler;
     private MutableQueryTimeout cancellable;
 
+    @Nullable
+    private final Executor executor;
+    @Nullable
+    private final LeafSlice[] leafSlices;
+
     public ContextIndexSearcher(
         IndexReader reader,
         Similarity similarity,
@@ -70,7 +92,35 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
         QueryCachingPolicy queryCachingPolicy,
         boolean wrapWithExitableDirectoryReader
     ) throws IOException {
-        this(reader, similarity, queryCache, queryCachingPolicy, new MutableQueryTimeout(), wrapWithExitableDirectoryReader);
+        this(reader, similarity, queryCache, queryCachingPolicy, wrapWithExitableDirectoryReader, null, 1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a searcher that can search groups of leaves (slices) concurrently on the provided <code>executor</code> when it
+     * is given a {@link CollectorManager}. Leaves are grouped in at most <code>maximumNumberOfSlices</code> slices of at least
+     * <code>minimumDocsPerSlice</code> documents each. A <code>null</code> executor disables concurrent execution.
+     */
+    public ContextIndexSearcher(
+        IndexReader reader,
+        Similarity similarity,
+        QueryCache queryCache,
+        QueryCachingPolicy queryCachingPolicy,
+        boolean wrapWithExitableDirectoryReader,
+        @Nullable Executor executor,
+        int maximumNumberOfSlices,
+        int minimumDocsPerSlice
+    ) throws IOException {
+        this(
+            reader,
+            similarity,
+            queryCache,
+            queryCachingPolicy,
+            new MutableQueryTimeout(),
+            wrapWithExitableDirectoryReader,
+            executor,
+            maximumNumberOfSlices,
+            minimumDocsPerSlice
+        );
     }
 
     private ContextIndexSearcher(
@@ -79,13 +129,18 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
         QueryCache queryCache,
         QueryCachingPolicy queryCachingPolicy,
         MutableQueryTimeout cancellable,
-        boolean wrapWithExitableDirectoryReader
+        boolean wrapWithExitableDirectoryReader,
+        @Nullable Executor executor,
+        int maximumNumberOfSlices,
+        int minimumDocsPerSlice
     ) throws IOException {
         super(wrapWithExitableDirectoryReader ? new ExitableDirectoryReader((DirectoryReader) reader, cancellable) : reader);
         setSimilarity(similarity);
         setQueryCache(queryCache);
         setQueryCachingPolicy(queryCachingPolicy);
         this.cancellable = cancellable;
+        this.executor = executor;
+        this.leafSlices = executor == null ? null : computeSlices(getIndexReader().leaves(), maximumNumberOfSlices, minimumDocsPerSlice);
     }
 
     public void setProfiler(QueryProfiler profiler) {
@@ -162,6 +217,168 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
         }
     }
 
+    /**
+     * Returns whether searches that are executed with a {@link CollectorManager} are spread across more than one slice.
+     */
+    public boolean isConcurrentSearchEnabled() {
+        return leafSlices != null && leafSlices.length > 1;
+    }
+
+    /**
+     * Returns the slices of leaves that are searched concurrently, or <code>null</code> if this searcher has no executor.
+     */
+    @Override
+    public LeafSlice[] getSlices() {
+        return leafSlices;
+    }
+
+    /**
+     * Groups the provided leaves into at most <code>maxSliceNum</code> slices. Each slice gets at least
+     * <code>minDocsPerSlice</code> documents, and at least 10% of the documents of the shard so that tiny slices
+     * don't eat up threads of the executor. Large leaves are assigned first, leftovers are added to the smallest slices.
+     */
+    public static LeafSlice[] computeSlices(List<LeafReaderContext> leaves, int maxSliceNum, int minDocsPerSlice) {
+        if (maxSliceNum < 1) {
+            throw new IllegalArgumentException("maxSliceNum must be >= 1 (got " + maxSliceNum + ")");
+        }
+        long numDocs = 0;
+        for (LeafReaderContext ctx : leaves) {
+            numDocs += ctx.reader().maxDoc();
+        }
+        final double docsPercentPerSlice = Math.max(MINIMUM_DOCS_PERCENT_PER_SLICE, 1.0 / maxSliceNum);
+        final long docsPerSlice = Math.max(minDocsPerSlice, (long) (docsPercentPerSlice * numDocs));
+
+        final List<LeafReaderContext> sortedLeaves = new ArrayList<>(leaves);
+        sortedLeaves.sort(Comparator.<LeafReaderContext>comparingInt(ctx -> ctx.reader().maxDoc()).reversed());
+        // groups are kept in a priority queue so that leftover leaves can be added to the smallest group
+        final PriorityQueue<SliceGroup> groups = new PriorityQueue<>(Comparator.comparingLong(group -> group.numDocs));
+        SliceGroup current = new SliceGroup();
+        for (LeafReaderContext ctx : sortedLeaves) {
+            current.add(ctx);
+            if (current.numDocs >= docsPerSlice) {
+                groups.add(current);
+                current = new SliceGroup();
+            }
+        }
+        if (current.leaves.isEmpty() == false) {
+            if (groups.isEmpty()) {
+                groups.add(current);
+            } else {
+                for (LeafReaderContext ctx : current.leaves) {
+                    SliceGroup smallest = groups.poll();
+                    smallest.add(ctx);
+                    groups.add(smallest);
+                }
+            }
+        }
+        final LeafSlice[] slices = new LeafSlice[groups.size()];
+        int i = 0;
+        for (SliceGroup group : groups) {
+            slices[i++] = new LeafSlice(group.leaves);
+        }
+        return slices;
+    }
+
+    private static class SliceGroup {
+        private final List<LeafReaderContext> leaves = new ArrayList<>();
+        private long numDocs;
+
+        private void add(LeafReaderContext ctx) {
+            leaves.add(ctx);
+            numDocs += ctx.reader().maxDoc();
+        }
+    }
+
+    /**
+     * Searches each slice of leaves with its own collector on the executor of this searcher, the last slice being searched
+     * on the calling thread. Falls back to a sequential search with a single collector when concurrency is disabled or when
+     * the query is profiled, since profile timings are not thread-safe.
+     */
+    @Override
+    public <C extends Collector, T> T search(Query query, CollectorManager<C, T> collectorManager) throws IOException {
+        if (isConcurrentSearchEnabled() == false || profiler != null) {
+            final C collector = collectorManager.newCollector();
+            search(query, collector);
+            return collectorManager.reduce(List.of(collector));
+        }
+        final List<C> collectors = new ArrayList<>(leafSlices.length);
+        ScoreMode scoreMode = null;
+        for (int i = 0; i < leafSlices.length; i++) {
+            final C collector = collectorManager.newCollector();
+            if (scoreMode == null) {
+                scoreMode = collector.scoreMode();
+            } else if (scoreMode != collector.scoreMode()) {
+                throw new IllegalStateException("CollectorManager does not always produce collectors with the same score mode");
+            }
+            collectors.add(collector);
+        }
+        final Weight weight = createWeight(rewrite(query), scoreMode, 1);
+        final List<FutureTask<C>> tasks = new ArrayList<>(leafSlices.length);
+        // slices that didn't start yet are skipped once the search is abandoned, the latch tracks when all slices are done
+        final AtomicBoolean abandoned = new AtomicBoolean();
+        final CountDownLatch completedSlices = new CountDownLatch(leafSlices.length);
+        for (int i = 0; i < leafSlices.length; i++) {
+            final List<LeafReaderContext> leaves = Arrays.asList(leafSlices[i].leaves);
+            final C collector = collectors.get(i);
+            tasks.add(new FutureTask<>(() -> {
+                try {
+                    if (abandoned.get() == false) {
+                        search(leaves, weight, collector);
+                    }
+                    return collector;
+                } finally {
+                    completedSlices.countDown();
+                }
+            }));
+        }
+        for (int i = 0; i < tasks.size() - 1; i++) {
+            executor.execute(tasks.get(i));
+        }
+        tasks.get(tasks.size() - 1).run();
+        // always wait for all slices to complete, the context must not be released while some slices are still being searched
+        Throwable failure = null;
+        for (FutureTask<C> task : tasks) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                failure = ExceptionsHelper.useOrSuppress(failure, new ThreadInterruptedException(e));
+                // skip the remaining slices, and wait for the slices that are being searched since they still use the context
+                abandoned.set(true);
+                awaitUninterruptibly(completedSlices);
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                failure = ExceptionsHelper.useOrSuppress(failure, e.getCause());
+            }
+        }
+        if (failure != null) {
+            if (failure instanceof IOException ioException) {
+                throw ioException;
+            } else if (failure instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            } else if (failure instanceof Error error) {
+                throw error;
+            }
+            throw new RuntimeException(failure);
+        }
+        return collectorManager.reduce(collectors);
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     @Override
     public void search(List<LeafReaderContext> leaves, Weight weight, Collector collector) throws IOException {
         weight = wrapWeight(weight);
@@ -532,6 +532,8 @@ public class ShardSearchRequest extends TransportRequest implements IndicesReque
         BytesStreamOutput out = scratch.get();
         try {
             this.innerWriteTo(out, true);
+            // aggregations don't pad their shard sizes if the shard is the only one that is searched, see AggregationContext#isSingleShard
+            out.writeBoolean(numberOfShards == 1);
             if (differentiator != null) {
                 differentiator.accept(this, out);
             }
@@ -34,6 +34,7 @@ import org.elasticsearch.search.internal.ContextIndexSearcher;
 import org.elasticsearch.search.internal.ScrollContext;
 import org.elasticsearch.search.internal.SearchContext;
 import org.elasticsearch.search.profile.query.InternalProfileCollector;
+import org.elasticsearch.search.query.TopDocsCollectorContext.TopDocsCollectorManager;
 import org.elasticsearch.search.rescore.RescorePhase;
 import org.elasticsearch.search.sort.SortAndFormats;
 import org.elasticsearch.search.suggest.SuggestPhase;
@@ -41,6 +42,7 @@ import org.elasticsearch.threadpool.ThreadPool;
 
 import java.io.IOException;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 
 import static org.elasticsearch.search.query.QueryCollectorContext.createEarlyTerminationCollectorContext;
@@ -48,6 +50,7 @@ import static org.elasticsearch.search.query.QueryCollectorContext.createFiltere
 import static org.elasticsearch.search.query.QueryCollectorContext.createMinScoreCollectorContext;
 import static org.elasticsearch.search.query.QueryCollectorContext.createMultiCollectorContext;
 import static org.elasticsearch.search.query.TopDocsCollectorContext.createTopDocsCollectorContext;
+import static org.elasticsearch.search.query.TopDocsCollectorContext.createTopDocsCollectorManager;
 
 /**
  * Query phase of a search request, used to run the query and get back from each shard information about the matching documents
@@ -168,7 +171,12 @@ public class QueryPhase {
             }
 
             try {
-                boolean shouldRescore = searchWithCollector(searchContext, searcher, query, collectors, timeoutSet);
+                final boolean shouldRescore;
+                if (canSearchConcurrently(searchContext, collectors)) {
+                    shouldRescore = searchConcurrently(searchContext, searcher, query, timeoutSet);
+                } else {
+                    shouldRescore = searchWithCollector(searchContext, searcher, query, collectors, timeoutSet);
+                }
                 ExecutorService executor = searchContext.indexShard().getThreadPool().executor(ThreadPool.Names.SEARCH);
                 assert executor instanceof EWMATrackingEsThreadPoolExecutor
                     || (executor instanceof EsThreadPoolExecutor == false /* in case thread pool is mocked out in tests */)
@@ -232,6 +240,41 @@ public class QueryPhase {
         return topDocsFactory.shouldRescore();
     }
 
+    /**
+     * Returns whether the main query can be searched concurrently across the slices of the shard. Only plain top docs
+     * collection is supported: additional collectors (aggregations, post filter, min score or terminate after), scrolls,
+     * field collapsing and profiled queries are always collected sequentially.
+     */
+    static boolean canSearchConcurrently(SearchContext searchContext, List<QueryCollectorContext> collectors) {
+        return searchContext.searcher().isConcurrentSearchEnabled()
+            && collectors.isEmpty()
+            && searchContext.getProfilers() == null
+            && searchContext.scrollContext() == null
+            && searchContext.collapse() == null;
+    }
+
+    private static boolean searchConcurrently(SearchContext searchContext, ContextIndexSearcher searcher, Query query, boolean timeoutSet)
+        throws IOException {
+        final TopDocsCollectorContext topDocsFactory = createTopDocsCollectorContext(searchContext);
+        final TopDocsCollectorManager collectorManager = createTopDocsCollectorManager(searchContext);
+        QuerySearchResult queryResult = searchContext.queryResult();
+        TopDocsAndMaxScore topDocs;
+        try {
+            topDocs = searcher.search(query, collectorManager);
+        } catch (TimeExceededException e) {
+            assert timeoutSet : "TimeExceededException thrown even though timeout wasn't set";
+            if (searchContext.request().allowPartialSearchResults() == false) {
+                // Can't rethrow TimeExceededException because not serializable
+                throw new QueryPhaseExecutionException(searchContext.shardTarget(), "Time exceeded");
+            }
+            queryResult.searchTimedOut(true);
+            // all slices are done, return the hits that they collected before the timeout like a sequential search would
+            topDocs = collectorManager.reduceCollected();
+        }
+        queryResult.topDocs(topDocs, searchContext.sort() == null ? null : searchContext.sort().formats);
+        return topDocsFactory.shouldRescore();
+    }
+
     /**
      * Returns whether collection within the provided <code>reader</code> can be early-terminated if it sorts
      * with <code>sortAndFormats</code>.
@@ -12,6 +12,7 @@ import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.queries.spans.SpanQuery;
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.Collector;
+import org.apache.lucene.search.CollectorManager;
 import org.apache.lucene.search.FieldDoc;
 import org.apache.lucene.search.MultiCollector;
 import org.apache.lucene.search.Query;
@@ -44,6 +45,10 @@ import org.elasticsearch.search.rescore.RescoreContext;
 import org.elasticsearch.search.sort.SortAndFormats;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.Supplier;
 
@@ -54,6 +59,8 @@ import static org.elasticsearch.search.profile.query.CollectorResult.REASON_SEAR
  * A {@link QueryCollectorContext} that creates top docs collector
  */
 abstract class TopDocsCollectorContext extends QueryCollectorContext {
+    private static final Comparator<ScoreDoc> DOC_ID_TIE_BREAKER = Comparator.comparingInt(scoreDoc -> scoreDoc.doc);
+
     protected final int numHits;
 
     TopDocsCollectorContext(String profilerName, int numHits) {
@@ -68,6 +75,11 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
         return false;
     }
 
+    /**
+     * Returns the top docs gathered by the collector of this context.
+     */
+    abstract TopDocsAndMaxScore newTopDocs() throws IOException;
+
     static class EmptyTopDocsCollectorContext extends TopDocsCollectorContext {
         private final Sort sort;
         private final Collector collector;
@@ -104,7 +116,7 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
         }
 
         @Override
-        void postProcess(QuerySearchResult result) {
+        TopDocsAndMaxScore newTopDocs() {
             final TotalHits totalHitCount = hitCountSupplier.get();
             final TopDocs topDocs;
             if (sort != null) {
@@ -112,7 +124,12 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
             } else {
                 topDocs = new TopDocs(totalHitCount, Lucene.EMPTY_SCORE_DOCS);
             }
-            result.topDocs(new TopDocsAndMaxScore(topDocs, Float.NaN), null);
+            return new TopDocsAndMaxScore(topDocs, Float.NaN);
+        }
+
+        @Override
+        void postProcess(QuerySearchResult result) {
+            result.topDocs(newTopDocs(), null);
         }
     }
 
@@ -158,9 +175,14 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
         }
 
         @Override
-        void postProcess(QuerySearchResult result) throws IOException {
+        TopDocsAndMaxScore newTopDocs() throws IOException {
             TopFieldGroups topDocs = topDocsCollector.getTopGroups(0);
-            result.topDocs(new TopDocsAndMaxScore(topDocs, maxScoreSupplier.get()), sortFmt);
+            return new TopDocsAndMaxScore(topDocs, maxScoreSupplier.get());
+        }
+
+        @Override
+        void postProcess(QuerySearchResult result) throws IOException {
+            result.topDocs(newTopDocs(), sortFmt);
         }
     }
 
@@ -250,6 +272,7 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
             return collector;
         }
 
+        @Override
         TopDocsAndMaxScore newTopDocs() {
             TopDocs in = topDocsSupplier.get();
             float maxScore = maxScoreSupplier.get();
@@ -376,6 +399,87 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
         }
     }
 
+    /**
+     * Creates a {@link CollectorManager} that collects the top docs of each slice of a shard that is searched concurrently
+     * with its own {@link TopDocsCollectorContext} and merges them into the top docs of the shard. Only plain top docs
+     * collection is supported: scrolls and field collapsing must be collected sequentially.
+     */
+    static TopDocsCollectorManager createTopDocsCollectorManager(SearchContext searchContext) {
+        assert searchContext.scrollContext() == null && searchContext.collapse() == null;
+        return new TopDocsCollectorManager(searchContext);
+    }
+
+    /**
+     * Collects the top docs of the slices of a shard, each with its own {@link TopDocsCollectorContext}. The manager keeps the
+     * contexts of the slices so that the top docs they collected can still be merged when the search doesn't complete.
+     */
+    static final class TopDocsCollectorManager implements CollectorManager<Collector, TopDocsAndMaxScore> {
+        private final SearchContext searchContext;
+        private final List<TopDocsCollectorContext> sliceContexts = new ArrayList<>();
+
+        private TopDocsCollectorManager(SearchContext searchContext) {
+            this.searchContext = searchContext;
+        }
+
+        @Override
+        public Collector newCollector() throws IOException {
+            final TopDocsCollectorContext sliceContext = createTopDocsCollectorContext(searchContext);
+            sliceContexts.add(sliceContext);
+            return sliceContext.create(null);
+        }
+
+        @Override
+        public TopDocsAndMaxScore reduce(Collection<Collector> collectors) throws IOException {
+            assert collectors.size() == sliceContexts.size();
+            return reduceCollected();
+        }
+
+        /**
+         * Merges the top docs that the slices collected so far, for instance before the search timed out. The search must not
+         * be running anymore.
+         */
+        TopDocsAndMaxScore reduceCollected() throws IOException {
+            if (sliceContexts.isEmpty()) {
+                return createTopDocsCollectorContext(searchContext).newTopDocs();
+            }
+            final List<TopDocsAndMaxScore> sliceTopDocs = new ArrayList<>(sliceContexts.size());
+            int numHits = 0;
+            for (TopDocsCollectorContext sliceContext : sliceContexts) {
+                sliceTopDocs.add(sliceContext.newTopDocs());
+                numHits = Math.max(numHits, sliceContext.numHits);
+            }
+            return mergeSliceTopDocs(searchContext.sort(), numHits, sliceTopDocs);
+        }
+    }
+
+    /**
+     * Merges the top docs of the slices of a shard. Doc ids are unique across slices since they are all relative to the
+     * top-level reader, ties are broken on doc id like a sequential search would do.
+     */
+    static TopDocsAndMaxScore mergeSliceTopDocs(@Nullable SortAndFormats sortAndFormats, int numHits, List<TopDocsAndMaxScore> slices) {
+        float maxScore = Float.NaN;
+        for (TopDocsAndMaxScore slice : slices) {
+            if (Float.isNaN(slice.maxScore) == false) {
+                maxScore = Float.isNaN(maxScore) ? slice.maxScore : Math.max(maxScore, slice.maxScore);
+            }
+        }
+        final TopDocs merged;
+        if (sortAndFormats != null) {
+            final TopFieldDocs[] topFieldDocs = new TopFieldDocs[slices.size()];
+            for (int i = 0; i < topFieldDocs.length; i++) {
+                topFieldDocs[i] = (TopFieldDocs) slices.get(i).topDocs;
+            }
+            merged = TopDocs.merge(sortAndFormats.sort, 0, numHits, topFieldDocs, DOC_ID_TIE_BREAKER);
+        } else {
+            final TopDocs[] topDocs = new TopDocs[slices.size()];
+            for (int i = 0; i < topDocs.length; i++) {
+                topDocs[i] = slices.get(i).topDocs;
+            }
+            merged = TopDocs.merge(0, numHits, topDocs, DOC_ID_TIE_BREAKER);
+        }
+        return new TopDocsAndMaxScore(merged, maxScore);
+    }
+
     /**
      * Return true if the provided query contains a mandatory clauses (MUST)
      * that doesn't track the maximum scores per block
@@ -0,0 +1,202 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.transport;
+
+import org.elasticsearch.TransportVersion;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.bytes.CompositeBytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes large messages to a channel in chunks, so that they don't hold up the other messages that are sent on the same channel.
+ * <p>
+ * Each chunk is sent in its own frame, whose header has the request id and the request/response status of the message, and the
+ * {@link TransportStatus#isChunk chunk} status. The last chunk of a message also has the {@link TransportStatus#isLastChunk last
+ * chunk} status. The receiver buffers the chunks of each message and decodes the message once its last chunk arrived, see
+ * {@link InboundDecoder}.
+ * <p>
+ * Only one chunk is written to the channel at a time. Messages that aren't chunked are written directly to the channel, so they
+ * only wait for the chunk that is being written. Chunked messages take turns, messages of a higher priority first.
+ */
+final class ChunkedMessageWriter {
+
+    /**
+     * The transport version from which on nodes understand chunked messages.
+     */
+    static final TransportVersion CHUNKED_MESSAGES_VERSION = TransportVersion.V_8_8_0;
+
+    static final int HIGH_PRIORITY = 0;
+    static final int NORMAL_PRIORITY = 1;
+    static final int LOW_PRIORITY = 2;
+
+    private final TcpChannel channel;
+    private final PriorityQueue<ChunkedMessage> messages = new PriorityQueue<>(
+        Comparator.comparingInt((ChunkedMessage m) -> m.priority).thenComparingLong(m -> m.turn)
+    );
+    // the number of requests to write chunks, only the thread that increments it from 0 writes chunks
+    private final AtomicInteger writeRequests = new AtomicInteger();
+    private long nextTurn;
+    private boolean chunkInFlight;
+
+    ChunkedMessageWriter(TcpChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Returns the priority of the chunks of requests of the given type. Pings and cluster states go first, since delaying them
+     * can make nodes leave the cluster.
+     */
+    static int priority(TransportRequestOptions.Type type) {
+        return switch (type) {
+            case PING, STATE -> HIGH_PRIORITY;
+            case REG -> NORMAL_PRIORITY;
+            case BULK, RECOVERY -> LOW_PRIORITY;
+        };
+    }
+
+    /**
+     * Whether the given serialized message should be sent in chunks of the given size.
+     */
+    static boolean shouldChunk(NetworkMessage message, BytesReference serialized, int chunkSize) {
+        return chunkSize > 0
+            && serialized.length() > chunkSize
+            && message.isHandshake() == false
+            && message.getVersion().onOrAfter(CHUNKED_MESSAGES_VERSION);
+    }
+
+    /**
+     * Sends the given serialized message in chunks and notifies the listener once the last chunk is written, or once writing a
+     * chunk failed.
+     */
+    void send(NetworkMessage message, BytesReference serialized, int chunkSize, int priority, ActionListener<Void> listener) {
+        final ChunkedMessage chunkedMessage = new ChunkedMessage(split(message, serialized, chunkSize), priority, listener);
+        synchronized (this) {
+            chunkedMessage.turn = nextTurn++;
+            messages.add(chunkedMessage);
+        }
+        writeChunks();
+    }
+
+    // exposed for tests
+    static List<BytesReference> split(NetworkMessage message, BytesReference serialized, int chunkSize) {
+        final List<BytesReference> chunks = new ArrayList<>((serialized.length() + chunkSize - 1) / chunkSize);
+        for (int offset = 0; offset < serialized.length(); offset += chunkSize) {
+            final int length = Math.min(chunkSize, serialized.length() - offset);
+            byte status = TransportStatus.setChunk(message.status);
+            if (offset + length == serialized.length()) {
+                status = TransportStatus.setLastChunk(status);
+            }
+            final BytesStreamOutput header = new BytesStreamOutput(TcpHeader.headerSize(message.version));
+            try {
+                TcpHeader.writeHeader(header, message.requestId, status, message.version, length, 0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            chunks.add(CompositeBytesReference.of(header.bytes(), serialized.slice(offset, length)));
+        }
+        return chunks;
+    }
+
+    private void writeChunks() {
+        if (writeRequests.getAndIncrement() != 0) {
+            // the thread that is writing chunks, possibly this one further up the stack, writes the next chunk
+            return;
+        }
+        do {
+            final ChunkedMessage message = nextMessage();
+            if (message != null) {
+                writeChunk(message);
+            }
+        } while (writeRequests.decrementAndGet() != 0);
+    }
+
+    private synchronized ChunkedMessage nextMessage() {
+        if (chunkInFlight || messages.isEmpty()) {
+            return null;
+        }
+        chunkInFlight = true;
+        return messages.poll();
+    }
+
+    private void writeChunk(ChunkedMessage message) {
+        final BytesReference chunk = message.chunks.get(message.nextChunk++);
+        final boolean lastChunk = message.nextChunk == message.chunks.size();
+        if (lastChunk == false) {
+            synchronized (this) {
+                // let the other messages of the same priority take their turn before the next chunk of this message
+                message.turn = nextTurn++;
+                messages.add(message);
+            }
+        }
+        final ActionListener<Void> chunkListener = new ActionListener<>() {
+            @Override
+            public void onResponse(Void v) {
+                onChunkWritten();
+                try {
+                    if (lastChunk) {
+                        message.listener.onResponse(null);
+                    }
+                } finally {
+                    writeChunks();
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                synchronized (ChunkedMessageWriter.this) {
+                    messages.remove(message);
+                }
+                onChunkWritten();
+                try {
+                    message.listener.onFailure(e);
+                } finally {
+                    writeChunks();
+                }
+            }
+        };
+        try {
+            channel.sendMessage(chunk, chunkListener);
+        } catch (RuntimeException e) {
+            chunkListener.onFailure(e);
+        }
+    }
+
+    private synchronized void onChunkWritten() {
+        assert chunkInFlight;
+        chunkInFlight = false;
+    }
+
+    // exposed for tests
+    synchronized int pendingMessages() {
+        return messages.size();
+    }
+
+    private static final class ChunkedMessage {
+        private final List<BytesReference> chunks;
+        private final int priority;
+        private final ActionListener<Void> listener;
+        private long turn;
+        private int nextChunk;
+
+        ChunkedMessage(List<BytesReference> chunks, int priority, ActionListener<Void> listener) {
+            this.chunks = chunks;
+            this.priority = priority;
+            this.listener = listener;
+        }
+    }
+}
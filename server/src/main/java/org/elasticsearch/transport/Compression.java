@@ -18,19 +18,33 @@ import org.elasticsearch.core.Booleans;
 import org.elasticsearch.lz4.ESLZ4Compressor;
 import org.elasticsearch.lz4.ESLZ4Decompressor;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 
 public class Compression {
 
     public enum Scheme {
         LZ4,
-        DEFLATE;
+        DEFLATE,
+        /**
+         * DEFLATE with the preset {@link TransportCompressionDictionary dictionary}, which compresses small messages much better than
+         * {@link #DEFLATE} since they can refer to the strings of the dictionary.
+         */
+        DEFLATE_DICTIONARY;
 
         static final TransportVersion LZ4_VERSION = TransportVersion.V_7_14_0;
+        static final TransportVersion DEFLATE_DICTIONARY_VERSION = TransportVersion.V_8_8_0;
         static final int HEADER_LENGTH = 4;
         private static final byte[] DEFLATE_HEADER = new byte[] { 'D', 'F', 'L', '\0' };
         private static final byte[] LZ4_HEADER = new byte[] { 'L', 'Z', '4', '\0' };
+        // the last byte is the version of the dictionary, so that a changed dictionary gets its own header
+        private static final byte[] DEFLATE_DICTIONARY_HEADER = new byte[] { 'D', 'F', 'D', TransportCompressionDictionary.VERSION };
+        private static final int DEFLATE_LEVEL = 3;
+        private static final int DEFLATE_BUFFER_SIZE = 4096;
+        private static final ThreadLocal<Deflater> DICTIONARY_DEFLATER = ThreadLocal.withInitial(() -> new Deflater(DEFLATE_LEVEL, true));
         private static final int LZ4_BLOCK_SIZE;
         private static final boolean USE_FORKED_LZ4;
 
@@ -58,6 +72,15 @@ public class Compression {
             }
         }
 
+        public static boolean isDeflateDictionary(BytesReference bytes) {
+            byte firstByte = bytes.get(0);
+            if (firstByte != Scheme.DEFLATE_DICTIONARY_HEADER[0]) {
+                return false;
+            } else {
+                return validateHeader(bytes, DEFLATE_DICTIONARY_HEADER);
+            }
+        }
+
         public static boolean isLZ4(BytesReference bytes) {
             byte firstByte = bytes.get(0);
             if (firstByte != Scheme.LZ4_HEADER[0]) {
@@ -94,6 +117,20 @@ public class Compression {
             }
             return new ReuseBuffersLZ4BlockOutputStream(outputStream, LZ4_BLOCK_SIZE, lz4Compressor);
         }
+
+        /**
+         * Returns a stream that compresses with DEFLATE and the preset dictionary. The stream reuses the deflater of the current thread,
+         * so it must be closed before the next stream is opened on the same thread.
+         */
+        public static OutputStream deflateDictionaryOutputStream(OutputStream outputStream) throws IOException {
+            outputStream.write(DEFLATE_DICTIONARY_HEADER);
+            final Deflater deflater = DICTIONARY_DEFLATER.get();
+            deflater.reset();
+            deflater.setDictionary(TransportCompressionDictionary.BYTES);
+            // the deflater isn't owned by the stream, so closing the stream finishes the deflater but doesn't end it
+            final DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(outputStream, deflater, DEFLATE_BUFFER_SIZE, true);
+            return new BufferedOutputStream(deflaterOutputStream, DEFLATE_BUFFER_SIZE);
+        }
     }
 
     public enum Enabled {
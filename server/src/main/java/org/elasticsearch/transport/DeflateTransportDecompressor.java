@@ -24,6 +24,7 @@ import java.util.zip.Inflater;
 public class DeflateTransportDecompressor implements TransportDecompressor {
 
     private final Inflater inflater;
+    private final Compression.Scheme scheme;
     private final Recycler<BytesRef> recycler;
     private final ArrayDeque<Recycler.V<BytesRef>> pages;
     private int pageOffset = 0;
@@ -31,8 +32,18 @@ public class DeflateTransportDecompressor implements TransportDecompressor {
     private boolean hasSkippedHeader = false;
 
     public DeflateTransportDecompressor(Recycler<BytesRef> recycler) {
+        this(recycler, Compression.Scheme.DEFLATE);
+    }
+
+    DeflateTransportDecompressor(Recycler<BytesRef> recycler, Compression.Scheme scheme) {
+        assert scheme == Compression.Scheme.DEFLATE || scheme == Compression.Scheme.DEFLATE_DICTIONARY : scheme;
         this.recycler = recycler;
+        this.scheme = scheme;
         inflater = new Inflater(true);
+        if (scheme == Compression.Scheme.DEFLATE_DICTIONARY) {
+            // raw inflaters never ask for the dictionary, it has to be set upfront
+            inflater.setDictionary(TransportCompressionDictionary.BYTES);
+        }
         pages = new ArrayDeque<>(4);
     }
 
@@ -120,7 +131,7 @@ public class DeflateTransportDecompressor implements TransportDecompressor {
 
     @Override
     public Compression.Scheme getScheme() {
-        return Compression.Scheme.DEFLATE;
+        return scheme;
     }
 
     @Override
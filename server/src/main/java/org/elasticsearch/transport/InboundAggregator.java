@@ -135,6 +135,18 @@ public class InboundAggregator implements Releasable {
         }
     }
 
+    /**
+     * Fails the message that is being aggregated with the given exception, which is sent back to the sender of a request, eg. because
+     * the chunks of the request tripped the circuit breaker while the decoder received them.
+     */
+    public void fail(Exception exception) {
+        ensureOpen();
+        assert isAggregating();
+        if (isShortCircuited() == false) {
+            shortCircuit(exception);
+        }
+    }
+
     public boolean isAggregating() {
         return currentHeader != null;
     }
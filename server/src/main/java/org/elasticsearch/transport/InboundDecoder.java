@@ -10,32 +10,80 @@ package org.elasticsearch.transport;
 
 import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.TransportVersion;
+import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.common.breaker.CircuitBreakingException;
+import org.elasticsearch.common.breaker.NoopCircuitBreaker;
 import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.bytes.CompositeBytesReference;
 import org.elasticsearch.common.bytes.ReleasableBytesReference;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.recycler.Recycler;
+import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.core.Releasable;
 import org.elasticsearch.core.Releasables;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 public class InboundDecoder implements Releasable {
 
     static final Object PING = new Object();
     static final Object END_CONTENT = new Object();
 
+    /**
+     * The maximum number of messages that a channel may receive chunks of at the same time.
+     */
+    static final int MAX_PARTIAL_CHUNKED_MESSAGES = 1024;
+
     private final TransportVersion version;
     private final Recycler<BytesRef> recycler;
+    private final Supplier<CircuitBreaker> circuitBreaker;
+    private final Predicate<String> requestCanTripBreaker;
+    private final long maxChunkedMessageSize;
+    private final int maxPartialChunkedMessages;
     private TransportDecompressor decompressor;
     private int totalNetworkSize = -1;
     private int bytesConsumed = 0;
     private boolean isCompressed = false;
     private boolean isClosed = false;
+    // the chunks received so far of the messages that were split into chunks by the sender, see ChunkedMessageWriter
+    private final Map<ChunkedMessageId, PartialMessage> chunkedMessages = new HashMap<>();
+    private PartialMessage currentChunkedMessage;
+    private boolean isLastChunk = false;
 
     public InboundDecoder(TransportVersion version, Recycler<BytesRef> recycler) {
+        this(version, recycler, () -> new NoopCircuitBreaker(CircuitBreaker.IN_FLIGHT_REQUESTS), actionName -> true);
+    }
+
+    public InboundDecoder(
+        TransportVersion version,
+        Recycler<BytesRef> recycler,
+        Supplier<CircuitBreaker> circuitBreaker,
+        Predicate<String> requestCanTripBreaker
+    ) {
+        this(version, recycler, circuitBreaker, requestCanTripBreaker, TcpTransport.THIRTY_PER_HEAP_SIZE, MAX_PARTIAL_CHUNKED_MESSAGES);
+    }
+
+    InboundDecoder(
+        TransportVersion version,
+        Recycler<BytesRef> recycler,
+        Supplier<CircuitBreaker> circuitBreaker,
+        Predicate<String> requestCanTripBreaker,
+        long maxChunkedMessageSize,
+        int maxPartialChunkedMessages
+    ) {
         this.version = version;
         this.recycler = recycler;
+        this.circuitBreaker = circuitBreaker;
+        this.requestCanTripBreaker = requestCanTripBreaker;
+        this.maxChunkedMessageSize = maxChunkedMessageSize;
+        this.maxPartialChunkedMessages = maxPartialChunkedMessages;
     }
 
     public int decode(ReleasableBytesReference reference, Consumer<Object> fragmentConsumer) throws IOException {
@@ -60,6 +108,14 @@ public class InboundDecoder implements Releasable {
                 int headerBytesToRead = headerBytesToRead(reference);
                 if (headerBytesToRead == 0) {
                     return 0;
+                } else if (TransportStatus.isChunk(reference.get(TcpHeader.STATUS_POSITION))) {
+                    totalNetworkSize = messageLength + TcpHeader.BYTES_REQUIRED_FOR_MESSAGE_SIZE;
+                    bytesConsumed += headerBytesToRead;
+                    startChunk(reference);
+                    if (isDone()) {
+                        finishChunk(fragmentConsumer);
+                    }
+                    return headerBytesToRead;
                 } else {
                     totalNetworkSize = messageLength + TcpHeader.BYTES_REQUIRED_FOR_MESSAGE_SIZE;
 
@@ -76,6 +132,14 @@ public class InboundDecoder implements Releasable {
                     return headerBytesToRead;
                 }
             }
+        } else if (currentChunkedMessage != null) {
+            int bytesToConsume = Math.min(reference.length(), totalNetworkSize - bytesConsumed);
+            currentChunkedMessage.addChunk(reference, bytesToConsume);
+            bytesConsumed += bytesToConsume;
+            if (isDone()) {
+                finishChunk(fragmentConsumer);
+            }
+            return bytesToConsume;
         } else {
             if (isCompressed && decompressor == null) {
                 // Attempt to initialize decompressor
@@ -121,6 +185,86 @@ public class InboundDecoder implements Releasable {
     public void close() {
         isClosed = true;
         cleanDecodeState();
+        try {
+            Releasables.close(chunkedMessages.values());
+        } finally {
+            chunkedMessages.clear();
+        }
+    }
+
+    private void startChunk(BytesReference reference) throws IOException {
+        final long requestId;
+        final byte status;
+        final TransportVersion remoteVersion;
+        try (StreamInput streamInput = reference.streamInput()) {
+            streamInput.skip(TcpHeader.REQUEST_ID_POSITION);
+            requestId = streamInput.readLong();
+            status = streamInput.readByte();
+            remoteVersion = TransportVersion.fromId(streamInput.readInt());
+        }
+        final IllegalStateException invalidVersion = ensureVersionCompatibility(remoteVersion, version, false);
+        if (invalidVersion != null) {
+            throw invalidVersion;
+        }
+        if (remoteVersion.before(ChunkedMessageWriter.CHUNKED_MESSAGES_VERSION)) {
+            throw new IllegalStateException("received a chunked message from version [" + remoteVersion + "] that doesn't send chunks");
+        }
+        final ChunkedMessageId id = new ChunkedMessageId(requestId, TransportStatus.isRequest(status));
+        PartialMessage partialMessage = chunkedMessages.get(id);
+        if (partialMessage == null) {
+            if (chunkedMessages.size() >= maxPartialChunkedMessages) {
+                throw new IllegalStateException(
+                    "received chunks of more than [" + maxPartialChunkedMessages + "] messages at the same time, closing connection"
+                );
+            }
+            partialMessage = new PartialMessage(id);
+            chunkedMessages.put(id, partialMessage);
+        }
+        currentChunkedMessage = partialMessage;
+        isLastChunk = TransportStatus.isLastChunk(status);
+    }
+
+    private void finishChunk(Consumer<Object> fragmentConsumer) throws IOException {
+        final PartialMessage chunkedMessage = currentChunkedMessage;
+        final boolean lastChunk = isLastChunk;
+        cleanDecodeState();
+        if (lastChunk) {
+            chunkedMessages.remove(chunkedMessage.id);
+            if (chunkedMessage.breakerException != null) {
+                // like the aggregator, fail the request that tripped the breaker rather than the connection
+                chunkedMessage.close();
+                fragmentConsumer.accept(chunkedMessage.header);
+                fragmentConsumer.accept(chunkedMessage.breakerException);
+                fragmentConsumer.accept(END_CONTENT);
+                return;
+            }
+            try (ReleasableBytesReference message = chunkedMessage.reassemble()) {
+                decodeChunkedMessage(chunkedMessage.id, message, fragmentConsumer);
+            }
+        }
+    }
+
+    /**
+     * Decodes a message that was reassembled from its chunks. The message is complete, so it is decoded at once.
+     */
+    private void decodeChunkedMessage(ChunkedMessageId chunkedMessage, ReleasableBytesReference message, Consumer<Object> fragmentConsumer)
+        throws IOException {
+        // the chunks must contain exactly one message, which must not be a chunk itself
+        if (message.length() <= TcpHeader.STATUS_POSITION
+            || message.getInt(TcpHeader.MARKER_BYTES_SIZE) + TcpHeader.BYTES_REQUIRED_FOR_MESSAGE_SIZE != message.length()
+            || TransportStatus.isChunk(message.get(TcpHeader.STATUS_POSITION))) {
+            throw new IllegalStateException("invalid message reassembled from the chunks of " + chunkedMessage + ", closing connection");
+        }
+        int offset = 0;
+        while (offset < message.length()) {
+            try (ReleasableBytesReference remaining = message.retainedSlice(offset, message.length() - offset)) {
+                final int bytesDecoded = internalDecode(remaining, fragmentConsumer);
+                if (bytesDecoded == 0) {
+                    throw new IllegalStateException("incomplete message reassembled from the chunks of " + chunkedMessage);
+                }
+                offset += bytesDecoded;
+            }
+        }
     }
 
     private void finishMessage(Consumer<Object> fragmentConsumer) {
@@ -136,6 +280,8 @@ public class InboundDecoder implements Releasable {
             decompressor = null;
             totalNetworkSize = -1;
             bytesConsumed = 0;
+            currentChunkedMessage = null;
+            isLastChunk = false;
         }
     }
 
@@ -222,4 +368,101 @@ public class InboundDecoder implements Releasable {
         }
         return null;
     }
+
+    /**
+     * Identifies a message that is received in chunks. Requests and responses have their own request ids.
+     */
+    private record ChunkedMessageId(long requestId, boolean isRequest) {}
+
+    /**
+     * The chunks of a message that were received so far. They are accounted for in the in-flight requests circuit breaker as they
+     * arrive, so that partial messages can't fill up the heap, and released from it once the message is reassembled, since the
+     * reassembled message is accounted for like any other message.
+     * <p>
+     * The chunks of a request whose action can trip the breaker are only accounted for once the header of the request is complete.
+     * If they trip the breaker, the request is broken: its chunks are released and its remaining chunks are discarded, and once its
+     * last chunk arrives the breaker exception is passed on with its header, so that only this request fails.
+     */
+    private final class PartialMessage implements Releasable {
+        private final ChunkedMessageId id;
+        private final List<ReleasableBytesReference> chunks = new ArrayList<>();
+        private long size;
+        private long reservedBytes;
+        // the header of a request, once it is complete
+        private Header header;
+        private CircuitBreakingException breakerException;
+
+        PartialMessage(ChunkedMessageId id) {
+            this.id = id;
+        }
+
+        void addChunk(ReleasableBytesReference reference, int length) throws IOException {
+            if (size + length > maxChunkedMessageSize) {
+                throw new IllegalArgumentException(
+                    "illegal chunked transport message of size greater than ["
+                        + ByteSizeValue.ofBytes(maxChunkedMessageSize)
+                        + "], closing connection"
+                );
+            }
+            size += length;
+            if (breakerException != null) {
+                return;
+            }
+            chunks.add(reference.retainedSlice(0, length));
+            if (id.isRequest() && header == null) {
+                header = readRequestHeader();
+            }
+            if (breakerException == null && header != null && requestCanTripBreaker.test(header.getActionName())) {
+                try {
+                    circuitBreaker.get().addEstimateBytesAndMaybeBreak(length, header.getActionName());
+                    reservedBytes += length;
+                } catch (CircuitBreakingException e) {
+                    breakerException = e;
+                    close();
+                }
+            } else {
+                circuitBreaker.get().addWithoutBreaking(length);
+                reservedBytes += length;
+            }
+        }
+
+        /**
+         * Reads the header of the request from the chunks received so far, returns {@code null} if it isn't complete yet.
+         */
+        private Header readRequestHeader() throws IOException {
+            final BytesReference received = CompositeBytesReference.of(chunks.toArray(new BytesReference[0]));
+            if (received.length() <= TcpHeader.STATUS_POSITION || headerBytesToRead(received) == 0) {
+                return null;
+            }
+            final Header requestHeader = readHeader(version, received.getInt(TcpHeader.MARKER_BYTES_SIZE), received);
+            if (requestHeader.isRequest() == false || TransportStatus.isChunk(received.get(TcpHeader.STATUS_POSITION))) {
+                throw new IllegalStateException("invalid message received in the chunks of " + id + ", closing connection");
+            }
+            return requestHeader;
+        }
+
+        ReleasableBytesReference reassemble() {
+            final ReleasableBytesReference[] bytes = chunks.toArray(new ReleasableBytesReference[0]);
+            chunks.clear();
+            releaseReservedBytes();
+            return new ReleasableBytesReference(CompositeBytesReference.of(bytes), () -> Releasables.close(bytes));
+        }
+
+        private void releaseReservedBytes() {
+            if (reservedBytes > 0) {
+                circuitBreaker.get().addWithoutBreaking(-reservedBytes);
+                reservedBytes = 0;
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                Releasables.close(chunks);
+            } finally {
+                chunks.clear();
+                releaseReservedBytes();
+            }
+        }
+    }
 }
@@ -11,6 +11,7 @@ package org.elasticsearch.transport;
 import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.TransportVersion;
 import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.common.breaker.CircuitBreakingException;
 import org.elasticsearch.common.bytes.CompositeBytesReference;
 import org.elasticsearch.common.bytes.ReleasableBytesReference;
 import org.elasticsearch.common.recycler.Recycler;
@@ -52,7 +53,11 @@ public class InboundPipeline implements Releasable {
         this(
             statsTracker,
             relativeTimeInMillis,
-            new InboundDecoder(version, recycler),
+            new InboundDecoder(version, recycler, circuitBreaker, actionName -> {
+                final RequestHandlerRegistry<TransportRequest> registry = registryFunction.apply(actionName);
+                // requests for unknown actions are rejected once they are complete
+                return registry == null || registry.canTripCircuitBreaker();
+            }),
             new InboundAggregator(circuitBreaker, registryFunction, ignoreDeserializationErrors),
             messageHandler
         );
@@ -142,6 +147,9 @@ public class InboundPipeline implements Releasable {
             } else if (fragment == InboundDecoder.PING) {
                 assert aggregator.isAggregating() == false;
                 messageHandler.accept(channel, PING_MESSAGE);
+            } else if (fragment instanceof CircuitBreakingException e) {
+                assert aggregator.isAggregating();
+                aggregator.fail(e);
             } else if (fragment == InboundDecoder.END_CONTENT) {
                 assert aggregator.isAggregating();
                 InboundMessage aggregated = aggregator.finishAggregation();
@@ -70,6 +70,14 @@ public abstract class NetworkMessage {
     }
 
     private static Compression.Scheme adjustedScheme(TransportVersion version, Compression.Scheme compressionScheme) {
-        return compressionScheme == Compression.Scheme.LZ4 && version.before(Compression.Scheme.LZ4_VERSION) ? null : compressionScheme;
+        if (compressionScheme == Compression.Scheme.LZ4 && version.before(Compression.Scheme.LZ4_VERSION)) {
+            return null;
+        } else if (compressionScheme == Compression.Scheme.DEFLATE_DICTIONARY
+            && version.before(Compression.Scheme.DEFLATE_DICTIONARY_VERSION)) {
+            // every version understands plain DEFLATE
+            return Compression.Scheme.DEFLATE;
+        } else {
+            return compressionScheme;
+        }
     }
 }
@@ -22,6 +22,8 @@ import org.elasticsearch.common.network.CloseableChannel;
 import org.elasticsearch.common.network.HandlingTimeTracker;
 import org.elasticsearch.common.recycler.Recycler;
 import org.elasticsearch.common.transport.NetworkExceptionHelper;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
 import org.elasticsearch.common.util.concurrent.ThreadContext;
 import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.Releasable;
@@ -30,6 +32,7 @@ import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.threadpool.ThreadPool;
 
 import java.io.IOException;
+import java.util.Map;
 
 final class OutboundHandler {
 
@@ -45,6 +48,9 @@ final class OutboundHandler {
 
     private volatile long slowLogThresholdMs = Long.MAX_VALUE;
 
+    private volatile int messageChunkSize = 0;
+    private final Map<TcpChannel, ChunkedMessageWriter> chunkedMessageWriters = ConcurrentCollections.newConcurrentMap();
+
     private volatile TransportMessageListener messageListener = TransportMessageListener.NOOP_LISTENER;
 
     OutboundHandler(
@@ -69,8 +75,15 @@ final class OutboundHandler {
         this.slowLogThresholdMs = slowLogThreshold.getMillis();
     }
 
+    /**
+     * Sets the size of the chunks that large messages are sent in, see {@link ChunkedMessageWriter}. {@code 0} disables chunking.
+     */
+    void setMessageChunkSize(ByteSizeValue messageChunkSize) {
+        this.messageChunkSize = Math.toIntExact(messageChunkSize.getBytes());
+    }
+
     void sendBytes(TcpChannel channel, BytesReference bytes, ActionListener<Void> listener) {
-        internalSend(channel, bytes, null, listener);
+        internalSend(channel, bytes, null, ChunkedMessageWriter.NORMAL_PRIORITY, listener);
     }
 
     /**
@@ -102,7 +115,7 @@ final class OutboundHandler {
             assert false : "request [" + request + "] has been released already";
             throw new AlreadyClosedException("request [" + request + "] has been released already");
         }
-        sendMessage(channel, message, () -> {
+        sendMessage(channel, message, action, ChunkedMessageWriter.priority(options.type()), () -> {
             try {
                 messageListener.onRequestSent(node, requestId, action, request, options);
             } finally {
@@ -135,7 +148,7 @@ final class OutboundHandler {
             isHandshake,
             compressionScheme
         );
-        sendMessage(channel, message, () -> {
+        sendMessage(channel, message, action, ChunkedMessageWriter.NORMAL_PRIORITY, () -> {
             try {
                 messageListener.onResponseSent(requestId, action, response);
             } finally {
@@ -157,10 +170,17 @@ final class OutboundHandler {
         TransportVersion version = TransportVersion.min(this.version, transportVersion);
         RemoteTransportException tx = new RemoteTransportException(nodeName, channel.getLocalAddress(), action, error);
         OutboundMessage.Response message = new OutboundMessage.Response(threadPool.getThreadContext(), tx, version, requestId, false, null);
-        sendMessage(channel, message, () -> messageListener.onResponseSent(requestId, action, error));
+        sendMessage(
+            channel,
+            message,
+            action,
+            ChunkedMessageWriter.NORMAL_PRIORITY,
+            () -> messageListener.onResponseSent(requestId, action, error)
+        );
     }
 
-    private void sendMessage(TcpChannel channel, OutboundMessage networkMessage, Releasable onAfter) throws IOException {
+    private void sendMessage(TcpChannel channel, OutboundMessage networkMessage, String action, int priority, Releasable onAfter)
+        throws IOException {
         final RecyclerBytesStreamOutput byteStreamOutput;
         boolean bufferSuccess = false;
         try {
@@ -176,6 +196,9 @@ final class OutboundHandler {
         boolean serializeSuccess = false;
         try {
             message = networkMessage.serialize(byteStreamOutput);
+            if (networkMessage.isCompress()) {
+                statsTracker.markMessageCompressed(action, networkMessage.getUncompressedSize(), networkMessage.getCompressedSize());
+            }
             serializeSuccess = true;
         } catch (Exception e) {
             logger.warn(() -> "failed to serialize outbound message [" + networkMessage + "]", e);
@@ -185,13 +208,14 @@ final class OutboundHandler {
                 release.close();
             }
         }
-        internalSend(channel, message, networkMessage, ActionListener.wrap(release::close));
+        internalSend(channel, message, networkMessage, priority, ActionListener.wrap(release::close));
     }
 
     private void internalSend(
         TcpChannel channel,
         BytesReference reference,
         @Nullable OutboundMessage message,
+        int priority,
         ActionListener<Void> listener
     ) {
         final long startTime = threadPool.rawRelativeTimeInMillis();
@@ -200,7 +224,7 @@ final class OutboundHandler {
         TransportLogger.logOutboundMessage(channel, reference);
         // stash thread context so that channel event loop is not polluted by thread context
         try (ThreadContext.StoredContext existing = threadPool.getThreadContext().stashContext()) {
-            channel.sendMessage(reference, new ActionListener<>() {
+            final ActionListener<Void> sendListener = new ActionListener<>() {
                 @Override
                 public void onResponse(Void v) {
                     statsTracker.markBytesWritten(messageSize);
@@ -241,13 +265,32 @@ final class OutboundHandler {
                         }
                     }
                 }
-            });
+            };
+            final int chunkSize = messageChunkSize;
+            if (message != null && ChunkedMessageWriter.shouldChunk(message, reference, chunkSize)) {
+                getChunkedMessageWriter(channel).send(message, reference, chunkSize, priority, sendListener);
+            } else {
+                channel.sendMessage(reference, sendListener);
+            }
         } catch (RuntimeException ex) {
             Releasables.closeExpectNoException(() -> listener.onFailure(ex), () -> CloseableChannel.closeChannel(channel));
             throw ex;
         }
     }
 
+    private ChunkedMessageWriter getChunkedMessageWriter(TcpChannel channel) {
+        ChunkedMessageWriter writer = chunkedMessageWriters.get(channel);
+        if (writer == null) {
+            final ChunkedMessageWriter newWriter = new ChunkedMessageWriter(channel);
+            writer = chunkedMessageWriters.putIfAbsent(channel, newWriter);
+            if (writer == null) {
+                writer = newWriter;
+                channel.addCloseListener(ActionListener.wrap(() -> chunkedMessageWriters.remove(channel, newWriter)));
+            }
+        }
+        return writer;
+    }
+
     void setMessageListener(TransportMessageListener listener) {
         if (messageListener == TransportMessageListener.NOOP_LISTENER) {
             messageListener = listener;
@@ -21,10 +21,14 @@ import org.elasticsearch.common.util.concurrent.ThreadContext;
 import org.elasticsearch.core.Streams;
 
 import java.io.IOException;
+import java.io.OutputStream;
 
 abstract class OutboundMessage extends NetworkMessage {
 
     protected final Writeable message;
+    // the size of the serialized body before and after compression, only set once a compressed message is serialized
+    private long uncompressedSize = -1;
+    private long compressedSize = -1;
 
     OutboundMessage(
         ThreadContext threadContext,
@@ -53,6 +57,7 @@ abstract class OutboundMessage extends NetworkMessage {
         }
 
         final boolean compress = TransportStatus.isCompress(status);
+        final long preBodyPosition = bytesStream.position();
         final StreamOutput stream = compress ? wrapCompressed(bytesStream) : bytesStream;
         final BytesReference zeroCopyBuffer;
         try {
@@ -77,6 +82,10 @@ abstract class OutboundMessage extends NetworkMessage {
                 stream.close();
             }
         }
+        if (compress) {
+            uncompressedSize = stream.position();
+            compressedSize = bytesStream.position() - preBodyPosition;
+        }
         final BytesReference message = bytesStream.bytes();
         if (zeroCopyBuffer.length() == 0) {
             reference = message;
@@ -94,16 +103,34 @@ abstract class OutboundMessage extends NetworkMessage {
     // resources and write EOS marker bytes but must not yet release the bytes themselves
     private StreamOutput wrapCompressed(RecyclerBytesStreamOutput bytesStream) throws IOException {
         if (compressionScheme == Compression.Scheme.DEFLATE) {
-            return new OutputStreamStreamOutput(
+            return new CountingStreamOutput(
                 CompressorFactory.COMPRESSOR.threadLocalOutputStream(org.elasticsearch.core.Streams.noCloseStream(bytesStream))
             );
+        } else if (compressionScheme == Compression.Scheme.DEFLATE_DICTIONARY) {
+            return new CountingStreamOutput(Compression.Scheme.deflateDictionaryOutputStream(Streams.noCloseStream(bytesStream)));
         } else if (compressionScheme == Compression.Scheme.LZ4) {
-            return new OutputStreamStreamOutput(Compression.Scheme.lz4OutputStream(Streams.noCloseStream(bytesStream)));
+            return new CountingStreamOutput(Compression.Scheme.lz4OutputStream(Streams.noCloseStream(bytesStream)));
         } else {
             throw new IllegalArgumentException("Invalid compression scheme: " + compressionScheme);
         }
     }
 
+    /**
+     * Returns the size of the body of this message before compression, or {@code -1} if this message isn't compressed or hasn't been
+     * serialized yet.
+     */
+    long getUncompressedSize() {
+        return uncompressedSize;
+    }
+
+    /**
+     * Returns the size of the body of this message after compression, or {@code -1} if this message isn't compressed or hasn't been
+     * serialized yet.
+     */
+    long getCompressedSize() {
+        return compressedSize;
+    }
+
     protected void writeVariableHeader(StreamOutput stream) throws IOException {
         threadContext.writeTo(stream);
     }
@@ -201,4 +228,33 @@ abstract class OutboundMessage extends NetworkMessage {
                 + "}";
         }
     }
+
+    /**
+     * Counts the bytes that are written to a compressing stream, so that its {@link #position()} is the uncompressed size.
+     */
+    private static final class CountingStreamOutput extends OutputStreamStreamOutput {
+
+        private long count;
+
+        CountingStreamOutput(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void writeByte(byte b) throws IOException {
+            super.writeByte(b);
+            count++;
+        }
+
+        @Override
+        public void writeBytes(byte[] b, int offset, int length) throws IOException {
+            super.writeBytes(b, offset, length);
+            count += length;
+        }
+
+        @Override
+        public long position() {
+            return count;
+        }
+    }
 }
@@ -9,7 +9,10 @@
 package org.elasticsearch.transport;
 
 import org.elasticsearch.common.metrics.MeanMetric;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.LongAdder;
 
 public class StatsTracker {
@@ -17,6 +20,7 @@ public class StatsTracker {
     private final LongAdder bytesRead = new LongAdder();
     private final LongAdder messagesReceived = new LongAdder();
     private final MeanMetric writeBytesMetric = new MeanMetric();
+    private final Map<String, CompressionTracker> compressionTrackers = ConcurrentCollections.newConcurrentMap();
 
     public void markBytesRead(long bytesReceived) {
         bytesRead.add(bytesReceived);
@@ -30,6 +34,10 @@ public class StatsTracker {
         writeBytesMetric.inc(bytesWritten);
     }
 
+    public void markMessageCompressed(String action, long uncompressedBytes, long compressedBytes) {
+        compressionTrackers.computeIfAbsent(action, k -> new CompressionTracker()).mark(uncompressedBytes, compressedBytes);
+    }
+
     public long getBytesRead() {
         return bytesRead.sum();
     }
@@ -45,4 +53,26 @@ public class StatsTracker {
     public long getMessagesSent() {
         return writeBytesMetric.count();
     }
+
+    public Map<String, TransportStats.CompressionStats> getCompressionStats() {
+        final Map<String, TransportStats.CompressionStats> compressionStats = new HashMap<>(compressionTrackers.size());
+        compressionTrackers.forEach((action, tracker) -> compressionStats.put(action, tracker.stats()));
+        return compressionStats;
+    }
+
+    private static final class CompressionTracker {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder uncompressedBytes = new LongAdder();
+        private final LongAdder compressedBytes = new LongAdder();
+
+        void mark(long uncompressed, long compressed) {
+            count.increment();
+            uncompressedBytes.add(uncompressed);
+            compressedBytes.add(compressed);
+        }
+
+        TransportStats.CompressionStats stats() {
+            return new TransportStats.CompressionStats(count.sum(), uncompressedBytes.sum(), compressedBytes.sum());
+        }
+    }
 }
@@ -31,6 +31,10 @@ public class TcpHeader {
 
     public static final int BYTES_REQUIRED_FOR_MESSAGE_SIZE = MARKER_BYTES_SIZE + MESSAGE_LENGTH_SIZE;
 
+    public static final int REQUEST_ID_POSITION = MARKER_BYTES_SIZE + MESSAGE_LENGTH_SIZE;
+
+    public static final int STATUS_POSITION = REQUEST_ID_POSITION + REQUEST_ID_SIZE;
+
     public static final int VERSION_POSITION = MARKER_BYTES_SIZE + MESSAGE_LENGTH_SIZE + REQUEST_ID_SIZE + STATUS_SIZE;
 
     public static final int VARIABLE_HEADER_SIZE_POSITION = VERSION_POSITION + VERSION_ID_SIZE;
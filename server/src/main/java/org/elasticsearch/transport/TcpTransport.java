@@ -93,7 +93,7 @@ public abstract class TcpTransport extends AbstractLifecycleComponent implements
 
     // This is the number of bytes necessary to read the message size
     private static final int BYTES_NEEDED_FOR_MESSAGE_SIZE = TcpHeader.MARKER_BYTES_SIZE + TcpHeader.MESSAGE_LENGTH_SIZE;
-    private static final long THIRTY_PER_HEAP_SIZE = (long) (JvmInfo.jvmInfo().getMem().getHeapMax().getBytes() * 0.3);
+    static final long THIRTY_PER_HEAP_SIZE = (long) (JvmInfo.jvmInfo().getMem().getHeapMax().getBytes() * 0.3);
 
     final StatsTracker statsTracker = new StatsTracker();
 
@@ -184,6 +184,7 @@ public abstract class TcpTransport extends AbstractLifecycleComponent implements
             outboundHandlingTimeTracker,
             rstOnClose
         );
+        this.outboundHandler.setMessageChunkSize(TransportSettings.MESSAGE_CHUNK_SIZE.get(settings));
 
         ignoreDeserializationErrors = IGNORE_DESERIALIZATION_ERRORS_SETTING.get(settings);
 
@@ -1010,7 +1011,8 @@ public abstract class TcpTransport extends AbstractLifecycleComponent implements
             messagesSent,
             bytesWritten,
             networkService.getHandlingTimeTracker().getHistogram(),
-            outboundHandlingTimeTracker.getHistogram()
+            outboundHandlingTimeTracker.getHistogram(),
+            statsTracker.getCompressionStats()
         );
     }
 
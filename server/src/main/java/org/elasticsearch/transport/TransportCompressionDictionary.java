@@ -0,0 +1,116 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.transport;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The preset dictionary of the {@link Compression.Scheme#DEFLATE_DICTIONARY} compression scheme. It holds strings that are frequent in
+ * the bodies of transport messages: the names of queries and aggregations in search requests, and the field names and JSON syntax of
+ * the documents in bulk requests and search responses. Small messages such as single document bulk shard requests or search shard
+ * requests are mostly made of these strings, so they compress much better than without dictionary.
+ * <p>
+ * The sender and the receiver must use the exact same dictionary, so the dictionary must never change. A different dictionary needs a
+ * new {@link #VERSION}, which is part of the compression header.
+ */
+final class TransportCompressionDictionary {
+
+    static final byte VERSION = 1;
+
+    // DEFLATE encodes closer matches with fewer bits, so the most frequent strings come last
+    private static final String[] STRINGS = new String[] {
+        // aggregations
+        "value_count",
+        "percentiles",
+        "tdigest_percentiles",
+        "top_hits",
+        "date_range",
+        "histogram",
+        "filters",
+        "composite",
+        "cardinality",
+        "stats",
+        "min",
+        "max",
+        "avg",
+        "sum",
+        "sterms",
+        "lterms",
+        "date_histogram",
+        // queries
+        "function_score",
+        "query_string",
+        "simple_query_string",
+        "multi_match",
+        "match_phrase",
+        "wildcard",
+        "prefix",
+        "nested",
+        "ids",
+        "exists",
+        "match",
+        "range",
+        "terms",
+        "term",
+        "match_all",
+        "bool",
+        // search responses
+        "\"_shards\":{\"total\":",
+        "\"successful\":",
+        "\"skipped\":0,\"failed\":0}",
+        "\"hits\":{\"total\":{\"value\":",
+        "\"relation\":\"eq\"},\"max_score\":",
+        "\"_score\":",
+        "\"_source\":",
+        "\"_routing\":\"",
+        "\"_index\":\"",
+        "\"_id\":\"",
+        "_doc",
+        // documents
+        "\"data_stream\":{\"type\":\"logs\",\"dataset\":\"",
+        "\"namespace\":\"default\"}",
+        "\"agent\":{\"type\":\"",
+        "\"version\":\"",
+        "\"ecs\":{\"version\":\"",
+        "\"cloud\":{\"provider\":\"",
+        "\"region\":\"",
+        "\"availability_zone\":\"",
+        "\"kubernetes\":{\"namespace\":\"",
+        "\"pod\":{\"name\":\"",
+        "\"container\":{\"id\":\"",
+        "\"process\":{\"pid\":",
+        "\"http\":{\"request\":{\"method\":\"",
+        "\"response\":{\"status_code\":",
+        "\"url\":{\"path\":\"",
+        "\"user\":{\"name\":\"",
+        "\"source\":{\"ip\":\"",
+        "\"destination\":{\"ip\":\"",
+        "\"service\":{\"name\":\"",
+        "\"event\":{\"dataset\":\"",
+        "\"log\":{\"level\":\"",
+        "\"host\":{\"name\":\"",
+        "\"metrics\":{",
+        "\"tags\":[\"",
+        "\"type\":\"",
+        "\"name\":\"",
+        "\"value\":",
+        "\"message\":\"",
+        "\"@timestamp\":\"",
+        "T00:00:00.000Z\"",
+        "\"},{\"",
+        "\",\"",
+        "\":\"",
+        "true",
+        "false",
+        "null" };
+
+    static final byte[] BYTES = String.join("", STRINGS).getBytes(StandardCharsets.UTF_8);
+
+    private TransportCompressionDictionary() {}
+}
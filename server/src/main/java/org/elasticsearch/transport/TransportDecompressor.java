@@ -40,6 +40,8 @@ public interface TransportDecompressor extends Releasable {
 
         if (Compression.Scheme.isDeflate(bytes)) {
             return new DeflateTransportDecompressor(recycler);
+        } else if (Compression.Scheme.isDeflateDictionary(bytes)) {
+            return new DeflateTransportDecompressor(recycler, Compression.Scheme.DEFLATE_DICTIONARY);
         } else if (Compression.Scheme.isLZ4(bytes)) {
             return new Lz4TransportDecompressor(recycler);
         } else {
@@ -88,6 +88,15 @@ public final class TransportSettings {
         Compression.Scheme.LZ4,
         Setting.Property.NodeScope
     );
+    // messages larger than this are sent in chunks that are interleaved with the other messages sent on the same channel,
+    // so that large messages don't hold up small ones, 0 sends all messages in one piece
+    public static final Setting<ByteSizeValue> MESSAGE_CHUNK_SIZE = Setting.byteSizeSetting(
+        "transport.message_chunk_size",
+        ByteSizeValue.ofMb(1),
+        ByteSizeValue.ZERO,
+        ByteSizeValue.ofBytes(Integer.MAX_VALUE),
+        Setting.Property.NodeScope
+    );
     // the scheduled internal ping interval setting, defaults to disabled (-1)
     public static final Setting<TimeValue> PING_SCHEDULE = timeSetting(
         "transport.ping_schedule",
@@ -16,10 +16,13 @@ import org.elasticsearch.common.io.stream.Writeable;
 import org.elasticsearch.common.network.HandlingTimeTracker;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.xcontent.ToXContentFragment;
+import org.elasticsearch.xcontent.ToXContentObject;
 import org.elasticsearch.xcontent.XContentBuilder;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
 
 public class TransportStats implements Writeable, ToXContentFragment {
 
@@ -31,6 +34,7 @@ public class TransportStats implements Writeable, ToXContentFragment {
     private final long txSize;
     private final long[] inboundHandlingTimeBucketFrequencies;
     private final long[] outboundHandlingTimeBucketFrequencies;
+    private final Map<String, CompressionStats> compressionStats;
 
     public TransportStats(
         long serverOpen,
@@ -40,7 +44,8 @@ public class TransportStats implements Writeable, ToXContentFragment {
         long txCount,
         long txSize,
         long[] inboundHandlingTimeBucketFrequencies,
-        long[] outboundHandlingTimeBucketFrequencies
+        long[] outboundHandlingTimeBucketFrequencies,
+        Map<String, CompressionStats> compressionStats
     ) {
         this.serverOpen = serverOpen;
         this.totalOutboundConnections = totalOutboundConnections;
@@ -50,6 +55,7 @@ public class TransportStats implements Writeable, ToXContentFragment {
         this.txSize = txSize;
         this.inboundHandlingTimeBucketFrequencies = inboundHandlingTimeBucketFrequencies;
         this.outboundHandlingTimeBucketFrequencies = outboundHandlingTimeBucketFrequencies;
+        this.compressionStats = compressionStats;
         assert assertHistogramsConsistent();
     }
 
@@ -73,6 +79,11 @@ public class TransportStats implements Writeable, ToXContentFragment {
             inboundHandlingTimeBucketFrequencies = new long[0];
             outboundHandlingTimeBucketFrequencies = new long[0];
         }
+        if (in.getTransportVersion().onOrAfter(TransportVersion.V_8_8_0)) {
+            compressionStats = in.readImmutableMap(StreamInput::readString, CompressionStats::new);
+        } else {
+            compressionStats = Map.of();
+        }
         assert assertHistogramsConsistent();
     }
 
@@ -94,6 +105,9 @@ public class TransportStats implements Writeable, ToXContentFragment {
                 out.writeVLong(handlingTimeBucketFrequency);
             }
         }
+        if (out.getTransportVersion().onOrAfter(TransportVersion.V_8_8_0)) {
+            out.writeMap(compressionStats, StreamOutput::writeString, (o, v) -> v.writeTo(o));
+        }
     }
 
     public long serverOpen() {
@@ -148,6 +162,13 @@ public class TransportStats implements Writeable, ToXContentFragment {
         return Arrays.copyOf(inboundHandlingTimeBucketFrequencies, inboundHandlingTimeBucketFrequencies.length);
     }
 
+    /**
+     * Returns the compression stats of the messages that this node sent compressed, by action.
+     */
+    public Map<String, CompressionStats> getCompressionStats() {
+        return compressionStats;
+    }
+
     public long[] getOutboundHandlingTimeBucketFrequencies() {
         return Arrays.copyOf(outboundHandlingTimeBucketFrequencies, outboundHandlingTimeBucketFrequencies.length);
     }
@@ -179,6 +200,11 @@ public class TransportStats implements Writeable, ToXContentFragment {
             // Stats came from before v8.1
             assert Version.CURRENT.major == Version.V_8_0_0.major;
         }
+        builder.startObject(Fields.COMPRESSION);
+        for (Map.Entry<String, CompressionStats> entry : new TreeMap<>(compressionStats).entrySet()) {
+            builder.field(entry.getKey(), entry.getValue());
+        }
+        builder.endObject();
         builder.endObject();
         return builder;
     }
@@ -213,5 +239,50 @@ public class TransportStats implements Writeable, ToXContentFragment {
         static final String TX_SIZE_IN_BYTES = "tx_size_in_bytes";
         static final String INBOUND_HANDLING_TIME_HISTOGRAM = "inbound_handling_time_histogram";
         static final String OUTBOUND_HANDLING_TIME_HISTOGRAM = "outbound_handling_time_histogram";
+        static final String COMPRESSION = "compression";
+        static final String COUNT = "count";
+        static final String UNCOMPRESSED_SIZE = "uncompressed_size";
+        static final String UNCOMPRESSED_SIZE_IN_BYTES = "uncompressed_size_in_bytes";
+        static final String COMPRESSED_SIZE = "compressed_size";
+        static final String COMPRESSED_SIZE_IN_BYTES = "compressed_size_in_bytes";
+        static final String COMPRESSION_RATIO = "compression_ratio";
+    }
+
+    /**
+     * The number of messages of an action that were sent compressed, and the size of their bodies before and after compression.
+     */
+    public record CompressionStats(long count, long uncompressedBytes, long compressedBytes) implements Writeable, ToXContentObject {
+
+        public CompressionStats(StreamInput in) throws IOException {
+            this(in.readVLong(), in.readVLong(), in.readVLong());
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeVLong(count);
+            out.writeVLong(uncompressedBytes);
+            out.writeVLong(compressedBytes);
+        }
+
+        /**
+         * Returns how many times smaller the messages are after compression.
+         */
+        public double compressionRatio() {
+            return compressedBytes == 0 ? 1.0 : (double) uncompressedBytes / compressedBytes;
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            builder.startObject();
+            builder.field(Fields.COUNT, count);
+            builder.humanReadableField(
+                Fields.UNCOMPRESSED_SIZE_IN_BYTES,
+                Fields.UNCOMPRESSED_SIZE,
+                ByteSizeValue.ofBytes(uncompressedBytes)
+            );
+            builder.humanReadableField(Fields.COMPRESSED_SIZE_IN_BYTES, Fields.COMPRESSED_SIZE, ByteSizeValue.ofBytes(compressedBytes));
+            builder.field(Fields.COMPRESSION_RATIO, compressionRatio());
+            return builder.endObject();
+        }
     }
 }
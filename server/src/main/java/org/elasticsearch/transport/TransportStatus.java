@@ -14,6 +14,8 @@ public final class TransportStatus {
     private static final byte STATUS_ERROR = 1 << 1;
     private static final byte STATUS_COMPRESS = 1 << 2;
     private static final byte STATUS_HANDSHAKE = 1 << 3;
+    private static final byte STATUS_CHUNK = 1 << 4;
+    private static final byte STATUS_LAST_CHUNK = 1 << 5;
 
     public static boolean isRequest(byte value) {
         return (value & STATUS_REQRES) == 0;
@@ -55,4 +57,25 @@ public final class TransportStatus {
         value |= STATUS_HANDSHAKE;
         return value;
     }
+
+    /**
+     * Whether the frame only carries a part of a serialized message, see {@link ChunkedMessageWriter}.
+     */
+    static boolean isChunk(byte value) {
+        return (value & STATUS_CHUNK) != 0;
+    }
+
+    static byte setChunk(byte value) {
+        value |= STATUS_CHUNK;
+        return value;
+    }
+
+    static boolean isLastChunk(byte value) {
+        return (value & STATUS_LAST_CHUNK) != 0;
+    }
+
+    static byte setLastChunk(byte value) {
+        value |= STATUS_LAST_CHUNK;
+        return value;
+    }
 }
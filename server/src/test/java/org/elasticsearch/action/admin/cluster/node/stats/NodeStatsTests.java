@@ -287,6 +287,10 @@ public class NodeStatsTests extends ESTestCase {
                         nodeStats.getTransport().getOutboundHandlingTimeBucketFrequencies(),
                         deserializedNodeStats.getTransport().getOutboundHandlingTimeBucketFrequencies()
                     );
+                    assertEquals(
+                        nodeStats.getTransport().getCompressionStats(),
+                        deserializedNodeStats.getTransport().getCompressionStats()
+                    );
                 }
                 if (nodeStats.getHttp() == null) {
                     assertNull(deserializedNodeStats.getHttp());
@@ -610,10 +614,10 @@ public class NodeStatsTests extends ESTestCase {
         indicesCommonStats.getGet().add(new GetStats(++iota, ++iota, ++iota, ++iota, ++iota));
 
         MergeStats mergeStats = new MergeStats();
-        mergeStats.add(++iota, ++iota, ++iota, ++iota, ++iota, ++iota, ++iota, ++iota, ++iota, 1.0 * ++iota);
+        mergeStats.add(++iota, ++iota, ++iota, ++iota, ++iota, ++iota, ++iota, ++iota, ++iota, ++iota, 1.0 * ++iota);
 
         indicesCommonStats.getMerge().add(mergeStats);
-        indicesCommonStats.getRefresh().add(new RefreshStats(++iota, ++iota, ++iota, ++iota, ++iota));
+        indicesCommonStats.getRefresh().add(new RefreshStats(++iota, ++iota, ++iota, ++iota, ++iota, ++iota));
         indicesCommonStats.getFlush().add(new FlushStats(++iota, ++iota, ++iota));
         indicesCommonStats.getWarmer().add(new WarmerStats(++iota, ++iota, ++iota));
         indicesCommonStats.getCompletion().add(new CompletionStats(++iota, null));
@@ -836,7 +840,15 @@ public class NodeStatsTests extends ESTestCase {
                 randomNonNegativeLong(),
                 randomNonNegativeLong(),
                 IntStream.range(0, HandlingTimeTracker.BUCKET_COUNT).mapToLong(i -> randomNonNegativeLong()).toArray(),
-                IntStream.range(0, HandlingTimeTracker.BUCKET_COUNT).mapToLong(i -> randomNonNegativeLong()).toArray()
+                IntStream.range(0, HandlingTimeTracker.BUCKET_COUNT).mapToLong(i -> randomNonNegativeLong()).toArray(),
+                randomMap(
+                    0,
+                    3,
+                    () -> new Tuple<>(
+                        randomAlphaOfLength(10),
+                        new TransportStats.CompressionStats(randomNonNegativeLong(), randomNonNegativeLong(), randomNonNegativeLong())
+                    )
+                )
             )
             : null;
         HttpStats httpStats = null;
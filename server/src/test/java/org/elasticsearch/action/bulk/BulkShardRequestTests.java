@@ -8,10 +8,17 @@
 
 package org.elasticsearch.action.bulk;
 
+import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.support.WriteRequest.RefreshPolicy;
+import org.elasticsearch.common.bytes.ReleasableBytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.test.ESTestCase;
 
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import static org.apache.lucene.tests.util.TestUtil.randomSimpleString;
 
 public class BulkShardRequestTests extends ESTestCase {
@@ -31,4 +38,40 @@ public class BulkShardRequestTests extends ESTestCase {
         assertEquals("BulkShardRequest [" + shardId + "] containing [" + count + "] requests blocking until refresh", r.toString());
         assertEquals("requests[" + count + "], index[" + index + "][0], refresh[WAIT_UNTIL]", r.getDescription());
     }
+
+    public void testRetainsItemSourcesUntilReleased() throws IOException {
+        final ShardId shardId = new ShardId("index", "_na_", 0);
+        BulkItemRequest[] items = new BulkItemRequest[between(1, 10)];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = new BulkItemRequest(i, new IndexRequest("index").id(Integer.toString(i)).source("field", i));
+        }
+        BulkShardRequest request = new BulkShardRequest(shardId, RefreshPolicy.NONE, items);
+
+        AtomicBoolean released = new AtomicBoolean();
+        BulkShardRequest read;
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            request.writeTo(out);
+            ReleasableBytesReference buffer = new ReleasableBytesReference(out.bytes(), () -> released.set(true));
+            try (StreamInput in = buffer.streamInput()) {
+                read = new BulkShardRequest(in);
+            }
+            buffer.decRef();
+        }
+
+        // the sources of the items still reference the buffer
+        assertFalse(released.get());
+        assertTrue(read.hasReferences());
+        for (int i = 0; i < items.length; i++) {
+            IndexRequest expected = (IndexRequest) items[i].request();
+            IndexRequest actual = (IndexRequest) read.items()[i].request();
+            assertEquals(expected.source(), actual.source());
+        }
+
+        read.incRef();
+        assertFalse(read.decRef());
+        assertFalse(released.get());
+        assertTrue(read.decRef());
+        assertTrue(released.get());
+        assertFalse(read.hasReferences());
+    }
 }
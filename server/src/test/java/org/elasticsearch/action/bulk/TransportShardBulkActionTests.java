@@ -39,6 +39,7 @@ import org.elasticsearch.index.engine.VersionConflictEngineException;
 import org.elasticsearch.index.mapper.MapperService;
 import org.elasticsearch.index.mapper.Mapping;
 import org.elasticsearch.index.mapper.MetadataFieldMapper;
+import org.elasticsearch.index.mapper.ParsedDocument;
 import org.elasticsearch.index.mapper.RootObjectMapper;
 import org.elasticsearch.index.shard.IndexShard;
 import org.elasticsearch.index.shard.IndexShardTestCase;
@@ -247,6 +248,65 @@ public class TransportShardBulkActionTests extends IndexShardTestCase {
         latch.await();
     }
 
+    public void testParseDocumentsConcurrently() throws Exception {
+        IndexShard shard = newStartedShard(true);
+
+        BulkItemRequest[] items = new BulkItemRequest[randomIntBetween(2, 50)];
+        for (int i = 0; i < items.length; i++) {
+            DocWriteRequest<?> writeRequest = randomBoolean() && i > 0
+                ? new IndexRequest("index").id("id_" + i).source(Requests.INDEX_CONTENT_TYPE, "field_" + i, "value")
+                : new IndexRequest("index").id("id_" + i).source(Requests.INDEX_CONTENT_TYPE);
+            items[i] = new BulkItemRequest(i, writeRequest);
+        }
+        final int parseConcurrency = randomIntBetween(2, 8);
+
+        // documents that don't need a mapping update are parsed ahead, and can only be taken once
+        BulkPrimaryExecutionContext context = new BulkPrimaryExecutionContext(
+            new BulkShardRequest(shardId, RefreshPolicy.NONE, items),
+            shard
+        );
+        CountDownLatch parsed = new CountDownLatch(1);
+        TransportShardBulkAction.parseDocuments(context, parseConcurrency, threadPool.executor(Names.WRITE), parsed::countDown);
+        parsed.await();
+        ParsedDocument parsedDocument = context.takeParsedDocument();
+        assertThat(parsedDocument, notNullValue());
+        assertThat(parsedDocument.id(), equalTo("id_0"));
+        assertThat(context.takeParsedDocument(), nullValue());
+
+        BulkShardRequest bulkShardRequest = new BulkShardRequest(shardId, RefreshPolicy.NONE, items);
+        CountDownLatch latch = new CountDownLatch(1);
+        TransportShardBulkAction.performOnPrimary(
+            bulkShardRequest,
+            shard,
+            null,
+            threadPool::absoluteTimeInMillis,
+            (update, shardId, listener) -> {
+                updateMappings(
+                    shard,
+                    IndexMetadata.builder(shard.indexSettings().getIndexMetadata()).putMapping(update.toString()).build()
+                );
+                listener.onResponse(null);
+            },
+            listener -> listener.onResponse(null),
+            ActionListener.runAfter(ActionTestUtils.assertNoFailureListener(result -> {
+                assertThat(result.replicationResponse.getResponses(), arrayWithSize(items.length));
+                for (int i = 0; i < items.length; i++) {
+                    BulkItemResponse response = result.replicationResponse.getResponses()[i];
+                    assertThat(response.getId(), equalTo("id_" + i));
+                    assertFalse(response.isFailed());
+                }
+            }), latch::countDown),
+            threadPool,
+            Names.WRITE,
+            null,
+            parseConcurrency
+        );
+        latch.await();
+
+        assertDocCount(shard, items.length);
+        closeShards(shard);
+    }
+
     public void testExecuteBulkIndexRequestWithMappingUpdates() throws Exception {
 
         BulkItemRequest[] items = new BulkItemRequest[1];
@@ -263,7 +323,7 @@ public class TransportShardBulkActionTests extends IndexShardTestCase {
 
         IndexShard shard = mock(IndexShard.class);
         when(shard.shardId()).thenReturn(shardId);
-        when(shard.applyIndexOperationOnPrimary(anyLong(), any(), any(), anyLong(), anyLong(), anyLong(), anyBoolean())).thenReturn(
+        when(shard.applyIndexOperationOnPrimary(anyLong(), any(), any(), anyLong(), anyLong(), anyLong(), anyBoolean(), any())).thenReturn(
             mappingUpdate
         );
         when(shard.mapperService()).thenReturn(mock(MapperService.class));
@@ -285,9 +345,9 @@ public class TransportShardBulkActionTests extends IndexShardTestCase {
         assertThat("mappings were \"updated\" once", updateCalled.get(), equalTo(1));
 
         // Verify that the shard "executed" the operation once
-        verify(shard, times(1)).applyIndexOperationOnPrimary(anyLong(), any(), any(), anyLong(), anyLong(), anyLong(), anyBoolean());
+        verify(shard, times(1)).applyIndexOperationOnPrimary(anyLong(), any(), any(), anyLong(), anyLong(), anyLong(), anyBoolean(), any());
 
-        when(shard.applyIndexOperationOnPrimary(anyLong(), any(), any(), anyLong(), anyLong(), anyLong(), anyBoolean())).thenReturn(
+        when(shard.applyIndexOperationOnPrimary(anyLong(), any(), any(), anyLong(), anyLong(), anyLong(), anyBoolean(), any())).thenReturn(
             success
         );
 
@@ -302,7 +362,7 @@ public class TransportShardBulkActionTests extends IndexShardTestCase {
 
         // Verify that the shard "executed" the operation only once (1 for previous invocations plus
         // 1 for this execution)
-        verify(shard, times(2)).applyIndexOperationOnPrimary(anyLong(), any(), any(), anyLong(), anyLong(), anyLong(), anyBoolean());
+        verify(shard, times(2)).applyIndexOperationOnPrimary(anyLong(), any(), any(), anyLong(), anyLong(), anyLong(), anyBoolean(), any());
 
         BulkItemResponse primaryResponse = bulkShardRequest.items()[0].getPrimaryResponse();
 
@@ -527,7 +587,7 @@ public class TransportShardBulkActionTests extends IndexShardTestCase {
         Exception err = new ElasticsearchException("I'm dead <(x.x)>");
         Engine.IndexResult indexResult = new Engine.IndexResult(err, 0, 0, 0, "id");
         IndexShard shard = mock(IndexShard.class);
-        when(shard.applyIndexOperationOnPrimary(anyLong(), any(), any(), anyLong(), anyLong(), anyLong(), anyBoolean())).thenReturn(
+        when(shard.applyIndexOperationOnPrimary(anyLong(), any(), any(), anyLong(), anyLong(), anyLong(), anyBoolean(), any())).thenReturn(
             indexResult
         );
         when(shard.indexSettings()).thenReturn(indexSettings);
@@ -584,7 +644,7 @@ public class TransportShardBulkActionTests extends IndexShardTestCase {
         Exception err = new VersionConflictEngineException(shardId, "id", "I'm conflicted <(;_;)>");
         Engine.IndexResult indexResult = new Engine.IndexResult(err, 0, 0, 0, "id");
         IndexShard shard = mock(IndexShard.class);
-        when(shard.applyIndexOperationOnPrimary(anyLong(), any(), any(), anyLong(), anyLong(), anyLong(), anyBoolean())).thenReturn(
+        when(shard.applyIndexOperationOnPrimary(anyLong(), any(), any(), anyLong(), anyLong(), anyLong(), anyBoolean(), any())).thenReturn(
             indexResult
         );
         when(shard.indexSettings()).thenReturn(indexSettings);
@@ -640,7 +700,7 @@ public class TransportShardBulkActionTests extends IndexShardTestCase {
         Translog.Location resultLocation = new Translog.Location(42, 42, 42);
         Engine.IndexResult indexResult = new FakeIndexResult(1, 1, 13, created, resultLocation, "id");
         IndexShard shard = mock(IndexShard.class);
-        when(shard.applyIndexOperationOnPrimary(anyLong(), any(), any(), anyLong(), anyLong(), anyLong(), anyBoolean())).thenReturn(
+        when(shard.applyIndexOperationOnPrimary(anyLong(), any(), any(), anyLong(), anyLong(), anyLong(), anyBoolean(), any())).thenReturn(
             indexResult
         );
         when(shard.indexSettings()).thenReturn(indexSettings);
@@ -859,16 +919,18 @@ public class TransportShardBulkActionTests extends IndexShardTestCase {
         Engine.IndexResult success = new FakeIndexResult(1, 1, 13, true, resultLocation, "id");
 
         IndexShard shard = mock(IndexShard.class);
-        when(shard.applyIndexOperationOnPrimary(anyLong(), any(), any(), anyLong(), anyLong(), anyLong(), anyBoolean())).thenAnswer(ir -> {
-            if (randomBoolean()) {
-                return conflictedResult;
-            }
-            if (randomBoolean()) {
-                return mappingUpdate;
-            } else {
-                return success;
+        when(shard.applyIndexOperationOnPrimary(anyLong(), any(), any(), anyLong(), anyLong(), anyLong(), anyBoolean(), any())).thenAnswer(
+            ir -> {
+                if (randomBoolean()) {
+                    return conflictedResult;
+                }
+                if (randomBoolean()) {
+                    return mappingUpdate;
+                } else {
+                    return success;
+                }
             }
-        });
+        );
         when(shard.indexSettings()).thenReturn(indexSettings);
         when(shard.shardId()).thenReturn(shardId);
         when(shard.mapperService()).thenReturn(mock(MapperService.class));
@@ -954,11 +1016,8 @@ public class TransportShardBulkActionTests extends IndexShardTestCase {
 
             IndexShard shard = mock(IndexShard.class);
             when(shard.shardId()).thenReturn(shardId);
-            when(shard.applyIndexOperationOnPrimary(anyLong(), any(), any(), anyLong(), anyLong(), anyLong(), anyBoolean())).thenReturn(
-                success1,
-                mappingUpdate,
-                success2
-            );
+            when(shard.applyIndexOperationOnPrimary(anyLong(), any(), any(), anyLong(), anyLong(), anyLong(), anyBoolean(), any()))
+                .thenReturn(success1, mappingUpdate, success2);
             when(shard.getFailedIndexResult(any(EsRejectedExecutionException.class), anyLong(), anyString())).thenCallRealMethod();
             when(shard.mapperService()).thenReturn(mock(MapperService.class));
 
@@ -996,7 +1055,16 @@ public class TransportShardBulkActionTests extends IndexShardTestCase {
 
             assertThat("mappings were \"updated\" once", updateCalled.get(), equalTo(1));
 
-            verify(shard, times(2)).applyIndexOperationOnPrimary(anyLong(), any(), any(), anyLong(), anyLong(), anyLong(), anyBoolean());
+            verify(shard, times(2)).applyIndexOperationOnPrimary(
+                anyLong(),
+                any(),
+                any(),
+                anyLong(),
+                anyLong(),
+                anyLong(),
+                anyBoolean(),
+                any()
+            );
 
             BulkItemResponse primaryResponse1 = bulkShardRequest.items()[0].getPrimaryResponse();
             assertThat(primaryResponse1.getItemId(), equalTo(0));
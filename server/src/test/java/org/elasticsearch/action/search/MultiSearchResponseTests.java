@@ -7,14 +7,21 @@
  */
 package org.elasticsearch.action.search;
 
+import org.apache.lucene.search.TotalHits;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.common.Strings;
+import org.elasticsearch.common.xcontent.XContentHelper;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.SearchHits;
 import org.elasticsearch.search.internal.InternalSearchResponse;
 import org.elasticsearch.test.AbstractXContentTestCase;
 import org.elasticsearch.xcontent.ToXContent;
+import org.elasticsearch.xcontent.XContentBuilder;
 import org.elasticsearch.xcontent.XContentParser;
+import org.elasticsearch.xcontent.XContentType;
 
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
@@ -115,6 +122,76 @@ public class MultiSearchResponseTests extends AbstractXContentTestCase<MultiSear
         return field -> field.startsWith("responses");
     }
 
+    public void testToXContentChunkedWithFailures() throws IOException {
+        SearchHit hit = new SearchHit(1, "id1");
+        hit.score(2.0f);
+        SearchResponse searchResponse = new SearchResponse(
+            new InternalSearchResponse(
+                new SearchHits(new SearchHit[] { hit }, new TotalHits(1, TotalHits.Relation.EQUAL_TO), 2.0f),
+                null,
+                null,
+                null,
+                false,
+                null,
+                1
+            ),
+            null,
+            1,
+            1,
+            0,
+            5,
+            ShardSearchFailure.EMPTY_ARRAY,
+            SearchResponse.Clusters.EMPTY
+        );
+        MultiSearchResponse response = new MultiSearchResponse(
+            new MultiSearchResponse.Item[] {
+                new MultiSearchResponse.Item(searchResponse, null),
+                new MultiSearchResponse.Item(null, new IllegalArgumentException("boom")) },
+            10
+        );
+        String expectedString = XContentHelper.stripWhitespace("""
+            {
+              "took": 10,
+              "responses": [
+                {
+                  "took": 5,
+                  "timed_out": false,
+                  "_shards": {
+                    "total": 1,
+                    "successful": 1,
+                    "skipped": 0,
+                    "failed": 0
+                  },
+                  "hits": {
+                    "total": {
+                      "value": 1,
+                      "relation": "eq"
+                    },
+                    "max_score": 2.0,
+                    "hits": [ { "_id": "id1", "_score": 2.0 } ]
+                  },
+                  "status": 200
+                },
+                {
+                  "error": {
+                    "root_cause": [ { "type": "illegal_argument_exception", "reason": "boom" } ],
+                    "type": "illegal_argument_exception",
+                    "reason": "boom"
+                  },
+                  "status": 400
+                }
+              ]
+            }""");
+
+        XContentBuilder builder = XContentBuilder.builder(XContentType.JSON.xContent());
+        Iterator<? extends ToXContent> chunks = response.toXContentChunked(ToXContent.EMPTY_PARAMS);
+        while (chunks.hasNext()) {
+            chunks.next().toXContent(builder, ToXContent.EMPTY_PARAMS);
+        }
+        assertEquals(expectedString, Strings.toString(builder));
+        assertEquals(expectedString, Strings.toString(response));
+    }
+
     /**
      * Test parsing {@link MultiSearchResponse} with inner failures as they don't support asserting on xcontent equivalence, given that
      * exceptions are not parsed back as the same original class. We run the usual {@link AbstractXContentTestCase#testFromXContent()}
@@ -23,7 +23,10 @@ import org.elasticsearch.search.SearchShardTarget;
 import org.elasticsearch.search.aggregations.AggregationBuilder;
 import org.elasticsearch.search.aggregations.AggregationReduceContext;
 import org.elasticsearch.search.aggregations.InternalAggregations;
+import org.elasticsearch.search.aggregations.metrics.Max;
+import org.elasticsearch.search.aggregations.metrics.MaxAggregationBuilder;
 import org.elasticsearch.search.aggregations.pipeline.PipelineAggregator;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.search.query.QuerySearchResult;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.threadpool.TestThreadPool;
@@ -34,6 +37,7 @@ import org.junit.Before;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -131,6 +135,54 @@ public class QueryPhaseResultConsumerTests extends ESTestCase {
         assertEquals(1, searchProgressListener.onFinalReduce.get());
     }
 
+    public void testPartialReduceWhenBufferedAggsUseTooMuchMemory() throws Exception {
+        SearchRequest searchRequest = new SearchRequest("index");
+        searchRequest.source(new SearchSourceBuilder().aggregation(new MaxAggregationBuilder("test")).size(0));
+        // the buffered aggregations always exceed the share of the limit of this breaker
+        CircuitBreaker circuitBreaker = new NoopCircuitBreaker(CircuitBreaker.REQUEST) {
+            @Override
+            public long getLimit() {
+                return 1;
+            }
+        };
+        AtomicReference<Exception> onPartialMergeFailure = new AtomicReference<>();
+        int numShards = randomIntBetween(2, 20);
+        QueryPhaseResultConsumer queryPhaseResultConsumer = new QueryPhaseResultConsumer(
+            searchRequest,
+            executor,
+            circuitBreaker,
+            searchPhaseController,
+            () -> false,
+            SearchProgressListener.NOOP,
+            numShards,
+            onPartialMergeFailure::set
+        );
+
+        CountDownLatch partialReduceLatch = new CountDownLatch(numShards);
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < numShards; i++) {
+            SearchShardTarget searchShardTarget = new SearchShardTarget("node", new ShardId("index", "uuid", i), null);
+            QuerySearchResult querySearchResult = new QuerySearchResult();
+            TopDocs topDocs = new TopDocs(new TotalHits(0, TotalHits.Relation.EQUAL_TO), new ScoreDoc[0]);
+            querySearchResult.topDocs(new TopDocsAndMaxScore(topDocs, Float.NaN), new DocValueFormat[0]);
+            double value = randomDouble();
+            max = Math.max(max, value);
+            querySearchResult.aggregations(InternalAggregations.from(List.of(new Max("test", value, DocValueFormat.RAW, Map.of()))));
+            querySearchResult.setSearchShardTarget(searchShardTarget);
+            querySearchResult.setShardIndex(i);
+            queryPhaseResultConsumer.consumeResult(querySearchResult, partialReduceLatch::countDown);
+        }
+
+        assertTrue(partialReduceLatch.await(10, TimeUnit.SECONDS));
+        assertNull(onPartialMergeFailure.get());
+        // the batched reduce size is larger than the number of shards, but each new result triggers a partial reduce
+        assertEquals(numShards - 1, queryPhaseResultConsumer.getNumReducePhases());
+
+        SearchPhaseController.ReducedQueryPhase reduce = queryPhaseResultConsumer.reduce();
+        assertEquals(max, ((Max) reduce.aggregations().asList().get(0)).value(), 0d);
+        queryPhaseResultConsumer.close();
+    }
+
     private static class ThrowingSearchProgressListener extends SearchProgressListener {
         private final AtomicInteger onQueryResult = new AtomicInteger(0);
         private final AtomicInteger onPartialReduce = new AtomicInteger(0);
@@ -17,17 +17,21 @@ import org.elasticsearch.common.io.stream.NamedWriteableRegistry;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.xcontent.XContentHelper;
 import org.elasticsearch.rest.action.search.RestSearchAction;
+import org.elasticsearch.search.DocValueFormat;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchHits;
 import org.elasticsearch.search.SearchHitsTests;
 import org.elasticsearch.search.SearchModule;
 import org.elasticsearch.search.aggregations.AggregationsTests;
 import org.elasticsearch.search.aggregations.InternalAggregations;
+import org.elasticsearch.search.aggregations.metrics.Max;
 import org.elasticsearch.search.internal.InternalSearchResponse;
 import org.elasticsearch.search.profile.SearchProfileResults;
 import org.elasticsearch.search.profile.SearchProfileResultsTests;
+import org.elasticsearch.search.suggest.SortBy;
 import org.elasticsearch.search.suggest.Suggest;
 import org.elasticsearch.search.suggest.SuggestTests;
+import org.elasticsearch.search.suggest.term.TermSuggestion;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.test.InternalAggregationTestCase;
 import org.elasticsearch.xcontent.NamedXContentRegistry;
@@ -40,12 +44,15 @@ import org.junit.Before;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonMap;
 import static org.elasticsearch.test.XContentTestUtils.insertRandomFields;
 import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertToXContentEquivalent;
+import static org.hamcrest.Matchers.greaterThan;
 
 public class SearchResponseTests extends ESTestCase {
 
@@ -305,6 +312,78 @@ public class SearchResponseTests extends ESTestCase {
         }
     }
 
+    public void testToXContentChunked() throws IOException {
+        SearchHit first = new SearchHit(1, "id1");
+        first.score(2.0f);
+        SearchHit second = new SearchHit(2, "id2");
+        second.score(1.0f);
+        InternalAggregations aggregations = InternalAggregations.from(
+            List.of(new Max("max1", 10.0, DocValueFormat.RAW, null), new Max("max2", 20.0, DocValueFormat.RAW, null))
+        );
+        List<Suggest.Suggestion<? extends Suggest.Suggestion.Entry<? extends Suggest.Suggestion.Entry.Option>>> suggestions =
+            new ArrayList<>();
+        suggestions.add(new TermSuggestion("term", 1, SortBy.SCORE));
+        SearchResponse response = new SearchResponse(
+            new InternalSearchResponse(
+                new SearchHits(new SearchHit[] { first, second }, new TotalHits(100, TotalHits.Relation.EQUAL_TO), 2.0f),
+                aggregations,
+                new Suggest(suggestions),
+                new SearchProfileResults(Collections.emptyMap()),
+                false,
+                null,
+                1
+            ),
+            null,
+            0,
+            0,
+            0,
+            0,
+            ShardSearchFailure.EMPTY_ARRAY,
+            SearchResponse.Clusters.EMPTY
+        );
+        String expectedString = XContentHelper.stripWhitespace("""
+            {
+              "took": 0,
+              "timed_out": false,
+              "_shards": {
+                "total": 0,
+                "successful": 0,
+                "skipped": 0,
+                "failed": 0
+              },
+              "hits": {
+                "total": {
+                  "value": 100,
+                  "relation": "eq"
+                },
+                "max_score": 2.0,
+                "hits": [ { "_id": "id1", "_score": 2.0 }, { "_id": "id2", "_score": 1.0 } ]
+              },
+              "aggregations": {
+                "max1": { "value": 10.0 },
+                "max2": { "value": 20.0 }
+              },
+              "suggest": {
+                "term": []
+              },
+              "profile": {
+                "shards": []
+              }
+            }""");
+
+        XContentBuilder builder = XContentBuilder.builder(XContentType.JSON.xContent());
+        Iterator<ToXContent> chunks = response.toXContentChunked(ToXContent.EMPTY_PARAMS);
+        int numChunks = 0;
+        while (chunks.hasNext()) {
+            chunks.next().toXContent(builder, ToXContent.EMPTY_PARAMS);
+            numChunks++;
+        }
+        assertEquals(expectedString, Strings.toString(builder));
+        assertEquals(expectedString, Strings.toString(response));
+        // each hit and each top-level aggregation is serialized in its own chunk
+        assertThat(numChunks, greaterThan(response.getHits().getHits().length + aggregations.asList().size()));
+    }
+
     public void testSerialization() throws IOException {
         SearchResponse searchResponse = createTestItem(false);
         SearchResponse deserialized = copyWriteable(searchResponse, namedWriteableRegistry, SearchResponse::new, Version.CURRENT);
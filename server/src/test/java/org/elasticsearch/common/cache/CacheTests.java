@@ -37,6 +37,7 @@ import java.util.stream.Collectors;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 
 public class CacheTests extends ESTestCase {
@@ -879,6 +880,100 @@ public class CacheTests extends ESTestCase {
         assertEquals(500, cache.count());
     }
 
+    // scan many keys that are accessed once through a cache that also holds a few frequently accessed keys, the frequently accessed
+    // keys should be retained by the frequency-based admission policy while a plain LRU would evict them before they are accessed again
+    public void testFrequencyBasedAdmissionProtectsFrequentEntries() {
+        int maximumWeight = randomIntBetween(40, 200);
+        Cache<Integer, String> cache = CacheBuilder.<Integer, String>builder()
+            .setMaximumWeight(maximumWeight)
+            .setFrequencyBasedAdmission(maximumWeight)
+            .build();
+        assertTrue(cache.hasFrequencyBasedAdmission());
+        int numberOfHotKeys = maximumWeight / 4;
+        for (int i = 0; i < numberOfHotKeys; i++) {
+            cache.put(-i - 1, "hot");
+        }
+        int hits = 0;
+        int lookups = 0;
+        for (int i = 0; i < numberOfEntries; i++) {
+            cache.put(i, "scan");
+            if (i % 4 == 3) {
+                // each hot key is accessed once every 5 * numberOfHotKeys >= maximumWeight operations
+                int key = -(lookups % numberOfHotKeys) - 1;
+                lookups++;
+                if (cache.get(key) != null) {
+                    hits++;
+                } else {
+                    cache.put(key, "hot");
+                }
+            }
+        }
+        assertEquals(maximumWeight, cache.count());
+        assertThat((double) hits / lookups, greaterThan(0.9));
+    }
+
+    // entries that are accessed more frequently than the least recently used entry are still admitted
+    public void testFrequencyBasedAdmissionAdmitsFrequentEntries() throws ExecutionException {
+        int maximumWeight = randomIntBetween(10, 100);
+        Cache<Integer, String> cache = CacheBuilder.<Integer, String>builder()
+            .setMaximumWeight(maximumWeight)
+            .setFrequencyBasedAdmission(maximumWeight)
+            .build();
+        for (int i = 0; i < maximumWeight; i++) {
+            cache.put(i, Integer.toString(i));
+        }
+        int newKey = maximumWeight;
+        // the lookups of the key that misses increase its frequency
+        for (int i = 0; i < 3; i++) {
+            assertNull(cache.get(newKey));
+        }
+        assertEquals(Integer.toString(newKey), cache.computeIfAbsent(newKey, Object::toString));
+        assertEquals(maximumWeight, cache.count());
+        assertEquals(Integer.toString(newKey), cache.get(newKey));
+        // the least recently used entry was evicted
+        assertNull(cache.get(0));
+    }
+
+    public void testFrequencyBasedAdmissionTorture() throws BrokenBarrierException, InterruptedException {
+        int numberOfThreads = randomIntBetween(2, 32);
+        final Cache<Integer, String> cache = CacheBuilder.<Integer, String>builder()
+            .setMaximumWeight(1000)
+            .weigher((k, v) -> 2)
+            .setFrequencyBasedAdmission(500)
+            .build();
+
+        CyclicBarrier barrier = new CyclicBarrier(1 + numberOfThreads);
+        for (int i = 0; i < numberOfThreads; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    barrier.await();
+                    Random random = new Random(random().nextLong());
+                    for (int j = 0; j < numberOfEntries; j++) {
+                        Integer key = random.nextInt(numberOfEntries);
+                        if (random.nextBoolean()) {
+                            cache.put(key, Integer.toString(j));
+                        } else {
+                            cache.get(key);
+                        }
+                    }
+                    barrier.await();
+                } catch (BrokenBarrierException | InterruptedException e) {
+                    throw new AssertionError(e);
+                }
+            });
+            thread.start();
+        }
+
+        // wait for all threads to be ready
+        barrier.await();
+        // wait for all threads to finish
+        barrier.await();
+
+        cache.refresh();
+        assertEquals(500, cache.count());
+        assertEquals(1000, cache.weight());
+    }
+
     public void testRemoveUsingValuesIterator() {
         final List<RemovalNotification<Integer, String>> removalNotifications = new ArrayList<>();
         Cache<Integer, String> cache = CacheBuilder.<Integer, String>builder()
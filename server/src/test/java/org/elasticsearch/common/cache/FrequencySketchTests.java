@@ -0,0 +1,76 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.cache;
+
+import org.elasticsearch.test.ESTestCase;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class FrequencySketchTests extends ESTestCase {
+
+    public void testIncrement() {
+        FrequencySketch sketch = new FrequencySketch(randomIntBetween(1, 1024));
+        int hashCode = randomInt();
+        assertThat(sketch.frequency(hashCode), equalTo(0));
+        int increments = randomIntBetween(1, 15);
+        for (int i = 0; i < increments; i++) {
+            sketch.increment(hashCode);
+        }
+        // counters may have been incremented by colliding keys, but never overestimate less than the actual count
+        assertThat(sketch.frequency(hashCode), greaterThanOrEqualTo(increments));
+    }
+
+    public void testSaturates() {
+        FrequencySketch sketch = new FrequencySketch(1024);
+        int hashCode = randomInt();
+        for (int i = 0; i < 100; i++) {
+            sketch.increment(hashCode);
+        }
+        assertThat(sketch.frequency(hashCode), equalTo(15));
+    }
+
+    public void testReset() {
+        int expectedEntries = randomIntBetween(16, 128);
+        FrequencySketch sketch = new FrequencySketch(expectedEntries);
+        int hotKey = randomInt();
+        for (int i = 0; i < 15; i++) {
+            sketch.increment(hotKey);
+        }
+        assertThat(sketch.frequency(hotKey), equalTo(15));
+        // enough increments of other keys to trigger at least one reset, which halves the counters
+        for (int i = 0; i < 20 * 128; i++) {
+            sketch.increment(hotKey + i + 1);
+        }
+        assertThat(sketch.frequency(hotKey), lessThan(15));
+    }
+
+    public void testFrequentKeysAreDistinguished() {
+        FrequencySketch sketch = new FrequencySketch(512);
+        int frequentKey = randomInt();
+        for (int i = 0; i < 10; i++) {
+            sketch.increment(frequentKey);
+        }
+        int colliding = 0;
+        for (int i = 0; i < 100; i++) {
+            int rareKey = frequentKey + i + 1;
+            sketch.increment(rareKey);
+            if (sketch.frequency(rareKey) >= sketch.frequency(frequentKey)) {
+                colliding++;
+            }
+        }
+        assertThat(colliding, lessThanOrEqualTo(5));
+    }
+
+    public void testInvalidExpectedEntries() {
+        expectThrows(IllegalArgumentException.class, () -> new FrequencySketch(randomIntBetween(Integer.MIN_VALUE, 0)));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.io.stream;
+
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.bytes.ReleasableBytesReference;
+import org.elasticsearch.core.RefCounted;
+import org.elasticsearch.test.ESTestCase;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.Matchers.equalTo;
+
+public class RetainingStreamInputTests extends ESTestCase {
+
+    public void testRetainsSlicesOfPooledBuffer() throws IOException {
+        final BytesArray first = new BytesArray(randomByteArrayOfLength(between(1, 100)));
+        final BytesArray second = new BytesArray(randomByteArrayOfLength(between(1, 100)));
+        final AtomicBoolean released = new AtomicBoolean();
+        final ReleasableBytesReference buffer = new ReleasableBytesReference(serialize(first, second), () -> released.set(true));
+
+        final RefCounted retained;
+        try (RetainingStreamInput in = new RetainingStreamInput(buffer.streamInput())) {
+            final BytesReference firstRead = in.readBytesReference();
+            final BytesReference secondRead = in.readBytesReference();
+            assertThat(in.readBytesReference(), equalTo(BytesArray.EMPTY));
+            assertThat(in.readInt(), equalTo(42));
+            assertThat(firstRead, equalTo(first));
+            assertThat(secondRead, equalTo(second));
+            // the bytes references are slices of the buffer, not copies
+            assertSame(buffer.array(), firstRead.toBytesRef().bytes);
+            assertSame(buffer.array(), secondRead.toBytesRef().bytes);
+            retained = in.takeRetainedBytes();
+            assertNotNull(retained);
+            assertNull(in.takeRetainedBytes());
+        }
+
+        buffer.decRef();
+        assertFalse(released.get());
+        retained.decRef();
+        assertTrue(released.get());
+    }
+
+    public void testReleaseRetainedBytes() throws IOException {
+        final AtomicBoolean released = new AtomicBoolean();
+        final ReleasableBytesReference buffer = new ReleasableBytesReference(
+            serialize(new BytesArray(randomByteArrayOfLength(between(1, 100))), new BytesArray(randomByteArrayOfLength(1))),
+            () -> released.set(true)
+        );
+        try (RetainingStreamInput in = new RetainingStreamInput(buffer.streamInput())) {
+            in.readBytesReference();
+            in.readBytesReference();
+            in.releaseRetainedBytes();
+            assertNull(in.takeRetainedBytes());
+        }
+        buffer.decRef();
+        assertTrue(released.get());
+    }
+
+    public void testNothingRetained() throws IOException {
+        final ReleasableBytesReference buffer = ReleasableBytesReference.wrap(serialize(BytesArray.EMPTY, BytesArray.EMPTY));
+        try (RetainingStreamInput in = new RetainingStreamInput(buffer.streamInput())) {
+            assertThat(in.readBytesReference(), equalTo(BytesArray.EMPTY));
+            assertThat(in.readBytesReference(), equalTo(BytesArray.EMPTY));
+            assertNull(in.takeRetainedBytes());
+        }
+    }
+
+    public void testReadPastEnd() throws IOException {
+        final BytesStreamOutput out = new BytesStreamOutput();
+        out.writeVInt(between(2, 100));
+        out.writeByte(randomByte());
+        final ReleasableBytesReference buffer = ReleasableBytesReference.wrap(out.bytes());
+        try (RetainingStreamInput in = new RetainingStreamInput(buffer.streamInput())) {
+            expectThrows(EOFException.class, in::readBytesReference);
+            assertNull(in.takeRetainedBytes());
+        }
+    }
+
+    public void testCopiesFromUnpooledStream() throws IOException {
+        final BytesArray bytes = new BytesArray(randomByteArrayOfLength(between(1, 100)));
+        final BytesReference serialized = serialize(bytes, BytesArray.EMPTY);
+        try (RetainingStreamInput in = new RetainingStreamInput(serialized.streamInput())) {
+            assertThat(in.readBytesReference(), equalTo(bytes));
+            final RefCounted retained = in.takeRetainedBytes();
+            assertNotNull(retained);
+            assertTrue(retained.decRef());
+        }
+    }
+
+    private static BytesReference serialize(BytesReference first, BytesReference second) throws IOException {
+        final BytesStreamOutput out = new BytesStreamOutput();
+        out.writeBytesReference(first);
+        out.writeBytesReference(second);
+        out.writeBytesReference(BytesArray.EMPTY);
+        out.writeInt(42);
+        return new BytesArray(BytesReference.toBytes(out.bytes()));
+    }
+}
@@ -12,6 +12,7 @@ import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.common.breaker.CircuitBreaker;
 import org.elasticsearch.common.breaker.CircuitBreakingException;
 import org.elasticsearch.common.breaker.PreallocatedCircuitBreakerService;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.settings.ClusterSettings;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.ByteSizeUnit;
@@ -20,6 +21,7 @@ import org.elasticsearch.indices.breaker.HierarchyCircuitBreakerService;
 import org.elasticsearch.indices.breaker.NoneCircuitBreakerService;
 import org.elasticsearch.test.ESTestCase;
 
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -35,7 +37,10 @@ import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
 
 public class BigArraysTests extends ESTestCase {
-    private final BigArrays bigArrays = new MockBigArrays(new MockPageCacheRecycler(Settings.EMPTY), new NoneCircuitBreakerService());
+    private final BigArrays bigArrays = new MockBigArrays(
+        new MockPageCacheRecycler(Settings.builder().put(PageCacheRecycler.DIRECT_PAGES_SETTING.getKey(), randomBoolean()).build()),
+        new NoneCircuitBreakerService()
+    );
 
     public void testByteArrayGrowth() {
         final int totalLen = randomIntBetween(1, 4000000);
@@ -242,6 +247,63 @@ public class BigArraysTests extends ESTestCase {
         array2.close();
     }
 
+    public void testDirectPagesSerializeLikeHeapPages() throws IOException {
+        final BigArrays heapArrays = new MockBigArrays(new MockPageCacheRecycler(Settings.EMPTY), new NoneCircuitBreakerService());
+        final BigArrays directArrays = new MockBigArrays(
+            new MockPageCacheRecycler(Settings.builder().put(PageCacheRecycler.DIRECT_PAGES_SETTING.getKey(), true).build()),
+            new NoneCircuitBreakerService()
+        );
+        final long size = randomLongBetween(PageCacheRecycler.LONG_PAGE_SIZE + 1, 5 * PageCacheRecycler.LONG_PAGE_SIZE);
+        try (LongArray heap = heapArrays.newLongArray(size); LongArray direct = directArrays.newLongArray(size)) {
+            for (long i = 0; i < size; ++i) {
+                final long value = randomLong();
+                heap.set(i, value);
+                direct.set(i, value);
+            }
+            assertEquals(heap.ramBytesUsed(), direct.ramBytesUsed());
+            try (BytesStreamOutput heapOut = new BytesStreamOutput(); BytesStreamOutput directOut = new BytesStreamOutput()) {
+                heap.writeTo(heapOut);
+                direct.writeTo(directOut);
+                assertEquals(heapOut.bytes(), directOut.bytes());
+                try (LongArray read = LongArray.readFrom(directOut.bytes().streamInput())) {
+                    for (long i = 0; i < size; ++i) {
+                        assertEquals(direct.get(i), read.get(i));
+                    }
+                }
+            }
+        }
+    }
+
+    public void testDirectPagesFallBackToHeapPagesOnceTheirBudgetIsExhausted() {
+        final MockPageCacheRecycler recycler = new MockPageCacheRecycler(
+            Settings.builder()
+                .put(PageCacheRecycler.DIRECT_PAGES_SETTING.getKey(), true)
+                .put(PageCacheRecycler.DIRECT_PAGES_LIMIT_SETTING.getKey(), 8 * PageCacheRecycler.PAGE_SIZE_IN_BYTES + "b")
+                .build()
+        );
+        final BigArrays directArrays = new MockBigArrays(recycler, new NoneCircuitBreakerService());
+        // a quarter of the budget is left for cached pages, so arrays may use 6 direct pages
+        final long size = 4L * PageCacheRecycler.LONG_PAGE_SIZE;
+        LongArray direct = directArrays.newLongArray(size);
+        assertEquals(4, recycler.directPagesInUse());
+        try (LongArray heap = directArrays.newLongArray(size)) {
+            assertEquals(4, recycler.directPagesInUse());
+            for (long i = 0; i < size; ++i) {
+                direct.set(i, i);
+                heap.set(i, i);
+            }
+            direct = directArrays.resize(direct, 2 * size);
+            assertEquals(0, recycler.directPagesInUse());
+            for (long i = 0; i < size; ++i) {
+                assertEquals(i, direct.get(i));
+                assertEquals(0, direct.get(size + i));
+            }
+        } finally {
+            direct.close();
+        }
+        assertEquals(0, recycler.directPagesInUse());
+    }
+
     public void testByteArrayBulkGet() {
         final byte[] array1 = new byte[randomIntBetween(1, 4000000)];
         random().nextBytes(array1);
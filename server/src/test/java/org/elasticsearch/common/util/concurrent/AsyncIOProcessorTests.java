@@ -15,12 +15,15 @@ import org.junit.Before;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.BrokenBarrierException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.IntStream;
@@ -275,4 +278,65 @@ public class AsyncIOProcessorTests extends ESTestCase {
         assertEquals(threadCount, received.get());
         threads.forEach(t -> assertFalse(t.isAlive()));
     }
+
+    public void testPutForksToExecutor() throws Exception {
+        ExecutorService executor = EsExecutors.newScaling(
+            "test",
+            1,
+            between(1, 4),
+            0,
+            TimeUnit.MILLISECONDS,
+            true,
+            EsExecutors.daemonThreadFactory("test"),
+            threadContext
+        );
+        try {
+            AtomicInteger received = new AtomicInteger(0);
+            Set<Thread> writers = ConcurrentCollections.newConcurrentSet();
+            AsyncIOProcessor<Object> processor = new AsyncIOProcessor<>(logger, scaledRandomIntBetween(1, 2024), threadContext, executor) {
+                @Override
+                protected void write(List<Tuple<Object, Consumer<Exception>>> candidates) {
+                    writers.add(Thread.currentThread());
+                    received.addAndGet(candidates.size());
+                }
+            };
+            Semaphore semaphore = new Semaphore(Integer.MAX_VALUE);
+            Set<Thread> notified = ConcurrentCollections.newConcurrentSet();
+            final int count = randomIntBetween(1000, 20000);
+            List<Thread> threads = IntStream.range(0, randomIntBetween(3, 10)).mapToObj(t -> new Thread(() -> {
+                for (int i = 0; i < count; i++) {
+                    try {
+                        semaphore.acquire();
+                    } catch (InterruptedException e) {
+                        throw new AssertionError(e);
+                    }
+                    processor.put(new Object(), (ex) -> {
+                        notified.add(Thread.currentThread());
+                        semaphore.release();
+                    });
+                }
+            })).toList();
+            threads.forEach(Thread::start);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertTrue(semaphore.tryAcquire(Integer.MAX_VALUE, 10, TimeUnit.SECONDS));
+            assertEquals(count * threads.size(), received.get());
+            // callers never process or get notified themselves
+            threads.forEach(t -> assertFalse(writers.contains(t)));
+            threads.forEach(t -> assertFalse(notified.contains(t)));
+
+            // once the executor is shut down the callers process the items themselves
+            terminate(executor);
+            AtomicBoolean processed = new AtomicBoolean();
+            processor.put(new Object(), (ex) -> {
+                assertNull(ex);
+                processed.set(true);
+            });
+            assertTrue(processed.get());
+            assertTrue(writers.contains(Thread.currentThread()));
+        } finally {
+            terminate(executor);
+        }
+    }
 }
@@ -19,9 +19,11 @@ import org.apache.lucene.index.SegmentCommitInfo;
 import org.apache.lucene.index.SegmentReader;
 import org.apache.lucene.index.TieredMergePolicy;
 import org.apache.lucene.store.Directory;
+import org.elasticsearch.cluster.metadata.IndexMetadata;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.ByteSizeUnit;
 import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.test.ESTestCase;
 import org.hamcrest.Matchers;
@@ -360,6 +362,43 @@ public class MergePolicyConfigTests extends ESTestCase {
         return Settings.builder().put(MergePolicyConfig.INDEX_COMPOUND_FORMAT_SETTING.getKey(), value).build();
     }
 
+    public void testMaxMergedTimeRangeSettingUpdate() {
+        Settings timeSeriesSettings = Settings.builder()
+            .put(IndexSettings.MODE.getKey(), IndexMode.TIME_SERIES)
+            .put(IndexMetadata.INDEX_ROUTING_PATH.getKey(), "foo")
+            .build();
+        IndexSettings indexSettings = indexSettings(timeSeriesSettings);
+        assertThat(((TimeBasedMergePolicy) indexSettings.getMergePolicy(true)).getMaxMergedTimeRangeMillis(), equalTo(0L));
+        indexSettings.updateIndexMetadata(
+            newIndexMeta(
+                "index",
+                Settings.builder()
+                    .put(timeSeriesSettings)
+                    .put(MergePolicyConfig.INDEX_MERGE_POLICY_MAX_MERGED_TIME_RANGE_SETTING.getKey(), "1h")
+                    .build()
+            )
+        );
+        assertThat(
+            ((TimeBasedMergePolicy) indexSettings.getMergePolicy(true)).getMaxMergedTimeRangeMillis(),
+            equalTo(TimeValue.timeValueHours(1).millis())
+        );
+        indexSettings.updateIndexMetadata(newIndexMeta("index", timeSeriesSettings));
+        assertThat(((TimeBasedMergePolicy) indexSettings.getMergePolicy(true)).getMaxMergedTimeRangeMillis(), equalTo(0L));
+    }
+
+    public void testMaxMergedTimeRangeRequiresTimeSeriesIndex() {
+        Settings settings = Settings.builder()
+            .put(MergePolicyConfig.INDEX_MERGE_POLICY_MAX_MERGED_TIME_RANGE_SETTING.getKey(), "1h")
+            .build();
+        IllegalArgumentException e = expectThrows(IllegalArgumentException.class, () -> indexSettings(settings));
+        assertThat(e.getMessage(), containsString("[index.merge.policy.max_merged_time_range] requires [index.mode=time_series]"));
+
+        IndexSettings indexSettings = indexSettings(Settings.EMPTY);
+        e = expectThrows(IllegalArgumentException.class, () -> indexSettings.updateIndexMetadata(newIndexMeta("index", settings)));
+        assertThat(e.getMessage(), containsString("[index.merge.policy.max_merged_time_range] requires [index.mode=time_series]"));
+        assertThat(((TimeBasedMergePolicy) indexSettings.getMergePolicy(true)).getMaxMergedTimeRangeMillis(), equalTo(0L));
+    }
+
     public void testCompoundFileConfiguredByByteSize() throws IOException {
         for (boolean isTimeSeriesIndex : new boolean[] { false, true }) {
             try (Directory dir = newDirectory()) {
@@ -0,0 +1,140 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+package org.elasticsearch.index;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.SortedNumericDocValuesField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.index.SegmentCommitInfo;
+import org.apache.lucene.index.SegmentReader;
+import org.apache.lucene.index.SerialMergeScheduler;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.tests.util.TestUtil;
+import org.elasticsearch.index.codec.tsdb.ES87TSDBDocValuesFormat;
+import org.elasticsearch.index.codec.tsdb.ES87TSDBDocValuesFormat.TimestampRange;
+import org.elasticsearch.test.ESTestCase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class TimeBasedMergePolicyTests extends ESTestCase {
+
+    private static final int NUM_FLUSHES = 16;
+    private static final long FLUSH_TIME_RANGE = 500;
+
+    public void testMaxMergedTimeRange() throws IOException {
+        final long maxTimeRange = randomLongBetween(2 * FLUSH_TIME_RANGE, 4 * FLUSH_TIME_RANGE);
+        TimeBasedMergePolicy mergePolicy = new TimeBasedMergePolicy();
+        mergePolicy.setMergeFactor(2);
+        mergePolicy.setMaxMergedTimeRangeMillis(maxTimeRange);
+        try (Directory dir = newDirectory()) {
+            IndexWriterConfig iwc = new IndexWriterConfig().setCodec(TestUtil.alwaysDocValuesFormat(new ES87TSDBDocValuesFormat()))
+                .setMergePolicy(mergePolicy)
+                .setMergeScheduler(new SerialMergeScheduler());
+            try (IndexWriter writer = new IndexWriter(dir, iwc)) {
+                indexInOrder(writer);
+
+                List<SegmentCommitInfo> segments = segments(writer);
+                assertThat(segments.size(), lessThan(NUM_FLUSHES));
+                for (SegmentCommitInfo segment : segments) {
+                    TimestampRange range = ES87TSDBDocValuesFormat.getTimestampRange(segment.info);
+                    assertNotNull(range);
+                    assertThat(range.max() - range.min(), lessThanOrEqualTo(maxTimeRange));
+                }
+
+                // forced merges are not limited
+                writer.forceMerge(1);
+                segments = segments(writer);
+                assertThat(segments.size(), equalTo(1));
+                assertThat(
+                    ES87TSDBDocValuesFormat.getTimestampRange(segments.get(0).info),
+                    equalTo(new TimestampRange(0, NUM_FLUSHES * FLUSH_TIME_RANGE - 1))
+                );
+            }
+        }
+    }
+
+    public void testNoMaxMergedTimeRange() throws IOException {
+        TimeBasedMergePolicy mergePolicy = new TimeBasedMergePolicy();
+        mergePolicy.setMergeFactor(2);
+        try (Directory dir = newDirectory()) {
+            IndexWriterConfig iwc = new IndexWriterConfig().setCodec(TestUtil.alwaysDocValuesFormat(new ES87TSDBDocValuesFormat()))
+                .setMergePolicy(mergePolicy)
+                .setMergeScheduler(new SerialMergeScheduler());
+            try (IndexWriter writer = new IndexWriter(dir, iwc)) {
+                indexInOrder(writer);
+                // with a merge factor of 2 and segments of the same size, merges cascade down to a single segment
+                assertThat(segments(writer).size(), equalTo(1));
+            }
+        }
+    }
+
+    public void testSegmentsWithoutTimestampsHaveNoTimeRange() throws IOException {
+        final long maxTimeRange = FLUSH_TIME_RANGE;
+        try (Directory dir = newDirectory()) {
+            IndexWriterConfig iwc = new IndexWriterConfig().setCodec(TestUtil.alwaysDocValuesFormat(new ES87TSDBDocValuesFormat()))
+                .setMergePolicy(NoMergePolicy.INSTANCE);
+            try (IndexWriter writer = new IndexWriter(dir, iwc)) {
+                Document noTimestamp = new Document();
+                noTimestamp.add(new SortedNumericDocValuesField("foo", 1));
+                writer.addDocument(noTimestamp);
+                writer.commit();
+                // a single segment may exceed the maximum time range, it still has to be merged with segments without a time range
+                for (long timestamp : new long[] { 0, 2 * maxTimeRange }) {
+                    Document doc = new Document();
+                    doc.add(new SortedNumericDocValuesField("@timestamp", timestamp));
+                    writer.addDocument(doc);
+                }
+                writer.commit();
+
+                List<SegmentCommitInfo> segments = segments(writer);
+                assertThat(segments.size(), equalTo(2));
+                assertNull(ES87TSDBDocValuesFormat.getTimestampRange(segments.get(0).info));
+                assertThat(
+                    ES87TSDBDocValuesFormat.getTimestampRange(segments.get(1).info),
+                    equalTo(new TimestampRange(0, 2 * maxTimeRange))
+                );
+                assertThat(TimeBasedMergePolicy.splitByTimeRange(segments, maxTimeRange), equalTo(List.of(segments)));
+            }
+        }
+    }
+
+    private static List<SegmentCommitInfo> segments(IndexWriter writer) throws IOException {
+        List<SegmentCommitInfo> segments = new ArrayList<>();
+        try (DirectoryReader reader = DirectoryReader.open(writer)) {
+            for (LeafReaderContext leaf : reader.leaves()) {
+                segments.add(((SegmentReader) leaf.reader()).getSegmentInfo());
+            }
+        }
+        return segments;
+    }
+
+    private static void indexInOrder(IndexWriter writer) throws IOException {
+        for (int i = 0; i < NUM_FLUSHES; i++) {
+            for (long timestamp = i * FLUSH_TIME_RANGE; timestamp < (i + 1) * FLUSH_TIME_RANGE; timestamp += 10) {
+                Document doc = new Document();
+                doc.add(new SortedNumericDocValuesField("@timestamp", timestamp));
+                writer.addDocument(doc);
+            }
+            // the last doc of each flush holds the upper bound of its time range
+            Document doc = new Document();
+            doc.add(new SortedNumericDocValuesField("@timestamp", (i + 1) * FLUSH_TIME_RANGE - 1));
+            writer.addDocument(doc);
+            writer.commit();
+        }
+    }
+}
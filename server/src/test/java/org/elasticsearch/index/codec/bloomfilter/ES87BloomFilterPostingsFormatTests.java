@@ -13,7 +13,14 @@ import com.carrotsearch.randomizedtesting.annotations.ThreadLeakFilters;
 import org.apache.lucene.codecs.Codec;
 import org.apache.lucene.codecs.PostingsFormat;
 import org.apache.lucene.codecs.perfield.PerFieldPostingsFormat;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.store.Directory;
 import org.apache.lucene.tests.index.BasePostingsFormatTestCase;
 import org.apache.lucene.tests.util.TestUtil;
 import org.apache.lucene.util.BytesRef;
@@ -22,6 +29,7 @@ import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.test.GraalVMThreadsFilter;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +37,7 @@ import java.util.Map;
 import static org.elasticsearch.index.codec.bloomfilter.ES87BloomFilterPostingsFormat.hashTerm;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
 
 @ThreadLeakFilters(filters = { GraalVMThreadsFilter.class })
 public class ES87BloomFilterPostingsFormatTests extends BasePostingsFormatTestCase {
@@ -54,6 +63,38 @@ public class ES87BloomFilterPostingsFormatTests extends BasePostingsFormatTestCa
         assertThat(ES87BloomFilterPostingsFormat.numBytesForBloomFilter(Integer.MAX_VALUE), equalTo(1 << 28));
     }
 
+    public void testBloomFilterStats() throws IOException {
+        try (Directory dir = newDirectory()) {
+            try (IndexWriter writer = new IndexWriter(dir, newIndexWriterConfig().setCodec(getCodec()))) {
+                for (int i = 0; i < 1000; i++) {
+                    Document doc = new Document();
+                    doc.add(new StringField("id", "id-" + i, Field.Store.NO));
+                    writer.addDocument(doc);
+                }
+                writer.forceMerge(1);
+            }
+            try (DirectoryReader reader = DirectoryReader.open(dir)) {
+                LeafReader segmentReader = reader.leaves().get(0).reader();
+                assertThat(ES87BloomFilterPostingsFormat.getBloomFilterStats(segmentReader, "id"), equalTo(new BloomFilterStats(0, 0, 0)));
+                assertNull(ES87BloomFilterPostingsFormat.getBloomFilterStats(segmentReader, "missing"));
+
+                TermsEnum termsEnum = segmentReader.terms("id").iterator();
+                for (int i = 0; i < 100; i++) {
+                    assertTrue(termsEnum.seekExact(new BytesRef("id-" + i)));
+                }
+                for (int i = 0; i < 1000; i++) {
+                    assertFalse(termsEnum.seekExact(new BytesRef("missing-" + i)));
+                }
+                // the counters are shared by all the readers of the segment
+                BloomFilterStats stats = ES87BloomFilterPostingsFormat.getBloomFilterStats(segmentReader, "id");
+                assertThat(stats.lookups(), equalTo(1100L));
+                assertThat(stats.rejected() + stats.falsePositives(), equalTo(1000L));
+                // 10 bits per term and 7 hash functions give a false positive rate of about 1%
+                assertThat(stats.falsePositiveRate(), lessThan(0.05));
+            }
+        }
+    }
+
     public void testHashTermsV2() {
         // The following tests are "intentionally brittle" - the implementation of the hash function is relevant for backward-compatibility,
         // therefore these tests test the *internals* of the hash function and not only the external interface.
@@ -84,7 +84,7 @@ public class ES87TSDBDocValuesEncoderTests extends LuceneTestCase {
         for (int i = 0; i < blockSize; ++i) {
             arr[i] = NumericUtils.doubleToSortableLong((i + 2) & 0x03); // 0, 1 or 2
         }
-        final long expectedNumBytes = 9 // token + GCD (8 bytes)
+        final long expectedNumBytes = 10 // token (2 bytes) + GCD (8 bytes)
             + blockSize * 12 / Byte.SIZE; // 12 bits per value -> 26 longs
         doTest(arr, expectedNumBytes);
     }
@@ -125,6 +125,49 @@ public class ES87TSDBDocValuesEncoderTests extends LuceneTestCase {
         doTest(arr, expectedNumBytes);
     }
 
+    /** Values that go up and down by small steps: zig-zag delta coding + GCD compression. */
+    public void testGauge() throws IOException {
+        long[] arr = new long[blockSize];
+        arr[0] = 1_000_000;
+        for (int i = 1; i < blockSize; ++i) {
+            arr[i] = arr[i - 1] + (i % 4 == 0 ? -3 : 5); // 9 bits per value with offset coding
+        }
+        final long expectedNumBytes = 5 // token + GCD + first (3 bytes)
+            + (blockSize * 2) / Byte.SIZE; // zig-zag deltas are 10 or 5 -> 2 bits per value once divided by the GCD
+        doTest(arr, expectedNumBytes);
+    }
+
+    /** Values whose range is smaller than the deltas between consecutive values don't use zig-zag delta coding. */
+    public void testAlternatingValues() throws IOException {
+        long[] arr = new long[blockSize];
+        for (int i = 0; i < blockSize; ++i) {
+            arr[i] = 1000 + (i % 2) * 7 + (i % 3);
+        }
+        final long expectedNumBytes = 3 // token + min value (2 bytes)
+            + (blockSize * 4) / Byte.SIZE; // data
+        doTest(arr, expectedNumBytes);
+    }
+
+    public void testDecodeVersionStart() throws IOException {
+        final ES87TSDBDocValuesEncoder decoder = new ES87TSDBDocValuesEncoder(blockSize, ES87TSDBDocValuesFormat.VERSION_START);
+        try (Directory dir = newDirectory()) {
+            try (IndexOutput out = dir.createOutput("tests.bin", IOContext.DEFAULT)) {
+                out.writeVInt(1 << 3); // 1 bit per value and no flags, which has the zig-zag delta flag set in the current version
+                for (int i = 0; i < blockSize / Byte.SIZE; ++i) {
+                    out.writeByte((byte) 0xFF);
+                }
+            }
+            try (IndexInput in = dir.openInput("tests.bin", IOContext.DEFAULT)) {
+                long[] decoded = new long[blockSize];
+                decoder.decode(in, decoded);
+                assertEquals(in.length(), in.getFilePointer());
+                long[] expected = new long[blockSize];
+                Arrays.fill(expected, 1L);
+                assertArrayEquals(expected, decoded);
+            }
+        }
+    }
+
     public void testZeroOrMinValue() throws IOException {
         long[] arr = new long[blockSize];
         for (int i = 0; i < blockSize; ++i) {
@@ -0,0 +1,127 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.engine;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LogDocMergePolicy;
+import org.apache.lucene.store.Directory;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.core.IOUtils;
+import org.elasticsearch.index.IndexSettings;
+import org.elasticsearch.index.MergeSchedulerConfig;
+import org.elasticsearch.index.merge.NodeMergeLimiter;
+import org.elasticsearch.index.merge.OnGoingMerge;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.test.IndexSettingsModule;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class ElasticsearchConcurrentMergeSchedulerTests extends ESTestCase {
+
+    public void testMoreMergesThanThreadsWithSmallNodeLimit() throws Exception {
+        final int maxConcurrentMerges = between(1, 2);
+        final NodeMergeLimiter mergeLimiter = new NodeMergeLimiter(maxConcurrentMerges);
+        final IndexSettings indexSettings = IndexSettingsModule.newIndexSettings(
+            "index",
+            Settings.builder()
+                .put(MergeSchedulerConfig.MAX_THREAD_COUNT_SETTING.getKey(), 1)
+                .put(MergeSchedulerConfig.MAX_MERGE_COUNT_SETTING.getKey(), between(1, 3))
+                .build()
+        );
+        final AtomicInteger runningMerges = new AtomicInteger();
+        final AtomicInteger maxRunningMerges = new AtomicInteger();
+        final AtomicInteger totalMerges = new AtomicInteger();
+
+        final int shards = between(2, 4);
+        final List<Directory> directories = new ArrayList<>();
+        final List<IndexWriter> writers = new ArrayList<>();
+        try {
+            for (int shard = 0; shard < shards; shard++) {
+                final ElasticsearchConcurrentMergeScheduler scheduler = new ElasticsearchConcurrentMergeScheduler(
+                    new ShardId(indexSettings.getIndex(), shard),
+                    indexSettings,
+                    mergeLimiter
+                ) {
+                    @Override
+                    protected void beforeMerge(OnGoingMerge merge) {
+                        totalMerges.incrementAndGet();
+                        maxRunningMerges.accumulateAndGet(runningMerges.incrementAndGet(), Math::max);
+                    }
+
+                    @Override
+                    protected void afterMerge(OnGoingMerge merge) {
+                        runningMerges.decrementAndGet();
+                    }
+                };
+                final LogDocMergePolicy mergePolicy = new LogDocMergePolicy();
+                mergePolicy.setMergeFactor(2);
+                mergePolicy.setMinMergeDocs(1);
+                final Directory directory = newDirectory();
+                directories.add(directory);
+                writers.add(new IndexWriter(directory, new IndexWriterConfig().setMergeScheduler(scheduler).setMergePolicy(mergePolicy)));
+            }
+
+            final int numDocs = between(50, 200);
+            for (int i = 0; i < numDocs; i++) {
+                for (IndexWriter writer : writers) {
+                    final Document doc = new Document();
+                    doc.add(new StringField("id", Integer.toString(i), Field.Store.NO));
+                    writer.addDocument(doc);
+                    if (randomBoolean()) {
+                        // creates more pending merges than merge threads of the shard
+                        writer.flush();
+                    }
+                }
+            }
+
+            final List<Thread> threads = new ArrayList<>();
+            for (IndexWriter writer : writers) {
+                threads.add(new Thread(() -> {
+                    try {
+                        writer.forceMerge(1);
+                    } catch (IOException e) {
+                        throw new AssertionError(e);
+                    }
+                }));
+            }
+            threads.forEach(Thread::start);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            for (IndexWriter writer : writers) {
+                try (DirectoryReader reader = DirectoryReader.open(writer)) {
+                    assertThat(reader.leaves().size(), equalTo(1));
+                    assertThat(reader.numDocs(), equalTo(numDocs));
+                }
+            }
+        } finally {
+            IOUtils.close(writers);
+            IOUtils.close(directories);
+        }
+
+        assertThat(totalMerges.get(), greaterThan(shards));
+        assertThat(maxRunningMerges.get(), lessThanOrEqualTo(maxConcurrentMerges));
+        assertThat(mergeLimiter.getRunningMerges(), equalTo(0));
+        assertThat(mergeLimiter.getWaitingSchedulers(), equalTo(0));
+    }
+}
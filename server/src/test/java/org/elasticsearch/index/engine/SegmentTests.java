@@ -17,6 +17,7 @@ import org.apache.lucene.search.SortedSetSortField;
 import org.apache.lucene.util.Version;
 import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.index.codec.bloomfilter.BloomFilterStats;
 import org.elasticsearch.test.ESTestCase;
 
 import java.io.IOException;
@@ -86,6 +87,9 @@ public class SegmentTests extends ESTestCase {
         if (randomBoolean()) {
             segment.attributes = Collections.singletonMap("foo", "bar");
         }
+        if (randomBoolean()) {
+            segment.idBloomFilterStats = new BloomFilterStats(randomNonNegativeLong(), randomNonNegativeLong(), randomNonNegativeLong());
+        }
         return segment;
     }
 
@@ -112,6 +116,7 @@ public class SegmentTests extends ESTestCase {
             && seg1.getGeneration() == seg2.getGeneration()
             && seg1.getName().equals(seg2.getName())
             && seg1.getMergeId().equals(seg2.getMergeId())
-            && Objects.equals(seg1.segmentSort, seg2.segmentSort);
+            && Objects.equals(seg1.segmentSort, seg2.segmentSort)
+            && Objects.equals(seg1.idBloomFilterStats, seg2.idBloomFilterStats);
     }
 }
@@ -23,6 +23,16 @@ public class VersionValueTests extends ESTestCase {
         assertEquals(RamUsageTester.ramUsed(versionValue), versionValue.ramBytesUsed());
     }
 
+    public void testIndexLocation() {
+        Translog.Location translogLoc = null;
+        if (randomBoolean()) {
+            translogLoc = new Translog.Location(randomNonNegativeLong(), randomNonNegativeLong(), randomNonNegativeInt());
+        }
+        IndexVersionValue versionValue = new IndexVersionValue(translogLoc, randomLong(), randomLong(), randomLong());
+        assertEquals(translogLoc, versionValue.getLocation());
+        assertEquals(versionValue, new IndexVersionValue(translogLoc, versionValue.version, versionValue.seqNo, versionValue.term));
+    }
+
     public void testDeleteRamBytesUsed() {
         DeleteVersionValue versionValue = new DeleteVersionValue(randomLong(), randomLong(), randomLong(), randomLong());
         assertEquals(RamUsageTester.ramUsed(versionValue), versionValue.ramBytesUsed());
@@ -11,15 +11,19 @@ import org.elasticsearch.common.FieldMemoryStats;
 import org.elasticsearch.common.FieldMemoryStatsTests;
 import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.index.fielddata.GlobalOrdinalsStats.GlobalOrdinalFieldStats;
 import org.elasticsearch.test.ESTestCase;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 
 public class FieldDataStatsTests extends ESTestCase {
 
     public void testSerialize() throws IOException {
         FieldMemoryStats map = randomBoolean() ? null : FieldMemoryStatsTests.randomFieldMemoryStats();
-        FieldDataStats stats = new FieldDataStats(randomNonNegativeLong(), randomNonNegativeLong(), map);
+        GlobalOrdinalsStats globalOrdinalsStats = randomBoolean() ? null : randomGlobalOrdinalsStats();
+        FieldDataStats stats = new FieldDataStats(randomNonNegativeLong(), randomNonNegativeLong(), map, globalOrdinalsStats);
         BytesStreamOutput out = new BytesStreamOutput();
         stats.writeTo(out);
         StreamInput input = out.bytes().streamInput();
@@ -28,5 +32,34 @@ public class FieldDataStatsTests extends ESTestCase {
         assertEquals(stats.getEvictions(), read.getEvictions());
         assertEquals(stats.getMemorySize(), read.getMemorySize());
         assertEquals(stats.getFields(), read.getFields());
+        assertEquals(stats.getGlobalOrdinalsStats(), read.getGlobalOrdinalsStats());
+    }
+
+    public void testAddGlobalOrdinalsStats() {
+        FieldDataStats stats = new FieldDataStats(0, 0, null);
+        stats.add(new FieldDataStats(0, 0, null, new GlobalOrdinalsStats(10, Map.of("a", new GlobalOrdinalFieldStats(10, 100)))));
+        stats.add(new FieldDataStats(0, 0, null, null));
+        Map<String, GlobalOrdinalFieldStats> fieldStats = Map.of(
+            "a",
+            new GlobalOrdinalFieldStats(3, 50),
+            "b",
+            new GlobalOrdinalFieldStats(4, 20)
+        );
+        stats.add(new FieldDataStats(0, 0, null, new GlobalOrdinalsStats(7, fieldStats)));
+        GlobalOrdinalsStats globalOrdinalsStats = stats.getGlobalOrdinalsStats();
+        assertEquals(17, globalOrdinalsStats.getBuildTimeMillis());
+        assertEquals(
+            Map.of("a", new GlobalOrdinalFieldStats(13, 100), "b", new GlobalOrdinalFieldStats(4, 20)),
+            globalOrdinalsStats.getFieldGlobalOrdinalsStats()
+        );
+    }
+
+    private static GlobalOrdinalsStats randomGlobalOrdinalsStats() {
+        Map<String, GlobalOrdinalFieldStats> fieldStats = new HashMap<>();
+        int numFields = randomIntBetween(0, 5);
+        for (int i = 0; i < numFields; i++) {
+            fieldStats.put(randomAlphaOfLength(10), new GlobalOrdinalFieldStats(randomNonNegativeLong(), randomNonNegativeLong()));
+        }
+        return new GlobalOrdinalsStats(randomNonNegativeLong(), fieldStats);
     }
 }
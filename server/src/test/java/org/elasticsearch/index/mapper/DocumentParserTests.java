@@ -66,6 +66,28 @@ public class DocumentParserTests extends MapperServiceTestCase {
         assertNull(doc.rootDoc().getField("field"));
     }
 
+    public void testRootLevelMappers() throws Exception {
+        DocumentMapper mapper = createDocumentMapper(mapping(b -> {
+            b.startObject("field").field("type", "keyword").endObject();
+            b.startObject("obj").startObject("properties").startObject("sub").field("type", "long").endObject().endObject().endObject();
+        }));
+        Mapping mapping = mapper.mapping();
+        assertThat(mapping.getRootLevelMapper("field"), instanceOf(KeywordFieldMapper.class));
+        assertThat(mapping.getRootLevelMapper("obj"), instanceOf(ObjectMapper.class));
+        assertThat(mapping.getRootLevelMapper(IdFieldMapper.NAME), instanceOf(IdFieldMapper.class));
+        assertNull(mapping.getRootLevelMapper("sub"));
+        assertNull(mapping.getRootLevelMapper("obj.sub"));
+        assertNull(mapping.getRootLevelMapper("unmapped"));
+
+        ParsedDocument doc = mapper.parse(source(b -> {
+            b.field("field", "value");
+            b.startObject("obj").field("sub", 42).endObject();
+        }));
+        assertNull(doc.dynamicMappingsUpdate());
+        assertNotNull(doc.rootDoc().getField("field"));
+        assertNotNull(doc.rootDoc().getField("obj.sub"));
+    }
+
     public void testParseWithRuntimeFieldArray() throws Exception {
         DocumentMapper mapper = createDocumentMapper(runtimeFieldMapping(b -> b.field("type", "keyword")));
         ParsedDocument doc = mapper.parse(source(b -> b.array("field", "value1", "value2")));
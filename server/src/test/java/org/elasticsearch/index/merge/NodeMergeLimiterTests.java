@@ -0,0 +1,120 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.merge;
+
+import org.elasticsearch.common.settings.ClusterSettings;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.test.ESTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.equalTo;
+
+public class NodeMergeLimiterTests extends ESTestCase {
+
+    private static final Runnable NOT_GRANTED = () -> { throw new AssertionError("unexpected permit"); };
+
+    public void testDefaultMaxConcurrentMerges() {
+        assertThat(NodeMergeLimiter.MAX_CONCURRENT_MERGES_SETTING.get(Settings.EMPTY), equalTo(-1));
+        Settings settings = Settings.builder().put(NodeMergeLimiter.MAX_CONCURRENT_MERGES_SETTING.getKey(), -2).build();
+        expectThrows(IllegalArgumentException.class, () -> NodeMergeLimiter.MAX_CONCURRENT_MERGES_SETTING.get(settings));
+    }
+
+    public void testUnlimitedMerges() {
+        NodeMergeLimiter limiter = new NodeMergeLimiter(randomFrom(-1, 0));
+        int merges = between(1, 100);
+        for (int i = 0; i < merges; i++) {
+            assertTrue(limiter.tryAcquire(NOT_GRANTED));
+        }
+        assertThat(limiter.getRunningMerges(), equalTo(merges));
+        assertThat(limiter.getWaitingSchedulers(), equalTo(0));
+        for (int i = 0; i < merges; i++) {
+            limiter.release();
+        }
+        assertThat(limiter.getRunningMerges(), equalTo(0));
+    }
+
+    public void testLimitMergesOnceUnlimited() {
+        NodeMergeLimiter limiter = new NodeMergeLimiter(-1);
+        assertTrue(limiter.tryAcquire(NOT_GRANTED));
+        assertTrue(limiter.tryAcquire(NOT_GRANTED));
+        limiter.setMaxConcurrentMerges(1);
+        AtomicInteger granted = new AtomicInteger();
+        Runnable waiter = granted::incrementAndGet;
+        assertFalse(limiter.tryAcquire(waiter));
+        assertThat(limiter.getWaitingSchedulers(), equalTo(1));
+
+        // the merges that started while merges weren't limited still count towards the limit
+        limiter.release();
+        assertThat(granted.get(), equalTo(0));
+        limiter.release();
+        assertThat(granted.get(), equalTo(1));
+        assertThat(limiter.getRunningMerges(), equalTo(1));
+        limiter.release();
+        assertThat(limiter.getRunningMerges(), equalTo(0));
+    }
+
+    public void testReleaseHandsPermitsToWaitersInOrder() {
+        NodeMergeLimiter limiter = new NodeMergeLimiter(1);
+        assertTrue(limiter.tryAcquire(NOT_GRANTED));
+        List<Integer> granted = new ArrayList<>();
+        List<Runnable> waiters = new ArrayList<>();
+        int waiting = between(2, 10);
+        for (int i = 0; i < waiting; i++) {
+            int waiter = i;
+            waiters.add(() -> granted.add(waiter));
+            assertFalse(limiter.tryAcquire(waiters.get(i)));
+        }
+        // a waiter is only queued once
+        assertFalse(limiter.tryAcquire(waiters.get(0)));
+        assertThat(limiter.getWaitingSchedulers(), equalTo(waiting));
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < waiting; i++) {
+            limiter.release();
+            expected.add(i);
+            assertThat(granted, equalTo(expected));
+            assertThat(limiter.getRunningMerges(), equalTo(1));
+        }
+        assertThat(limiter.getWaitingSchedulers(), equalTo(0));
+        limiter.release();
+        assertThat(limiter.getRunningMerges(), equalTo(0));
+    }
+
+    public void testRemovedWaiterIsNotGranted() {
+        NodeMergeLimiter limiter = new NodeMergeLimiter(1);
+        assertTrue(limiter.tryAcquire(NOT_GRANTED));
+        assertFalse(limiter.tryAcquire(NOT_GRANTED));
+        limiter.removeWaiter(NOT_GRANTED);
+        assertThat(limiter.getWaitingSchedulers(), equalTo(0));
+        limiter.release();
+        assertThat(limiter.getRunningMerges(), equalTo(0));
+    }
+
+    public void testIncreaseMaxConcurrentMergesGrantsWaiters() {
+        ClusterSettings clusterSettings = new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS);
+        NodeMergeLimiter limiter = new NodeMergeLimiter(
+            Settings.builder().put(NodeMergeLimiter.MAX_CONCURRENT_MERGES_SETTING.getKey(), 1).build(),
+            clusterSettings
+        );
+        assertTrue(limiter.tryAcquire(NOT_GRANTED));
+        AtomicInteger granted = new AtomicInteger();
+        assertFalse(limiter.tryAcquire(granted::incrementAndGet));
+
+        clusterSettings.applySettings(Settings.builder().put(NodeMergeLimiter.MAX_CONCURRENT_MERGES_SETTING.getKey(), 2).build());
+        assertThat(granted.get(), equalTo(1));
+        assertThat(limiter.getWaitingSchedulers(), equalTo(0));
+        assertThat(limiter.getRunningMerges(), equalTo(2));
+        limiter.release();
+        limiter.release();
+        assertThat(limiter.getRunningMerges(), equalTo(0));
+    }
+}
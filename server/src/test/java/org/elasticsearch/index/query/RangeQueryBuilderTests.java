@@ -534,6 +534,64 @@ public class RangeQueryBuilderTests extends AbstractQueryTestCase<RangeQueryBuil
         assertThat(rewritten, sameInstance(query));
     }
 
+    public void testRewriteDropsLowerBoundWithinShardData() throws IOException {
+        String fieldName = DATE_FIELD_NAME;
+        RangeQueryBuilder query = new RangeQueryBuilder(fieldName) {
+            @Override
+            MappedFieldType.Relation getRelation(QueryRewriteContext queryRewriteContext, Object from, Object to) {
+                return to == null ? Relation.WITHIN : Relation.INTERSECTS;
+            }
+        };
+        query.gte("2015-01-01");
+        query.lt("now");
+        query.timeZone("+01:00");
+        query.format("yyyy-MM-dd");
+        QueryBuilder rewritten = query.rewrite(createSearchExecutionContext());
+        assertThat(rewritten, instanceOf(RangeQueryBuilder.class));
+        RangeQueryBuilder rewrittenRange = (RangeQueryBuilder) rewritten;
+        assertThat(rewrittenRange.fieldName(), equalTo(fieldName));
+        assertThat(rewrittenRange.from(), equalTo(null));
+        assertThat(rewrittenRange.to(), equalTo("now"));
+        assertFalse(rewrittenRange.includeUpper());
+        assertThat(rewrittenRange.timeZone(), equalTo("+01:00"));
+        assertThat(rewrittenRange.format(), equalTo("yyyy-MM-dd"));
+    }
+
+    public void testRewriteDropsUpperBoundWithinShardData() throws IOException {
+        String fieldName = DATE_FIELD_NAME;
+        RangeQueryBuilder query = new RangeQueryBuilder(fieldName) {
+            @Override
+            MappedFieldType.Relation getRelation(QueryRewriteContext queryRewriteContext, Object from, Object to) {
+                return from == null ? Relation.WITHIN : Relation.INTERSECTS;
+            }
+        };
+        query.gt("2015-01-01");
+        query.lte("now");
+        query.boost(2f);
+        query.queryName("my_range");
+        QueryBuilder rewritten = query.rewrite(createSearchExecutionContext());
+        assertThat(rewritten, instanceOf(RangeQueryBuilder.class));
+        RangeQueryBuilder rewrittenRange = (RangeQueryBuilder) rewritten;
+        assertThat(rewrittenRange.from(), equalTo("2015-01-01"));
+        assertFalse(rewrittenRange.includeLower());
+        assertThat(rewrittenRange.to(), equalTo(null));
+        assertThat(rewrittenRange.boost(), equalTo(2f));
+        assertThat(rewrittenRange.queryName(), equalTo("my_range"));
+    }
+
+    public void testRewriteKeepsBoundsOutsideOfShardData() throws IOException {
+        RangeQueryBuilder query = new RangeQueryBuilder(DATE_FIELD_NAME) {
+            @Override
+            MappedFieldType.Relation getRelation(QueryRewriteContext queryRewriteContext, Object from, Object to) {
+                return Relation.INTERSECTS;
+            }
+        };
+        query.gte("now-15m");
+        query.lte("now");
+        QueryBuilder rewritten = query.rewrite(createSearchExecutionContext());
+        assertThat(rewritten, sameInstance(query));
+    }
+
     public void testParseFailsWithMultipleFields() {
         String json = """
             {
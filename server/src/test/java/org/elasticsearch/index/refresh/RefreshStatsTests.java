@@ -22,6 +22,7 @@ public class RefreshStatsTests extends ESTestCase {
             randomNonNegativeLong(),
             randomNonNegativeLong(),
             randomNonNegativeLong(),
+            randomNonNegativeLong(),
             between(0, Integer.MAX_VALUE)
         );
         BytesStreamOutput out = new BytesStreamOutput();
@@ -34,5 +35,6 @@ public class RefreshStatsTests extends ESTestCase {
         assertEquals(stats.getListeners(), read.getListeners());
         assertEquals(stats.getTotalTimeInMillis(), read.getTotalTimeInMillis());
         assertEquals(stats.getExternalTotalTimeInMillis(), read.getExternalTotalTimeInMillis());
+        assertEquals(stats.getDeferred(), read.getDeferred());
     }
 }
@@ -3760,6 +3760,55 @@ public class IndexShardTests extends IndexShardTestCase {
         closeShards(primary);
     }
 
+    public void testAdaptiveScheduledRefresh() throws Exception {
+        Settings settings = Settings.builder()
+            .put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT)
+            .put(IndexMetadata.SETTING_NUMBER_OF_REPLICAS, 1)
+            .put(IndexMetadata.SETTING_NUMBER_OF_SHARDS, 1)
+            .put(IndexSettings.INDEX_REFRESH_INTERVAL_SETTING.getKey(), TimeValue.timeValueSeconds(1))
+            .put(IndexSettings.INDEX_REFRESH_ADAPTIVE_SETTING.getKey(), true)
+            .build();
+        IndexMetadata metadata = IndexMetadata.builder("test").putMapping("""
+            { "properties": { "foo":  { "type": "text"}}}""").settings(settings).primaryTerm(0, 1).build();
+        IndexShard primary = newShard(new ShardId(metadata.getIndex(), 0), true, "n1", metadata, null);
+        recoverShardFromStore(primary);
+        indexDoc(primary, "_doc", "0", "{\"foo\" : \"bar\"}");
+        primary.acquireSearcher("test").close();
+        long lastSearchAccess = primary.getLastSearcherAccess();
+        // wait until the thread-pool has moved the timestamp so that the refresh happens after the search
+        assertBusy(() -> assertThat(primary.getThreadPool().relativeTimeInMillis(), greaterThan(lastSearchAccess)));
+        assertTrue(primary.scheduledRefresh());
+        assertFalse(primary.isSearchIdle());
+
+        // the shard wasn't searched since the last refresh
+        indexDoc(primary, "_doc", "1", "{\"foo\" : \"bar\"}");
+        assertTrue(primary.getEngine().refreshNeeded());
+        assertFalse(primary.scheduledRefresh());
+        assertTrue(primary.hasRefreshPending());
+        assertEquals(1, primary.refreshStats().getDeferred());
+
+        CountDownLatch latch = new CountDownLatch(1);
+        primary.awaitShardSearchActive(refreshed -> {
+            assertTrue(refreshed);
+            try (Engine.Searcher searcher = primary.acquireSearcher("test")) {
+                assertEquals(2, searcher.getIndexReader().numDocs());
+            } finally {
+                latch.countDown();
+            }
+        });
+        assertTrue(primary.scheduledRefresh());
+        latch.await();
+        assertFalse(primary.hasRefreshPending());
+
+        IndexScopedSettings scopedSettings = primary.indexSettings().getScopedSettings();
+        settings = Settings.builder().put(settings).put(IndexSettings.INDEX_REFRESH_ADAPTIVE_SETTING.getKey(), false).build();
+        scopedSettings.applySettings(settings);
+        indexDoc(primary, "_doc", "2", "{\"foo\" : \"bar\"}");
+        assertTrue(primary.scheduledRefresh());
+        assertEquals(1, primary.refreshStats().getDeferred());
+        closeShards(primary);
+    }
+
     public void testScheduledRefresh() throws Exception {
         Settings settings = Settings.builder()
             .put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT)
@@ -4531,7 +4580,8 @@ public class IndexShardTests extends IndexShardTestCase {
                 config.getLeafSorter(),
                 config.getRelativeTimeInNanosSupplier(),
                 config.getIndexCommitListener(),
-                config.isPromotableToPrimary()
+                config.isPromotableToPrimary(),
+                config.getMergeLimiter()
             );
             return new InternalEngine(configWithWarmer);
         });
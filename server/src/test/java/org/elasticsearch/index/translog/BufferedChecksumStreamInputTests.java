@@ -0,0 +1,65 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.translog;
+
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.bytes.ReleasableBytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.RetainingStreamInput;
+import org.elasticsearch.core.RefCounted;
+import org.elasticsearch.test.ESTestCase;
+
+import java.io.IOException;
+
+import static org.hamcrest.Matchers.equalTo;
+
+public class BufferedChecksumStreamInputTests extends ESTestCase {
+
+    public void testChecksumOfRetainedBytes() throws IOException {
+        final BytesArray bytes = new BytesArray(randomByteArrayOfLength(between(0, 1000)));
+        final long value = randomLong();
+        final BytesStreamOutput out = new BytesStreamOutput();
+        out.writeLong(value);
+        out.writeBytesReference(bytes);
+        out.writeLong(value);
+        final BytesReference serialized = new BytesArray(BytesReference.toBytes(out.bytes()));
+
+        final long expectedChecksum;
+        try (BufferedChecksumStreamInput in = new BufferedChecksumStreamInput(serialized.streamInput(), "test")) {
+            assertThat(in.readLong(), equalTo(value));
+            assertThat(in.readBytesReference(), equalTo(bytes));
+            assertThat(in.readLong(), equalTo(value));
+            expectedChecksum = in.getChecksum();
+        }
+
+        final ReleasableBytesReference buffer = ReleasableBytesReference.wrap(serialized);
+        final RetainingStreamInput retainingInput = new RetainingStreamInput(buffer.streamInput());
+        try (BufferedChecksumStreamInput in = new BufferedChecksumStreamInput(retainingInput, "test")) {
+            assertThat(in.readLong(), equalTo(value));
+            assertThat(in.readBytesReference(), equalTo(bytes));
+            assertThat(in.readLong(), equalTo(value));
+            assertThat(in.getChecksum(), equalTo(expectedChecksum));
+        }
+        final RefCounted retained = retainingInput.takeRetainedBytes();
+        if (retained != null) {
+            retained.decRef();
+        }
+
+        try (BufferedChecksumStreamInput in = new BufferedChecksumStreamInput(buffer.streamInput(), "test")) {
+            assertThat(in.readLong(), equalTo(value));
+            try (ReleasableBytesReference read = in.readReleasableBytesReference()) {
+                assertThat(read, equalTo(bytes));
+            }
+            assertThat(in.readLong(), equalTo(value));
+            assertThat(in.getChecksum(), equalTo(expectedChecksum));
+        }
+        assertTrue(buffer.decRef());
+    }
+}
@@ -403,7 +403,8 @@ public class IndexingMemoryControllerTests extends IndexShardTestCase {
             config.getLeafSorter(),
             config.getRelativeTimeInNanosSupplier(),
             config.getIndexCommitListener(),
-            config.isPromotableToPrimary()
+            config.isPromotableToPrimary(),
+            config.getMergeLimiter()
         );
     }
 
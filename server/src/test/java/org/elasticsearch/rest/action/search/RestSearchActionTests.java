@@ -10,9 +10,12 @@ package org.elasticsearch.rest.action.search;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.search.SearchType;
+import org.elasticsearch.action.search.ShardSearchFailure;
 import org.elasticsearch.core.RestApiVersion;
 import org.elasticsearch.rest.RestRequest;
+import org.elasticsearch.rest.RestStatus;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.internal.InternalSearchResponse;
 import org.elasticsearch.search.suggest.SuggestBuilder;
 import org.elasticsearch.search.suggest.term.TermSuggestionBuilder;
 import org.elasticsearch.search.vectors.KnnSearchBuilder;
@@ -62,6 +65,36 @@ public class RestSearchActionTests extends RestActionTestCase {
         assertCriticalWarnings(RestSearchAction.TYPES_DEPRECATION_MESSAGE);
     }
 
+    public void testChunkedResponseKeepsStatus() throws Exception {
+        SearchResponse response = failedSearchResponse();
+        verifyingClient.setExecuteLocallyVerifier((actionType, request) -> response);
+        RestRequest request = new FakeRestRequest.Builder(xContentRegistry()).withHeaders(
+            Map.of("Content-Type", contentTypeHeader, "Accept", contentTypeHeader)
+        ).withMethod(RestRequest.Method.GET).withPath("/some_index/_search").build();
+
+        FakeRestChannel channel = new FakeRestChannel(request, false, 1);
+        action.handleRequest(request, channel, verifyingClient);
+        assertEquals(1, channel.errors().get());
+        assertEquals(RestStatus.BAD_REQUEST, response.status());
+        assertEquals(response.status(), channel.capturedResponse().status());
+    }
+
+    /**
+     * Returns a search response whose shards all failed with a bad request.
+     */
+    private static SearchResponse failedSearchResponse() {
+        return new SearchResponse(
+            InternalSearchResponse.EMPTY_WITH_TOTAL_HITS,
+            null,
+            1,
+            0,
+            0,
+            0,
+            new ShardSearchFailure[] { new ShardSearchFailure(new IllegalArgumentException("boom")) },
+            SearchResponse.Clusters.EMPTY
+        );
+    }
+
     /**
      * The "enable_fields_emulation" flag on search requests is a no-op but should not raise an error
      */
@@ -0,0 +1,154 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.aggregations;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.CollectionTerminatedException;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.tests.index.RandomIndexWriter;
+import org.elasticsearch.test.ESTestCase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class BlockBucketCollectorTests extends ESTestCase {
+
+    /**
+     * Records the collected docs, and checks that the docs of a segment are all collected before the next segment starts.
+     */
+    private static class RecordingBucketCollector extends BucketCollector {
+
+        private final int terminateAfter;
+        private final List<Integer> collected = new ArrayList<>();
+        private int blocks = 0;
+        private LeafReaderContext current;
+
+        RecordingBucketCollector(int terminateAfter) {
+            this.terminateAfter = terminateAfter;
+        }
+
+        @Override
+        public LeafBucketCollector getLeafCollector(AggregationExecutionContext aggCtx) {
+            final LeafReaderContext ctx = aggCtx.getLeafReaderContext();
+            current = ctx;
+            return new LeafBucketCollector() {
+                int collectedInSegment = 0;
+
+                @Override
+                public void collect(int doc, long bucket) {
+                    assertSame(ctx, current);
+                    assertThat(bucket, equalTo(0L));
+                    if (collectedInSegment++ >= terminateAfter) {
+                        throw new CollectionTerminatedException();
+                    }
+                    collected.add(ctx.docBase + doc);
+                }
+
+                @Override
+                public void collect(int[] docs, int count, long bucket) throws IOException {
+                    assertThat(count, lessThanOrEqualTo(BlockBucketCollector.BLOCK_SIZE));
+                    blocks++;
+                    super.collect(docs, count, bucket);
+                }
+            };
+        }
+
+        @Override
+        public ScoreMode scoreMode() {
+            return ScoreMode.COMPLETE_NO_SCORES;
+        }
+
+        @Override
+        public void preCollection() {}
+
+        @Override
+        public void postCollection() {}
+    }
+
+    public void testCollectsAllDocsInOrder() throws IOException {
+        try (Directory dir = newDirectory()) {
+            RandomIndexWriter w = new RandomIndexWriter(random(), dir);
+            final int numDocs = randomIntBetween(1, 5000);
+            for (int i = 0; i < numDocs; ++i) {
+                w.addDocument(new Document());
+            }
+            try (IndexReader reader = w.getReader()) {
+                w.close();
+                IndexSearcher searcher = new IndexSearcher(reader);
+                RecordingBucketCollector recording = new RecordingBucketCollector(Integer.MAX_VALUE);
+                BlockBucketCollector collector = new BlockBucketCollector(recording);
+                searcher.search(new MatchAllDocsQuery(), collector);
+                // the docs of the last segment are still buffered
+                collector.flush();
+                assertThat(recording.collected.size(), equalTo(numDocs));
+                for (int i = 0; i < numDocs; i++) {
+                    assertThat(recording.collected.get(i), equalTo(i));
+                }
+                assertThat(recording.blocks, lessThanOrEqualTo(numDocs / BlockBucketCollector.BLOCK_SIZE + reader.leaves().size()));
+                // flushing again is a no-op
+                collector.flush();
+                assertThat(recording.collected.size(), equalTo(numDocs));
+            }
+        }
+    }
+
+    public void testCollectionTerminated() throws IOException {
+        try (Directory dir = newDirectory()) {
+            RandomIndexWriter w = new RandomIndexWriter(random(), dir);
+            final int numDocs = randomIntBetween(1, 5000);
+            for (int i = 0; i < numDocs; ++i) {
+                w.addDocument(new Document());
+            }
+            try (IndexReader reader = w.getReader()) {
+                w.close();
+                IndexSearcher searcher = new IndexSearcher(reader);
+                final int terminateAfter = randomIntBetween(0, 1000);
+                RecordingBucketCollector recording = new RecordingBucketCollector(terminateAfter);
+                BlockBucketCollector collector = new BlockBucketCollector(recording);
+                searcher.search(new MatchAllDocsQuery(), collector);
+                collector.flush();
+                int expected = 0;
+                for (LeafReaderContext ctx : reader.leaves()) {
+                    expected += Math.min(terminateAfter, ctx.reader().maxDoc());
+                }
+                assertThat(recording.collected.size(), equalTo(expected));
+            }
+        }
+    }
+
+    public void testRejectsCollectorsThatNeedScores() {
+        BucketCollector needsScores = new BucketCollector() {
+            @Override
+            public LeafBucketCollector getLeafCollector(AggregationExecutionContext aggCtx) {
+                return LeafBucketCollector.NO_OP_COLLECTOR;
+            }
+
+            @Override
+            public void preCollection() {}
+
+            @Override
+            public void postCollection() {}
+
+            @Override
+            public ScoreMode scoreMode() {
+                return ScoreMode.COMPLETE;
+            }
+        };
+        expectThrows(IllegalArgumentException.class, () -> new BlockBucketCollector(needsScores));
+    }
+}
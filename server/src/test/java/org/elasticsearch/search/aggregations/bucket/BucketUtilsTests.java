@@ -35,6 +35,14 @@ public class BucketUtilsTests extends ESTestCase {
         }
     }
 
+    public void testSingleShard() {
+        final int size = randomIntBetween(1, Integer.MAX_VALUE);
+        assertEquals(size, BucketUtils.suggestShardSideQueueSize(size, true));
+        assertEquals(BucketUtils.suggestShardSideQueueSize(size), BucketUtils.suggestShardSideQueueSize(size, false));
+        IllegalArgumentException e = expectThrows(IllegalArgumentException.class, () -> BucketUtils.suggestShardSideQueueSize(0, true));
+        assertEquals(e.getMessage(), "size must be positive, got 0");
+    }
+
     /*// You may use the code below to evaluate the impact of the BucketUtils.suggestShardSideQueueSize
     // heuristic
     public static void main(String[] args) {
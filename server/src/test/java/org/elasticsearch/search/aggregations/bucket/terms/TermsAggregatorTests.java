@@ -131,6 +131,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
@@ -148,6 +149,7 @@ import static org.elasticsearch.test.MapMatcher.assertMap;
 import static org.elasticsearch.test.MapMatcher.matchesMap;
 import static org.hamcrest.Matchers.closeTo;
 import static org.hamcrest.Matchers.either;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
@@ -2164,6 +2166,51 @@ public class TermsAggregatorTests extends AggregatorTestCase {
         }, keywordFt);
     }
 
+    /**
+     * When the top level query matches all docs we read the doc counts of the
+     * terms from the terms index rather than collecting every doc.
+     */
+    public void testCountFromTermsIndex() throws IOException {
+        randomizeAggregatorImpl = false;
+        boolean matchAll = randomBoolean();
+        int totalDocs = 3000;
+        int distinctValues = 2500;
+        MappedFieldType keywordFt = new KeywordFieldType("k", true, true, Collections.emptyMap());
+        MappedFieldType parityFt = new KeywordFieldType("parity", true, true, Collections.emptyMap());
+        Query query = matchAll ? new MatchAllDocsQuery() : new TermQuery(new Term("parity", "even"));
+        debugTestCase(new TermsAggregationBuilder("t").field("k"), query, iw -> {
+            for (int d = 0; d < totalDocs; d++) {
+                BytesRef value = new BytesRef(String.format(Locale.ROOT, "v%04d", d % distinctValues));
+                BytesRef parity = new BytesRef(d % 2 == 0 ? "even" : "odd");
+                iw.addDocument(
+                    List.of(
+                        new Field("k", value, KeywordFieldMapper.Defaults.FIELD_TYPE),
+                        new Field("parity", parity, KeywordFieldMapper.Defaults.FIELD_TYPE)
+                    )
+                );
+            }
+        }, (StringTerms r, Class<? extends Aggregator> impl, Map<String, Map<String, Object>> debug) -> {
+            int step = matchAll ? 1 : 2;
+            List<String> expectedKeys = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                expectedKeys.add(String.format(Locale.ROOT, "v%04d", i * step));
+            }
+            assertThat(r.getBuckets().stream().map(StringTerms.Bucket::getKeyAsString).collect(toList()), equalTo(expectedKeys));
+            assertThat(r.getBuckets().stream().map(StringTerms.Bucket::getDocCount).collect(toList()), everyItem(equalTo(2L)));
+
+            assertEquals(GlobalOrdinalsStringTermsAggregator.class, impl);
+            assertMap(
+                debug,
+                matchesMap().entry(
+                    "t",
+                    matchesMap().extraOk()
+                        .entry("collection_strategy", "dense")
+                        .entry("segments_counted_from_terms_index", matchAll ? greaterThan(0) : equalTo(0))
+                )
+            );
+        }, keywordFt, parityFt);
+    }
+
     private final SeqNoFieldMapper.SequenceIDFields sequenceIDFields = SeqNoFieldMapper.SequenceIDFields.emptySeqID();
 
     private List<Iterable<IndexableField>> generateDocsWithNested(String id, int value, int[] nestedValues) {
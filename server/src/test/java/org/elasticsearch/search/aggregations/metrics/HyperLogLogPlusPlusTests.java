@@ -12,6 +12,8 @@ import org.apache.lucene.util.hppc.BitMixer;
 import org.elasticsearch.common.breaker.CircuitBreaker;
 import org.elasticsearch.common.breaker.CircuitBreakingException;
 import org.elasticsearch.common.breaker.NoopCircuitBreaker;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.common.util.MockBigArrays;
@@ -19,6 +21,7 @@ import org.elasticsearch.common.util.PageCacheRecycler;
 import org.elasticsearch.indices.breaker.CircuitBreakerService;
 import org.elasticsearch.test.ESTestCase;
 
+import java.io.IOException;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
@@ -103,6 +106,57 @@ public class HyperLogLogPlusPlusTests extends ESTestCase {
         }
     }
 
+    public void testMergeHyperLogLogRegisters() {
+        final int p = randomIntBetween(MIN_PRECISION, MAX_PRECISION);
+        final long thisBucket = randomInt(5);
+        final long otherBucket = randomInt(5);
+        try (
+            HyperLogLogPlusPlus counts = new HyperLogLogPlusPlus(p, BigArrays.NON_RECYCLING_INSTANCE, 1);
+            HyperLogLogPlusPlus other = new HyperLogLogPlusPlus(p, BigArrays.NON_RECYCLING_INSTANCE, 1)
+        ) {
+            for (int i = 0; i < 1000; i++) {
+                counts.collect(thisBucket, randomLong());
+                other.collect(otherBucket, randomLong());
+            }
+            counts.upgradeToHll(thisBucket);
+            other.upgradeToHll(otherBucket);
+            final byte[] expected = new byte[1 << p];
+            AbstractHyperLogLog.RunLenIterator thisRunLens = counts.getHyperLogLog(thisBucket);
+            AbstractHyperLogLog.RunLenIterator otherRunLens = other.getHyperLogLog(otherBucket);
+            for (int i = 0; i < expected.length; i++) {
+                assertTrue(thisRunLens.next());
+                assertTrue(otherRunLens.next());
+                expected[i] = (byte) Math.max(thisRunLens.value(), otherRunLens.value());
+            }
+
+            counts.merge(thisBucket, other, otherBucket);
+            AbstractHyperLogLog.RunLenIterator merged = counts.getHyperLogLog(thisBucket);
+            for (byte runLen : expected) {
+                assertTrue(merged.next());
+                assertEquals(runLen, merged.value());
+            }
+            assertFalse(merged.next());
+        }
+    }
+
+    public void testSerializeHyperLogLog() throws IOException {
+        final int p = randomIntBetween(MIN_PRECISION, MAX_PRECISION);
+        try (HyperLogLogPlusPlus counts = new HyperLogLogPlusPlus(p, BigArrays.NON_RECYCLING_INSTANCE, 1)) {
+            final int numValues = randomIntBetween(1, 100000);
+            for (int i = 0; i < numValues; i++) {
+                counts.collect(0, randomLong());
+            }
+            counts.upgradeToHll(0);
+            BytesStreamOutput out = new BytesStreamOutput();
+            counts.writeTo(0, out);
+            StreamInput in = out.bytes().streamInput();
+            try (AbstractHyperLogLogPlusPlus read = AbstractHyperLogLogPlusPlus.readFrom(in, BigArrays.NON_RECYCLING_INSTANCE)) {
+                assertTrue(counts.equals(0, read, 0));
+                assertEquals(counts.cardinality(0), read.cardinality(0));
+            }
+        }
+    }
+
     public void testFakeHashes() {
         // hashes with lots of leading zeros trigger different paths in the code that we try to go through here
         final int p = randomIntBetween(MIN_PRECISION, MAX_PRECISION);
@@ -15,6 +15,7 @@ import org.apache.lucene.document.StringField;
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.MultiReader;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.search.FieldExistsQuery;
@@ -39,7 +40,10 @@ import org.elasticsearch.script.ScriptModule;
 import org.elasticsearch.script.ScriptService;
 import org.elasticsearch.script.ScriptType;
 import org.elasticsearch.search.aggregations.AggregationBuilder;
+import org.elasticsearch.search.aggregations.AggregationExecutionContext;
 import org.elasticsearch.search.aggregations.AggregatorTestCase;
+import org.elasticsearch.search.aggregations.LeafBucketCollector;
+import org.elasticsearch.search.aggregations.support.AggregationContext;
 import org.elasticsearch.search.aggregations.support.AggregationInspectionHelper;
 import org.elasticsearch.search.aggregations.support.CoreValuesSourceType;
 import org.elasticsearch.search.aggregations.support.ValuesSourceType;
@@ -205,6 +209,64 @@ public class SumAggregatorTests extends AggregatorTestCase {
         }, result -> assertEquals(expected, result.value(), delta), defaultFieldType(NumberType.DOUBLE));
     }
 
+    public void testCollectBlocks() throws IOException {
+        final boolean multiValued = randomBoolean();
+        try (Directory directory = newDirectory()) {
+            RandomIndexWriter iw = new RandomIndexWriter(random(), directory);
+            final int numDocs = randomIntBetween(1, 2000);
+            for (int i = 0; i < numDocs; i++) {
+                List<IndexableField> doc = new ArrayList<>();
+                if (randomBoolean()) {
+                    long value = NumericUtils.doubleToSortableLong(randomDoubleBetween(-1000, 1000, true));
+                    if (multiValued) {
+                        doc.add(new SortedNumericDocValuesField(FIELD_NAME, value));
+                        doc.add(new SortedNumericDocValuesField(FIELD_NAME, value + 1));
+                    } else {
+                        doc.add(new NumericDocValuesField(FIELD_NAME, value));
+                    }
+                }
+                iw.addDocument(doc);
+            }
+            iw.close();
+
+            try (IndexReader reader = DirectoryReader.open(directory)) {
+                IndexSearcher searcher = newSearcher(reader, false, false);
+                try (
+                    AggregationContext context = createAggregationContext(
+                        searcher,
+                        new MatchAllDocsQuery(),
+                        defaultFieldType(NumberType.DOUBLE)
+                    )
+                ) {
+                    SumAggregator perDoc = createAggregator(sum("per_doc").field(FIELD_NAME), context);
+                    SumAggregator blocks = createAggregator(sum("blocks").field(FIELD_NAME), context);
+                    perDoc.preCollection();
+                    blocks.preCollection();
+                    final int numBuckets = randomIntBetween(1, 3);
+                    for (LeafReaderContext ctx : reader.leaves()) {
+                        AggregationExecutionContext aggCtx = new AggregationExecutionContext(ctx, null, null, null);
+                        LeafBucketCollector perDocCollector = perDoc.getLeafCollector(aggCtx);
+                        LeafBucketCollector blocksCollector = blocks.getLeafCollector(aggCtx);
+                        int doc = 0;
+                        while (doc < ctx.reader().maxDoc()) {
+                            final int count = Math.min(randomIntBetween(1, 100), ctx.reader().maxDoc() - doc);
+                            final long bucket = randomLongBetween(0, numBuckets - 1);
+                            final int[] docs = new int[count];
+                            for (int i = 0; i < count; i++) {
+                                docs[i] = doc;
+                                perDocCollector.collect(doc++, bucket);
+                            }
+                            blocksCollector.collect(docs, count, bucket);
+                        }
+                    }
+                    for (long bucket = 0; bucket < numBuckets; bucket++) {
+                        assertEquals(perDoc.metric(bucket), blocks.metric(bucket), 0d);
+                    }
+                }
+            }
+        }
+    }
+
     public void testUnmapped() throws IOException {
         sumRandomDocsTestCase(randomIntBetween(1, 5), sum("_name").field("unknown_field"), (sum, docs, result) -> {
             assertEquals(0d, result.value(), 0d);
@@ -42,6 +42,7 @@ import org.apache.lucene.search.ScoreMode;
 import org.apache.lucene.search.Scorer;
 import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopScoreDocCollector;
 import org.apache.lucene.search.Weight;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.util.Accountable;
@@ -60,6 +61,7 @@ import org.elasticsearch.index.cache.bitset.BitsetFilterCache;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.lucene.util.CombinedBitSet;
 import org.elasticsearch.search.aggregations.LeafBucketCollector;
+import org.elasticsearch.tasks.TaskCancelledException;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.test.IndexSettingsModule;
 
@@ -67,14 +69,19 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.elasticsearch.search.internal.ContextIndexSearcher.intersectScorerAndBitSet;
 import static org.elasticsearch.search.internal.ExitableDirectoryReader.ExitableLeafReader;
 import static org.elasticsearch.search.internal.ExitableDirectoryReader.ExitablePointValues;
 import static org.elasticsearch.search.internal.ExitableDirectoryReader.ExitableTerms;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 
 public class ContextIndexSearcherTests extends ESTestCase {
     public void testIntersectScorerAndRoleBits() throws Exception {
@@ -310,6 +317,97 @@ public class ContextIndexSearcherTests extends ESTestCase {
         dir.close();
     }
 
+    public void testComputeSlices() throws IOException {
+        Directory dir = newDirectory();
+        IndexWriter w = new IndexWriter(dir, newIndexWriterConfig(null).setMergePolicy(NoMergePolicy.INSTANCE));
+        int numSegments = randomIntBetween(10, 20);
+        int numDocs = 0;
+        for (int i = 0; i < numSegments; i++) {
+            int numSegmentDocs = randomIntBetween(1, 50);
+            for (int j = 0; j < numSegmentDocs; j++) {
+                w.addDocument(new Document());
+            }
+            numDocs += numSegmentDocs;
+            w.flush();
+        }
+        DirectoryReader directoryReader = DirectoryReader.open(w);
+        List<LeafReaderContext> leaves = directoryReader.leaves();
+
+        IndexSearcher.LeafSlice[] slices = ContextIndexSearcher.computeSlices(leaves, 1, 1);
+        assertThat(slices.length, equalTo(1));
+        assertThat(slices[0].leaves.length, equalTo(leaves.size()));
+
+        slices = ContextIndexSearcher.computeSlices(leaves, 1000, numDocs + 1);
+        assertThat(slices.length, equalTo(1));
+
+        int maxSlices = randomIntBetween(2, 10);
+        slices = ContextIndexSearcher.computeSlices(leaves, maxSlices, 1);
+        assertThat(slices.length, lessThanOrEqualTo(maxSlices));
+        Set<LeafReaderContext> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (IndexSearcher.LeafSlice slice : slices) {
+            assertThat(slice.leaves.length, greaterThan(0));
+            for (LeafReaderContext leaf : slice.leaves) {
+                assertTrue(seen.add(leaf));
+            }
+        }
+        assertThat(seen.size(), equalTo(leaves.size()));
+
+        expectThrows(IllegalArgumentException.class, () -> ContextIndexSearcher.computeSlices(leaves, 0, 1));
+        w.close();
+        directoryReader.close();
+        dir.close();
+    }
+
+    public void testConcurrentSearch() throws Exception {
+        Directory dir = newDirectory();
+        IndexWriter w = new IndexWriter(dir, newIndexWriterConfig(null).setMergePolicy(NoMergePolicy.INSTANCE));
+        int numSegments = randomIntBetween(2, 10);
+        int numMatches = 0;
+        for (int i = 0; i < numSegments; i++) {
+            int numSegmentDocs = randomIntBetween(1, 100);
+            for (int j = 0; j < numSegmentDocs; j++) {
+                Document doc = new Document();
+                if (randomBoolean()) {
+                    doc.add(new StringField("foo", "bar", Field.Store.NO));
+                    numMatches++;
+                }
+                w.addDocument(doc);
+            }
+            w.flush();
+        }
+        DirectoryReader directoryReader = DirectoryReader.open(w);
+        ExecutorService executor = Executors.newFixedThreadPool(randomIntBetween(1, 4));
+        try {
+            ContextIndexSearcher searcher = new ContextIndexSearcher(
+                directoryReader,
+                IndexSearcher.getDefaultSimilarity(),
+                IndexSearcher.getDefaultQueryCache(),
+                IndexSearcher.getDefaultQueryCachingPolicy(),
+                randomBoolean(),
+                executor,
+                numSegments,
+                1
+            );
+            assertTrue(searcher.isConcurrentSearchEnabled());
+            Query query = new TermQuery(new Term("foo", "bar"));
+            TopDocs topDocs = searcher.search(query, TopScoreDocCollector.createSharedManager(10, null, Integer.MAX_VALUE));
+            assertThat(topDocs.totalHits.value, equalTo((long) numMatches));
+            assertThat(searcher.count(query), equalTo(numMatches));
+
+            Runnable cancellation = searcher.addQueryCancellation(() -> { throw new TaskCancelledException("cancelled"); });
+            expectThrows(
+                TaskCancelledException.class,
+                () -> searcher.search(new MatchAllDocsQuery(), TopScoreDocCollector.createSharedManager(10, null, Integer.MAX_VALUE))
+            );
+            searcher.removeQueryCancellation(cancellation);
+        } finally {
+            terminate(executor);
+            w.close();
+            directoryReader.close();
+            dir.close();
+        }
+    }
+
     private SparseFixedBitSet query(LeafReaderContext leaf, String field, String value) throws IOException {
         SparseFixedBitSet sparseFixedBitSet = new SparseFixedBitSet(leaf.reader().maxDoc());
         TermsEnum tenum = leaf.reader().terms(field).iterator();
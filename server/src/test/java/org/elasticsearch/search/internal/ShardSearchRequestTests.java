@@ -251,6 +251,33 @@ public class ShardSearchRequestTests extends AbstractSearchTestCase {
         assertThat(invoked.get(), is(true));
     }
 
+    public void testCacheKeyDependsOnSingleShard() throws IOException {
+        final SearchRequest searchRequest = createSearchRequest();
+        final ShardId shardId = new ShardId(randomAlphaOfLengthBetween(2, 10), randomAlphaOfLengthBetween(2, 10), randomInt());
+        final long nowInMillis = randomNonNegativeLong();
+        final int numberOfShards = randomIntBetween(2, 100);
+        final ShardSearchRequest singleShard = shardSearchRequest(searchRequest, shardId, 1, nowInMillis);
+        final ShardSearchRequest multipleShards = shardSearchRequest(searchRequest, shardId, numberOfShards, nowInMillis);
+        // the number of shards doesn't matter as long as there is more than one
+        final ShardSearchRequest moreShards = shardSearchRequest(searchRequest, shardId, numberOfShards + 1, nowInMillis);
+        assertEquals(multipleShards.cacheKey(null), moreShards.cacheKey(null));
+        assertNotEquals(singleShard.cacheKey(null), multipleShards.cacheKey(null));
+    }
+
+    private static ShardSearchRequest shardSearchRequest(SearchRequest searchRequest, ShardId shardId, int numberOfShards, long now) {
+        return new ShardSearchRequest(
+            new OriginalIndices(searchRequest),
+            searchRequest,
+            shardId,
+            0,
+            numberOfShards,
+            AliasFilter.EMPTY,
+            1.0f,
+            now,
+            null
+        );
+    }
+
     public void testForceSyntheticUnsupported() throws IOException {
         SearchRequest request = createSearchRequest();
         request.setForceSyntheticSource(true);
@@ -81,6 +81,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.IntUnaryOperator;
 
 import static org.elasticsearch.search.query.TopDocsCollectorContext.hasInfMaxScore;
@@ -937,6 +939,132 @@ public class QueryPhaseTests extends IndexShardTestCase {
         }
     }
 
+    public void testConcurrentTopDocs() throws Exception {
+        Directory dir = newDirectory();
+        IndexWriterConfig iwc = newIndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE);
+        RandomIndexWriter w = new RandomIndexWriter(random(), dir, iwc);
+        final int numDocs = scaledRandomIntBetween(100, 500);
+        for (int i = 0; i < numDocs; ++i) {
+            Document doc = new Document();
+            doc.add(new NumericDocValuesField("rank", randomIntBetween(0, 1000)));
+            if (randomBoolean()) {
+                doc.add(new TextField("title", "foo", Store.NO));
+            }
+            w.addDocument(doc);
+            if (rarely()) {
+                w.flush();
+            }
+        }
+        w.flush();
+        IndexReader reader = w.getReader();
+        w.close();
+        ExecutorService executor = Executors.newFixedThreadPool(randomIntBetween(1, 4));
+        try {
+            ContextIndexSearcher concurrentSearcher = new ContextIndexSearcher(
+                reader,
+                IndexSearcher.getDefaultSimilarity(),
+                IndexSearcher.getDefaultQueryCache(),
+                IndexSearcher.getDefaultQueryCachingPolicy(),
+                true,
+                executor,
+                randomIntBetween(2, 8),
+                1
+            );
+            Query query = new TermQuery(new Term("title", "foo"));
+            SortAndFormats sort = randomBoolean()
+                ? null
+                : new SortAndFormats(new Sort(new SortField("rank", SortField.Type.INT)), new DocValueFormat[] { DocValueFormat.RAW });
+            int size = randomIntBetween(0, 50);
+
+            TestSearchContext sequential = new TestSearchContext(null, indexShard, newContextSearcher(reader));
+            TestSearchContext concurrent = new TestSearchContext(null, indexShard, concurrentSearcher);
+            for (TestSearchContext context : List.of(sequential, concurrent)) {
+                context.setTask(new SearchShardTask(123L, "", "", "", null, Collections.emptyMap()));
+                context.parsedQuery(new ParsedQuery(query));
+                context.setSize(size);
+                context.trackTotalHitsUpTo(SearchContext.TRACK_TOTAL_HITS_ACCURATE);
+                if (sort != null) {
+                    context.sort(sort);
+                }
+                QueryPhase.executeInternal(context);
+            }
+            assertEquals(concurrentSearcher.isConcurrentSearchEnabled(), QueryPhase.canSearchConcurrently(concurrent, List.of()));
+            TopDocs expected = sequential.queryResult().topDocs().topDocs;
+            TopDocs actual = concurrent.queryResult().topDocs().topDocs;
+            assertEquals(expected.totalHits, actual.totalHits);
+            assertThat(actual.scoreDocs.length, equalTo(expected.scoreDocs.length));
+            for (int i = 0; i < expected.scoreDocs.length; i++) {
+                assertThat(actual.scoreDocs[i].doc, equalTo(expected.scoreDocs[i].doc));
+                assertThat(actual.scoreDocs[i].score, equalTo(expected.scoreDocs[i].score));
+            }
+            assertEquals(sequential.queryResult().getMaxScore(), concurrent.queryResult().getMaxScore(), 0f);
+        } finally {
+            terminate(executor);
+            reader.close();
+            dir.close();
+        }
+    }
+
+    public void testConcurrentTopDocsKeepsHitsCollectedBeforeTimeout() throws Exception {
+        Directory dir = newDirectory();
+        IndexWriterConfig iwc = newIndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE);
+        RandomIndexWriter w = new RandomIndexWriter(random(), dir, iwc);
+        final int numSegments = randomIntBetween(2, 10);
+        for (int i = 0; i < numSegments; i++) {
+            final int numSegmentDocs = randomIntBetween(1, 50);
+            for (int j = 0; j < numSegmentDocs; j++) {
+                Document doc = new Document();
+                doc.add(new TextField("title", "foo", Store.NO));
+                w.addDocument(doc);
+            }
+            w.flush();
+        }
+        IndexReader reader = w.getReader();
+        w.close();
+        ExecutorService executor = Executors.newFixedThreadPool(randomIntBetween(1, 4));
+        try {
+            ContextIndexSearcher searcher = new ContextIndexSearcher(
+                reader,
+                IndexSearcher.getDefaultSimilarity(),
+                IndexSearcher.getDefaultQueryCache(),
+                IndexSearcher.getDefaultQueryCachingPolicy(),
+                true,
+                executor,
+                numSegments,
+                1
+            );
+            assertTrue(searcher.isConcurrentSearchEnabled());
+            // the slices that are searched on the executor time out, the last slice is searched on the calling thread and completes
+            final Thread searchThread = Thread.currentThread();
+            searcher.addQueryCancellation(() -> {
+                if (Thread.currentThread() != searchThread) {
+                    throw new QueryPhase.TimeExceededException();
+                }
+            });
+            int expectedHits = 0;
+            final IndexSearcher.LeafSlice[] slices = searcher.getSlices();
+            for (LeafReaderContext leaf : slices[slices.length - 1].leaves) {
+                expectedHits += leaf.reader().maxDoc();
+            }
+
+            TestSearchContext context = new TestSearchContext(null, indexShard, searcher);
+            context.setTask(new SearchShardTask(123L, "", "", "", null, Collections.emptyMap()));
+            context.parsedQuery(new ParsedQuery(new TermQuery(new Term("title", "foo"))));
+            context.setSize(reader.maxDoc());
+            context.trackTotalHitsUpTo(SearchContext.TRACK_TOTAL_HITS_ACCURATE);
+            QueryPhase.executeInternal(context);
+
+            assertTrue(context.queryResult().searchTimedOut());
+            TopDocs topDocs = context.queryResult().topDocs().topDocs;
+            assertThat(topDocs.totalHits.value, equalTo((long) expectedHits));
+            assertThat(topDocs.scoreDocs.length, equalTo(expectedHits));
+        } finally {
+            terminate(executor);
+            reader.close();
+            dir.close();
+        }
+    }
+
     private static ContextIndexSearcher newContextSearcher(IndexReader reader) throws IOException {
         return new ContextIndexSearcher(
             reader,
@@ -12,10 +12,13 @@ import org.apache.lucene.util.SetOnce;
 import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.search.SearchScrollRequest;
+import org.elasticsearch.action.search.ShardSearchFailure;
 import org.elasticsearch.client.internal.node.NodeClient;
 import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.rest.RestRequest;
+import org.elasticsearch.rest.RestStatus;
 import org.elasticsearch.rest.action.search.RestSearchScrollAction;
+import org.elasticsearch.search.internal.InternalSearchResponse;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.test.client.NoOpNodeClient;
 import org.elasticsearch.test.rest.FakeRestChannel;
@@ -62,4 +65,34 @@ public class RestSearchScrollActionTests extends ESTestCase {
             assertThat(scrollCalled.get(), equalTo(true));
         }
     }
+
+    public void testChunkedResponseKeepsStatus() throws Exception {
+        SearchResponse response = new SearchResponse(
+            InternalSearchResponse.EMPTY_WITH_TOTAL_HITS,
+            "scroll_id",
+            1,
+            0,
+            0,
+            0,
+            new ShardSearchFailure[] { new ShardSearchFailure(new IllegalArgumentException("boom")) },
+            SearchResponse.Clusters.EMPTY
+        );
+        try (NodeClient nodeClient = new NoOpNodeClient(this.getTestName()) {
+            @Override
+            public void searchScroll(SearchScrollRequest request, ActionListener<SearchResponse> listener) {
+                listener.onResponse(response);
+            }
+        }) {
+            RestSearchScrollAction action = new RestSearchScrollAction();
+            Map<String, String> params = new HashMap<>();
+            params.put("scroll_id", "QUERY_STRING");
+            RestRequest request = new FakeRestRequest.Builder(xContentRegistry()).withParams(params).build();
+            FakeRestChannel channel = new FakeRestChannel(request, false, 1);
+            action.handleRequest(request, channel, nodeClient);
+
+            assertThat(channel.errors().get(), equalTo(1));
+            assertThat(response.status(), equalTo(RestStatus.BAD_REQUEST));
+            assertThat(channel.capturedResponse().status(), equalTo(response.status()));
+        }
+    }
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.transport;
+
+import org.elasticsearch.TransportVersion;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.bytes.CompositeBytesReference;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.concurrent.ThreadContext;
+import org.elasticsearch.core.Tuple;
+import org.elasticsearch.test.ESTestCase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class ChunkedMessageWriterTests extends ESTestCase {
+
+    private final ThreadContext threadContext = new ThreadContext(Settings.EMPTY);
+    private final List<Tuple<BytesReference, ActionListener<Void>>> writes = new ArrayList<>();
+    private final FakeTcpChannel channel = new FakeTcpChannel() {
+        @Override
+        public void sendMessage(BytesReference reference, ActionListener<Void> listener) {
+            writes.add(new Tuple<>(reference, listener));
+        }
+    };
+
+    public void testSplit() throws IOException {
+        final int chunkSize = randomIntBetween(1, 100);
+        final long requestId = randomNonNegativeLong();
+        final NetworkMessage message = message(requestId, randomBoolean());
+        final BytesReference serialized = new BytesArray(randomByteArrayOfLength(randomIntBetween(chunkSize + 1, 1000)));
+        final List<BytesReference> chunks = ChunkedMessageWriter.split(message, serialized, chunkSize);
+        assertThat(chunks.size(), equalTo((serialized.length() + chunkSize - 1) / chunkSize));
+
+        final int headerSize = TcpHeader.headerSize(TransportVersion.CURRENT);
+        final List<BytesReference> contents = new ArrayList<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            final BytesReference chunk = chunks.get(i);
+            try (StreamInput in = chunk.streamInput()) {
+                in.skip(TcpHeader.MARKER_BYTES_SIZE);
+                assertThat(in.readInt(), equalTo(chunk.length() - TcpHeader.BYTES_REQUIRED_FOR_MESSAGE_SIZE));
+                assertThat(in.readLong(), equalTo(requestId));
+                final byte status = in.readByte();
+                assertTrue(TransportStatus.isChunk(status));
+                assertThat(TransportStatus.isLastChunk(status), equalTo(i == chunks.size() - 1));
+                assertThat(TransportStatus.isRequest(status), equalTo(message.isRequest()));
+                assertThat(TransportVersion.fromId(in.readInt()), equalTo(TransportVersion.CURRENT));
+                assertThat(in.readInt(), equalTo(0));
+            }
+            contents.add(chunk.slice(headerSize, chunk.length() - headerSize));
+        }
+        assertThat(CompositeBytesReference.of(contents.toArray(BytesReference[]::new)), equalTo(serialized));
+    }
+
+    public void testChunkedMessagesTakeTurns() throws IOException {
+        final ChunkedMessageWriter writer = new ChunkedMessageWriter(channel);
+        final AtomicReference<String> completed = new AtomicReference<>("");
+        writer.send(message(1, true), bytes(3), 1, ChunkedMessageWriter.NORMAL_PRIORITY, listener("a", completed));
+        writer.send(message(2, true), bytes(3), 1, ChunkedMessageWriter.NORMAL_PRIORITY, listener("b", completed));
+        writer.send(message(3, true), bytes(2), 1, ChunkedMessageWriter.HIGH_PRIORITY, listener("c", completed));
+        writer.send(message(4, true), bytes(1), 1, ChunkedMessageWriter.LOW_PRIORITY, listener("d", completed));
+        // only one chunk is in flight at a time
+        assertThat(writes.size(), equalTo(1));
+        assertThat(writer.pendingMessages(), equalTo(4));
+
+        for (int i = 0; i < writes.size(); i++) {
+            writes.get(i).v2().onResponse(null);
+        }
+        assertThat(requestIds(), equalTo(List.of(1L, 3L, 3L, 1L, 2L, 1L, 2L, 2L, 4L)));
+        assertThat(completed.get(), equalTo("cabd"));
+        assertThat(writer.pendingMessages(), equalTo(0));
+    }
+
+    public void testFailedChunkFailsMessage() throws IOException {
+        final ChunkedMessageWriter writer = new ChunkedMessageWriter(channel);
+        final AtomicReference<String> completed = new AtomicReference<>("");
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        writer.send(message(1, false), bytes(3), 1, ChunkedMessageWriter.NORMAL_PRIORITY, ActionListener.wrap(v -> {
+            throw new AssertionError("should fail");
+        }, failure::set));
+        writer.send(message(2, false), bytes(2), 1, ChunkedMessageWriter.NORMAL_PRIORITY, listener("b", completed));
+
+        final IOException e = new IOException("failed");
+        writes.get(0).v2().onFailure(e);
+        assertThat(failure.get(), sameInstance(e));
+        for (int i = 1; i < writes.size(); i++) {
+            writes.get(i).v2().onResponse(null);
+        }
+        assertThat(requestIds(), equalTo(List.of(1L, 2L, 2L)));
+        assertThat(completed.get(), equalTo("b"));
+        assertThat(writer.pendingMessages(), equalTo(0));
+    }
+
+    public void testShouldChunk() {
+        final BytesReference serialized = bytes(100);
+        assertTrue(ChunkedMessageWriter.shouldChunk(message(1, randomBoolean()), serialized, randomIntBetween(1, 99)));
+        assertFalse(ChunkedMessageWriter.shouldChunk(message(1, randomBoolean()), serialized, 0));
+        assertFalse(ChunkedMessageWriter.shouldChunk(message(1, randomBoolean()), serialized, randomIntBetween(100, 1000)));
+        final NetworkMessage handshake = new OutboundMessage.Request(
+            threadContext,
+            new TestRequest("handshake"),
+            TransportVersion.CURRENT,
+            "handshake",
+            1,
+            true,
+            null
+        );
+        assertFalse(ChunkedMessageWriter.shouldChunk(handshake, serialized, 1));
+    }
+
+    private NetworkMessage message(long requestId, boolean isRequest) {
+        if (isRequest) {
+            return new OutboundMessage.Request(
+                threadContext,
+                new TestRequest("test"),
+                TransportVersion.CURRENT,
+                "test",
+                requestId,
+                false,
+                null
+            );
+        } else {
+            return new OutboundMessage.Response(threadContext, new TestResponse("test"), TransportVersion.CURRENT, requestId, false, null);
+        }
+    }
+
+    private static BytesReference bytes(int length) {
+        return new BytesArray(randomByteArrayOfLength(length));
+    }
+
+    private static ActionListener<Void> listener(String name, AtomicReference<String> completed) {
+        return ActionListener.wrap(v -> completed.set(completed.get() + name), e -> { throw new AssertionError(e); });
+    }
+
+    private List<Long> requestIds() throws IOException {
+        final List<Long> requestIds = new ArrayList<>();
+        for (Tuple<BytesReference, ActionListener<Void>> write : writes) {
+            try (StreamInput in = write.v1().streamInput()) {
+                in.skip(TcpHeader.REQUEST_ID_POSITION);
+                requestIds.add(in.readLong());
+            }
+        }
+        return requestIds;
+    }
+}
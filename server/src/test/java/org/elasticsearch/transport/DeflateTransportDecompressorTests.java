@@ -26,6 +26,9 @@ import org.elasticsearch.test.ESTestCase;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.Matchers.lessThan;
 
 public class DeflateTransportDecompressorTests extends ESTestCase {
 
@@ -51,6 +54,33 @@ public class DeflateTransportDecompressorTests extends ESTestCase {
         }
     }
 
+    public void testDictionaryCompression() throws IOException {
+        final String message = "{\"@timestamp\":\"2023-04-01T00:00:00.000Z\",\"message\":\"" + randomAlphaOfLength(10) + "\"}";
+        final byte[] messageBytes = message.getBytes(StandardCharsets.UTF_8);
+        try (BytesStreamOutput output = new BytesStreamOutput(); BytesStreamOutput plainOutput = new BytesStreamOutput()) {
+            try (OutputStream deflateStream = Compression.Scheme.deflateDictionaryOutputStream(Streams.flushOnCloseStream(output))) {
+                deflateStream.write(messageBytes);
+            }
+            try (OutputStream plainStream = CompressorFactory.COMPRESSOR.threadLocalOutputStream(Streams.flushOnCloseStream(plainOutput))) {
+                plainStream.write(messageBytes);
+            }
+            BytesReference bytes = output.bytes();
+            // the strings of the message that are in the dictionary don't need to be repeated
+            assertThat(bytes.length(), lessThan(plainOutput.bytes().length()));
+            assertTrue(Compression.Scheme.isDeflateDictionary(bytes));
+            assertFalse(Compression.Scheme.isDeflate(bytes));
+
+            try (TransportDecompressor decompressor = TransportDecompressor.getDecompressor(recycler, bytes)) {
+                assertEquals(Compression.Scheme.DEFLATE_DICTIONARY, decompressor.getScheme());
+                int bytesConsumed = decompressor.decompress(bytes);
+                assertEquals(bytes.length(), bytesConsumed);
+                try (ReleasableBytesReference decompressed = decompressor.pollDecompressedPage(true)) {
+                    assertEquals(message, decompressed.utf8ToString());
+                }
+            }
+        }
+    }
+
     public void testMultiPageCompression() throws IOException {
         try (BytesStreamOutput output = new BytesStreamOutput()) {
             try (
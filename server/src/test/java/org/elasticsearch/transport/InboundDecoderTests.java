@@ -10,21 +10,38 @@ package org.elasticsearch.transport;
 
 import org.elasticsearch.TransportVersion;
 import org.elasticsearch.Version;
+import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.common.breaker.CircuitBreakingException;
+import org.elasticsearch.common.breaker.NoopCircuitBreaker;
+import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.bytes.CompositeBytesReference;
 import org.elasticsearch.common.bytes.ReleasableBytesReference;
 import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.io.stream.RecyclerBytesStreamOutput;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.util.MockPageCacheRecycler;
 import org.elasticsearch.common.util.concurrent.ThreadContext;
+import org.elasticsearch.core.Releasable;
+import org.elasticsearch.core.Releasables;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.test.TransportVersionUtils;
 
 import java.io.IOException;
 import java.util.ArrayList;
-
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThan;
 
 public class InboundDecoderTests extends ESTestCase {
 
@@ -232,7 +249,7 @@ public class InboundDecoderTests extends ESTestCase {
         }
         OutboundMessage message;
         TransportMessage transportMessage;
-        Compression.Scheme scheme = randomFrom(Compression.Scheme.DEFLATE, Compression.Scheme.LZ4);
+        Compression.Scheme scheme = randomFrom(Compression.Scheme.DEFLATE, Compression.Scheme.LZ4, Compression.Scheme.DEFLATE_DICTIONARY);
         if (isRequest) {
             transportMessage = new TestRequest(randomAlphaOfLength(100));
             message = new OutboundMessage.Request(
@@ -301,6 +318,296 @@ public class InboundDecoderTests extends ESTestCase {
 
     }
 
+    public void testDecodeInterleavedChunkedMessages() throws IOException {
+        // a request and a response can have the same request id, their chunks must not be mixed up
+        final long requestId = randomNonNegativeLong();
+        final TransportMessage request = new TestRequest(randomAlphaOfLength(between(100, 1000)));
+        final TransportMessage response = new TestResponse(randomAlphaOfLength(between(100, 1000)));
+        final OutboundMessage[] messages = new OutboundMessage[] {
+            new OutboundMessage.Request(
+                threadContext,
+                request,
+                TransportVersion.CURRENT,
+                "test-request",
+                requestId,
+                false,
+                randomFrom(Compression.Scheme.DEFLATE, Compression.Scheme.LZ4, null)
+            ),
+            new OutboundMessage.Response(
+                threadContext,
+                response,
+                TransportVersion.CURRENT,
+                requestId,
+                false,
+                randomFrom(Compression.Scheme.DEFLATE, Compression.Scheme.LZ4, null)
+            ) };
+        final int chunkSize = randomIntBetween(1, 50);
+
+        final List<List<BytesReference>> chunks = new ArrayList<>();
+        for (OutboundMessage message : messages) {
+            try (RecyclerBytesStreamOutput os = new RecyclerBytesStreamOutput(recycler)) {
+                final BytesReference serialized = new BytesArray(BytesReference.toBytes(message.serialize(os)));
+                chunks.add(ChunkedMessageWriter.split(message, serialized, chunkSize));
+            }
+        }
+        // interleave the chunks of both messages
+        final List<BytesReference> frames = new ArrayList<>();
+        for (int i = 0; i < Math.max(chunks.get(0).size(), chunks.get(1).size()); i++) {
+            for (List<BytesReference> messageChunks : chunks) {
+                if (i < messageChunks.size()) {
+                    frames.add(messageChunks.get(i));
+                }
+            }
+        }
+        final BytesReference totalBytes = CompositeBytesReference.of(frames.toArray(BytesReference[]::new));
+
+        final ArrayList<Object> fragments = new ArrayList<>();
+        try (InboundDecoder decoder = new InboundDecoder(TransportVersion.CURRENT, recycler)) {
+            int offset = 0;
+            while (offset < totalBytes.length()) {
+                // hand the bytes to the decoder in random pieces
+                final int length = randomIntBetween(1, totalBytes.length() - offset);
+                int bytesConsumed = decoder.decode(ReleasableBytesReference.wrap(totalBytes.slice(offset, length)), fragments::add);
+                offset += bytesConsumed;
+            }
+        }
+
+        final Map<Boolean, BytesReference> decoded = new HashMap<>();
+        Header header = null;
+        List<BytesReference> content = new ArrayList<>();
+        for (Object fragment : fragments) {
+            if (fragment instanceof Header h) {
+                assertNull(header);
+                assertEquals(requestId, h.getRequestId());
+                header = h;
+            } else if (fragment == InboundDecoder.END_CONTENT) {
+                assertNotNull(header);
+                assertNull(decoded.put(header.isRequest(), CompositeBytesReference.of(content.toArray(BytesReference[]::new))));
+                header = null;
+                content = new ArrayList<>();
+            } else if (fragment instanceof ReleasableBytesReference bytes) {
+                content.add(new BytesArray(BytesReference.toBytes(bytes)));
+                bytes.close();
+            }
+        }
+        assertNull(header);
+        assertEquals(2, decoded.size());
+        assertEquals(serialize(request), decoded.get(true));
+        assertEquals(serialize(response), decoded.get(false));
+    }
+
+    public void testRejectsChunkedMessageOverMaxSize() throws IOException {
+        final List<BytesReference> frames = chunkedRequestFrames(randomNonNegativeLong());
+        final int messageSize = frames.stream().mapToInt(frame -> frame.length() - chunkHeaderSize()).sum();
+        final AccountingCircuitBreaker breaker = new AccountingCircuitBreaker(Long.MAX_VALUE);
+        final AtomicBoolean released = new AtomicBoolean();
+        final ReleasableBytesReference buffer = new ReleasableBytesReference(concat(frames), () -> released.set(true));
+        try (InboundDecoder decoder = newDecoder(breaker, messageSize - 1, 10)) {
+            final IllegalArgumentException e = expectThrows(IllegalArgumentException.class, () -> decodeAll(decoder, buffer));
+            assertThat(e.getMessage(), containsString("illegal chunked transport message of size greater than"));
+            assertThat(breaker.getUsed(), lessThan((long) messageSize));
+        }
+        assertThat(breaker.getUsed(), equalTo(0L));
+        buffer.decRef();
+        assertTrue(released.get());
+    }
+
+    public void testReleasesUnfinishedChunkedMessagesOnClose() throws IOException {
+        final List<BytesReference> frames = chunkedRequestFrames(randomNonNegativeLong());
+        final List<BytesReference> sentFrames = frames.subList(0, between(1, frames.size() - 1));
+        final int sentSize = sentFrames.stream().mapToInt(frame -> frame.length() - chunkHeaderSize()).sum();
+        final AccountingCircuitBreaker breaker = new AccountingCircuitBreaker(Long.MAX_VALUE);
+        final AtomicBoolean released = new AtomicBoolean();
+        final ReleasableBytesReference buffer = new ReleasableBytesReference(concat(sentFrames), () -> released.set(true));
+        try (InboundDecoder decoder = new InboundDecoder(TransportVersion.CURRENT, recycler, () -> breaker, action -> true)) {
+            assertThat(decodeAll(decoder, buffer), empty());
+            // the chunks that were received so far are retained and accounted for until the message is complete
+            assertThat(breaker.getUsed(), equalTo((long) sentSize));
+            buffer.decRef();
+            assertFalse(released.get());
+        }
+        assertThat(breaker.getUsed(), equalTo(0L));
+        assertTrue(released.get());
+    }
+
+    public void testChunksOfRequestsCanTripBreaker() throws IOException {
+        final long requestId = randomNonNegativeLong();
+        final List<BytesReference> frames = chunkedRequestFrames(requestId);
+        final AccountingCircuitBreaker breaker = new AccountingCircuitBreaker(chunkSize(frames.get(0)));
+        final AtomicBoolean released = new AtomicBoolean();
+        final ReleasableBytesReference buffer = new ReleasableBytesReference(concat(frames), () -> released.set(true));
+        try (InboundDecoder decoder = new InboundDecoder(TransportVersion.CURRENT, recycler, () -> breaker, action -> true)) {
+            // only the request fails, the decoder keeps decoding the messages of the connection
+            final List<Object> fragments = decodeAll(decoder, buffer);
+            assertThat(fragments, hasSize(3));
+            final Header header = (Header) fragments.get(0);
+            assertTrue(header.isRequest());
+            assertEquals(requestId, header.getRequestId());
+            assertEquals("test-request", header.getActionName());
+            assertThat(fragments.get(1), instanceOf(CircuitBreakingException.class));
+            assertEquals(InboundDecoder.END_CONTENT, fragments.get(2));
+            // the chunks of the request are released as soon as it trips the breaker
+            assertThat(breaker.getUsed(), equalTo(0L));
+            buffer.decRef();
+            assertTrue(released.get());
+
+            final List<Object> nextFragments = decodeAll(decoder, ReleasableBytesReference.wrap(concat(chunkedRequestFrames(requestId))));
+            assertThat(nextFragments.get(0), instanceOf(Header.class));
+            assertThat(nextFragments.get(1), instanceOf(CircuitBreakingException.class));
+        }
+        assertThat(breaker.getUsed(), equalTo(0L));
+    }
+
+    public void testChunksOfRequestsThatCanNotTripBreaker() throws IOException {
+        final List<BytesReference> frames = chunkedRequestFrames(randomNonNegativeLong());
+        final AccountingCircuitBreaker breaker = new AccountingCircuitBreaker(chunkSize(frames.get(0)));
+        final ReleasableBytesReference buffer = ReleasableBytesReference.wrap(concat(frames));
+        try (InboundDecoder decoder = new InboundDecoder(TransportVersion.CURRENT, recycler, () -> breaker, action -> false)) {
+            final List<Object> fragments = decodeAll(decoder, buffer);
+            assertThat(fragments.get(0), instanceOf(Header.class));
+            assertThat(fragments.stream().filter(f -> f instanceof Exception).toList(), empty());
+            assertEquals(InboundDecoder.END_CONTENT, fragments.get(fragments.size() - 1));
+            assertThat(breaker.getUsed(), equalTo(0L));
+            Releasables.close(fragments.stream().filter(f -> f instanceof Releasable).map(f -> (Releasable) f).toList());
+        }
+    }
+
+    public void testReleasesBreakerOnceChunkedMessageIsComplete() throws IOException {
+        final List<BytesReference> frames = chunkedRequestFrames(randomNonNegativeLong());
+        final AccountingCircuitBreaker breaker = new AccountingCircuitBreaker(Long.MAX_VALUE);
+        final ReleasableBytesReference buffer = ReleasableBytesReference.wrap(concat(frames));
+        try (InboundDecoder decoder = new InboundDecoder(TransportVersion.CURRENT, recycler, () -> breaker, action -> true)) {
+            final List<Object> fragments = decodeAll(decoder, buffer);
+            assertThat(fragments.get(0), instanceOf(Header.class));
+            assertEquals(InboundDecoder.END_CONTENT, fragments.get(fragments.size() - 1));
+            // the aggregator accounts for the reassembled message
+            assertThat(breaker.getUsed(), equalTo(0L));
+            Releasables.close(fragments.stream().filter(f -> f instanceof Releasable).map(f -> (Releasable) f).toList());
+        }
+    }
+
+    public void testLimitsPartialChunkedMessages() throws IOException {
+        final int maxPartialMessages = between(1, 10);
+        final List<BytesReference> firstChunks = new ArrayList<>();
+        for (int i = 0; i <= maxPartialMessages; i++) {
+            firstChunks.add(chunkedRequestFrames(i).get(0));
+        }
+        final AccountingCircuitBreaker breaker = new AccountingCircuitBreaker(Long.MAX_VALUE);
+        final ReleasableBytesReference buffer = ReleasableBytesReference.wrap(concat(firstChunks));
+        try (InboundDecoder decoder = newDecoder(breaker, Long.MAX_VALUE, maxPartialMessages)) {
+            final IllegalStateException e = expectThrows(IllegalStateException.class, () -> decodeAll(decoder, buffer));
+            assertThat(e.getMessage(), containsString("received chunks of more than [" + maxPartialMessages + "] messages"));
+        }
+        assertThat(breaker.getUsed(), equalTo(0L));
+    }
+
+    public void testRejectsNestedChunkedMessages() throws IOException {
+        final long requestId = randomNonNegativeLong();
+        final OutboundMessage message = chunkedRequest(requestId);
+        // the reassembled content of these chunks is itself a chunk
+        final List<BytesReference> frames = ChunkedMessageWriter.split(message, chunkedRequestFrames(requestId).get(0), between(1, 50));
+        final ReleasableBytesReference buffer = ReleasableBytesReference.wrap(concat(frames));
+        try (InboundDecoder decoder = new InboundDecoder(TransportVersion.CURRENT, recycler)) {
+            final IllegalStateException e = expectThrows(IllegalStateException.class, () -> decodeAll(decoder, buffer));
+            assertThat(e.getMessage(), containsString("invalid message reassembled from the chunks of"));
+        }
+    }
+
+    private InboundDecoder newDecoder(CircuitBreaker breaker, long maxChunkedMessageSize, int maxPartialChunkedMessages) {
+        return new InboundDecoder(
+            TransportVersion.CURRENT,
+            recycler,
+            () -> breaker,
+            action -> true,
+            maxChunkedMessageSize,
+            maxPartialChunkedMessages
+        );
+    }
+
+    private OutboundMessage chunkedRequest(long requestId) {
+        return new OutboundMessage.Request(
+            threadContext,
+            new TestRequest(randomAlphaOfLength(between(100, 1000))),
+            TransportVersion.CURRENT,
+            "test-request",
+            requestId,
+            false,
+            null
+        );
+    }
+
+    private List<BytesReference> chunkedRequestFrames(long requestId) throws IOException {
+        final OutboundMessage message = chunkedRequest(requestId);
+        try (RecyclerBytesStreamOutput os = new RecyclerBytesStreamOutput(recycler)) {
+            final BytesReference serialized = new BytesArray(BytesReference.toBytes(message.serialize(os)));
+            return ChunkedMessageWriter.split(message, serialized, between(1, 50));
+        }
+    }
+
+    private static int chunkHeaderSize() {
+        return TcpHeader.headerSize(TransportVersion.CURRENT);
+    }
+
+    private static long chunkSize(BytesReference frame) {
+        return frame.length() - chunkHeaderSize();
+    }
+
+    private static BytesReference concat(List<BytesReference> frames) {
+        return new BytesArray(BytesReference.toBytes(CompositeBytesReference.of(frames.toArray(BytesReference[]::new))));
+    }
+
+    /**
+     * Hands the given bytes to the decoder in random pieces, like the pipeline does, and returns the decoded fragments.
+     */
+    private static List<Object> decodeAll(InboundDecoder decoder, ReleasableBytesReference buffer) throws IOException {
+        final List<Object> fragments = new ArrayList<>();
+        int offset = 0;
+        while (offset < buffer.length()) {
+            final int length = randomIntBetween(1, buffer.length() - offset);
+            try (ReleasableBytesReference slice = buffer.retainedSlice(offset, length)) {
+                offset += decoder.decode(slice, fragments::add);
+            }
+        }
+        return fragments;
+    }
+
+    /**
+     * A circuit breaker that keeps track of the bytes that are accounted for and breaks once they exceed the limit.
+     */
+    private static class AccountingCircuitBreaker extends NoopCircuitBreaker {
+        private final long limit;
+        private final AtomicLong used = new AtomicLong();
+
+        AccountingCircuitBreaker(long limit) {
+            super(CircuitBreaker.IN_FLIGHT_REQUESTS);
+            this.limit = limit;
+        }
+
+        @Override
+        public void addEstimateBytesAndMaybeBreak(long bytes, String label) throws CircuitBreakingException {
+            if (used.addAndGet(bytes) > limit) {
+                used.addAndGet(-bytes);
+                throw new CircuitBreakingException("[" + label + "] would exceed the limit", getDurability());
+            }
+        }
+
+        @Override
+        public void addWithoutBreaking(long bytes) {
+            used.addAndGet(bytes);
+        }
+
+        @Override
+        public long getUsed() {
+            return used.get();
+        }
+    }
+
+    private static BytesReference serialize(TransportMessage message) throws IOException {
+        final BytesStreamOutput out = new BytesStreamOutput();
+        message.writeTo(out);
+        return out.bytes();
+    }
+
     public void testCompressedDecodeHandshakeCompatibility() throws IOException {
         String action = "test-request";
         long requestId = randomNonNegativeLong();
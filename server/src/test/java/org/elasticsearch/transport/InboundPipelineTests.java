@@ -200,8 +200,10 @@ public class InboundPipelineTests extends ESTestCase {
         } else {
             if (version.before(Compression.Scheme.LZ4_VERSION)) {
                 return Compression.Scheme.DEFLATE;
-            } else {
+            } else if (version.before(Compression.Scheme.DEFLATE_DICTIONARY_VERSION)) {
                 return randomFrom(Compression.Scheme.DEFLATE, Compression.Scheme.LZ4);
+            } else {
+                return randomFrom(Compression.Scheme.DEFLATE, Compression.Scheme.LZ4, Compression.Scheme.DEFLATE_DICTIONARY);
             }
         }
     }
@@ -300,6 +302,76 @@ public class InboundPipelineTests extends ESTestCase {
         }
     }
 
+    public void testChunkedRequestTrippingBreakerKeepsConnectionOpen() throws IOException {
+        final List<InboundMessage> received = new ArrayList<>();
+        final BiConsumer<TcpChannel, InboundMessage> messageHandler = (c, m) -> {
+            m.incRef();
+            received.add(m);
+        };
+        final TestCircuitBreaker circuitBreaker = new TestCircuitBreaker();
+        final InboundDecoder decoder = new InboundDecoder(TransportVersion.CURRENT, recycler, () -> circuitBreaker, action -> true);
+        final InboundAggregator aggregator = new InboundAggregator(() -> circuitBreaker, (Predicate<String>) action -> true);
+        final InboundPipeline pipeline = new InboundPipeline(
+            new StatsTracker(),
+            () -> TimeValue.nsecToMSec(System.nanoTime()),
+            decoder,
+            aggregator,
+            messageHandler
+        );
+        final FakeTcpChannel channel = new FakeTcpChannel();
+        final String actionName = "actionName";
+        final long brokenRequestId = randomNonNegativeLong();
+        final long requestId = brokenRequestId + 1;
+        final String value = randomAlphaOfLength(between(100, 1000));
+
+        try (RecyclerBytesStreamOutput streamOutput = new RecyclerBytesStreamOutput(recycler)) {
+            final OutboundMessage chunked = new OutboundMessage.Request(
+                threadContext,
+                new TestRequest(value),
+                TransportVersion.CURRENT,
+                actionName,
+                brokenRequestId,
+                false,
+                null
+            );
+            final BytesReference serialized = new BytesArray(BytesReference.toBytes(chunked.serialize(streamOutput)));
+            circuitBreaker.startBreaking();
+            for (BytesReference frame : ChunkedMessageWriter.split(chunked, serialized, between(1, 50))) {
+                try (ReleasableBytesReference bytes = ReleasableBytesReference.wrap(new BytesArray(BytesReference.toBytes(frame)))) {
+                    pipeline.handleBytes(channel, bytes);
+                }
+            }
+        }
+        circuitBreaker.stopBreaking();
+        try (RecyclerBytesStreamOutput streamOutput = new RecyclerBytesStreamOutput(recycler)) {
+            final OutboundMessage message = new OutboundMessage.Request(
+                threadContext,
+                new TestRequest(value),
+                TransportVersion.CURRENT,
+                actionName,
+                requestId,
+                false,
+                null
+            );
+            try (ReleasableBytesReference bytes = ReleasableBytesReference.wrap(message.serialize(streamOutput))) {
+                pipeline.handleBytes(channel, bytes);
+            }
+        }
+
+        assertEquals(2, received.size());
+        final InboundMessage broken = received.get(0);
+        assertTrue(broken.isShortCircuit());
+        assertEquals(brokenRequestId, broken.getHeader().getRequestId());
+        assertEquals(actionName, broken.getHeader().getActionName());
+        assertThat(broken.getException(), instanceOf(CircuitBreakingException.class));
+        final InboundMessage message = received.get(1);
+        assertFalse(message.isShortCircuit());
+        assertEquals(requestId, message.getHeader().getRequestId());
+        assertEquals(value, new TestRequest(message.openOrGetStreamInput()).value);
+        received.forEach(InboundMessage::decRef);
+        pipeline.close();
+    }
+
     private record MessageData(
         TransportVersion version,
         long requestId,
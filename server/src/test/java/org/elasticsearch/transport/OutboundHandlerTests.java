@@ -27,6 +27,7 @@ import org.elasticsearch.common.logging.Loggers;
 import org.elasticsearch.common.network.HandlingTimeTracker;
 import org.elasticsearch.common.network.NetworkAddress;
 import org.elasticsearch.common.transport.TransportAddress;
+import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.PageCacheRecycler;
 import org.elasticsearch.common.util.concurrent.ThreadContext;
 import org.elasticsearch.core.Streams;
@@ -41,6 +42,10 @@ import org.junit.Before;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
@@ -51,7 +56,10 @@ import java.util.function.Supplier;
 
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 
 public class OutboundHandlerTests extends ESTestCase {
 
@@ -59,6 +67,7 @@ public class OutboundHandlerTests extends ESTestCase {
     private final TransportRequestOptions options = TransportRequestOptions.EMPTY;
     private final AtomicReference<Tuple<Header, BytesReference>> message = new AtomicReference<>();
     private final BytesRefRecycler recycler = new BytesRefRecycler(PageCacheRecycler.NON_RECYCLING_INSTANCE);
+    private StatsTracker statsTracker;
     private InboundPipeline pipeline;
     private OutboundHandler handler;
     private FakeTcpChannel channel;
@@ -71,8 +80,8 @@ public class OutboundHandlerTests extends ESTestCase {
         channel = new FakeTcpChannel(randomBoolean(), buildNewFakeTransportAddress().address(), buildNewFakeTransportAddress().address());
         TransportAddress transportAddress = buildNewFakeTransportAddress();
         node = new DiscoveryNode("", transportAddress, Version.CURRENT);
-        StatsTracker statsTracker = new StatsTracker();
-        compressionScheme = randomFrom(Compression.Scheme.DEFLATE, Compression.Scheme.LZ4);
+        statsTracker = new StatsTracker();
+        compressionScheme = randomFrom(Compression.Scheme.DEFLATE, Compression.Scheme.LZ4, Compression.Scheme.DEFLATE_DICTIONARY);
         handler = new OutboundHandler(
             "node",
             TransportVersion.CURRENT,
@@ -200,6 +209,82 @@ public class OutboundHandlerTests extends ESTestCase {
         assertEquals("header_value", header.getHeaders().v1().get("header"));
     }
 
+    public void testCompressionStats() throws IOException {
+        final String value = randomAlphaOfLength(between(1, 10)).repeat(100);
+        final TransportVersion version = TransportVersion.CURRENT;
+        handler.sendRequest(node, channel, 1, "compressed", new TestRequest(value), options, version, compressionScheme, false);
+        handler.sendRequest(node, channel, 2, "uncompressed", new TestRequest(value), options, version, null, false);
+
+        final Map<String, TransportStats.CompressionStats> compressionStats = statsTracker.getCompressionStats();
+        assertEquals(Set.of("compressed"), compressionStats.keySet());
+        final TransportStats.CompressionStats stats = compressionStats.get("compressed");
+        assertEquals(1, stats.count());
+        assertThat(stats.uncompressedBytes(), greaterThan((long) value.length()));
+        assertThat(stats.compressedBytes(), lessThan(stats.uncompressedBytes()));
+        assertThat(stats.compressionRatio(), greaterThan(1.0));
+    }
+
+    public void testSendChunkedRequest() throws IOException {
+        final int chunkSize = randomIntBetween(128, 256);
+        handler.setMessageChunkSize(ByteSizeValue.ofBytes(chunkSize));
+        final List<Tuple<BytesReference, ActionListener<Void>>> writes = new ArrayList<>();
+        final FakeTcpChannel channel = new FakeTcpChannel(
+            randomBoolean(),
+            buildNewFakeTransportAddress().address(),
+            buildNewFakeTransportAddress().address()
+        ) {
+            @Override
+            public void sendMessage(BytesReference reference, ActionListener<Void> listener) {
+                writes.add(new Tuple<>(reference, listener));
+            }
+        };
+        final List<Long> sentRequestIds = new ArrayList<>();
+        handler.setMessageListener(new TransportMessageListener() {
+            @Override
+            public void onRequestSent(
+                DiscoveryNode node,
+                long requestId,
+                String action,
+                TransportRequest request,
+                TransportRequestOptions options
+            ) {
+                sentRequestIds.add(requestId);
+            }
+        });
+
+        final String largeValue = randomAlphaOfLength(chunkSize * randomIntBetween(5, 10));
+        handler.sendRequest(node, channel, 1, "large", new TestRequest(largeValue), options, TransportVersion.CURRENT, null, false);
+        // only the first chunk is written until it completes
+        assertEquals(1, writes.size());
+        handler.sendRequest(node, channel, 2, "small", new TestRequest("small"), options, TransportVersion.CURRENT, null, false);
+        // the small request isn't chunked and doesn't wait for the other chunks of the large request
+        assertEquals(2, writes.size());
+        assertEquals(List.of(2L), sentRequestIds);
+
+        // completing a chunk writes the next one
+        for (int i = 0; i < writes.size(); i++) {
+            writes.get(i).v2().onResponse(null);
+        }
+        assertThat(writes.size(), greaterThan(5));
+        assertEquals(List.of(2L, 1L), sentRequestIds);
+
+        for (int i = 0; i < writes.size(); i++) {
+            final BytesReference write = writes.get(i).v1();
+            if (i != 1) {
+                assertThat(write.length(), lessThanOrEqualTo(TcpHeader.headerSize(TransportVersion.CURRENT) + chunkSize));
+            }
+            pipeline.handleBytes(channel, new ReleasableBytesReference(write, () -> {}));
+            if (i == 1) {
+                assertEquals(2, message.get().v1().getRequestId());
+                assertEquals("small", new TestRequest(message.get().v2().streamInput()).value);
+            }
+        }
+        final Tuple<Header, BytesReference> tuple = message.get();
+        assertEquals(1, tuple.v1().getRequestId());
+        assertTrue(tuple.v1().isRequest());
+        assertEquals(largeValue, new TestRequest(tuple.v2().streamInput()).value);
+    }
+
     public void testSendResponse() throws IOException {
         ThreadContext threadContext = threadPool.getThreadContext();
         TransportVersion version = randomFrom(TransportVersion.CURRENT, TransportVersion.CURRENT.minimumCompatibilityVersion());
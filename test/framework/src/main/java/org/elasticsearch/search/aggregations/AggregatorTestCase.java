@@ -363,7 +363,8 @@ public abstract class AggregatorTestCase extends ESTestCase {
             () -> false,
             q -> q,
             true,
-            isInSortOrderExecutionRequired
+            isInSortOrderExecutionRequired,
+            false
         );
         return context;
     }